@@ -0,0 +1,37 @@
+package com.liga.futbol.benchmark;
+
+import com.liga.futbol.model.entity.Equipo;
+import com.liga.futbol.service.EquipoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda de equipos por nombre: texto corto, palabra completa, varias palabras y con error de tipeo
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BusquedaBenchmark {
+
+    @Param({"un", "union", "atletico maipu", "providensia"})
+    public String texto;
+
+    @Benchmark
+    public List<Equipo> buscarPorNombre(ContextoLiga contexto) {
+        return contexto.bean(EquipoService.class).buscarPorNombre(texto, 20);
+    }
+
+}
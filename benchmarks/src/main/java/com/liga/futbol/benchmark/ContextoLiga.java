@@ -0,0 +1,154 @@
+package com.liga.futbol.benchmark;
+
+import com.liga.futbol.LigaFutbolApiApplication;
+import com.liga.futbol.model.dto.ConfiguracionFixture;
+import com.liga.futbol.model.dto.ResultadoImportacion;
+import com.liga.futbol.model.entity.Equipo;
+import com.liga.futbol.model.entity.Liga;
+import com.liga.futbol.service.FixtureService;
+import com.liga.futbol.service.ImportacionService;
+import com.liga.futbol.service.LigaService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Contexto de Spring sobre H2 embebido con un dataset generado: {@code equipos} equipos
+ * que juegan {@code temporadas} ligas a doble rueda (por defecto 20 × 10 = 3.800 partidos).
+ * El tamaño se cambia desde JMH, ej: {@code -p equipos=40 -p temporadas=20}.
+ */
+@State(Scope.Benchmark)
+public class ContextoLiga {
+
+    static final int PRIMER_ANIO = 2000;
+
+    private static final String[] PREFIJOS = {"Club", "Deportivo", "Unión", "Atlético", "Real", "Sporting", "Audax", "Santiago"};
+    private static final String[] LUGARES = {"Ñuñoa", "Maipú", "La Florida", "Providencia", "Puente Alto", "Recoleta",
+            "Independencia", "San Miguel", "La Cisterna", "Macul", "Peñalolén", "Quilicura", "Renca", "Lo Prado"};
+
+    @Param("20")
+    public int equipos;
+
+    @Param("10")
+    public int temporadas;
+
+    ConfigurableApplicationContext contexto;
+    List<Integer> ligaIds;
+    List<Integer> equipoIds;
+    short jornadas;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.com.liga.futbol=WARN"));
+        argumentos.addAll(argumentosAdicionales());
+        contexto = new SpringApplicationBuilder(LigaFutbolApiApplication.class)
+                .web(tipoAplicacion())
+                // Como argumentos para que prevalezcan sobre application.yml
+                .run(argumentos.toArray(String[]::new));
+        sembrar();
+    }
+
+    /**
+     * Sin servidor web por defecto; los benchmarks HTTP lo levantan
+     */
+    protected WebApplicationType tipoAplicacion() {
+        return WebApplicationType.NONE;
+    }
+
+    protected List<String> argumentosAdicionales() {
+        return List.of();
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        contexto.close();
+    }
+
+    <T> T bean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+
+    Integer ligaAleatoria() {
+        return ligaIds.get(ThreadLocalRandom.current().nextInt(ligaIds.size()));
+    }
+
+    Integer equipoAleatorio() {
+        return equipoIds.get(ThreadLocalRandom.current().nextInt(equipoIds.size()));
+    }
+
+    short jornadaAleatoria() {
+        return (short) (1 + ThreadLocalRandom.current().nextInt(jornadas));
+    }
+
+    /**
+     * Fecha al azar dentro del período cubierto por las temporadas
+     */
+    LocalDate fechaAleatoria() {
+        LocalDate inicio = LocalDate.of(PRIMER_ANIO, 1, 1);
+        long dias = inicio.until(LocalDate.of(PRIMER_ANIO + temporadas, 1, 1), ChronoUnit.DAYS);
+        return inicio.plusDays(ThreadLocalRandom.current().nextLong(dias));
+    }
+
+    private void sembrar() {
+        List<Equipo> nuevos = new ArrayList<>(equipos);
+        for (int i = 0; i < equipos; i++) {
+            nuevos.add(Equipo.builder()
+                    .nombre(nombreEquipo(i))
+                    .anioFundacion((short) (1900 + i % 120))
+                    .comunaLocal(LUGARES[i % LUGARES.length])
+                    // Texto largo como el de los equipos reales, para que la serialización lo refleje
+                    .historia(("Fundado en " + LUGARES[i % LUGARES.length] + ". ").repeat(40))
+                    .build());
+        }
+        equipoIds = bean(ImportacionService.class).importarEquipos(nuevos).stream()
+                .map(ResultadoImportacion::id)
+                .toList();
+
+        LigaService ligaService = bean(LigaService.class);
+        FixtureService fixtureService = bean(FixtureService.class);
+        ConfiguracionFixture dobleRueda = new ConfiguracionFixture(true, null);
+        Set<Equipo> inscritos = new HashSet<>();
+        for (Integer id : equipoIds) {
+            inscritos.add(Equipo.builder().id(id).build());
+        }
+        ligaIds = new ArrayList<>(temporadas);
+        for (int t = 0; t < temporadas; t++) {
+            int anio = PRIMER_ANIO + t;
+            Liga liga = ligaService.crear(Liga.builder()
+                    .nombre("Liga de Santiago " + anio)
+                    .anio((short) anio)
+                    .fechaInicio(LocalDate.of(anio, 2, 1))
+                    .fechaFin(LocalDate.of(anio, 12, 15))
+                    .equipos(new HashSet<>(inscritos))
+                    .build());
+            ligaIds.add(liga.getId());
+            fixtureService.generar(liga.getId(), dobleRueda, false);
+        }
+        int participantes = equipos % 2 == 0 ? equipos : equipos + 1;
+        jornadas = (short) ((participantes - 1) * 2);
+    }
+
+    private static String nombreEquipo(int i) {
+        String nombre = PREFIJOS[i % PREFIJOS.length] + " " + LUGARES[(i / PREFIJOS.length) % LUGARES.length];
+        int vuelta = i / (PREFIJOS.length * LUGARES.length);
+        return vuelta == 0 ? nombre : nombre + " " + (vuelta + 1);
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.liga.futbol.benchmark;
+
+import org.openjdk.jmh.Main;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Punto de entrada de benchmarks.jar. Acepta las mismas opciones que JMH y, si no se indica
+ * formato de resultados, los guarda en JSON en resultados/jmh-{versión}-{fecha}.json para
+ * comparar ejecuciones entre versiones.
+ */
+public class EjecutarBenchmarks {
+
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    public static void main(String[] args) throws Exception {
+        List<String> argumentos = new ArrayList<>(List.of(args));
+        if (!argumentos.contains("-rf") && !argumentos.contains("-h") && !argumentos.contains("-l")) {
+            String version = EjecutarBenchmarks.class.getPackage().getImplementationVersion();
+            Path resultados = Path.of("resultados", "jmh-" + (version != null ? version : "dev") + "-"
+                    + LocalDateTime.now().format(FORMATO_FECHA) + ".json");
+            Files.createDirectories(resultados.getParent());
+            argumentos.addAll(List.of("-rf", "json", "-rff", resultados.toString()));
+        }
+        Main.main(argumentos.toArray(String[]::new));
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.liga.futbol.benchmark;
+
+import com.liga.futbol.model.dto.CursorPartidos;
+import com.liga.futbol.model.dto.Pagina;
+import com.liga.futbol.model.dto.PartidoResumen;
+import com.liga.futbol.service.PartidoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas de PartidoService usadas por los listados de la API: por jornada,
+ * primera página de un equipo y primera página de un rango de 30 días.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PartidoServiceBenchmark {
+
+    private static final int LIMITE = 100;
+
+    @Benchmark
+    public List<PartidoResumen> porJornada(ContextoLiga contexto) {
+        return contexto.bean(PartidoService.class)
+                .obtenerResumenPorLigaYJornada(contexto.ligaAleatoria(), contexto.jornadaAleatoria());
+    }
+
+    @Benchmark
+    public Pagina<PartidoResumen> porEquipo(ContextoLiga contexto) {
+        return contexto.bean(PartidoService.class)
+                .obtenerPaginaPorEquipo(contexto.equipoAleatorio(), CursorPartidos.INICIO, LIMITE);
+    }
+
+    @Benchmark
+    public Pagina<PartidoResumen> entreFechas(ContextoLiga contexto) {
+        LocalDate desde = contexto.fechaAleatoria();
+        return contexto.bean(PartidoService.class)
+                .obtenerPaginaEntreFechas(desde, desde.plusDays(30), CursorPartidos.INICIO, LIMITE);
+    }
+
+}
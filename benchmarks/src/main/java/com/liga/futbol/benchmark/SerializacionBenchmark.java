@@ -0,0 +1,85 @@
+package com.liga.futbol.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.liga.futbol.model.dto.CursorPartidos;
+import com.liga.futbol.model.dto.PartidoResumen;
+import com.liga.futbol.model.entity.Partido;
+import com.liga.futbol.service.PartidoService;
+import org.hibernate.Hibernate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización con el ObjectMapper de la aplicación de una jornada o una temporada completa,
+ * como entidades Partido (con los equipos completos) y como PartidoResumen
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacionBenchmark {
+
+    private static final int PARTIDOS_MAXIMOS = 1000;
+
+    @Param({"jornada", "temporada"})
+    public String alcance;
+
+    private ObjectMapper objectMapper;
+    private List<Partido> partidos;
+    private List<PartidoResumen> resumenes;
+
+    @Setup(Level.Trial)
+    public void cargar(ContextoLiga contexto) {
+        objectMapper = contexto.bean(ObjectMapper.class);
+        PartidoService partidoService = contexto.bean(PartidoService.class);
+        Integer ligaId = contexto.ligaIds.get(0);
+        if ("jornada".equals(alcance)) {
+            resumenes = partidoService.obtenerResumenPorLigaYJornada(ligaId, (short) 1);
+        } else {
+            LocalDate inicio = LocalDate.of(ContextoLiga.PRIMER_ANIO, 1, 1);
+            resumenes = partidoService.obtenerPaginaEntreFechas(inicio, inicio.plusYears(1).minusDays(1),
+                    CursorPartidos.INICIO, PARTIDOS_MAXIMOS).items();
+        }
+        List<Integer> ids = resumenes.stream().map(PartidoResumen::id).toList();
+        // La liga y sus equipos son perezosos: se inicializan dentro de la transacción, como
+        // ocurre al serializar con open-in-view, para poder serializarlos después
+        partidos = contexto.bean(TransactionTemplate.class).execute(estado -> {
+            List<Partido> cargados = ids.stream()
+                    .map(id -> partidoService.obtenerPorId(id).orElseThrow())
+                    .toList();
+            for (Partido partido : cargados) {
+                Hibernate.initialize(partido.getLiga());
+                Hibernate.initialize(partido.getLiga().getEquipos());
+            }
+            return cargados;
+        });
+    }
+
+    @Benchmark
+    public byte[] entidades() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(partidos);
+    }
+
+    @Benchmark
+    public byte[] resumenes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(resumenes);
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.liga.futbol.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparación de extremo a extremo entre hilos de plataforma y virtuales: muchos clientes
+ * concurrentes consultando endpoints existentes por HTTP. La concurrencia se cambia con
+ * {@code -t} (por defecto 256 clientes, más que el máximo de hilos de Tomcat).
+ * Ejemplo: {@code java -jar target/benchmarks.jar ServidorHttp -t 512}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(256)
+public class ServidorHttpBenchmark {
+
+    @Benchmark
+    public int partidosPorJornada(ServidorLiga servidor) throws IOException, InterruptedException {
+        return get(servidor, "partidos/liga/" + servidor.ligaAleatoria() + "/jornada/" + servidor.jornadaAleatoria());
+    }
+
+    @Benchmark
+    public int partidosPorEquipo(ServidorLiga servidor) throws IOException, InterruptedException {
+        return get(servidor, "partidos/equipo/" + servidor.equipoAleatorio());
+    }
+
+    @Benchmark
+    public int tablaPosiciones(ServidorLiga servidor) throws IOException, InterruptedException {
+        return get(servidor, "ligas/" + servidor.ligaAleatoria() + "/tabla");
+    }
+
+    @Benchmark
+    public int equipo(ServidorLiga servidor) throws IOException, InterruptedException {
+        return get(servidor, "equipos/" + servidor.equipoAleatorio());
+    }
+
+    /**
+     * Hace la solicitud y devuelve el código de estado; un error del servidor invalida la medición
+     */
+    private static int get(ServidorLiga servidor, String ruta) throws IOException, InterruptedException {
+        HttpResponse<byte[]> respuesta = servidor.cliente.send(
+                HttpRequest.newBuilder(servidor.uri(ruta)).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (respuesta.statusCode() >= 500) {
+            throw new IllegalStateException("GET " + ruta + " respondió " + respuesta.statusCode());
+        }
+        return respuesta.statusCode();
+    }
+
+}
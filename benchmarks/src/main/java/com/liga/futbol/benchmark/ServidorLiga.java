@@ -0,0 +1,48 @@
+package com.liga.futbol.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.boot.WebApplicationType;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.List;
+
+/**
+ * La aplicación completa escuchando en un puerto libre, con hilos de plataforma
+ * (pool de Tomcat) o con el perfil "virtual"
+ */
+@State(Scope.Benchmark)
+public class ServidorLiga extends ContextoLiga {
+
+    @Param({"plataforma", "virtual"})
+    public String hilos;
+
+    HttpClient cliente;
+    URI base;
+
+    @Override
+    protected WebApplicationType tipoAplicacion() {
+        return WebApplicationType.SERVLET;
+    }
+
+    @Override
+    protected List<String> argumentosAdicionales() {
+        return "virtual".equals(hilos)
+                ? List.of("--server.port=0", "--spring.profiles.active=virtual")
+                : List.of("--server.port=0");
+    }
+
+    @Setup(Level.Trial)
+    public void conectar() {
+        cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        base = URI.create("http://localhost:" + contexto.getEnvironment().getProperty("local.server.port") + "/api/api/");
+    }
+
+    URI uri(String ruta) {
+        return base.resolve(ruta);
+    }
+
+}
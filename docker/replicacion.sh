@@ -0,0 +1,3 @@
+#!/bin/sh
+# Permite que la réplica (postgres-replica) se conecte por streaming a la primaria
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
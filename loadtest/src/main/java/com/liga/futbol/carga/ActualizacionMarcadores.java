@@ -0,0 +1,84 @@
+package com.liga.futbol.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Planilleros que cargan goles en los partidos de la jornada en juego. Varios compiten por
+ * el mismo partido: cada cambio lleva la última versión conocida y, ante un 409, se relee
+ * el partido. Si una solicitud queda sin respuesta se reintenta una vez con la misma
+ * Idempotency-Key, como lo haría un cliente con una conexión inestable.
+ */
+final class ActualizacionMarcadores extends Escenario {
+
+    static final String NOMBRE = "marcadores";
+    private static final String ENDPOINT_RESULTADO = "PATCH /partidos/{id}/resultado";
+    private static final String ENDPOINT_PARTIDO = "GET /partidos/{id}";
+
+    private final ObjectMapper json = new ObjectMapper();
+    // Última versión conocida de cada partido, compartida por todos los planilleros
+    private final Map<Integer, Long> versiones = new ConcurrentHashMap<>();
+
+    ActualizacionMarcadores(ConfiguracionCarga configuracion, ClienteCarga cliente, DatosCarga datos) {
+        super(NOMBRE, configuracion, cliente, datos);
+        for (Integer partidoId : datos.partidosEnJuego()) {
+            versiones.put(partidoId, 0L);
+        }
+    }
+
+    @Override
+    Usuario nuevoUsuario() {
+        return this::actualizar;
+    }
+
+    private void actualizar(long inicioPrevisto) throws InterruptedException {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        Integer partidoId = datos.partidosEnJuego().get(aleatorio.nextInt(datos.partidosEnJuego().size()));
+        String cuerpo = json.createObjectNode()
+                .put("golesLocal", aleatorio.nextInt(6))
+                .put("golesVisita", aleatorio.nextInt(6))
+                .put("version", versiones.get(partidoId))
+                .toString();
+        HttpRequest solicitud = cliente.solicitud("partidos/" + partidoId + "/resultado")
+                .header("Content-Type", "application/json")
+                .header("Idempotency-Key", UUID.randomUUID().toString())
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(cuerpo))
+                .build();
+
+        Optional<HttpResponse<String>> respuesta = cliente.enviar(nombre, ENDPOINT_RESULTADO, solicitud, inicioPrevisto);
+        if (respuesta.isEmpty()) {
+            respuesta = cliente.enviar(nombre, ENDPOINT_RESULTADO, solicitud, System.nanoTime());
+        }
+        if (respuesta.isEmpty()) {
+            return;
+        }
+        int estado = respuesta.get().statusCode();
+        if (estado == 200) {
+            recordarVersion(partidoId, respuesta.get().body());
+        } else if (estado == 409) {
+            cliente.enviar(nombre, ENDPOINT_PARTIDO, cliente.solicitud("partidos/" + partidoId).GET().build(), System.nanoTime())
+                    .filter(partido -> partido.statusCode() == 200)
+                    .ifPresent(partido -> recordarVersion(partidoId, partido.body()));
+        }
+    }
+
+    private void recordarVersion(Integer partidoId, String cuerpo) {
+        try {
+            JsonNode version = json.readTree(cuerpo).path("version");
+            if (version.isNumber()) {
+                versiones.merge(partidoId, version.asLong(), Math::max);
+            }
+        } catch (IOException e) {
+            // Respuesta inesperada: se conserva la versión conocida
+        }
+    }
+
+}
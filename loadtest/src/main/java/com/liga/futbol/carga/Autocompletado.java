@@ -0,0 +1,50 @@
+package com.liga.futbol.carga;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Usuarios escribiendo el nombre de un equipo en el buscador: cada tecla envía el prefijo
+ * escrito hasta el momento y, al completar el nombre, empiezan a buscar otro
+ */
+final class Autocompletado extends Escenario {
+
+    static final String NOMBRE = "autocompletado";
+    private static final String ENDPOINT = "GET /equipos/buscar";
+    private static final int LARGO_MINIMO = 2;
+    private static final int LIMITE = 10;
+
+    Autocompletado(ConfiguracionCarga configuracion, ClienteCarga cliente, DatosCarga datos) {
+        super(NOMBRE, configuracion, cliente, datos);
+    }
+
+    @Override
+    Usuario nuevoUsuario() {
+        return new Usuario() {
+
+            private String buscado = "";
+            private int escrito;
+
+            @Override
+            public void ejecutar(long inicioPrevisto) throws InterruptedException {
+                if (escrito >= buscado.length()) {
+                    // Los usuarios suelen encontrar el equipo antes de escribir el nombre completo
+                    String equipo = datos.nombresEquipos().get(
+                            ThreadLocalRandom.current().nextInt(datos.nombresEquipos().size()));
+                    buscado = equipo.substring(0, Math.min(equipo.length(),
+                            LARGO_MINIMO + ThreadLocalRandom.current().nextInt(10)));
+                    escrito = Math.min(LARGO_MINIMO, buscado.length());
+                } else {
+                    escrito++;
+                }
+                String texto = URLEncoder.encode(buscado.substring(0, escrito), StandardCharsets.UTF_8);
+                cliente.enviar(nombre, ENDPOINT,
+                        cliente.solicitud("equipos/buscar?nombre=" + texto + "&limite=" + LIMITE).GET().build(),
+                        inicioPrevisto);
+            }
+
+        };
+    }
+
+}
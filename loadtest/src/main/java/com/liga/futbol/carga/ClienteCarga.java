@@ -0,0 +1,87 @@
+package com.liga.futbol.carga;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+
+/**
+ * Cliente HTTP compartido por los usuarios simulados. Cada solicitud se registra en el
+ * medidor vigente con su endpoint; la latencia se mide desde el instante en que la
+ * solicitud debía salir según el ritmo del usuario, no desde que salió, para que las
+ * demoras del servidor no reduzcan la carga medida (omisión coordinada).
+ */
+final class ClienteCarga {
+
+    private final HttpClient http;
+    private final URI base;
+    private final Duration timeout;
+    private volatile Medidor medidor = new Medidor();
+
+    ClienteCarga(URI base, Duration timeout) {
+        this.base = base;
+        this.timeout = timeout;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /**
+     * Crea la solicitud para una ruta relativa a la API, ej: {@code partidos/fecha/2026-01-15}
+     */
+    HttpRequest.Builder solicitud(String ruta) {
+        return HttpRequest.newBuilder(base.resolve(ruta)).timeout(timeout);
+    }
+
+    /**
+     * Envía la solicitud y registra su resultado
+     * @param inicioPrevisto instante (System.nanoTime) en que la solicitud debía enviarse
+     * @return la respuesta, o empty si no se obtuvo
+     */
+    Optional<HttpResponse<String>> enviar(String escenario, String endpoint, HttpRequest solicitud, long inicioPrevisto)
+            throws InterruptedException {
+        Medidor actual = medidor;
+        try {
+            HttpResponse<String> respuesta = http.send(solicitud, HttpResponse.BodyHandlers.ofString());
+            registrar(actual, escenario, endpoint, respuesta.statusCode(), inicioPrevisto);
+            return Optional.of(respuesta);
+        } catch (IOException e) {
+            registrar(actual, escenario, endpoint, Medidor.SIN_RESPUESTA, inicioPrevisto);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Solicitud fuera de la medición (siembra de datos)
+     */
+    HttpResponse<String> enviarSinMedir(HttpRequest solicitud) throws IOException, InterruptedException {
+        return http.send(solicitud, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Empieza un período de medición nuevo y devuelve el anterior
+     */
+    Medidor reiniciarMedicion() {
+        Medidor anterior = medidor;
+        medidor = new Medidor();
+        return anterior;
+    }
+
+    Medidor medidor() {
+        return medidor;
+    }
+
+    private static void registrar(Medidor medidor, String escenario, String endpoint, int estado, long inicioPrevisto) {
+        // Las solicitudes previstas durante el calentamiento no cuentan en la medición siguiente
+        if (inicioPrevisto >= medidor.inicio()) {
+            medidor.registrar(escenario, endpoint, estado, System.nanoTime() - inicioPrevisto);
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.liga.futbol.carga;
+
+import org.springframework.boot.convert.DurationStyle;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Configuración de una ejecución: los valores de carga.properties sobrescritos por los
+ * argumentos {@code --clave=valor} de la línea de comandos
+ */
+final class ConfiguracionCarga {
+
+    private final Properties valores = new Properties();
+
+    private ConfiguracionCarga() {
+    }
+
+    static ConfiguracionCarga desde(String[] args) throws IOException {
+        ConfiguracionCarga configuracion = new ConfiguracionCarga();
+        try (InputStream defecto = ConfiguracionCarga.class.getResourceAsStream("/carga.properties")) {
+            configuracion.valores.load(defecto);
+        }
+        for (String argumento : args) {
+            int igual = argumento.indexOf('=');
+            if (!argumento.startsWith("--") || igual < 0) {
+                throw new IllegalArgumentException("Argumento inválido (se espera --clave=valor): " + argumento);
+            }
+            String clave = argumento.substring(2, igual);
+            if (!configuracion.valores.containsKey(clave)) {
+                throw new IllegalArgumentException("Opción desconocida: " + clave);
+            }
+            configuracion.valores.setProperty(clave, argumento.substring(igual + 1));
+        }
+        return configuracion;
+    }
+
+    String texto(String clave) {
+        return valores.getProperty(clave, "").trim();
+    }
+
+    int entero(String clave) {
+        return Integer.parseInt(texto(clave));
+    }
+
+    Duration duracion(String clave) {
+        return DurationStyle.detectAndParse(texto(clave));
+    }
+
+    List<String> lista(String clave) {
+        return Arrays.stream(texto(clave).split(","))
+                .map(String::trim)
+                .filter(valor -> !valor.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Todos los valores efectivos, para incluirlos en el reporte
+     */
+    Map<String, String> valores() {
+        Map<String, String> resultado = new TreeMap<>();
+        for (String clave : valores.stringPropertyNames()) {
+            resultado.put(clave, valores.getProperty(clave));
+        }
+        return resultado;
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.liga.futbol.carga;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Datos sembrados que usan los escenarios: las fechas y partidos de la jornada en juego
+ * y los nombres de los equipos
+ */
+record DatosCarga(
+        List<LocalDate> fechasEnJuego,
+        List<Integer> partidosEnJuego,
+        List<String> nombresEquipos) {
+}
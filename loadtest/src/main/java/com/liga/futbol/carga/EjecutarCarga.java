@@ -0,0 +1,153 @@
+package com.liga.futbol.carga;
+
+import com.liga.futbol.LigaFutbolApiApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Punto de entrada de loadtest.jar. Levanta la aplicación (o usa la indicada con --url),
+ * siembra los datos, ejecuta en paralelo los escenarios elegidos y reporta cada endpoint.
+ * El reporte queda en resultados/carga-{versión}-{fecha}.json.
+ * Ejemplo: {@code java -jar target/loadtest.jar --duracion=2m --polling.usuarios=5000}
+ */
+public class EjecutarCarga {
+
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    public static void main(String[] args) throws Exception {
+        ConfiguracionCarga configuracion = ConfiguracionCarga.desde(args);
+        ConfigurableApplicationContext contexto = null;
+        URI base;
+        if (configuracion.texto("url").isEmpty()) {
+            contexto = levantarAplicacion(configuracion);
+            base = URI.create("http://localhost:" + contexto.getEnvironment().getProperty("local.server.port") + "/api/api/");
+        } else {
+            base = URI.create(configuracion.texto("url").replaceAll("/+$", "") + "/api/");
+        }
+        try {
+            ClienteCarga cliente = new ClienteCarga(base, configuracion.duracion("timeout"));
+            System.out.println("Sembrando datos en " + base);
+            DatosCarga datos = new Sembrador(cliente)
+                    .sembrar(configuracion.entero("datos.equipos"), configuracion.entero("datos.temporadas"));
+
+            Duration duracion = configuracion.duracion("duracion");
+            Medidor medidor = ejecutar(crearEscenarios(configuracion, cliente, datos), cliente,
+                    configuracion.duracion("calentamiento"), duracion);
+
+            String etiqueta = etiqueta(configuracion);
+            Reporte reporte = new Reporte(etiqueta, configuracion.valores(), duracion, medidor);
+            reporte.imprimir(System.out);
+            Path archivo = Path.of("resultados", "carga-" + etiqueta + "-" + LocalDateTime.now().format(FORMATO_FECHA) + ".json");
+            reporte.guardar(archivo);
+            System.out.println("\nReporte guardado en " + archivo);
+        } finally {
+            if (contexto != null) {
+                contexto.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext levantarAplicacion(ConfiguracionCarga configuracion) {
+        List<String> perfiles = new ArrayList<>(configuracion.lista("perfiles"));
+        switch (configuracion.texto("base")) {
+            case "h2" -> { }
+            case "postgres" -> perfiles.add(0, "prod");
+            default -> throw new IllegalArgumentException("Base de datos desconocida: " + configuracion.texto("base"));
+        }
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.com.liga.futbol=WARN"));
+        if (!perfiles.isEmpty()) {
+            argumentos.add("--spring.profiles.active=" + String.join(",", perfiles));
+        }
+        // Como argumentos para que prevalezcan sobre application.yml
+        return new SpringApplicationBuilder(LigaFutbolApiApplication.class).run(argumentos.toArray(String[]::new));
+    }
+
+    private static List<Escenario> crearEscenarios(ConfiguracionCarga configuracion, ClienteCarga cliente, DatosCarga datos) {
+        List<Escenario> escenarios = new ArrayList<>();
+        for (String nombre : configuracion.lista("escenarios")) {
+            escenarios.add(switch (nombre) {
+                case PollingFecha.NOMBRE -> new PollingFecha(configuracion, cliente, datos);
+                case ActualizacionMarcadores.NOMBRE -> new ActualizacionMarcadores(configuracion, cliente, datos);
+                case Autocompletado.NOMBRE -> new Autocompletado(configuracion, cliente, datos);
+                default -> throw new IllegalArgumentException("Escenario desconocido: " + nombre);
+            });
+        }
+        return escenarios;
+    }
+
+    /**
+     * Ejecuta los usuarios de todos los escenarios, cada uno en un hilo virtual, descartando
+     * lo registrado durante el calentamiento
+     * @return el medidor del período medido
+     */
+    private static Medidor ejecutar(List<Escenario> escenarios, ClienteCarga cliente,
+                                    Duration calentamiento, Duration duracion) throws InterruptedException {
+        long inicio = System.nanoTime();
+        long fin = inicio + calentamiento.toNanos() + duracion.toNanos();
+        List<Thread> hilos = new ArrayList<>();
+        for (Escenario escenario : escenarios) {
+            System.out.printf("Escenario %s: %d usuarios, una solicitud cada %s%n",
+                    escenario.nombre, escenario.usuarios, escenario.intervalo);
+            long periodo = escenario.intervalo.toNanos();
+            for (int i = 0; i < escenario.usuarios; i++) {
+                Escenario.Usuario usuario = escenario.nuevoUsuario();
+                // Fase aleatoria para que los usuarios no disparen todos en el mismo instante
+                long primero = inicio + (periodo > 0 ? ThreadLocalRandom.current().nextLong(periodo) : 0);
+                hilos.add(Thread.ofVirtual().name("carga-" + escenario.nombre + "-" + i)
+                        .start(() -> simular(usuario, primero, periodo, fin)));
+            }
+        }
+        TimeUnit.NANOSECONDS.sleep(calentamiento.toNanos());
+        cliente.reiniciarMedicion();
+        System.out.println("Calentamiento terminado, midiendo durante " + duracion);
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        return cliente.medidor();
+    }
+
+    /**
+     * Bucle de un usuario con ritmo fijo: si una respuesta se demora, las solicitudes
+     * siguientes salen de inmediato y su latencia incluye la espera acumulada
+     */
+    private static void simular(Escenario.Usuario usuario, long primero, long periodo, long fin) {
+        try {
+            long siguiente = primero;
+            while (siguiente < fin) {
+                long espera = siguiente - System.nanoTime();
+                if (espera > 0) {
+                    TimeUnit.NANOSECONDS.sleep(espera);
+                }
+                usuario.ejecutar(siguiente);
+                siguiente = periodo > 0 ? siguiente + periodo : System.nanoTime();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            System.err.println("Usuario simulado detenido por un error: " + e);
+        }
+    }
+
+    private static String etiqueta(ConfiguracionCarga configuracion) {
+        if (!configuracion.texto("etiqueta").isEmpty()) {
+            return configuracion.texto("etiqueta");
+        }
+        String version = EjecutarCarga.class.getPackage().getImplementationVersion();
+        return version != null ? version : "dev";
+    }
+
+}
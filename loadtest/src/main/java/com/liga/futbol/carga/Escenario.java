@@ -0,0 +1,41 @@
+package com.liga.futbol.carga;
+
+import java.time.Duration;
+
+/**
+ * Tipo de tráfico simulado por {@code usuarios} clientes concurrentes, cada uno enviando
+ * una solicitud cada {@code intervalo} (0 = tan rápido como responda el servidor)
+ */
+abstract class Escenario {
+
+    final String nombre;
+    final int usuarios;
+    final Duration intervalo;
+    final ClienteCarga cliente;
+    final DatosCarga datos;
+
+    Escenario(String nombre, ConfiguracionCarga configuracion, ClienteCarga cliente, DatosCarga datos) {
+        this.nombre = nombre;
+        this.usuarios = configuracion.entero(nombre + ".usuarios");
+        this.intervalo = configuracion.duracion(nombre + ".intervalo");
+        this.cliente = cliente;
+        this.datos = datos;
+    }
+
+    /**
+     * Crea el estado de un usuario simulado; cada usuario corre en su propio hilo virtual
+     */
+    abstract Usuario nuevoUsuario();
+
+    @FunctionalInterface
+    interface Usuario {
+
+        /**
+         * Realiza una operación del usuario
+         * @param inicioPrevisto instante (System.nanoTime) en que debía comenzar
+         */
+        void ejecutar(long inicioPrevisto) throws InterruptedException;
+
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.liga.futbol.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias y códigos de respuesta por endpoint de un período de medición.
+ * Se reemplaza por uno nuevo al terminar el calentamiento.
+ */
+final class Medidor {
+
+    // Hasta 1 minuto con 3 dígitos significativos
+    private static final long LATENCIA_MAXIMA = TimeUnit.MINUTES.toMicros(1);
+
+    /**
+     * Código usado para las solicitudes sin respuesta (timeout, conexión rechazada, etc.)
+     */
+    static final int SIN_RESPUESTA = 0;
+
+    private final long inicio = System.nanoTime();
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void registrar(String escenario, String endpoint, int estado, long latenciaNanos) {
+        endpoints.computeIfAbsent(endpoint, nombre -> new Endpoint(escenario, nombre))
+                .registrar(estado, latenciaNanos);
+    }
+
+    long inicio() {
+        return inicio;
+    }
+
+    List<Endpoint> endpoints() {
+        List<Endpoint> resultado = new ArrayList<>(endpoints.values());
+        resultado.sort((a, b) -> a.nombre.compareTo(b.nombre));
+        return resultado;
+    }
+
+    static final class Endpoint {
+
+        final String escenario;
+        final String nombre;
+        final Histogram latencias = new ConcurrentHistogram(LATENCIA_MAXIMA, 3);
+        private final Map<Integer, LongAdder> estados = new ConcurrentHashMap<>();
+
+        private Endpoint(String escenario, String nombre) {
+            this.escenario = escenario;
+            this.nombre = nombre;
+        }
+
+        private void registrar(int estado, long latenciaNanos) {
+            latencias.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latenciaNanos), LATENCIA_MAXIMA));
+            estados.computeIfAbsent(estado, codigo -> new LongAdder()).increment();
+        }
+
+        long solicitudes() {
+            return latencias.getTotalCount();
+        }
+
+        /**
+         * Solicitudes sin respuesta o con error. Un 409 es un conflicto de versión esperado
+         * cuando varios clientes actualizan el mismo partido, por eso se cuenta aparte.
+         */
+        long errores() {
+            long errores = 0;
+            for (Map.Entry<Integer, LongAdder> estado : estados.entrySet()) {
+                int codigo = estado.getKey();
+                if (codigo == SIN_RESPUESTA || (codigo >= 400 && codigo != 409)) {
+                    errores += estado.getValue().sum();
+                }
+            }
+            return errores;
+        }
+
+        long conflictos() {
+            LongAdder conflictos = estados.get(409);
+            return conflictos != null ? conflictos.sum() : 0;
+        }
+
+        Map<Integer, Long> estados() {
+            Map<Integer, Long> resultado = new TreeMap<>();
+            estados.forEach((codigo, cantidad) -> resultado.put(codigo, cantidad.sum()));
+            return resultado;
+        }
+
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.liga.futbol.carga;
+
+import java.net.http.HttpRequest;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Hinchas que refrescan periódicamente los partidos de una fecha en juego
+ */
+final class PollingFecha extends Escenario {
+
+    static final String NOMBRE = "polling";
+    private static final String ENDPOINT = "GET /partidos/fecha/{fecha}";
+
+    PollingFecha(ConfiguracionCarga configuracion, ClienteCarga cliente, DatosCarga datos) {
+        super(NOMBRE, configuracion, cliente, datos);
+    }
+
+    @Override
+    Usuario nuevoUsuario() {
+        LocalDate fecha = datos.fechasEnJuego().get(ThreadLocalRandom.current().nextInt(datos.fechasEnJuego().size()));
+        HttpRequest solicitud = cliente.solicitud("partidos/fecha/" + fecha).GET().build();
+        return inicioPrevisto -> cliente.enviar(nombre, ENDPOINT, solicitud, inicioPrevisto);
+    }
+
+}
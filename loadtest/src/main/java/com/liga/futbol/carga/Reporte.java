@@ -0,0 +1,98 @@
+package com.liga.futbol.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resultado de una ejecución: throughput, percentiles de latencia y tasa de errores por
+ * endpoint. Se imprime como tabla y se guarda en JSON para comparar versiones.
+ */
+final class Reporte {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final String etiqueta;
+    private final Map<String, String> configuracion;
+    private final Duration duracion;
+    private final List<Medidor.Endpoint> endpoints;
+
+    Reporte(String etiqueta, Map<String, String> configuracion, Duration duracion, Medidor medidor) {
+        this.etiqueta = etiqueta;
+        this.configuracion = configuracion;
+        this.duracion = duracion;
+        this.endpoints = medidor.endpoints();
+    }
+
+    void imprimir(PrintStream salida) {
+        salida.printf(Locale.ROOT, "%nVersión %s, %d s medidos%n", etiqueta, duracion.toSeconds());
+        salida.printf(Locale.ROOT, "%-16s %-32s %10s %9s %9s %9s %9s %9s %9s %8s %9s%n",
+                "escenario", "endpoint", "solicitudes", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms",
+                "max ms", "errores", "conflict.");
+        for (Medidor.Endpoint endpoint : endpoints) {
+            Histogram latencias = endpoint.latencias;
+            salida.printf(Locale.ROOT, "%-16s %-32s %10d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7.2f%% %9d%n",
+                    endpoint.escenario, endpoint.nombre, endpoint.solicitudes(), porSegundo(endpoint.solicitudes()),
+                    ms(latencias.getValueAtPercentile(50)), ms(latencias.getValueAtPercentile(90)),
+                    ms(latencias.getValueAtPercentile(99)), ms(latencias.getValueAtPercentile(99.9)),
+                    ms(latencias.getMaxValue()), tasaError(endpoint), endpoint.conflictos());
+        }
+    }
+
+    void guardar(Path archivo) throws IOException {
+        Map<String, Object> raiz = new LinkedHashMap<>();
+        raiz.put("version", etiqueta);
+        raiz.put("fecha", LocalDateTime.now().toString());
+        raiz.put("duracionSegundos", duracion.toSeconds());
+        raiz.put("configuracion", configuracion);
+        List<Map<String, Object>> filas = new ArrayList<>();
+        for (Medidor.Endpoint endpoint : endpoints) {
+            Histogram latencias = endpoint.latencias;
+            Map<String, Object> percentiles = new LinkedHashMap<>();
+            for (double percentil : PERCENTILES) {
+                percentiles.put("p" + (percentil % 1 == 0 ? String.valueOf((int) percentil) : String.valueOf(percentil)),
+                        ms(latencias.getValueAtPercentile(percentil)));
+            }
+            percentiles.put("max", ms(latencias.getMaxValue()));
+            percentiles.put("media", ms((long) latencias.getMean()));
+            Map<String, Object> fila = new LinkedHashMap<>();
+            fila.put("escenario", endpoint.escenario);
+            fila.put("endpoint", endpoint.nombre);
+            fila.put("solicitudes", endpoint.solicitudes());
+            fila.put("solicitudesPorSegundo", porSegundo(endpoint.solicitudes()));
+            fila.put("latenciaMs", percentiles);
+            fila.put("errores", endpoint.errores());
+            fila.put("tasaErrorPorcentaje", tasaError(endpoint));
+            fila.put("conflictos", endpoint.conflictos());
+            fila.put("estados", endpoint.estados());
+            filas.add(fila);
+        }
+        raiz.put("endpoints", filas);
+        Files.createDirectories(archivo.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(archivo.toFile(), raiz);
+    }
+
+    private double porSegundo(long cantidad) {
+        return cantidad * 1000.0 / Math.max(1, duracion.toMillis());
+    }
+
+    private static double tasaError(Medidor.Endpoint endpoint) {
+        return endpoint.solicitudes() == 0 ? 0 : endpoint.errores() * 100.0 / endpoint.solicitudes();
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.liga.futbol.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Siembra los datos a través de la propia API: equipos con nombres realistas, ligas de
+ * {@code temporadas} años con todos ellos inscritos y su fixture a doble rueda. La primera
+ * jornada de cada liga queda como la jornada en juego de los escenarios.
+ */
+final class Sembrador {
+
+    private static final String[] PREFIJOS = {"Club", "Deportivo", "Unión", "Atlético", "Real", "Sporting", "Audax", "Santiago"};
+    private static final String[] LUGARES = {"Ñuñoa", "Maipú", "La Florida", "Providencia", "Puente Alto", "Recoleta",
+            "Independencia", "San Miguel", "La Cisterna", "Macul", "Peñalolén", "Quilicura", "Renca", "Lo Prado"};
+    private static final short JORNADA_EN_JUEGO = 1;
+
+    private final ClienteCarga cliente;
+    private final ObjectMapper json = new ObjectMapper();
+
+    Sembrador(ClienteCarga cliente) {
+        this.cliente = cliente;
+    }
+
+    DatosCarga sembrar(int equipos, int temporadas) throws IOException, InterruptedException {
+        // Sufijo por ejecución para poder sembrar varias veces en una misma instancia
+        String ejecucion = Long.toString(System.currentTimeMillis() % 1_000_000, 36);
+        ArrayNode cuerpoEquipos = json.createArrayNode();
+        List<String> nombres = new ArrayList<>(equipos);
+        for (int i = 0; i < equipos; i++) {
+            String nombre = nombreEquipo(i) + " " + ejecucion;
+            nombres.add(nombre);
+            cuerpoEquipos.addObject()
+                    .put("nombre", nombre)
+                    .put("anioFundacion", 1900 + i % 120)
+                    .put("comunaLocal", LUGARES[i % LUGARES.length])
+                    .put("historia", ("Fundado en " + LUGARES[i % LUGARES.length] + ". ").repeat(40));
+        }
+        ArrayNode inscritos = json.createArrayNode();
+        for (JsonNode resultado : enviar("equipos/bulk", cuerpoEquipos)) {
+            if (!"CREADO".equals(resultado.path("estado").asText())) {
+                throw new IllegalStateException("No se pudo crear un equipo: " + resultado);
+            }
+            inscritos.addObject().put("id", resultado.path("id").asInt());
+        }
+
+        TreeSet<LocalDate> fechas = new TreeSet<>();
+        List<Integer> partidos = new ArrayList<>();
+        int primerAnio = LocalDate.now().getYear() - temporadas + 1;
+        for (int t = 0; t < temporadas; t++) {
+            int anio = primerAnio + t;
+            ObjectNode liga = json.createObjectNode()
+                    .put("nombre", "Liga de Santiago " + anio + " " + ejecucion)
+                    .put("anio", anio)
+                    .put("fechaInicio", LocalDate.of(anio, 2, 1).toString())
+                    .put("fechaFin", LocalDate.of(anio, 12, 15).toString());
+            liga.set("equipos", inscritos);
+            int ligaId = enviar("ligas", liga).path("id").asInt();
+            JsonNode fixture = enviar("ligas/" + ligaId + "/fixture", json.createObjectNode().put("idaYVuelta", true));
+            for (JsonNode partido : fixture) {
+                if (partido.path("jornada").asInt() == JORNADA_EN_JUEGO) {
+                    partidos.add(partido.path("id").asInt());
+                    fechas.add(LocalDate.parse(partido.path("fecha").asText()));
+                }
+            }
+        }
+        return new DatosCarga(List.copyOf(fechas), List.copyOf(partidos), List.copyOf(nombres));
+    }
+
+    private JsonNode enviar(String ruta, JsonNode cuerpo) throws IOException, InterruptedException {
+        HttpResponse<String> respuesta = cliente.enviarSinMedir(cliente.solicitud(ruta)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json.writeValueAsString(cuerpo)))
+                .build());
+        if (respuesta.statusCode() / 100 != 2) {
+            throw new IllegalStateException("POST " + ruta + " respondió " + respuesta.statusCode());
+        }
+        return json.readTree(respuesta.body());
+    }
+
+    private static String nombreEquipo(int i) {
+        String nombre = PREFIJOS[i % PREFIJOS.length] + " " + LUGARES[(i / PREFIJOS.length) % LUGARES.length];
+        int vuelta = i / (PREFIJOS.length * LUGARES.length);
+        return vuelta == 0 ? nombre : nombre + " " + (vuelta + 1);
+    }
+
+}
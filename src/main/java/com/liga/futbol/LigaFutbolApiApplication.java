@@ -2,6 +2,7 @@ package com.liga.futbol;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 /**
  * Aplicación principal de la API REST de Liga de Fútbol
@@ -9,8 +10,13 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 @SpringBootApplication
 public class LigaFutbolApiApplication {
 
+    // Pasos del arranque que se registran para el informe de arranque y /actuator/startup
+    private static final int PASOS_ARRANQUE = 4096;
+
     public static void main(String[] args) {
-        SpringApplication.run(LigaFutbolApiApplication.class, args);
+        SpringApplication aplicacion = new SpringApplication(LigaFutbolApiApplication.class);
+        aplicacion.setApplicationStartup(new BufferingApplicationStartup(PASOS_ARRANQUE));
+        aplicacion.run(args);
     }
 
 }
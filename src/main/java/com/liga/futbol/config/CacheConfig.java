@@ -0,0 +1,37 @@
+package com.liga.futbol.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.util.List;
+
+/**
+ * Configuración de las cachés de lectura de equipos y ligas.
+ * Las escrituras y desalojos se aplican al confirmar la transacción, para que
+ * una lectura concurrente no vuelva a cachear datos que aún no están confirmados.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String EQUIPO = "equipo";
+    public static final String EQUIPOS = "equipos";
+    public static final String LIGA = "liga";
+    public static final String LIGAS = "ligas";
+    public static final String LIGAS_POR_ANIO = "ligasPorAnio";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${liga.cache.spec}") String spec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.from(spec));
+        cacheManager.setCacheNames(List.of(EQUIPO, EQUIPOS, LIGA, LIGAS, LIGAS_POR_ANIO));
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+}
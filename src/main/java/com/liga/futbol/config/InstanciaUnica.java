@@ -0,0 +1,57 @@
+package com.liga.futbol.config;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Component;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Impide que dos instancias de la API usen la misma base de datos, activo cuando existe
+ * {@code liga.instancia-unica.clave}. Las transmisiones en vivo (y la escritura diferida de
+ * marcadores) dependen de eventos locales: un cambio confirmado en otra instancia no llegaría a
+ * sus suscriptores. Al iniciar se toma el advisory lock de PostgreSQL con esa clave en una
+ * conexión propia, fuera del pool, y se conserva hasta detener la aplicación; si otra instancia
+ * ya lo tiene, el arranque falla.
+ */
+@Component
+@ConditionalOnProperty(prefix = "liga.instancia-unica", name = "clave")
+public class InstanciaUnica {
+
+    private static final Logger log = LoggerFactory.getLogger(InstanciaUnica.class);
+
+    private final Connection conexion;
+
+    public InstanciaUnica(DataSourceProperties propiedades,
+                          @Value("${liga.instancia-unica.clave}") long clave) throws SQLException {
+        this.conexion = propiedades.initializeDataSourceBuilder().type(SimpleDriverDataSource.class).build()
+                .getConnection();
+        try (PreparedStatement sentencia = conexion.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            sentencia.setLong(1, clave);
+            try (ResultSet resultado = sentencia.executeQuery()) {
+                if (!resultado.next() || !resultado.getBoolean(1)) {
+                    throw new IllegalStateException("Otra instancia de la API ya usa esta base de datos "
+                            + "(liga.instancia-unica.clave = " + clave + ")");
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            conexion.close();
+            throw e;
+        }
+        log.info("Instancia única: advisory lock {} tomado", clave);
+    }
+
+    @PreDestroy
+    void liberar() throws SQLException {
+        // Cerrar la sesión libera el lock
+        conexion.close();
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.liga.futbol.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Garantiza que un cliente lea sus propias escrituras aunque la réplica vaya atrasada.
+ * Toda solicitud de escritura (POST, PUT, PATCH, DELETE) lee de la primaria y deja una cookie
+ * que dura {@code liga.replica.lectura-propia}; mientras el cliente la envíe, sus lecturas
+ * también van a la primaria.
+ */
+@Component
+@ConditionalOnProperty(prefix = "liga.replica", name = {"url", "lectura-propia"})
+public class LecturaPropiaFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "liga-escritura";
+
+    private static final Set<String> METODOS_LECTURA = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Duration ventana;
+
+    public LecturaPropiaFilter(@Value("${liga.replica.lectura-propia}") Duration ventana) {
+        this.ventana = ventana;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean escritura = !METODOS_LECTURA.contains(request.getMethod());
+        if (escritura) {
+            String ruta = request.getContextPath().isEmpty() ? "/" : request.getContextPath();
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE, "1")
+                    .path(ruta)
+                    .maxAge(ventana)
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build()
+                    .toString());
+        }
+        if (!escritura && WebUtils.getCookie(request, COOKIE) == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        RuteoDataSource.marcarEscrituraReciente();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RuteoDataSource.limpiarEscrituraReciente();
+        }
+    }
+
+}
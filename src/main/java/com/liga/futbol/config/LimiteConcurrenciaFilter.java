@@ -0,0 +1,112 @@
+package com.liga.futbol.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limita la cantidad de solicitudes atendidas a la vez al tamaño del pool de conexiones
+ * ({@code spring.datasource.hikari.maximum-pool-size}) menos las conexiones que quedan para las
+ * tareas en segundo plano ({@code liga.concurrencia.conexiones-reservadas}).
+ * Con hilos virtuales Tomcat ya no tiene un máximo de hilos; con este límite cada solicitud
+ * admitida encuentra una conexión libre y las demás esperan aquí, antes de ocupar nada, en vez
+ * de esperar en el pool hasta su timeout. Las que no obtienen permiso dentro de
+ * {@code liga.concurrencia.espera} reciben 503 con Retry-After.
+ * Las respuestas asíncronas (exportaciones) conservan el permiso hasta terminar, porque leen de
+ * la base de datos mientras escriben; las suscripciones en vivo no la usan y lo liberan al iniciar.
+ */
+@Component
+@ConditionalOnProperty(prefix = "liga.concurrencia", name = "conexiones-reservadas")
+public class LimiteConcurrenciaFilter extends OncePerRequestFilter {
+
+    private final Semaphore permisos;
+    private final long esperaMs;
+
+    public LimiteConcurrenciaFilter(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int tamanoPool,
+                                    @Value("${liga.concurrencia.conexiones-reservadas}") int conexionesReservadas,
+                                    @Value("${liga.concurrencia.espera:2s}") Duration espera) {
+        if (conexionesReservadas < 0 || conexionesReservadas >= tamanoPool) {
+            throw new IllegalArgumentException("liga.concurrencia.conexiones-reservadas debe ser menor que el pool ("
+                    + tamanoPool + ")");
+        }
+        this.permisos = new Semaphore(tamanoPool - conexionesReservadas, true);
+        this.esperaMs = espera.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean obtenido;
+        try {
+            obtenido = permisos.tryAcquire(esperaMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            obtenido = false;
+        }
+        if (!obtenido) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            return;
+        }
+        AtomicBoolean liberado = new AtomicBoolean();
+        Runnable liberar = () -> {
+            if (liberado.compareAndSet(false, true)) {
+                permisos.release();
+            }
+        };
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted() && !esSuscripcion(response)) {
+                request.getAsyncContext().addListener(new LiberarAlTerminar(liberar));
+            } else {
+                liberar.run();
+            }
+        }
+    }
+
+    private static boolean esSuscripcion(HttpServletResponse response) {
+        String contentType = response.getContentType();
+        return contentType != null && contentType.startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    private record LiberarAlTerminar(Runnable liberar) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            liberar.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            liberar.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            liberar.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Sigue la misma respuesta asíncrona: el permiso se libera al completarse
+        }
+
+    }
+
+}
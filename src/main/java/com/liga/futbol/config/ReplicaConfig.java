@@ -0,0 +1,95 @@
+package com.liga.futbol.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuración de lectura desde una réplica, activa cuando existe {@code liga.replica.url}.
+ * La primaria se configura como siempre con {@code spring.datasource.*}; la réplica usa
+ * {@code liga.replica.url}, {@code username}, {@code password} y {@code hikari.*}, con su
+ * propio pool de conexiones de sólo lectura.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "liga.replica", name = "url")
+public class ReplicaConfig {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties propiedades, Environment entorno) {
+        Binder binder = Binder.get(entorno);
+        HikariDataSource primaria = propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primaria));
+        primaria.setPoolName("primaria");
+
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(propiedades.determineDriverClassName())
+                .url(entorno.getRequiredProperty("liga.replica.url"))
+                .username(entorno.getProperty("liga.replica.username", propiedades.determineUsername()))
+                .password(entorno.getProperty("liga.replica.password", propiedades.determinePassword()))
+                .build();
+        binder.bind("liga.replica.hikari", Bindable.ofInstance(replica));
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+
+        pools.add(primaria);
+        pools.add(replica);
+        return new RuteoDataSource(primaria, replica);
+    }
+
+    /**
+     * Gestor de transacciones JPA que, al iniciar una transacción nueva, indica al
+     * {@link RuteoDataSource} si puede tomar su conexión de la réplica
+     */
+    @Bean
+    public JpaTransactionManager transactionManager(ObjectProvider<TransactionManagerCustomizers> customizers) {
+        JpaTransactionManager transactionManager = new JpaTransactionManager() {
+            @Override
+            protected void doBegin(Object transaction, TransactionDefinition definition) {
+                RuteoDataSource.iniciarTransaccion(definition.isReadOnly()
+                        && definition instanceof TransactionAttribute atributo
+                        && atributo.getLabels().contains(RuteoDataSource.REPLICA));
+                try {
+                    super.doBegin(transaction, definition);
+                } catch (RuntimeException | Error e) {
+                    RuteoDataSource.terminarTransaccion();
+                    throw e;
+                }
+            }
+
+            @Override
+            protected void doCleanupAfterCompletion(Object transaction) {
+                try {
+                    super.doCleanupAfterCompletion(transaction);
+                } finally {
+                    RuteoDataSource.terminarTransaccion();
+                }
+            }
+        };
+        customizers.ifAvailable(personalizacion -> personalizacion.customize(transactionManager));
+        return transactionManager;
+    }
+
+    @PreDestroy
+    void cerrar() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+}
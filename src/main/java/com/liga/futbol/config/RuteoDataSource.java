@@ -0,0 +1,64 @@
+package com.liga.futbol.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * DataSource que envía a la réplica las conexiones de las transacciones de sólo lectura
+ * marcadas con {@code @Transactional(readOnly = true, label = RuteoDataSource.REPLICA)} y todas
+ * las demás a la primaria. Sólo se marcan las lecturas que toleran el retraso de la réplica:
+ * las que llenan cachés o estructuras en memoria siguen leyendo de la primaria.
+ * Tras una escritura, las lecturas del mismo cliente vuelven a la primaria por un tiempo
+ * (ver {@link LecturaPropiaFilter}). Sin {@code liga.replica.url} no se usa.
+ */
+public class RuteoDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Etiqueta de las transacciones que pueden leer de la réplica
+     */
+    public static final String REPLICA = "replica";
+
+    private static final ThreadLocal<Boolean> LECTURA_EN_REPLICA = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> ESCRITURA_RECIENTE = new ThreadLocal<>();
+
+    enum Destino {
+        PRIMARIA,
+        REPLICA
+    }
+
+    RuteoDataSource(DataSource primaria, DataSource replica) {
+        setTargetDataSources(Map.of(Destino.PRIMARIA, primaria, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primaria);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return Boolean.TRUE.equals(LECTURA_EN_REPLICA.get()) && !Boolean.TRUE.equals(ESCRITURA_RECIENTE.get())
+                ? Destino.REPLICA
+                : Destino.PRIMARIA;
+    }
+
+    /**
+     * Indica si la transacción que se inicia en el hilo actual puede leer de la réplica
+     */
+    static void iniciarTransaccion(boolean lecturaEnReplica) {
+        LECTURA_EN_REPLICA.set(lecturaEnReplica);
+    }
+
+    static void terminarTransaccion() {
+        LECTURA_EN_REPLICA.remove();
+    }
+
+    /**
+     * Envía a la primaria todas las lecturas del hilo actual hasta {@link #limpiarEscrituraReciente()}
+     */
+    static void marcarEscrituraReciente() {
+        ESCRITURA_RECIENTE.set(Boolean.TRUE);
+    }
+
+    static void limpiarEscrituraReciente() {
+        ESCRITURA_RECIENTE.remove();
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.liga.futbol.controller;
+
+import com.liga.futbol.model.dto.EstadisticaCache;
+import com.liga.futbol.service.CacheService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+/**
+ * Controlador REST para consultar el estado de las cachés
+ */
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class CacheController {
+
+    private final CacheService cacheService;
+
+    public CacheController(CacheService cacheService) {
+        this.cacheService = cacheService;
+    }
+
+    /**
+     * GET /api/cache/estadisticas
+     * Obtiene aciertos, fallos, desalojos y tamaño de cada caché
+     */
+    @GetMapping("/estadisticas")
+    public ResponseEntity<List<EstadisticaCache>> obtenerEstadisticas() {
+        return ResponseEntity.ok(cacheService.obtenerEstadisticas());
+    }
+
+}
@@ -1,10 +1,19 @@
 package com.liga.futbol.controller;
 
+import com.liga.futbol.model.dto.EstadisticasEquipo;
+import com.liga.futbol.model.dto.ResultadoImportacion;
 import com.liga.futbol.model.entity.Equipo;
 import com.liga.futbol.service.EquipoService;
+import com.liga.futbol.service.EstadisticasEquipoService;
+import com.liga.futbol.service.ImportacionService;
+import com.liga.futbol.service.VersionesService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,43 +26,90 @@ import java.util.Optional;
 public class EquipoController {
 
     private final EquipoService equipoService;
+    private final ImportacionService importacionService;
+    private final VersionesService versionesService;
+    private final EstadisticasEquipoService estadisticasService;
 
-    public EquipoController(EquipoService equipoService) {
+    public EquipoController(EquipoService equipoService,
+                            ImportacionService importacionService,
+                            VersionesService versionesService,
+                            EstadisticasEquipoService estadisticasService) {
         this.equipoService = equipoService;
+        this.importacionService = importacionService;
+        this.versionesService = versionesService;
+        this.estadisticasService = estadisticasService;
     }
 
     /**
      * GET /api/equipos
-     * Obtiene la lista de todos los equipos
+     * Obtiene la lista de todos los equipos. Responde 304 si el If-None-Match coincide con su versión,
+     * que se calcula en la base de datos sin leer la lista.
      */
     @GetMapping
-    public ResponseEntity<List<Equipo>> obtenerTodos() {
+    public ResponseEntity<List<Equipo>> obtenerTodos(WebRequest request) {
+        String etag = versionesService.etagTodosLosEquipos();
+        // Se compara sin checkNotModified, que fijaría en la respuesta este ETag aunque luego se responda otro
+        if (RespuestaVersionada.coincidente(request, etag).isPresent()) {
+            return RespuestaVersionada.noModificado(etag);
+        }
         List<Equipo> equipos = equipoService.obtenerTodos();
-        return ResponseEntity.ok(equipos);
+        // La lista puede venir de la caché en un estado distinto del de la huella: el ETag
+        // enviado describe siempre lo que se responde
+        return RespuestaVersionada.ok(versionesService.etagEquipos(equipos), equipos);
     }
 
     /**
      * GET /api/equipos/{id}
-     * Obtiene un equipo específico por su ID
+     * Obtiene un equipo específico por su ID. Responde 304 si el If-None-Match coincide con su versión.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Equipo> obtenerPorId(@PathVariable Integer id) {
+    public ResponseEntity<Equipo> obtenerPorId(@PathVariable Integer id, WebRequest request) {
         Optional<Equipo> equipo = equipoService.obtenerPorId(id);
-        return equipo.map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        if (equipo.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = versionesService.etagEquipo(equipo.get());
+        if (request.checkNotModified(etag)) {
+            return RespuestaVersionada.noModificado(etag);
+        }
+        return RespuestaVersionada.ok(etag, equipo.get());
+    }
+
+    /**
+     * GET /api/equipos/{id}/estadisticas?ligaId={id}&temporada={anio}&ultimos={n}
+     * Obtiene las estadísticas de los partidos finalizados del equipo: totales, de local y de
+     * visita, racha actual y forma en los últimos n partidos (5 por defecto), opcionalmente
+     * limitadas a una liga o a un año
+     * Ejemplo: GET /api/equipos/1/estadisticas?temporada=2026
+     */
+    @GetMapping("/{id}/estadisticas")
+    public ResponseEntity<EstadisticasEquipo> obtenerEstadisticas(
+            @PathVariable Integer id,
+            @RequestParam(required = false) Integer ligaId,
+            @RequestParam(required = false) Short temporada,
+            @RequestParam(defaultValue = "5") int ultimos) {
+        try {
+            return estadisticasService.obtener(id, ligaId, temporada, ultimos)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
-     * GET /api/equipos/buscar?nombre={texto}
-     * Busca equipos por nombre (búsqueda parcial)
-     * Ejemplo: GET /api/equipos/buscar?nombre=Colo
+     * GET /api/equipos/buscar?nombre={texto}&limite={n}
+     * Busca equipos por nombre (búsqueda parcial, sin distinguir acentos), ordenados por relevancia
+     * Ejemplo: GET /api/equipos/buscar?nombre=Colo&limite=10
      */
     @GetMapping("/buscar")
-    public ResponseEntity<List<Equipo>> buscarPorNombre(@RequestParam String nombre) {
+    public ResponseEntity<List<Equipo>> buscarPorNombre(
+            @RequestParam String nombre,
+            @RequestParam(defaultValue = "20") int limite) {
         if (nombre == null || nombre.trim().isEmpty()) {
             return ResponseEntity.badRequest().build();
         }
-        List<Equipo> equipos = equipoService.buscarPorNombre(nombre);
+        List<Equipo> equipos = equipoService.buscarPorNombre(nombre, Math.max(1, Math.min(limite, 100)));
         return ResponseEntity.ok(equipos);
     }
 
@@ -78,6 +134,33 @@ public class EquipoController {
         }
     }
 
+    /**
+     * POST /api/equipos/bulk
+     * Importa equipos en lote desde un arreglo JSON. Devuelve un resultado por fila
+     * (CREADO con su ID, o RECHAZADO con el motivo).
+     * Body ejemplo:
+     * [{"nombre": "Colo Colo", "anioFundacion": 1925, "comunaLocal": "Santiago", "historia": "..."}]
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ResultadoImportacion>> importar(@RequestBody List<Equipo> equipos) {
+        return ResponseEntity.ok(importacionService.importarEquipos(equipos));
+    }
+
+    /**
+     * POST /api/equipos/bulk (Content-Type: application/x-ndjson)
+     * Importa equipos en lote desde NDJSON, un objeto por línea
+     */
+    @PostMapping(value = "/bulk", consumes = "application/x-ndjson")
+    public ResponseEntity<List<ResultadoImportacion>> importarNdjson(InputStream cuerpo) {
+        List<Equipo> equipos;
+        try {
+            equipos = importacionService.leerNdjson(cuerpo, Equipo.class);
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(importacionService.importarEquipos(equipos));
+    }
+
     /**
      * PUT /api/equipos/{id}
      * Actualiza un equipo existente
@@ -1,10 +1,25 @@
 package com.liga.futbol.controller;
 
+import com.liga.futbol.model.dto.ArchivoTemporada;
+import com.liga.futbol.model.dto.ConfiguracionFixture;
+import com.liga.futbol.model.dto.EstadoEliminacion;
+import com.liga.futbol.model.dto.FilaTabla;
+import com.liga.futbol.model.dto.PartidoProgramado;
+import com.liga.futbol.model.dto.SimulacionLiga;
 import com.liga.futbol.model.entity.Liga;
+import com.liga.futbol.service.ArchivoTemporadasService;
+import com.liga.futbol.service.EliminacionLigaService;
+import com.liga.futbol.service.ExportacionService;
+import com.liga.futbol.service.FixtureService;
 import com.liga.futbol.service.LigaService;
+import com.liga.futbol.service.SimulacionService;
+import com.liga.futbol.service.TablaPosicionesService;
+import com.liga.futbol.service.VersionesService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,9 +32,27 @@ import java.util.Optional;
 public class LigaController {
 
     private final LigaService ligaService;
+    private final TablaPosicionesService tablaPosicionesService;
+    private final FixtureService fixtureService;
+    private final VersionesService versionesService;
+    private final ArchivoTemporadasService archivoTemporadas;
+    private final EliminacionLigaService eliminacionLigaService;
+    private final SimulacionService simulacionService;
 
-    public LigaController(LigaService ligaService) {
+    public LigaController(LigaService ligaService,
+                          TablaPosicionesService tablaPosicionesService,
+                          FixtureService fixtureService,
+                          VersionesService versionesService,
+                          ArchivoTemporadasService archivoTemporadas,
+                          EliminacionLigaService eliminacionLigaService,
+                          SimulacionService simulacionService) {
         this.ligaService = ligaService;
+        this.tablaPosicionesService = tablaPosicionesService;
+        this.fixtureService = fixtureService;
+        this.versionesService = versionesService;
+        this.archivoTemporadas = archivoTemporadas;
+        this.eliminacionLigaService = eliminacionLigaService;
+        this.simulacionService = simulacionService;
     }
 
     /**
@@ -34,26 +67,119 @@ public class LigaController {
 
     /**
      * GET /api/ligas/{id}
-     * Obtiene una liga específica por su ID
+     * Obtiene una liga específica por su ID. Responde 304 si el If-None-Match coincide con su versión.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Liga> obtenerPorId(@PathVariable Integer id) {
+    public ResponseEntity<Liga> obtenerPorId(@PathVariable Integer id, WebRequest request) {
         Optional<Liga> liga = ligaService.obtenerPorId(id);
-        return liga.map(ResponseEntity::ok)
+        if (liga.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = versionesService.etagLiga(liga.get());
+        if (request.checkNotModified(etag)) {
+            return RespuestaVersionada.noModificado(etag);
+        }
+        return RespuestaVersionada.ok(etag, liga.get());
+    }
+
+    /**
+     * GET /api/ligas/{id}/tabla
+     * Obtiene la tabla de posiciones de una liga (3 puntos por victoria, 1 por empate).
+     * Sólo consideran los partidos en estado FINALIZADO.
+     */
+    @GetMapping("/{id}/tabla")
+    public ResponseEntity<List<FilaTabla>> obtenerTabla(@PathVariable Integer id) {
+        return tablaPosicionesService.obtenerTabla(id)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     /**
-     * GET /api/ligas/buscar?nombre={texto}
-     * Busca ligas por nombre (búsqueda parcial)
-     * Ejemplo: GET /api/ligas/buscar?nombre=Profesional
+     * POST /api/ligas/{id}/tabla/reconstruir
+     * Reconstruye la tabla de posiciones desde la base de datos (verificación de consistencia)
+     */
+    @PostMapping("/{id}/tabla/reconstruir")
+    public ResponseEntity<List<FilaTabla>> reconstruirTabla(@PathVariable Integer id) {
+        return tablaPosicionesService.reconstruir(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /api/ligas/{id}/simulacion
+     * Obtiene la probabilidad de cada equipo de terminar en cada posición, de salir campeón y
+     * de descender, simulando los partidos pendientes con fuerzas ajustadas a resultados anteriores.
+     * La simulación se recalcula sólo cuando cambia algún resultado.
+     */
+    @GetMapping("/{id}/simulacion")
+    public ResponseEntity<SimulacionLiga> obtenerSimulacion(@PathVariable Integer id) {
+        try {
+            return simulacionService.obtener(id)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * POST /api/ligas/{id}/archivar
+     * Archiva una temporada cerrada en un snapshot binario del que se responden sus jornadas
+     * y su tabla sin consultar la base de datos. Responde 409 si la fecha de término no ha
+     * pasado o quedan partidos programados.
+     */
+    @PostMapping("/{id}/archivar")
+    public ResponseEntity<ArchivoTemporada> archivar(@PathVariable Integer id) {
+        try {
+            return archivoTemporadas.archivar(id)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * POST /api/ligas/{id}/fixture?simular={true|false}
+     * Genera el fixture todos contra todos de la liga con sus equipos inscritos, repartiendo
+     * las jornadas entre fechaInicio y fechaFin. Con simular=true sólo devuelve la propuesta.
+     * Responde 409 si la liga ya tiene partidos y 400 si las restricciones no se pueden cumplir.
+     * Body ejemplo (opcional):
+     * {
+     *   "idaYVuelta": true,
+     *   "horarios": ["12:00:00", "15:00:00", "18:00:00"]
+     * }
+     */
+    @PostMapping("/{id}/fixture")
+    public ResponseEntity<List<PartidoProgramado>> generarFixture(
+            @PathVariable Integer id,
+            @RequestParam(defaultValue = "false") boolean simular,
+            @RequestBody(required = false) ConfiguracionFixture configuracion) {
+        ConfiguracionFixture restricciones = configuracion != null ? configuracion : new ConfiguracionFixture(null, null);
+        try {
+            return fixtureService.generar(id, restricciones, simular)
+                    .map(fixture -> ResponseEntity.status(simular ? HttpStatus.OK : HttpStatus.CREATED).body(fixture))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * GET /api/ligas/buscar?nombre={texto}&limite={n}
+     * Busca ligas por nombre (búsqueda parcial, sin distinguir acentos), ordenadas por relevancia
+     * Ejemplo: GET /api/ligas/buscar?nombre=Profesional&limite=10
      */
     @GetMapping("/buscar")
-    public ResponseEntity<List<Liga>> buscarPorNombre(@RequestParam String nombre) {
+    public ResponseEntity<List<Liga>> buscarPorNombre(
+            @RequestParam String nombre,
+            @RequestParam(defaultValue = "20") int limite) {
         if (nombre == null || nombre.trim().isEmpty()) {
             return ResponseEntity.badRequest().build();
         }
-        List<Liga> ligas = ligaService.buscarPorNombre(nombre);
+        List<Liga> ligas = ligaService.buscarPorNombre(nombre, Math.max(1, Math.min(limite, 100)));
         return ResponseEntity.ok(ligas);
     }
 
@@ -105,14 +231,62 @@ public class LigaController {
 
     /**
      * DELETE /api/ligas/{id}
-     * Elimina una liga por su ID
+     * Elimina una liga por su ID junto con sus partidos, por lotes.
+     * Responde 409 si la liga ya se está eliminando.
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> eliminar(@PathVariable Integer id) {
-        if (ligaService.eliminar(id)) {
-            return ResponseEntity.noContent().build();
+        try {
+            if (eliminacionLigaService.eliminar(id)) {
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * POST /api/ligas/{id}/eliminacion?exportar={ndjson|csv}
+     * Programa la eliminación de una liga con sus partidos en segundo plano, exportando antes
+     * los partidos si se indica un formato. Responde 202 con el estado y su URL en Location,
+     * y 409 si la liga ya se está eliminando.
+     */
+    @PostMapping("/{id}/eliminacion")
+    public ResponseEntity<EstadoEliminacion> programarEliminacion(
+            @PathVariable Integer id,
+            @RequestParam(required = false) String exportar) {
+        ExportacionService.Formato formato = null;
+        if (exportar != null) {
+            try {
+                formato = ExportacionService.Formato.valueOf(exportar.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        try {
+            return eliminacionLigaService.programar(id, formato)
+                    .map(estado -> ResponseEntity.accepted()
+                            .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                                    .path("/api/ligas/eliminaciones/{trabajo}")
+                                    .buildAndExpand(estado.id())
+                                    .toUri())
+                            .body(estado))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
-        return ResponseEntity.notFound().build();
+    }
+
+    /**
+     * GET /api/ligas/eliminaciones/{trabajo}
+     * Obtiene el avance de una eliminación programada
+     */
+    @GetMapping("/eliminaciones/{trabajo}")
+    public ResponseEntity<EstadoEliminacion> obtenerEliminacion(@PathVariable String trabajo) {
+        return eliminacionLigaService.obtenerEstado(trabajo)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
 }
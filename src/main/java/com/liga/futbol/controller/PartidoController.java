@@ -1,10 +1,40 @@
 package com.liga.futbol.controller;
 
+import com.liga.futbol.model.dto.ActualizacionResultado;
+import com.liga.futbol.model.dto.CambioMarcador;
+import com.liga.futbol.model.dto.CursorPartidos;
+import com.liga.futbol.model.dto.Enfrentamiento;
+import com.liga.futbol.model.dto.FiltroPartidos;
+import com.liga.futbol.model.dto.MarcadorDiferido;
+import com.liga.futbol.model.dto.MarcadorPartido;
+import com.liga.futbol.model.dto.Pagina;
+import com.liga.futbol.model.dto.PartidoResumen;
+import com.liga.futbol.model.dto.ResultadoImportacion;
 import com.liga.futbol.model.entity.Partido;
+import com.liga.futbol.service.ArchivoTemporadasService;
+import com.liga.futbol.service.EnfrentamientoService;
+import com.liga.futbol.service.ExportacionService;
+import com.liga.futbol.service.IdempotenciaService;
 import com.liga.futbol.service.PartidoService;
+import com.liga.futbol.service.ImportacionService;
+import com.liga.futbol.service.MarcadorDiferidoService;
+import com.liga.futbol.service.MarcadorEnVivoService;
+import com.liga.futbol.service.ProyeccionPartidosService;
+import com.liga.futbol.service.RespuestasCodificadasService;
+import com.liga.futbol.service.RespuestasCodificadasService.RespuestaCodificada;
+import com.liga.futbol.service.VersionesService;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -17,20 +47,118 @@ import java.util.Optional;
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class PartidoController {
 
+    static final String HEADER_SIGUIENTE_CURSOR = "X-Siguiente-Cursor";
+    static final int LIMITE_POR_DEFECTO = 100;
+    static final int LIMITE_MAXIMO = 1000;
+
     private final PartidoService partidoService;
+    private final ExportacionService exportacionService;
+    private final ImportacionService importacionService;
+    private final ProyeccionPartidosService proyeccionService;
+    private final MarcadorEnVivoService marcadorEnVivoService;
+    private final VersionesService versionesService;
+    private final EnfrentamientoService enfrentamientoService;
+    private final ArchivoTemporadasService archivoTemporadas;
+    private final IdempotenciaService idempotenciaService;
+    private final MarcadorDiferidoService marcadorDiferidoService;
+    private final RespuestasCodificadasService respuestasCodificadas;
 
-    public PartidoController(PartidoService partidoService) {
+    public PartidoController(PartidoService partidoService,
+                             ExportacionService exportacionService,
+                             ImportacionService importacionService,
+                             ProyeccionPartidosService proyeccionService,
+                             MarcadorEnVivoService marcadorEnVivoService,
+                             VersionesService versionesService,
+                             EnfrentamientoService enfrentamientoService,
+                             ArchivoTemporadasService archivoTemporadas,
+                             IdempotenciaService idempotenciaService,
+                             MarcadorDiferidoService marcadorDiferidoService,
+                             RespuestasCodificadasService respuestasCodificadas) {
         this.partidoService = partidoService;
+        this.exportacionService = exportacionService;
+        this.importacionService = importacionService;
+        this.proyeccionService = proyeccionService;
+        this.marcadorEnVivoService = marcadorEnVivoService;
+        this.versionesService = versionesService;
+        this.enfrentamientoService = enfrentamientoService;
+        this.archivoTemporadas = archivoTemporadas;
+        this.idempotenciaService = idempotenciaService;
+        this.marcadorDiferidoService = marcadorDiferidoService;
+        this.respuestasCodificadas = respuestasCodificadas;
     }
 
     /**
-     * GET /api/partidos
-     * Obtiene la lista de todos los partidos
+     * GET /api/partidos?cursor={cursor}&limite={n}&fields={campos}
+     * Obtiene los partidos ordenados por fecha, hora e ID, paginados por clave.
+     * Si hay más resultados, el cursor de la página siguiente se entrega en la
+     * cabecera X-Siguiente-Cursor y en la cabecera Link (rel="next").
+     * Cada partido incluye sólo el ID y nombre de sus equipos; con {@code fields}
+     * se eligen los campos a devolver (ej: fields=id,fecha,equipoLocal.nombre).
      */
     @GetMapping
-    public ResponseEntity<List<Partido>> obtenerTodos() {
-        List<Partido> partidos = partidoService.obtenerTodos();
-        return ResponseEntity.ok(partidos);
+    public ResponseEntity<List<?>> obtenerTodos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + LIMITE_POR_DEFECTO) int limite,
+            @RequestParam(required = false) String fields) {
+        CursorPartidos posicion;
+        List<String> campos;
+        try {
+            posicion = CursorPartidos.decodificar(cursor);
+            campos = fields != null ? ProyeccionPartidosService.parsearCampos(fields) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (campos != null) {
+            return responderPagina(proyeccionService.consultar(FiltroPartidos.todos(), campos, posicion, acotarLimite(limite)));
+        }
+        return responderPagina(partidoService.obtenerPagina(posicion, acotarLimite(limite)));
+    }
+
+    /**
+     * GET /api/partidos/export?ligaId={id}&desde={fecha}&hasta={fecha}&formato={ndjson|csv}
+     * Exporta partidos como NDJSON (por defecto) o CSV, escribiendo las filas a medida
+     * que se leen de la base de datos. Todos los filtros son opcionales.
+     * Ejemplo: GET /api/partidos/export?ligaId=1&desde=2026-01-01&hasta=2026-12-31
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam(required = false) Integer ligaId,
+            @RequestParam(required = false) LocalDate desde,
+            @RequestParam(required = false) LocalDate hasta,
+            @RequestParam(defaultValue = "ndjson") String formato) {
+        if (desde != null && hasta != null && desde.isAfter(hasta)) {
+            return ResponseEntity.badRequest().build();
+        }
+        ExportacionService.Formato formatoSalida;
+        try {
+            formatoSalida = ExportacionService.Formato.valueOf(formato.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody cuerpo = salida -> exportacionService.exportar(ligaId, desde, hasta, formatoSalida, salida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formatoSalida.contentType() + ";charset=UTF-8"))
+                .body(cuerpo);
+    }
+
+    /**
+     * GET /api/partidos/en-vivo?ligaId={id}&fecha={fecha}&partidoId={id}
+     * Suscripción Server-Sent Events a los cambios de partidos. Cada evento "partidos" trae
+     * la lista de partidos que cambiaron desde el evento anterior (sólo su último estado).
+     * Debe indicarse al menos un filtro; si se indican varios deben cumplirse todos.
+     * Ejemplo: GET /api/partidos/en-vivo?fecha=2026-01-15
+     */
+    @GetMapping(value = "/en-vivo", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> suscribirEnVivo(
+            @RequestParam(required = false) Integer ligaId,
+            @RequestParam(required = false) LocalDate fecha,
+            @RequestParam(required = false) Integer partidoId) {
+        if (ligaId == null && fecha == null && partidoId == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return marcadorEnVivoService.suscribir(ligaId, fecha, partidoId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
     }
 
     /**
@@ -45,72 +173,169 @@ public class PartidoController {
     }
 
     /**
-     * GET /api/partidos/liga/{ligaId}/jornada/{jornada}
-     * Obtiene partidos de una jornada específica en una liga
+     * GET /api/partidos/liga/{ligaId}/jornada/{jornada}?fields={campos}
+     * Obtiene partidos de una jornada específica en una liga.
+     * Responde 304 si el If-None-Match coincide con la versión de la jornada; el cuerpo en gzip
+     * y cada lista de campos llevan un ETag propio.
+     * Si la liga está archivada se responde desde su snapshot.
+     * Las jornadas cerradas se responden con el JSON ya serializado (gzip si el cliente lo acepta).
      * Ejemplo: GET /api/partidos/liga/1/jornada/1
      */
     @GetMapping("/liga/{ligaId}/jornada/{jornada}")
-    public ResponseEntity<List<Partido>> obtenerPorLigaYJornada(
+    public ResponseEntity<?> obtenerPorLigaYJornada(
             @PathVariable Integer ligaId,
-            @PathVariable Short jornada) {
-        List<Partido> partidos = partidoService.obtenerPorLigaYJornada(ligaId, jornada);
-        return ResponseEntity.ok(partidos);
+            @PathVariable Short jornada,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        List<String> campos;
+        try {
+            campos = fields != null ? ProyeccionPartidosService.parsearCampos(fields) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        String etag = versionesService.etagJornada(ligaId, jornada);
+        if (campos != null) {
+            // Cada lista de campos es otra representación y lleva su propio ETag
+            String etagCampos = etag + "-f" + ProyeccionPartidosService.clave(campos);
+            if (RespuestaVersionada.coincidente(request, etagCampos).isPresent()) {
+                return RespuestaVersionada.noModificado(etagCampos);
+            }
+            return RespuestaVersionada.ok(etagCampos, proyeccionService.consultar(
+                    FiltroPartidos.porLigaYJornada(ligaId, jornada), campos, null, 0).items());
+        }
+        // El cliente puede tener guardado el cuerpo sin comprimir o el comprimido
+        Optional<String> coincidente = RespuestaVersionada.coincidente(
+                request, etag, etag + RespuestaVersionada.SUFIJO_GZIP);
+        if (coincidente.isPresent()) {
+            return RespuestaVersionada.noModificado(coincidente.get());
+        }
+        boolean gzip = RespuestaVersionada.aceptaGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        Optional<RespuestaCodificada> codificada = respuestasCodificadas.jornada(ligaId, jornada, etag);
+        if (codificada.isPresent()) {
+            return RespuestaVersionada.codificada(codificada.get(), gzip);
+        }
+        // Las temporadas archivadas se leen del snapshot mapeado, sin abrir una transacción
+        Optional<List<PartidoResumen>> archivada = archivoTemporadas.jornada(ligaId, jornada);
+        List<PartidoResumen> partidos = archivada
+                .orElseGet(() -> partidoService.obtenerResumenPorLigaYJornada(ligaId, jornada));
+        // Las jornadas cerradas se guardan ya serializadas para las siguientes solicitudes
+        return respuestasCodificadas.guardarJornada(ligaId, jornada, etag, partidos, archivada.isPresent())
+                .<ResponseEntity<?>>map(respuesta -> RespuestaVersionada.codificada(respuesta, gzip))
+                .orElseGet(() -> RespuestaVersionada.ok(etag, partidos));
     }
 
     /**
-     * GET /api/partidos/fecha/{fecha}
+     * GET /api/partidos/fecha/{fecha}?fields={campos}
      * Obtiene partidos en una fecha específica
      * Ejemplo: GET /api/partidos/fecha/2026-01-15
      */
     @GetMapping("/fecha/{fecha}")
-    public ResponseEntity<List<Partido>> obtenerPorFecha(@PathVariable LocalDate fecha) {
-        List<Partido> partidos = partidoService.obtenerPorFecha(fecha);
-        return ResponseEntity.ok(partidos);
+    public ResponseEntity<List<?>> obtenerPorFecha(
+            @PathVariable LocalDate fecha,
+            @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return proyectar(FiltroPartidos.porFecha(fecha), fields);
+        }
+        return ResponseEntity.ok(partidoService.obtenerResumenPorFecha(fecha));
     }
 
     /**
-     * GET /api/partidos/rango?fechaInicio={fecha}&fechaFin={fecha}
-     * Obtiene partidos en un rango de fechas
+     * GET /api/partidos/rango?fechaInicio={fecha}&fechaFin={fecha}&cursor={cursor}&limite={n}&fields={campos}
+     * Obtiene partidos en un rango de fechas, paginados por clave
      * Ejemplo: GET /api/partidos/rango?fechaInicio=2026-01-01&fechaFin=2026-12-31
      */
     @GetMapping("/rango")
-    public ResponseEntity<List<Partido>> obtenerEntreFechas(
+    public ResponseEntity<List<?>> obtenerEntreFechas(
             @RequestParam LocalDate fechaInicio,
-            @RequestParam LocalDate fechaFin) {
+            @RequestParam LocalDate fechaFin,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + LIMITE_POR_DEFECTO) int limite,
+            @RequestParam(required = false) String fields) {
         if (fechaInicio.isAfter(fechaFin)) {
             return ResponseEntity.badRequest().build();
         }
-        List<Partido> partidos = partidoService.obtenerEntreFechas(fechaInicio, fechaFin);
-        return ResponseEntity.ok(partidos);
+        CursorPartidos posicion;
+        List<String> campos;
+        try {
+            posicion = CursorPartidos.decodificar(cursor);
+            campos = fields != null ? ProyeccionPartidosService.parsearCampos(fields) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (campos != null) {
+            return responderPagina(proyeccionService.consultar(
+                    FiltroPartidos.entreFechas(fechaInicio, fechaFin), campos, posicion, acotarLimite(limite)));
+        }
+        return responderPagina(partidoService.obtenerPaginaEntreFechas(
+                fechaInicio, fechaFin, posicion, acotarLimite(limite)));
     }
 
     /**
-     * GET /api/partidos/equipo/{equipoId}
-     * Obtiene todos los partidos de un equipo
+     * GET /api/partidos/equipo/{equipoId}?cursor={cursor}&limite={n}&fields={campos}
+     * Obtiene los partidos de un equipo, paginados por clave
      * Ejemplo: GET /api/partidos/equipo/1
      */
     @GetMapping("/equipo/{equipoId}")
-    public ResponseEntity<List<Partido>> obtenerPorEquipo(@PathVariable Integer equipoId) {
-        List<Partido> partidos = partidoService.obtenerPorEquipo(equipoId);
-        return ResponseEntity.ok(partidos);
+    public ResponseEntity<List<?>> obtenerPorEquipo(
+            @PathVariable Integer equipoId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + LIMITE_POR_DEFECTO) int limite,
+            @RequestParam(required = false) String fields) {
+        CursorPartidos posicion;
+        List<String> campos;
+        try {
+            posicion = CursorPartidos.decodificar(cursor);
+            campos = fields != null ? ProyeccionPartidosService.parsearCampos(fields) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (campos != null) {
+            return responderPagina(proyeccionService.consultar(
+                    FiltroPartidos.porEquipo(equipoId), campos, posicion, acotarLimite(limite)));
+        }
+        return responderPagina(partidoService.obtenerPaginaPorEquipo(equipoId, posicion, acotarLimite(limite)));
     }
 
     /**
-     * GET /api/partidos/entre?equipoLocal={id1}&equipoVisita={id2}
+     * GET /api/partidos/entre?equipoLocal={id1}&equipoVisita={id2}&fields={campos}
      * Obtiene partidos entre dos equipos específicos
      * Ejemplo: GET /api/partidos/entre?equipoLocal=1&equipoVisita=2
      */
     @GetMapping("/entre")
-    public ResponseEntity<List<Partido>> obtenerEntreDosEquipos(
+    public ResponseEntity<List<?>> obtenerEntreDosEquipos(
             @RequestParam Integer equipoLocal,
-            @RequestParam Integer equipoVisita) {
-        List<Partido> partidos = partidoService.obtenerEntreDosEquipos(equipoLocal, equipoVisita);
-        return ResponseEntity.ok(partidos);
+            @RequestParam Integer equipoVisita,
+            @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return proyectar(FiltroPartidos.entreEquipos(equipoLocal, equipoVisita), fields);
+        }
+        return ResponseEntity.ok(partidoService.obtenerResumenEntreDosEquipos(equipoLocal, equipoVisita));
+    }
+
+    /**
+     * GET /api/partidos/enfrentamiento?equipoA={id1}&equipoB={id2}&ultimos={n}
+     * Obtiene el historial entre dos equipos: victorias, empates, goles, desglose por
+     * localía y los últimos n resultados (5 por defecto)
+     * Ejemplo: GET /api/partidos/enfrentamiento?equipoA=1&equipoB=2
+     */
+    @GetMapping("/enfrentamiento")
+    public ResponseEntity<Enfrentamiento> obtenerEnfrentamiento(
+            @RequestParam Integer equipoA,
+            @RequestParam Integer equipoB,
+            @RequestParam(defaultValue = "5") int ultimos) {
+        try {
+            return enfrentamientoService.obtener(equipoA, equipoB, ultimos)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
      * POST /api/partidos
-     * Crea un nuevo partido
+     * Crea un nuevo partido. Responde 400 si algún equipo no está inscrito en la liga y 409 si
+     * algún equipo ya juega ese día o sin el descanso mínimo.
      * Body ejemplo:
      * {
      *   "liga": {"id": 1},
@@ -128,22 +353,129 @@ public class PartidoController {
         try {
             Partido partidoCreado = partidoService.crear(partido);
             return ResponseEntity.status(HttpStatus.CREATED).body(partidoCreado);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    /**
+     * POST /api/partidos/bulk
+     * Importa partidos en lote desde un arreglo JSON. Devuelve un resultado por fila
+     * (CREADO con su ID, o RECHAZADO con el motivo).
+     * Body ejemplo:
+     * [{"liga": {"id": 1}, "jornada": 1, "fecha": "2026-01-15", "horaInicio": "15:30:00", "equipoLocal": {"id": 1}, "equipoVisita": {"id": 2}}]
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ResultadoImportacion>> importar(@RequestBody List<Partido> partidos) {
+        return ResponseEntity.ok(importacionService.importarPartidos(partidos));
+    }
+
+    /**
+     * POST /api/partidos/bulk (Content-Type: application/x-ndjson)
+     * Importa partidos en lote desde NDJSON, un objeto por línea
+     */
+    @PostMapping(value = "/bulk", consumes = "application/x-ndjson")
+    public ResponseEntity<List<ResultadoImportacion>> importarNdjson(InputStream cuerpo) {
+        List<Partido> partidos;
+        try {
+            partidos = importacionService.leerNdjson(cuerpo, Partido.class);
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(importacionService.importarPartidos(partidos));
+    }
+
     /**
      * PUT /api/partidos/{id}
-     * Actualiza un partido existente
+     * Actualiza un partido existente. Si se reprograma, responde 400 si algún equipo no está
+     * inscrito en la liga y 409 si choca con el calendario o la versión no es la actual.
+     * También responde 409 mientras el partido tenga marcadores diferidos sin escribir.
      */
     @PutMapping("/{id}")
     public ResponseEntity<Partido> actualizar(
             @PathVariable Integer id,
             @RequestBody Partido partidoActualizado) {
-        Optional<Partido> partido = partidoService.actualizar(id, partidoActualizado);
-        return partido.map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        try {
+            Optional<Partido> partido = partidoService.actualizar(id, partidoActualizado);
+            return partido.map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException | IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * PATCH /api/partidos/{id}/resultado
+     * Actualiza sólo el marcador y el estado de un partido si sigue en la versión indicada.
+     * Responde 409 si el partido cambió desde esa versión o si tiene marcadores enviados con
+     * PUT /{id}/marcador que aún no se escriben (se aplicarían encima). Con la cabecera Idempotency-Key
+     * los reintentos de la misma solicitud reciben la respuesta original sin aplicarse de nuevo.
+     * Body ejemplo:
+     * {
+     *   "golesLocal": 2,
+     *   "golesVisita": 1,
+     *   "estado": "FINALIZADO",
+     *   "version": 3
+     * }
+     */
+    @PatchMapping("/{id}/resultado")
+    public ResponseEntity<MarcadorPartido> actualizarResultado(
+            @PathVariable Integer id,
+            @RequestHeader(name = IdempotenciaService.HEADER_CLAVE, required = false) String clave,
+            @RequestBody ActualizacionResultado cambio) {
+        if (cambio.version() == null
+                || (cambio.golesLocal() != null && cambio.golesLocal() < 0)
+                || (cambio.golesVisita() != null && cambio.golesVisita() < 0)
+                || (clave != null && (clave.isBlank() || clave.length() > IdempotenciaService.LARGO_MAXIMO_CLAVE))) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (clave == null) {
+            return aplicarResultado(id, cambio);
+        }
+        return idempotenciaService.ejecutar(clave, List.of(id, cambio), () -> aplicarResultado(id, cambio));
+    }
+
+    private ResponseEntity<MarcadorPartido> aplicarResultado(Integer id, ActualizacionResultado cambio) {
+        try {
+            return partidoService.actualizarResultado(id, cambio)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (OptimisticLockingFailureException | IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * PUT /api/partidos/{id}/marcador
+     * Registra el marcador informado desde el estadio durante el partido y responde 202 apenas
+     * queda en la bitácora local; se escribe en la base de datos en segundo plano, combinado con
+     * los demás cambios del mismo partido. Sin control de versión: prevalece el último recibido.
+     * Hasta que se escriben, PUT /{id} y PATCH /{id}/resultado sobre el partido responden 409.
+     * Responde 503 con Retry-After si hay demasiados cambios en espera.
+     * Body ejemplo:
+     * {
+     *   "golesLocal": 1,
+     *   "golesVisita": 0,
+     *   "estado": "EN_JUEGO"
+     * }
+     */
+    @PutMapping("/{id}/marcador")
+    public ResponseEntity<MarcadorDiferido> registrarMarcador(@PathVariable Integer id,
+                                                              @RequestBody CambioMarcador cambio) {
+        if (cambio.golesLocal() == null || cambio.golesLocal() < 0
+                || cambio.golesVisita() == null || cambio.golesVisita() < 0
+                || (cambio.estado() != null && (cambio.estado().isBlank() || cambio.estado().length() > 20))) {
+            return ResponseEntity.badRequest().build();
+        }
+        return marcadorDiferidoService.registrar(id, cambio)
+                .map(registrado -> ResponseEntity.accepted().body(registrado))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .build());
     }
 
     /**
@@ -158,4 +490,37 @@ public class PartidoController {
         return ResponseEntity.notFound().build();
     }
 
+    private static int acotarLimite(int limite) {
+        return Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+    }
+
+    /**
+     * Lista sin paginar los partidos del filtro con sólo los campos pedidos
+     */
+    private ResponseEntity<List<?>> proyectar(FiltroPartidos filtro, String fields) {
+        List<String> campos;
+        try {
+            campos = ProyeccionPartidosService.parsearCampos(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(proyeccionService.consultar(filtro, campos, null, 0).items());
+    }
+
+    /**
+     * Responde con los items de la página y, si corresponde, las cabeceras con el cursor siguiente
+     */
+    private static ResponseEntity<List<?>> responderPagina(Pagina<?> pagina) {
+        if (pagina.siguienteCursor() == null) {
+            return ResponseEntity.ok(pagina.items());
+        }
+        String siguiente = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", pagina.siguienteCursor())
+                .toUriString();
+        return ResponseEntity.ok()
+                .header(HEADER_SIGUIENTE_CURSOR, pagina.siguienteCursor())
+                .header(HttpHeaders.LINK, "<" + siguiente + ">; rel=\"next\"")
+                .body(pagina.items());
+    }
+
 }
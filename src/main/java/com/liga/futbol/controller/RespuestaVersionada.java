@@ -0,0 +1,111 @@
+package com.liga.futbol.controller;
+
+import com.liga.futbol.service.RespuestasCodificadasService.RespuestaCodificada;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import java.util.Optional;
+
+/**
+ * Respuestas con ETag fuerte y Cache-Control: no-cache, para que clientes y CDN guarden
+ * la respuesta pero la revaliden siempre con If-None-Match.
+ * Cada representación de un recurso lleva su propio ETag: el cuerpo en gzip termina en
+ * {@link #SUFIJO_GZIP}, porque un ETag fuerte identifica bytes y no sólo contenido.
+ */
+final class RespuestaVersionada {
+
+    static final String SUFIJO_GZIP = "-gz";
+
+    private RespuestaVersionada() {
+    }
+
+    /**
+     * Busca en If-None-Match alguno de los ETags indicados, con la comparación débil que
+     * corresponde a If-None-Match ({@code W/} se ignora y {@code *} coincide con el primero).
+     * @return el ETag que coincidió, para que el 304 lleve el de la representación que tiene el cliente
+     */
+    static Optional<String> coincidente(WebRequest request, String... etags) {
+        String[] valores = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (valores == null) {
+            return Optional.empty();
+        }
+        for (String valor : valores) {
+            for (ETag recibido : ETag.parse(valor)) {
+                if (recibido.isWildcard()) {
+                    return Optional.of(etags[0]);
+                }
+                for (String etag : etags) {
+                    if (recibido.tag().equals(etag)) {
+                        return Optional.of(etag);
+                    }
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    static <T> ResponseEntity<T> ok(String etag, T cuerpo) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(cuerpo);
+    }
+
+    static <T> ResponseEntity<T> noModificado(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .build();
+    }
+
+    /**
+     * Respuesta ya serializada: los bytes se copian tal cual a la salida, en gzip si el cliente lo acepta
+     */
+    static ResponseEntity<byte[]> codificada(RespuestaCodificada respuesta, boolean gzip) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(gzip ? respuesta.etag() + SUFIJO_GZIP : respuesta.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(respuesta.gzip());
+        }
+        return builder.body(respuesta.json());
+    }
+
+    /**
+     * Indica si el Accept-Encoding incluye gzip (o *) sin q=0
+     */
+    static boolean aceptaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String opcion : acceptEncoding.split(",")) {
+            String[] partes = opcion.split(";");
+            String codificacion = partes[0].trim();
+            if (!codificacion.equalsIgnoreCase("gzip") && !codificacion.equals("*")) {
+                continue;
+            }
+            boolean rechazada = false;
+            for (int i = 1; i < partes.length; i++) {
+                String parametro = partes[i].trim();
+                if (parametro.startsWith("q=")) {
+                    try {
+                        rechazada = Double.parseDouble(parametro.substring(2)) == 0;
+                    } catch (NumberFormatException e) {
+                        rechazada = true;
+                    }
+                }
+            }
+            if (!rechazada) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.liga.futbol.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Responde 503 con Retry-After cuando una solicitud no obtuvo conexión del pool dentro de
+ * {@code spring.datasource.hikari.connection-timeout}, igual que {@code LimiteConcurrenciaFilter}
+ * cuando no obtiene turno: es una saturación pasajera y el cliente debe reintentar, no un error
+ * del servidor. Las demás fallas de acceso a datos siguen respondiendo 500.
+ * Con el perfil virtual el filtro ya acota las solicitudes al tamaño del pool; esto cubre el modo
+ * con el pool de hilos de Tomcat, cuyo máximo de hilos suele superar al de conexiones.
+ */
+@RestControllerAdvice
+public class SaturacionBaseDatosAdvice {
+
+    private static final Logger log = LoggerFactory.getLogger(SaturacionBaseDatosAdvice.class);
+
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<Void> sinConexion(Exception e) throws Exception {
+        if (!esperaAgotada(e)) {
+            // Relanzar la misma excepción deja que la atienda el manejo por defecto
+            throw e;
+        }
+        log.warn("Pool de conexiones agotado: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+
+    private static boolean esperaAgotada(Throwable e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
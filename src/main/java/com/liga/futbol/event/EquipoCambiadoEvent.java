@@ -0,0 +1,16 @@
+package com.liga.futbol.event;
+
+/**
+ * Evento publicado cada vez que un equipo se crea, actualiza o elimina
+ */
+public record EquipoCambiadoEvent(Integer equipoId, String nombre, boolean eliminado) {
+
+    public static EquipoCambiadoEvent guardado(Integer equipoId, String nombre) {
+        return new EquipoCambiadoEvent(equipoId, nombre, false);
+    }
+
+    public static EquipoCambiadoEvent eliminado(Integer equipoId) {
+        return new EquipoCambiadoEvent(equipoId, null, true);
+    }
+
+}
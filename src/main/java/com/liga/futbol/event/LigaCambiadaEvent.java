@@ -0,0 +1,16 @@
+package com.liga.futbol.event;
+
+/**
+ * Evento publicado cada vez que una liga se crea, actualiza o elimina
+ */
+public record LigaCambiadaEvent(Integer ligaId, String nombre, boolean eliminada) {
+
+    public static LigaCambiadaEvent guardada(Integer ligaId, String nombre) {
+        return new LigaCambiadaEvent(ligaId, nombre, false);
+    }
+
+    public static LigaCambiadaEvent eliminada(Integer ligaId) {
+        return new LigaCambiadaEvent(ligaId, null, true);
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.liga.futbol.event;
+
+/**
+ * Evento publicado por PartidoService cada vez que un partido se crea, actualiza o elimina.
+ * {@code anterior} es null en una creación y {@code actual} es null en una eliminación.
+ */
+public record PartidoCambiadoEvent(ResultadoPartido anterior, ResultadoPartido actual) {
+
+    /**
+     * ID del partido afectado
+     */
+    public Integer partidoId() {
+        return actual != null ? actual.id() : anterior.id();
+    }
+
+}
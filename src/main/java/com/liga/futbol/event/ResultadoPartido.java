@@ -0,0 +1,47 @@
+package com.liga.futbol.event;
+
+import com.liga.futbol.model.entity.Partido;
+import java.time.LocalDate;
+
+/**
+ * Copia inmutable de los datos de un partido relevantes para los procesos
+ * que reaccionan a sus cambios (tabla de posiciones, notificaciones, etc.)
+ */
+public record ResultadoPartido(
+        Integer id,
+        Integer ligaId,
+        Short jornada,
+        LocalDate fecha,
+        Integer equipoLocalId,
+        Integer equipoVisitaId,
+        Short golesLocal,
+        Short golesVisita,
+        String estado) {
+
+    public static final String FINALIZADO = "FINALIZADO";
+
+    /**
+     * Construye la copia a partir de la entidad sin inicializar sus asociaciones perezosas
+     */
+    public static ResultadoPartido de(Partido partido) {
+        return new ResultadoPartido(
+                partido.getId(),
+                partido.getLiga() != null ? partido.getLiga().getId() : null,
+                partido.getJornada(),
+                partido.getFecha(),
+                partido.getEquipoLocal() != null ? partido.getEquipoLocal().getId() : null,
+                partido.getEquipoVisita() != null ? partido.getEquipoVisita().getId() : null,
+                partido.getGolesLocal(),
+                partido.getGolesVisita(),
+                partido.getEstado());
+    }
+
+    /**
+     * Indica si el partido cuenta para la tabla de posiciones
+     */
+    public boolean finalizado() {
+        return FINALIZADO.equals(estado) && golesLocal != null && golesVisita != null
+                && equipoLocalId != null && equipoVisitaId != null;
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.liga.futbol.metricas;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Contadores de sentencias SQL ejecutadas y filas leídas por el hilo actual.
+ * Los acumula {@link DataSourceMedido} y los leen los interceptores de solicitudes y
+ * repositorios calculando la diferencia entre el inicio y el fin de cada llamada.
+ */
+public final class ContadorSql {
+
+    private static final ThreadLocal<ContadorSql> ACTUAL = ThreadLocal.withInitial(ContadorSql::new);
+
+    private long sentencias;
+    private long filas;
+    // Veces que se ejecutó cada SQL durante la solicitud en curso (null fuera de una solicitud)
+    private Map<String, Integer> repeticiones;
+
+    private ContadorSql() {
+    }
+
+    public static ContadorSql actual() {
+        return ACTUAL.get();
+    }
+
+    public long sentencias() {
+        return sentencias;
+    }
+
+    public long filas() {
+        return filas;
+    }
+
+    void registrarSentencia(String sql) {
+        sentencias++;
+        if (repeticiones != null && sql != null) {
+            repeticiones.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void registrarFila() {
+        filas++;
+    }
+
+    /**
+     * Empieza a registrar las repeticiones de cada SQL para detectar consultas N+1
+     */
+    void iniciarSolicitud() {
+        repeticiones = new HashMap<>();
+    }
+
+    /**
+     * Deja de registrar repeticiones y devuelve las de la solicitud terminada
+     */
+    Map<String, Integer> terminarSolicitud() {
+        Map<String, Integer> resultado = repeticiones != null ? repeticiones : Map.of();
+        repeticiones = null;
+        return resultado;
+    }
+
+}
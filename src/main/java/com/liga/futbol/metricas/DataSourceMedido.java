@@ -0,0 +1,114 @@
+package com.liga.futbol.metricas;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Envoltorio de un DataSource que cuenta en {@link ContadorSql} cada sentencia ejecutada
+ * y cada fila leída de sus resultados. Usa proxies dinámicos para no depender de la
+ * implementación del pool ni del driver; {@code unwrap} sigue llegando al DataSource real.
+ */
+final class DataSourceMedido {
+
+    private static final Set<String> EJECUCIONES = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private DataSourceMedido() {
+    }
+
+    static DataSource envolver(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (objetivo, metodo, args) -> {
+            Object resultado = invocar(objetivo, metodo, args);
+            return resultado instanceof Connection conexion ? envolverConexion(conexion) : resultado;
+        });
+    }
+
+    static boolean esMedido(Object objeto) {
+        return Proxy.isProxyClass(objeto.getClass()) && Proxy.getInvocationHandler(objeto) instanceof Manejador;
+    }
+
+    private static Connection envolverConexion(Connection conexion) {
+        return proxy(Connection.class, conexion, (objetivo, metodo, args) -> {
+            Object resultado = invocar(objetivo, metodo, args);
+            String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : null;
+            if (resultado instanceof CallableStatement sentencia) {
+                return envolverSentencia(CallableStatement.class, sentencia, sql);
+            }
+            if (resultado instanceof PreparedStatement sentencia) {
+                return envolverSentencia(PreparedStatement.class, sentencia, sql);
+            }
+            if (resultado instanceof Statement sentencia) {
+                return envolverSentencia(Statement.class, sentencia, null);
+            }
+            return resultado;
+        });
+    }
+
+    private static <T extends Statement> T envolverSentencia(Class<T> tipo, T sentencia, String sqlPreparado) {
+        return proxy(tipo, sentencia, (objetivo, metodo, args) -> {
+            String nombre = metodo.getName();
+            if (EJECUCIONES.contains(nombre)) {
+                String sql = sqlPreparado != null ? sqlPreparado
+                        : args != null && args.length > 0 && args[0] instanceof String texto ? texto : null;
+                ContadorSql.actual().registrarSentencia(sql);
+            }
+            Object resultado = invocar(objetivo, metodo, args);
+            if (resultado instanceof ResultSet filas && ("executeQuery".equals(nombre) || "getResultSet".equals(nombre))) {
+                return envolverResultados(filas);
+            }
+            return resultado;
+        });
+    }
+
+    private static ResultSet envolverResultados(ResultSet resultados) {
+        return proxy(ResultSet.class, resultados, (objetivo, metodo, args) -> {
+            Object resultado = invocar(objetivo, metodo, args);
+            if ("next".equals(metodo.getName()) && Boolean.TRUE.equals(resultado)) {
+                ContadorSql.actual().registrarFila();
+            }
+            return resultado;
+        });
+    }
+
+    private static Object invocar(Object objetivo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(objetivo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static <T> T proxy(Class<T> tipo, T objetivo, Interceptor interceptor) {
+        return tipo.cast(Proxy.newProxyInstance(DataSourceMedido.class.getClassLoader(),
+                new Class<?>[] {tipo}, new Manejador(objetivo, interceptor)));
+    }
+
+    @FunctionalInterface
+    private interface Interceptor {
+        Object invocar(Object objetivo, Method metodo, Object[] args) throws Throwable;
+    }
+
+    private record Manejador(Object objetivo, Interceptor interceptor) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            return switch (metodo.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> "Medido[" + objetivo + "]";
+                default -> interceptor.invocar(objetivo, metodo, args);
+            };
+        }
+
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.liga.futbol.metricas;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Informe de arranque escrito en el log al quedar lista la aplicación: tiempo desde el
+ * inicio de la JVM y de la aplicación, si corre con Spring AOT y con un archivo CDS, y los
+ * pasos más lentos registrados por {@link BufferingApplicationStartup}. El detalle completo
+ * se consulta en /actuator/startup.
+ */
+@Component
+public class InformeArranque {
+
+    private static final Logger log = LoggerFactory.getLogger(InformeArranque.class);
+
+    private final int pasosInforme;
+
+    public InformeArranque(@Value("${liga.arranque.pasos-informe:10}") int pasosInforme) {
+        this.pasosInforme = pasosInforme;
+    }
+
+    @EventListener
+    public void alEstarLista(ApplicationReadyEvent evento) {
+        long desdeJvm = ManagementFactory.getRuntimeMXBean().getUptime();
+        log.info("Arranque: {} ms desde el inicio de la JVM, {} ms de la aplicación (AOT: {}, CDS: {})",
+                desdeJvm, evento.getTimeTaken().toMillis(), AotDetector.useGeneratedArtifacts() ? "sí" : "no",
+                archivoCds());
+        if (pasosInforme > 0 && evento.getSpringApplication().getApplicationStartup()
+                instanceof BufferingApplicationStartup registro) {
+            StartupTimeline linea = registro.getBufferedTimeline();
+            log.info("Pasos más lentos del arranque:\n{}", linea.getEvents().stream()
+                    .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                    .limit(pasosInforme)
+                    .map(paso -> String.format("  %6d ms  %s%s", paso.getDuration().toMillis(),
+                            paso.getStartupStep().getName(), etiquetas(paso.getStartupStep())))
+                    .collect(Collectors.joining("\n")));
+        }
+    }
+
+    private static String etiquetas(StartupStep paso) {
+        String texto = StreamSupport.stream(paso.getTags().spliterator(), false)
+                .map(etiqueta -> etiqueta.getKey() + "=" + etiqueta.getValue())
+                .collect(Collectors.joining(", "));
+        return texto.isEmpty() ? "" : " [" + texto + "]";
+    }
+
+    /**
+     * Archivo CDS indicado con -XX:SharedArchiveFile, o "no" si no se usa uno
+     */
+    private static String archivoCds() {
+        return ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .filter(argumento -> argumento.startsWith("-XX:SharedArchiveFile="))
+                .map(argumento -> argumento.substring("-XX:SharedArchiveFile=".length()))
+                .findFirst()
+                .orElse("no");
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.liga.futbol.metricas;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import javax.sql.DataSource;
+
+/**
+ * Métricas de acceso a datos publicadas en /actuator/prometheus, complementarias a las de
+ * Spring Boot (latencia de endpoints en http.server.requests y de repositorios en
+ * spring.data.repository.invocations):
+ * <ul>
+ *   <li>liga.http.sql.sentencias / liga.http.sql.filas: por endpoint (uri, method)</li>
+ *   <li>liga.repositorio.sql.sentencias / liga.repositorio.sql.filas: por método de repositorio</li>
+ *   <li>liga.http.n_mas_uno: solicitudes que repitieron una sentencia al menos
+ *       {@code liga.metricas.umbral-repeticiones} veces</li>
+ * </ul>
+ */
+@Configuration
+public class MetricasSqlConfig implements WebMvcConfigurer {
+
+    static final String HTTP_SENTENCIAS = "liga.http.sql.sentencias";
+    static final String HTTP_FILAS = "liga.http.sql.filas";
+    static final String HTTP_N_MAS_UNO = "liga.http.n_mas_uno";
+    static final String REPOSITORIO_SENTENCIAS = "liga.repositorio.sql.sentencias";
+    static final String REPOSITORIO_FILAS = "liga.repositorio.sql.filas";
+
+    private final MeterRegistry registry;
+    private final int umbralRepeticiones;
+
+    public MetricasSqlConfig(MeterRegistry registry,
+                             @Value("${liga.metricas.umbral-repeticiones:5}") int umbralRepeticiones) {
+        this.registry = registry;
+        this.umbralRepeticiones = umbralRepeticiones;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptores) {
+        interceptores.addInterceptor(new MetricasSqlInterceptor(registry, umbralRepeticiones));
+    }
+
+    /**
+     * Envuelve el DataSource para contar sentencias y filas
+     */
+    @Bean
+    static BeanPostProcessor dataSourceMedidoPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !DataSourceMedido.esMedido(bean)
+                        ? DataSourceMedido.envolver(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    /**
+     * Agrega el interceptor de métricas a cada repositorio Spring Data
+     */
+    @Bean
+    static BeanPostProcessor repositoriosMedidosPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, informacion) -> proxyFactory.addAdvice(
+                                    new RepositorioSqlInterceptor(registry, informacion.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.liga.futbol.metricas;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import java.util.Map;
+
+/**
+ * Registra por endpoint las sentencias SQL y filas leídas en cada solicitud, y marca como
+ * sospechosa de N+1 la solicitud que ejecuta una misma sentencia muchas veces
+ * (típicamente una consulta por cada fila del resultado principal).
+ */
+class MetricasSqlInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricasSqlInterceptor.class);
+
+    private static final String ATRIBUTO_INICIO = MetricasSqlInterceptor.class.getName() + ".inicio";
+
+    private final MeterRegistry registry;
+    private final int umbralRepeticiones;
+
+    private record Inicio(long sentencias, long filas) {
+    }
+
+    MetricasSqlInterceptor(MeterRegistry registry, int umbralRepeticiones) {
+        this.registry = registry;
+        this.umbralRepeticiones = umbralRepeticiones;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ContadorSql contador = ContadorSql.actual();
+        contador.iniciarSolicitud();
+        request.setAttribute(ATRIBUTO_INICIO, new Inicio(contador.sentencias(), contador.filas()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(ATRIBUTO_INICIO) instanceof Inicio inicio)) {
+            return;
+        }
+        request.removeAttribute(ATRIBUTO_INICIO);
+        ContadorSql contador = ContadorSql.actual();
+        Map<String, Integer> repeticiones = contador.terminarSolicitud();
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = patron != null ? patron.toString() : "UNKNOWN";
+        String metodo = request.getMethod();
+
+        long sentencias = contador.sentencias() - inicio.sentencias();
+        long filas = contador.filas() - inicio.filas();
+        registry.summary(MetricasSqlConfig.HTTP_SENTENCIAS, "uri", uri, "method", metodo).record(sentencias);
+        registry.summary(MetricasSqlConfig.HTTP_FILAS, "uri", uri, "method", metodo).record(filas);
+
+        repeticiones.entrySet().stream()
+                .filter(entrada -> entrada.getValue() >= umbralRepeticiones)
+                .max(Map.Entry.comparingByValue())
+                .ifPresent(masRepetida -> {
+                    registry.counter(MetricasSqlConfig.HTTP_N_MAS_UNO, "uri", uri, "method", metodo).increment();
+                    log.warn("Posible N+1 en {} {}: {} sentencias, {} filas; se repitió {} veces: {}",
+                            metodo, uri, sentencias, filas, masRepetida.getValue(), masRepetida.getKey());
+                });
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Las respuestas asíncronas (exportaciones, en vivo) siguen en otro hilo: no se miden
+        request.removeAttribute(ATRIBUTO_INICIO);
+        ContadorSql.actual().terminarSolicitud();
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.liga.futbol.metricas;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Registra las sentencias SQL y filas leídas por cada método de repositorio, incluidas
+ * las consultas adicionales de las asociaciones EAGER que Hibernate carga en la llamada
+ */
+class RepositorioSqlInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<MeterRegistry> registry;
+    private final String repositorio;
+
+    RepositorioSqlInterceptor(ObjectProvider<MeterRegistry> registry, Class<?> repositorio) {
+        this.registry = registry;
+        this.repositorio = repositorio.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocacion) throws Throwable {
+        ContadorSql contador = ContadorSql.actual();
+        long sentencias = contador.sentencias();
+        long filas = contador.filas();
+        try {
+            return invocacion.proceed();
+        } finally {
+            MeterRegistry meterRegistry = registry.getIfAvailable();
+            if (meterRegistry != null) {
+                String metodo = invocacion.getMethod().getName();
+                meterRegistry.summary(MetricasSqlConfig.REPOSITORIO_SENTENCIAS, "repository", repositorio, "method", metodo)
+                        .record(contador.sentencias() - sentencias);
+                meterRegistry.summary(MetricasSqlConfig.REPOSITORIO_FILAS, "repository", repositorio, "method", metodo)
+                        .record(contador.filas() - filas);
+            }
+        }
+    }
+
+}
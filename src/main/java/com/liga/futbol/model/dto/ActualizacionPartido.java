@@ -0,0 +1,15 @@
+package com.liga.futbol.model.dto;
+
+import com.liga.futbol.event.ResultadoPartido;
+
+/**
+ * Cambio de un partido enviado a los suscriptores en vivo.
+ * {@code partido} es null cuando el partido fue eliminado.
+ */
+public record ActualizacionPartido(Integer id, boolean eliminado, ResultadoPartido partido) {
+
+    public static ActualizacionPartido de(Integer id, ResultadoPartido actual) {
+        return new ActualizacionPartido(id, actual == null, actual);
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.liga.futbol.model.dto;
+
+/**
+ * Cambio del marcador y estado de un partido. {@code version} es la versión del partido
+ * sobre la que se calculó el cambio; si ya no es la actual la actualización se rechaza.
+ * Un estado nulo conserva el actual.
+ */
+public record ActualizacionResultado(
+        Short golesLocal,
+        Short golesVisita,
+        String estado,
+        Long version) {
+}
@@ -0,0 +1,12 @@
+package com.liga.futbol.model.dto;
+
+/**
+ * Resumen del snapshot binario de una temporada archivada
+ */
+public record ArchivoTemporada(
+        Integer ligaId,
+        String nombre,
+        int equipos,
+        int partidos,
+        long bytes) {
+}
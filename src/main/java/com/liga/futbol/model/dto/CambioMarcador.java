@@ -0,0 +1,12 @@
+package com.liga.futbol.model.dto;
+
+/**
+ * Marcador y estado informados desde el estadio para un partido en curso. Reemplazan a los
+ * actuales sin control de versión (gana el último recibido); un estado nulo conserva el actual.
+ * Mientras haya cambios sin escribir, las actualizaciones versionadas del partido se rechazan.
+ */
+public record CambioMarcador(
+        Short golesLocal,
+        Short golesVisita,
+        String estado) {
+}
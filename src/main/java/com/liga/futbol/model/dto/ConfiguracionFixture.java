@@ -0,0 +1,23 @@
+package com.liga.futbol.model.dto;
+
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Restricciones para generar el fixture de una liga.
+ * {@code idaYVuelta}: todos contra todos dos veces, invirtiendo la localía en la segunda rueda (por defecto true).
+ * {@code horarios}: horas de inicio permitidas; los partidos de cada jornada se reparten entre ellas (por defecto 15:00).
+ */
+public record ConfiguracionFixture(Boolean idaYVuelta, List<LocalTime> horarios) {
+
+    private static final List<LocalTime> HORARIOS_POR_DEFECTO = List.of(LocalTime.of(15, 0));
+
+    public boolean dobleRueda() {
+        return idaYVuelta == null || idaYVuelta;
+    }
+
+    public List<LocalTime> horariosPermitidos() {
+        return horarios == null || horarios.isEmpty() ? HORARIOS_POR_DEFECTO : horarios.stream().sorted().toList();
+    }
+
+}
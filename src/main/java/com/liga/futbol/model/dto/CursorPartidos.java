@@ -0,0 +1,57 @@
+package com.liga.futbol.model.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posición de paginación por clave (keyset) sobre partidos ordenados por (fecha, horaInicio, id).
+ * Se expone al cliente como un texto opaco.
+ */
+public record CursorPartidos(LocalDate fecha, LocalTime horaInicio, Integer id) {
+
+    /**
+     * Cursor anterior a cualquier partido, usado para pedir la primera página
+     */
+    public static final CursorPartidos INICIO = new CursorPartidos(LocalDate.of(1, 1, 1), LocalTime.MIN, 0);
+
+    private static final String SEPARADOR = "|";
+
+    /**
+     * Cursor que apunta justo después del partido indicado
+     */
+    public static CursorPartidos despuesDe(PartidoResumen partido) {
+        return new CursorPartidos(partido.fecha(), partido.horaInicio(), partido.id());
+    }
+
+    /**
+     * Decodifica un cursor recibido del cliente; null o vacío equivale a {@link #INICIO}
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    public static CursorPartidos decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return INICIO;
+        }
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = texto.split("\\" + SEPARADOR);
+            if (partes.length != 3) {
+                throw new IllegalArgumentException("Cursor inválido: " + cursor);
+            }
+            return new CursorPartidos(LocalDate.parse(partes[0]), LocalTime.parse(partes[1]), Integer.valueOf(partes[2]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor, e);
+        }
+    }
+
+    /**
+     * Codifica el cursor como texto opaco apto para URLs
+     */
+    public String codificar() {
+        String texto = fecha + SEPARADOR + horaInicio + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.liga.futbol.model.dto;
+
+import java.util.List;
+
+/**
+ * Historial de partidos finalizados entre dos equipos, desde el punto de vista del equipo A
+ */
+public record Enfrentamiento(
+        EquipoResumen equipoA,
+        EquipoResumen equipoB,
+        long partidosJugados,
+        long victoriasA,
+        long empates,
+        long victoriasB,
+        long golesA,
+        long golesB,
+        EstadisticaLocalia localA,
+        EstadisticaLocalia localB,
+        List<ResultadoEnfrentamiento> ultimos) {
+}
@@ -0,0 +1,7 @@
+package com.liga.futbol.model.dto;
+
+/**
+ * Representación compacta de un equipo (sin su historia)
+ */
+public record EquipoResumen(Integer id, String nombre) {
+}
@@ -0,0 +1,13 @@
+package com.liga.futbol.model.dto;
+
+/**
+ * Contadores acumulados de una caché
+ */
+public record EstadisticaCache(
+        String nombre,
+        long aciertos,
+        long fallos,
+        long desalojos,
+        long tamano,
+        double tasaAciertos) {
+}
@@ -0,0 +1,25 @@
+package com.liga.futbol.model.dto;
+
+/**
+ * Resultados agregados de un equipo (de local, de visita o en total) desde su punto de vista
+ */
+public record EstadisticaLocalia(
+        Integer equipoId,
+        long jugados,
+        long ganados,
+        long empatados,
+        long perdidos,
+        long golesFavor,
+        long golesContra) {
+
+    public static EstadisticaLocalia vacia(Integer equipoId) {
+        return new EstadisticaLocalia(equipoId, 0, 0, 0, 0, 0, 0);
+    }
+
+    public EstadisticaLocalia sumar(EstadisticaLocalia otra) {
+        return new EstadisticaLocalia(equipoId, jugados + otra.jugados, ganados + otra.ganados,
+                empatados + otra.empatados, perdidos + otra.perdidos,
+                golesFavor + otra.golesFavor, golesContra + otra.golesContra);
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.liga.futbol.model.dto;
+
+import java.util.List;
+
+/**
+ * Estadísticas de un equipo, opcionalmente limitadas a una liga o temporada (año).
+ * {@code forma} resume los últimos resultados, del más reciente al más antiguo
+ * (V victoria, E empate, D derrota); {@code racha} es null si no hay partidos finalizados.
+ */
+public record EstadisticasEquipo(
+        EquipoResumen equipo,
+        Integer ligaId,
+        Short temporada,
+        EstadisticaLocalia total,
+        EstadisticaLocalia local,
+        EstadisticaLocalia visita,
+        Racha racha,
+        String forma,
+        List<PartidoResumen> ultimos) {
+
+    /**
+     * Resultados consecutivos iguales más recientes
+     */
+    public record Racha(Resultado resultado, long partidos) {
+    }
+
+    public enum Resultado {
+        VICTORIA,
+        EMPATE,
+        DERROTA
+    }
+
+}
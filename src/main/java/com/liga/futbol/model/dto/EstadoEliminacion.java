@@ -0,0 +1,33 @@
+package com.liga.futbol.model.dto;
+
+import java.time.Instant;
+
+/**
+ * Avance de la eliminación de una liga. {@code exportacion} es la ruta del archivo con los
+ * partidos exportados antes de eliminarlos, o null si no se pidió exportar.
+ */
+public record EstadoEliminacion(
+        String id,
+        Integer ligaId,
+        Etapa etapa,
+        long partidosTotales,
+        long partidosExportados,
+        long partidosEliminados,
+        String exportacion,
+        String error,
+        Instant inicio,
+        Instant fin) {
+
+    public enum Etapa {
+        EN_COLA,
+        EXPORTANDO,
+        ELIMINANDO,
+        COMPLETADA,
+        FALLIDA
+    }
+
+    public boolean terminada() {
+        return etapa == Etapa.COMPLETADA || etapa == Etapa.FALLIDA;
+    }
+
+}
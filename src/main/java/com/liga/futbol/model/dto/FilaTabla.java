@@ -0,0 +1,18 @@
+package com.liga.futbol.model.dto;
+
+/**
+ * Fila de la tabla de posiciones de una liga
+ */
+public record FilaTabla(
+        int posicion,
+        Integer equipoId,
+        String equipoNombre,
+        int partidosJugados,
+        int ganados,
+        int empatados,
+        int perdidos,
+        int golesFavor,
+        int golesContra,
+        int diferenciaGoles,
+        int puntos) {
+}
@@ -0,0 +1,43 @@
+package com.liga.futbol.model.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Criterios de filtrado de los listados de partidos. Los campos null no filtran.
+ * {@code equipoId} filtra partidos donde el equipo juega de local o de visita;
+ * {@code equipoA}/{@code equipoB} filtran partidos entre esos dos equipos.
+ */
+public record FiltroPartidos(
+        Integer ligaId,
+        Short jornada,
+        LocalDate fechaInicio,
+        LocalDate fechaFin,
+        Integer equipoId,
+        Integer equipoA,
+        Integer equipoB) {
+
+    public static FiltroPartidos todos() {
+        return new FiltroPartidos(null, null, null, null, null, null, null);
+    }
+
+    public static FiltroPartidos porLigaYJornada(Integer ligaId, Short jornada) {
+        return new FiltroPartidos(ligaId, jornada, null, null, null, null, null);
+    }
+
+    public static FiltroPartidos porFecha(LocalDate fecha) {
+        return new FiltroPartidos(null, null, fecha, fecha, null, null, null);
+    }
+
+    public static FiltroPartidos entreFechas(LocalDate fechaInicio, LocalDate fechaFin) {
+        return new FiltroPartidos(null, null, fechaInicio, fechaFin, null, null, null);
+    }
+
+    public static FiltroPartidos porEquipo(Integer equipoId) {
+        return new FiltroPartidos(null, null, null, null, equipoId, null, null);
+    }
+
+    public static FiltroPartidos entreEquipos(Integer equipoA, Integer equipoB) {
+        return new FiltroPartidos(null, null, null, null, null, equipoA, equipoB);
+    }
+
+}
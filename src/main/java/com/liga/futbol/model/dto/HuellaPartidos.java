@@ -0,0 +1,18 @@
+package com.liga.futbol.model.dto;
+
+/**
+ * Huella de un conjunto de partidos calculada en la base de datos. Cambia con cualquier alta o
+ * baja de un partido, con cada modificación (su versión crece) y con cada modificación de sus
+ * equipos (su revisión crece), así que todas las instancias de la API obtienen la misma.
+ */
+public record HuellaPartidos(Long cantidad, Long sumaIds, Long sumaVersiones, Long sumaRevisionesEquipos) {
+
+    /**
+     * Texto compacto apto para un ETag
+     */
+    public String texto() {
+        return Long.toString(cantidad, 36) + '.' + Long.toString(sumaIds, 36) + '.'
+                + Long.toString(sumaVersiones, 36) + '.' + Long.toString(sumaRevisionesEquipos, 36);
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.liga.futbol.model.dto;
+
+/**
+ * Huella de un conjunto de equipos o ligas calculada en la base de datos. Cambia al agregar o
+ * quitar uno y con cada modificación de uno de ellos (su revisión crece).
+ */
+public record HuellaRevisiones(Long cantidad, Long sumaIds, Long sumaRevisiones) {
+
+    /**
+     * Texto compacto apto para comparar o para un ETag
+     */
+    public String texto() {
+        return Long.toString(cantidad, 36) + '.' + Long.toString(sumaIds, 36) + '.'
+                + Long.toString(sumaRevisiones, 36);
+    }
+
+}
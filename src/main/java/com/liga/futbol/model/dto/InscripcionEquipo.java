@@ -0,0 +1,7 @@
+package com.liga.futbol.model.dto;
+
+/**
+ * Inscripción de un equipo en una liga
+ */
+public record InscripcionEquipo(Integer ligaId, Integer equipoId) {
+}
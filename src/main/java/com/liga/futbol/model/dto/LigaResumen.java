@@ -0,0 +1,7 @@
+package com.liga.futbol.model.dto;
+
+/**
+ * Representación compacta de una liga
+ */
+public record LigaResumen(Integer id, String nombre) {
+}
@@ -0,0 +1,24 @@
+package com.liga.futbol.model.dto;
+
+/**
+ * Cambio de marcador aceptado y registrado en la bitácora local, pendiente de escribirse en
+ * la base de datos. {@code secuencia} crece con cada cambio aceptado: entre dos cambios de un
+ * mismo partido prevalece el de mayor secuencia.
+ */
+public record MarcadorDiferido(
+        Integer partidoId,
+        Short golesLocal,
+        Short golesVisita,
+        String estado,
+        Long secuencia) {
+
+    /**
+     * Combina un cambio pendiente con otro posterior del mismo partido: el posterior
+     * reemplaza el marcador y, si trae estado, también el estado
+     */
+    public MarcadorDiferido seguidoDe(MarcadorDiferido posterior) {
+        return new MarcadorDiferido(partidoId, posterior.golesLocal, posterior.golesVisita,
+                posterior.estado != null ? posterior.estado : estado, posterior.secuencia);
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.liga.futbol.model.dto;
+
+/**
+ * Marcador, estado y versión de un partido tras actualizar su resultado
+ */
+public record MarcadorPartido(
+        Integer id,
+        Short golesLocal,
+        Short golesVisita,
+        String estado,
+        Long version) {
+}
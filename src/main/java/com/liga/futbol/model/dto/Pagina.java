@@ -0,0 +1,10 @@
+package com.liga.futbol.model.dto;
+
+import java.util.List;
+
+/**
+ * Página de resultados obtenida con paginación por clave.
+ * {@code siguienteCursor} es null cuando no quedan más resultados.
+ */
+public record Pagina<T>(List<T> items, String siguienteCursor) {
+}
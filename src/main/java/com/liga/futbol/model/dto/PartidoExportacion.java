@@ -0,0 +1,22 @@
+package com.liga.futbol.model.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Fila plana de un partido para exportaciones masivas (sin entidades ni asociaciones)
+ */
+public record PartidoExportacion(
+        Integer id,
+        Integer ligaId,
+        Short jornada,
+        LocalDate fecha,
+        LocalTime horaInicio,
+        Integer equipoLocalId,
+        String equipoLocalNombre,
+        Integer equipoVisitaId,
+        String equipoVisitaNombre,
+        Short golesLocal,
+        Short golesVisita,
+        String estado) {
+}
@@ -0,0 +1,21 @@
+package com.liga.futbol.model.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Partido generado por el fixture. {@code id} es null cuando el fixture sólo se simuló.
+ */
+public record PartidoProgramado(
+        Integer id,
+        short jornada,
+        LocalDate fecha,
+        LocalTime horaInicio,
+        Integer equipoLocalId,
+        Integer equipoVisitaId) {
+
+    public PartidoProgramado conId(Integer nuevoId) {
+        return new PartidoProgramado(nuevoId, jornada, fecha, horaInicio, equipoLocalId, equipoVisitaId);
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.liga.futbol.model.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Representación compacta de un partido para los listados: sólo ID y nombre
+ * de cada equipo y el ID de la liga, sin historia ni datos de la liga.
+ */
+public record PartidoResumen(
+        Integer id,
+        Integer ligaId,
+        Short jornada,
+        LocalDate fecha,
+        LocalTime horaInicio,
+        EquipoResumen equipoLocal,
+        EquipoResumen equipoVisita,
+        Short golesLocal,
+        Short golesVisita,
+        String estado) {
+
+    /**
+     * Constructor plano usado por las proyecciones JPQL ({@code SELECT new ...})
+     */
+    public PartidoResumen(Integer id, Integer ligaId, Short jornada, LocalDate fecha, LocalTime horaInicio,
+                          Integer equipoLocalId, String equipoLocalNombre,
+                          Integer equipoVisitaId, String equipoVisitaNombre,
+                          Short golesLocal, Short golesVisita, String estado) {
+        this(id, ligaId, jornada, fecha, horaInicio,
+                new EquipoResumen(equipoLocalId, equipoLocalNombre),
+                new EquipoResumen(equipoVisitaId, equipoVisitaNombre),
+                golesLocal, golesVisita, estado);
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.liga.futbol.model.dto;
+
+/**
+ * Probabilidades de un equipo al terminar la temporada según la simulación.
+ * {@code posiciones[i]} es la probabilidad de terminar en la posición i + 1.
+ */
+public record ProbabilidadesEquipo(
+        Integer equipoId,
+        String equipoNombre,
+        int puntos,
+        double puntosEsperados,
+        double campeon,
+        double descenso,
+        double[] posiciones) {
+}
@@ -0,0 +1,16 @@
+package com.liga.futbol.model.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Resultado de un partido finalizado entre dos equipos
+ */
+public record ResultadoEnfrentamiento(
+        Integer partidoId,
+        Integer ligaId,
+        LocalDate fecha,
+        Integer equipoLocalId,
+        Integer equipoVisitaId,
+        Short golesLocal,
+        Short golesVisita) {
+}
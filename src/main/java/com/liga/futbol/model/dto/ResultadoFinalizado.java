@@ -0,0 +1,11 @@
+package com.liga.futbol.model.dto;
+
+/**
+ * Proyección mínima de un partido finalizado usada para construir la tabla de posiciones
+ */
+public record ResultadoFinalizado(
+        Integer equipoLocalId,
+        Integer equipoVisitaId,
+        Short golesLocal,
+        Short golesVisita) {
+}
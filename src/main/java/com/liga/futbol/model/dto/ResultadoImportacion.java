@@ -0,0 +1,22 @@
+package com.liga.futbol.model.dto;
+
+/**
+ * Resultado de una fila dentro de una importación masiva.
+ * {@code indice} es la posición (desde 0) de la fila en el cuerpo recibido.
+ */
+public record ResultadoImportacion(int indice, Estado estado, Integer id, String error) {
+
+    public enum Estado {
+        CREADO,
+        RECHAZADO
+    }
+
+    public static ResultadoImportacion creado(int indice, Integer id) {
+        return new ResultadoImportacion(indice, Estado.CREADO, id, null);
+    }
+
+    public static ResultadoImportacion rechazado(int indice, String error) {
+        return new ResultadoImportacion(indice, Estado.RECHAZADO, null, error);
+    }
+
+}
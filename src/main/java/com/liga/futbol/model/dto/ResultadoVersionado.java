@@ -0,0 +1,22 @@
+package com.liga.futbol.model.dto;
+
+import com.liga.futbol.event.ResultadoPartido;
+import java.time.LocalDate;
+
+/**
+ * Datos de un partido relevantes para sus eventos junto con su versión, leídos con
+ * una proyección para no cargar la entidad
+ */
+public record ResultadoVersionado(ResultadoPartido resultado, Long version) {
+
+    /**
+     * Constructor plano usado por las proyecciones JPQL ({@code SELECT new ...})
+     */
+    public ResultadoVersionado(Integer id, Integer ligaId, Short jornada, LocalDate fecha,
+                               Integer equipoLocalId, Integer equipoVisitaId,
+                               Short golesLocal, Short golesVisita, String estado, Long version) {
+        this(new ResultadoPartido(id, ligaId, jornada, fecha, equipoLocalId, equipoVisitaId,
+                golesLocal, golesVisita, estado), version);
+    }
+
+}
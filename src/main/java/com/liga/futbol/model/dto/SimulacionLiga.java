@@ -0,0 +1,16 @@
+package com.liga.futbol.model.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Resultado de simular el resto de la temporada de una liga, con los equipos
+ * ordenados por puntos esperados
+ */
+public record SimulacionLiga(
+        Integer ligaId,
+        int simulaciones,
+        int partidosPendientes,
+        Instant calculada,
+        List<ProbabilidadesEquipo> equipos) {
+}
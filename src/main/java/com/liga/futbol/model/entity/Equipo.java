@@ -1,5 +1,6 @@
 package com.liga.futbol.model.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,7 +19,8 @@ import lombok.NoArgsConstructor;
 public class Equipo {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "equipos_seq")
+    @SequenceGenerator(name = "equipos_seq", sequenceName = "equipos_id_seq", allocationSize = 50)
     private Integer id;
 
     @Column(nullable = false, unique = true, length = 100)
@@ -33,4 +35,16 @@ public class Equipo {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String historia;
 
+    /**
+     * Crece con cada modificación; forma parte de los ETags de las respuestas que incluyen el equipo
+     */
+    @JsonIgnore
+    @Column(nullable = false)
+    private long revision;
+
+    @PreUpdate
+    void nuevaRevision() {
+        revision++;
+    }
+
 }
@@ -1,5 +1,7 @@
 package com.liga.futbol.model.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -17,10 +19,12 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Liga {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ligas_seq")
+    @SequenceGenerator(name = "ligas_seq", sequenceName = "ligas_id_seq", allocationSize = 50)
     private Integer id;
 
     @Column(nullable = false, length = 100)
@@ -46,4 +50,16 @@ public class Liga {
     )
     private Set<Equipo> equipos;
 
+    /**
+     * Crece con cada modificación; forma parte de los ETags de las respuestas que incluyen la liga
+     */
+    @JsonIgnore
+    @Column(nullable = false)
+    private long revision;
+
+    @PreUpdate
+    void nuevaRevision() {
+        revision++;
+    }
+
 }
@@ -12,7 +12,13 @@ import java.time.LocalTime;
  * Entidad que representa un partido de la liga
  */
 @Entity
-@Table(name = "partidos")
+@Table(name = "partidos", indexes = {
+    @Index(name = "idx_partidos_fecha_hora_id", columnList = "fecha, hora_inicio, id"),
+    @Index(name = "idx_partidos_local_visita", columnList = "equipo_local_id, equipo_visita_id"),
+    @Index(name = "idx_partidos_liga_jornada", columnList = "liga_id, jornada"),
+    @Index(name = "idx_partidos_local_fecha", columnList = "equipo_local_id, fecha"),
+    @Index(name = "idx_partidos_visita_fecha", columnList = "equipo_visita_id, fecha")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,7 +26,8 @@ import java.time.LocalTime;
 public class Partido {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "partidos_seq")
+    @SequenceGenerator(name = "partidos_seq", sequenceName = "partidos_id_seq", allocationSize = 50)
     private Integer id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -53,6 +60,13 @@ public class Partido {
     @Column(length = 20, nullable = false, columnDefinition = "VARCHAR(20) DEFAULT 'PROGRAMADO'")
     private String estado;
 
+    /**
+     * Versión para el control optimista de concurrencia; cada actualización la incrementa
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     public void preInsert() {
         if (this.estado == null) {
@@ -1,11 +1,14 @@
 package com.liga.futbol.model.repository;
 
+import com.liga.futbol.model.dto.EquipoResumen;
+import com.liga.futbol.model.dto.HuellaRevisiones;
 import com.liga.futbol.model.entity.Equipo;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -22,4 +25,42 @@ public interface EquipoRepository extends JpaRepository<Equipo, Integer> {
     @Query("SELECT e FROM Equipo e WHERE LOWER(e.nombre) LIKE LOWER(CONCAT('%', :nombre, '%'))")
     List<Equipo> buscarPorNombre(@Param("nombre") String nombre);
 
+    /**
+     * Obtiene ID y nombre de los equipos indicados, sin cargar la entidad completa
+     * @param ids IDs de los equipos
+     * @return resúmenes de los equipos encontrados
+     */
+    @Query("SELECT new com.liga.futbol.model.dto.EquipoResumen(e.id, e.nombre) FROM Equipo e WHERE e.id IN :ids")
+    List<EquipoResumen> findResumenes(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Obtiene, de los IDs indicados, los que existen
+     * @param ids IDs a verificar
+     * @return IDs existentes
+     */
+    @Query("SELECT e.id FROM Equipo e WHERE e.id IN :ids")
+    List<Integer> findIdsExistentes(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Obtiene, de los nombres indicados, los que ya están registrados
+     * @param nombres nombres a verificar
+     * @return nombres existentes
+     */
+    @Query("SELECT e.nombre FROM Equipo e WHERE e.nombre IN :nombres")
+    List<String> findNombresExistentes(@Param("nombres") Collection<String> nombres);
+
+    /**
+     * Obtiene ID y nombre de todos los equipos
+     * @return resúmenes de todos los equipos
+     */
+    @Query("SELECT new com.liga.futbol.model.dto.EquipoResumen(e.id, e.nombre) FROM Equipo e")
+    List<EquipoResumen> findAllResumenes();
+
+    /**
+     * Calcula la huella de todos los equipos (cantidad, IDs y revisiones) sin leerlos
+     */
+    @Query("SELECT new com.liga.futbol.model.dto.HuellaRevisiones(COUNT(e), COALESCE(SUM(e.id), 0L), "
+            + "COALESCE(SUM(e.revision), 0L)) FROM Equipo e")
+    HuellaRevisiones huella();
+
 }
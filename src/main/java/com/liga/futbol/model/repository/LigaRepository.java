@@ -1,12 +1,19 @@
 package com.liga.futbol.model.repository;
 
+import com.liga.futbol.model.dto.HuellaRevisiones;
+import com.liga.futbol.model.dto.InscripcionEquipo;
+import com.liga.futbol.model.dto.LigaResumen;
 import com.liga.futbol.model.entity.Liga;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositorio para la entidad Liga
@@ -27,6 +34,97 @@ public interface LigaRepository extends JpaRepository<Liga, Integer> {
      * @param anio año de la liga
      * @return lista de ligas del año especificado
      */
+    @EntityGraph(attributePaths = "equipos")
     List<Liga> findByAnio(Short anio);
 
+    /**
+     * Obtiene todas las ligas con sus equipos en una sola consulta
+     * @return lista de ligas
+     */
+    @EntityGraph(attributePaths = "equipos")
+    @Query("SELECT l FROM Liga l")
+    List<Liga> findAllConEquipos();
+
+    /**
+     * Busca una liga por ID con sus equipos ya cargados
+     * @param id ID de la liga
+     * @return la liga, si existe
+     */
+    @EntityGraph(attributePaths = "equipos")
+    @Query("SELECT l FROM Liga l WHERE l.id = :id")
+    Optional<Liga> findConEquiposById(@Param("id") Integer id);
+
+    /**
+     * Obtiene los IDs de los equipos inscritos en una liga
+     * @param ligaId ID de la liga
+     * @return IDs de los equipos de la liga
+     */
+    @Query("SELECT e.id FROM Liga l JOIN l.equipos e WHERE l.id = :ligaId")
+    List<Integer> findEquipoIds(@Param("ligaId") Integer ligaId);
+
+    /**
+     * Calcula la huella de los equipos inscritos en una liga sin leerlos
+     * @param ligaId ID de la liga
+     */
+    @Query("SELECT new com.liga.futbol.model.dto.HuellaRevisiones(COUNT(e), COALESCE(SUM(e.id), 0L), "
+            + "COALESCE(SUM(e.revision), 0L)) FROM Liga l JOIN l.equipos e WHERE l.id = :ligaId")
+    HuellaRevisiones huellaInscripciones(@Param("ligaId") Integer ligaId);
+
+    /**
+     * Obtiene las inscripciones de equipos de las ligas indicadas
+     * @param ligaIds IDs de las ligas
+     * @return pares liga-equipo
+     */
+    @Query("SELECT new com.liga.futbol.model.dto.InscripcionEquipo(l.id, e.id) FROM Liga l JOIN l.equipos e WHERE l.id IN :ligaIds")
+    List<InscripcionEquipo> findInscripciones(@Param("ligaIds") Collection<Integer> ligaIds);
+
+    /**
+     * Obtiene, de los IDs indicados, los que existen
+     * @param ids IDs a verificar
+     * @return IDs existentes
+     */
+    @Query("SELECT l.id FROM Liga l WHERE l.id IN :ids")
+    List<Integer> findIdsExistentes(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Obtiene ID y nombre de todas las ligas
+     * @return resúmenes de todas las ligas
+     */
+    @Query("SELECT new com.liga.futbol.model.dto.LigaResumen(l.id, l.nombre) FROM Liga l")
+    List<LigaResumen> findAllResumenes();
+
+    /**
+     * Calcula la huella de todos los ligas (cantidad, IDs y revisiones) sin leerlos
+     */
+    @Query("SELECT new com.liga.futbol.model.dto.HuellaRevisiones(COUNT(l), COALESCE(SUM(l.id), 0L), "
+            + "COALESCE(SUM(l.revision), 0L)) FROM Liga l")
+    HuellaRevisiones huella();
+
+    /**
+     * Obtiene las ligas indicadas con sus equipos ya cargados
+     * @param ids IDs de las ligas
+     * @return ligas encontradas
+     */
+    @EntityGraph(attributePaths = "equipos")
+    @Query("SELECT l FROM Liga l WHERE l.id IN :ids")
+    List<Liga> findConEquiposByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Elimina las inscripciones de equipos de una liga
+     * @param ligaId ID de la liga
+     * @return filas eliminadas
+     */
+    @Modifying
+    @Query(value = "DELETE FROM equipos_liga WHERE liga_id = :ligaId", nativeQuery = true)
+    int eliminarInscripciones(@Param("ligaId") Integer ligaId);
+
+    /**
+     * Elimina una liga con una sentencia DELETE, sin cargarla
+     * @param id ID de la liga
+     * @return filas eliminadas (0 si no existía)
+     */
+    @Modifying
+    @Query("DELETE FROM Liga l WHERE l.id = :id")
+    int eliminarPorId(@Param("id") Integer id);
+
 }
@@ -1,15 +1,32 @@
 package com.liga.futbol.model.repository;
 
+import com.liga.futbol.event.ResultadoPartido;
+import com.liga.futbol.model.dto.EstadisticaLocalia;
+import com.liga.futbol.model.dto.HuellaPartidos;
+import com.liga.futbol.model.dto.PartidoExportacion;
+import com.liga.futbol.model.dto.PartidoResumen;
+import com.liga.futbol.model.dto.ResultadoEnfrentamiento;
+import com.liga.futbol.model.dto.ResultadoFinalizado;
+import com.liga.futbol.model.dto.ResultadoVersionado;
 import com.liga.futbol.model.entity.Partido;
 import com.liga.futbol.model.entity.Liga;
 import com.liga.futbol.model.entity.Equipo;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para la entidad Partido
@@ -17,6 +34,65 @@ import java.util.List;
 @Repository
 public interface PartidoRepository extends JpaRepository<Partido, Integer> {
 
+    /**
+     * Condición de paginación por clave: partidos posteriores a (fecha, horaInicio, id)
+     */
+    String DESPUES_DEL_CURSOR = "p.fecha >= :fecha AND (p.fecha > :fecha OR p.horaInicio > :horaInicio "
+            + "OR (p.horaInicio = :horaInicio AND p.id > :id))";
+
+    String ORDEN_CURSOR = " ORDER BY p.fecha, p.horaInicio, p.id";
+
+    String FETCH_SIZE_EXPORTACION = "500";
+
+    String SELECT_EXPORTACION = "SELECT new com.liga.futbol.model.dto.PartidoExportacion("
+            + "p.id, p.liga.id, p.jornada, p.fecha, p.horaInicio, el.id, el.nombre, ev.id, ev.nombre, "
+            + "p.golesLocal, p.golesVisita, p.estado) "
+            + "FROM Partido p JOIN p.equipoLocal el JOIN p.equipoVisita ev ";
+
+    String SELECT_RESUMEN = "SELECT new com.liga.futbol.model.dto.PartidoResumen("
+            + "p.id, p.liga.id, p.jornada, p.fecha, p.horaInicio, el.id, el.nombre, ev.id, ev.nombre, "
+            + "p.golesLocal, p.golesVisita, p.estado) "
+            + "FROM Partido p JOIN p.equipoLocal el JOIN p.equipoVisita ev ";
+
+    String SELECT_HUELLA = "SELECT new com.liga.futbol.model.dto.HuellaPartidos(COUNT(p), "
+            + "COALESCE(SUM(p.id), 0L), COALESCE(SUM(p.version), 0L), COALESCE(SUM(el.revision + ev.revision), 0L)) "
+            + "FROM Partido p JOIN p.equipoLocal el JOIN p.equipoVisita ev ";
+
+    /**
+     * Partidos entre :equipoA y :equipoB en cualquier localía. Se expresa con IN sobre ambas
+     * columnas en lugar de un OR para que use el índice (equipo_local_id, equipo_visita_id).
+     */
+    String ENTRE_EQUIPOS = "p.equipoLocal.id IN (:equipoA, :equipoB) AND p.equipoVisita.id IN (:equipoA, :equipoB) "
+            + "AND p.equipoLocal.id <> p.equipoVisita.id";
+
+    String FINALIZADO = "p.estado = 'FINALIZADO' AND p.golesLocal IS NOT NULL AND p.golesVisita IS NOT NULL";
+
+    /**
+     * Resultados agregados desde el punto de vista del equipo local (agrupar por p.equipoLocal.id)
+     */
+    String SELECT_ESTADISTICA_LOCAL = "SELECT new com.liga.futbol.model.dto.EstadisticaLocalia(p.equipoLocal.id, COUNT(p), "
+            + "SUM(CASE WHEN p.golesLocal > p.golesVisita THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN p.golesLocal = p.golesVisita THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN p.golesLocal < p.golesVisita THEN 1 ELSE 0 END), "
+            + "SUM(p.golesLocal), SUM(p.golesVisita)) FROM Partido p ";
+
+    /**
+     * Resultados agregados desde el punto de vista del equipo visitante (agrupar por p.equipoVisita.id)
+     */
+    String SELECT_ESTADISTICA_VISITA = "SELECT new com.liga.futbol.model.dto.EstadisticaLocalia(p.equipoVisita.id, COUNT(p), "
+            + "SUM(CASE WHEN p.golesVisita > p.golesLocal THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN p.golesVisita = p.golesLocal THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN p.golesVisita < p.golesLocal THEN 1 ELSE 0 END), "
+            + "SUM(p.golesVisita), SUM(p.golesLocal)) FROM Partido p ";
+
+    /**
+     * Partidos finalizados de una liga (opcional) dentro de un rango de fechas. Junto con el
+     * equipo local o visitante usa los índices (equipo_local_id, fecha) y (equipo_visita_id, fecha).
+     */
+    String ALCANCE_EQUIPO = "(:ligaId IS NULL OR p.liga.id = :ligaId) AND p.fecha BETWEEN :desde AND :hasta AND " + FINALIZADO;
+
+    String ORDEN_RECIENTES = " ORDER BY p.fecha DESC, p.horaInicio DESC, p.id DESC";
+
     /**
      * Busca partidos por liga
      * @param liga la liga especificada
@@ -66,4 +142,339 @@ public interface PartidoRepository extends JpaRepository<Partido, Integer> {
     @Query("SELECT p FROM Partido p WHERE (p.equipoLocal.id = :equipoLocalId AND p.equipoVisita.id = :equipoVisitaId) OR (p.equipoLocal.id = :equipoVisitaId AND p.equipoVisita.id = :equipoLocalId)")
     List<Partido> findByEquipos(@Param("equipoLocalId") Integer equipoLocalId, @Param("equipoVisitaId") Integer equipoVisitaId);
 
+    /**
+     * Obtiene los resultados de los partidos finalizados de una liga, sin cargar entidades
+     * @param ligaId ID de la liga
+     * @return equipos y goles de cada partido finalizado
+     */
+    @Query("SELECT new com.liga.futbol.model.dto.ResultadoFinalizado(p.equipoLocal.id, p.equipoVisita.id, p.golesLocal, p.golesVisita) "
+            + "FROM Partido p WHERE p.liga.id = :ligaId AND " + FINALIZADO)
+    List<ResultadoFinalizado> findResultadosFinalizados(@Param("ligaId") Integer ligaId);
+
+    /**
+     * Obtiene los resultados finalizados más recientes de los equipos indicados, en cualquier liga
+     * @param equipoIds IDs de los equipos
+     * @param limite cantidad máxima de partidos
+     * @return equipos y goles, del más reciente al más antiguo
+     */
+    @Query("SELECT new com.liga.futbol.model.dto.ResultadoFinalizado(p.equipoLocal.id, p.equipoVisita.id, p.golesLocal, p.golesVisita) "
+            + "FROM Partido p WHERE (p.equipoLocal.id IN :equipoIds OR p.equipoVisita.id IN :equipoIds) AND " + FINALIZADO
+            + " ORDER BY p.fecha DESC, p.id DESC")
+    List<ResultadoFinalizado> findUltimosResultadosDeEquipos(@Param("equipoIds") Collection<Integer> equipoIds, Limit limite);
+
+    /**
+     * Obtiene los partidos de una liga que aún no tienen resultado final
+     * @param ligaId ID de la liga
+     * @return partidos pendientes
+     */
+    @Query("SELECT new com.liga.futbol.event.ResultadoPartido(p.id, p.liga.id, p.jornada, p.fecha, "
+            + "p.equipoLocal.id, p.equipoVisita.id, p.golesLocal, p.golesVisita, p.estado) "
+            + "FROM Partido p WHERE p.liga.id = :ligaId AND NOT (" + FINALIZADO + ")")
+    List<ResultadoPartido> findPendientes(@Param("ligaId") Integer ligaId);
+
+    /**
+     * Obtiene el resumen de los partidos de una jornada, seleccionando sólo las columnas necesarias
+     * @param ligaId ID de la liga
+     * @param jornada número de la jornada
+     * @return resúmenes ordenados por fecha, hora e ID
+     */
+    @Query(SELECT_RESUMEN + "WHERE p.liga.id = :ligaId AND p.jornada = :jornada" + ORDEN_CURSOR)
+    List<PartidoResumen> findResumenesByLigaAndJornada(@Param("ligaId") Integer ligaId, @Param("jornada") Short jornada);
+
+    /**
+     * Calcula la huella de los partidos de una jornada sin leerlos
+     * @param ligaId ID de la liga
+     * @param jornada número de la jornada
+     */
+    @Query(SELECT_HUELLA + "WHERE p.liga.id = :ligaId AND p.jornada = :jornada")
+    HuellaPartidos huellaJornada(@Param("ligaId") Integer ligaId, @Param("jornada") Short jornada);
+
+    /**
+     * Calcula la huella de todos los partidos de una liga sin leerlos
+     * @param ligaId ID de la liga
+     */
+    @Query(SELECT_HUELLA + "WHERE p.liga.id = :ligaId")
+    HuellaPartidos huellaLiga(@Param("ligaId") Integer ligaId);
+
+    /**
+     * Obtiene el resumen de los partidos de una fecha
+     * @param fecha fecha de los partidos
+     * @return resúmenes ordenados por hora e ID
+     */
+    @Query(SELECT_RESUMEN + "WHERE p.fecha = :fecha" + ORDEN_CURSOR)
+    List<PartidoResumen> findResumenesByFecha(@Param("fecha") LocalDate fecha);
+
+    /**
+     * Obtiene el resumen de los partidos de cualquiera de los equipos indicados en un rango de
+     * fechas, para armar su calendario. El rango va primero para que use el índice por fecha.
+     * @param equipoIds IDs de los equipos
+     * @param desde fecha inicial (inclusive)
+     * @param hasta fecha final (inclusive)
+     * @return resúmenes ordenados por fecha, hora e ID
+     */
+    @Query(SELECT_RESUMEN + "WHERE p.fecha BETWEEN :desde AND :hasta "
+            + "AND (el.id IN :equipoIds OR ev.id IN :equipoIds)" + ORDEN_CURSOR)
+    List<PartidoResumen> findResumenesDeEquiposEntreFechas(@Param("equipoIds") Collection<Integer> equipoIds,
+                                                          @Param("desde") LocalDate desde,
+                                                          @Param("hasta") LocalDate hasta);
+
+    /**
+     * Obtiene el resumen de los partidos entre dos equipos
+     * @param equipoLocalId ID de uno de los equipos
+     * @param equipoVisitaId ID del otro equipo
+     * @return resúmenes ordenados por fecha, hora e ID
+     */
+    @Query(SELECT_RESUMEN + "WHERE " + ENTRE_EQUIPOS + ORDEN_CURSOR)
+    List<PartidoResumen> findResumenesByEquipos(@Param("equipoA") Integer equipoLocalId,
+                                                @Param("equipoB") Integer equipoVisitaId);
+
+    /**
+     * Agrega en la base de datos los partidos finalizados entre dos equipos, agrupados por el equipo local
+     * @param equipoA ID de uno de los equipos
+     * @param equipoB ID del otro equipo
+     * @return hasta dos filas, una por cada equipo que haya jugado de local
+     */
+    @Query(SELECT_ESTADISTICA_LOCAL + "WHERE " + ENTRE_EQUIPOS + " AND " + FINALIZADO + " GROUP BY p.equipoLocal.id")
+    List<EstadisticaLocalia> findEstadisticasEnfrentamiento(@Param("equipoA") Integer equipoA,
+                                                            @Param("equipoB") Integer equipoB);
+
+    /**
+     * Agrega los resultados de un equipo jugando de local
+     * @param equipoId ID del equipo
+     * @param ligaId ID de la liga, o null para todas
+     * @param desde fecha inicial (inclusive)
+     * @param hasta fecha final (inclusive)
+     * @return empty si no jugó de local en el alcance indicado
+     */
+    @Query(SELECT_ESTADISTICA_LOCAL + "WHERE p.equipoLocal.id = :equipoId AND " + ALCANCE_EQUIPO + " GROUP BY p.equipoLocal.id")
+    Optional<EstadisticaLocalia> findEstadisticaComoLocal(@Param("equipoId") Integer equipoId, @Param("ligaId") Integer ligaId,
+                                                          @Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+
+    /**
+     * Agrega los resultados de un equipo jugando de visita
+     * @return empty si no jugó de visita en el alcance indicado
+     */
+    @Query(SELECT_ESTADISTICA_VISITA + "WHERE p.equipoVisita.id = :equipoId AND " + ALCANCE_EQUIPO + " GROUP BY p.equipoVisita.id")
+    Optional<EstadisticaLocalia> findEstadisticaComoVisita(@Param("equipoId") Integer equipoId, @Param("ligaId") Integer ligaId,
+                                                           @Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+
+    /**
+     * Obtiene los últimos resultados de un equipo de local
+     * @return resúmenes del más reciente al más antiguo
+     */
+    @Query(SELECT_RESUMEN + "WHERE el.id = :equipoId AND " + ALCANCE_EQUIPO + ORDEN_RECIENTES)
+    List<PartidoResumen> findUltimosComoLocal(@Param("equipoId") Integer equipoId, @Param("ligaId") Integer ligaId,
+                                              @Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta, Limit limite);
+
+    /**
+     * Obtiene los últimos resultados de un equipo de visita
+     * @return resúmenes del más reciente al más antiguo
+     */
+    @Query(SELECT_RESUMEN + "WHERE ev.id = :equipoId AND " + ALCANCE_EQUIPO + ORDEN_RECIENTES)
+    List<PartidoResumen> findUltimosComoVisita(@Param("equipoId") Integer equipoId, @Param("ligaId") Integer ligaId,
+                                               @Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta, Limit limite);
+
+    /**
+     * Obtiene los últimos partidos de local cuyo resultado para el equipo no es el indicado
+     * @param signo 1 victoria, 0 empate, -1 derrota
+     */
+    @Query(SELECT_RESUMEN + "WHERE el.id = :equipoId AND SIGN(p.golesLocal - p.golesVisita) <> :signo AND "
+            + ALCANCE_EQUIPO + ORDEN_RECIENTES)
+    List<PartidoResumen> findUltimosComoLocalConOtroResultado(@Param("equipoId") Integer equipoId, @Param("ligaId") Integer ligaId,
+                                                              @Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta,
+                                                              @Param("signo") int signo, Limit limite);
+
+    /**
+     * Obtiene los últimos partidos de visita cuyo resultado para el equipo no es el indicado
+     * @param signo 1 victoria, 0 empate, -1 derrota
+     */
+    @Query(SELECT_RESUMEN + "WHERE ev.id = :equipoId AND SIGN(p.golesVisita - p.golesLocal) <> :signo AND "
+            + ALCANCE_EQUIPO + ORDEN_RECIENTES)
+    List<PartidoResumen> findUltimosComoVisitaConOtroResultado(@Param("equipoId") Integer equipoId, @Param("ligaId") Integer ligaId,
+                                                               @Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta,
+                                                               @Param("signo") int signo, Limit limite);
+
+    /**
+     * Cuenta los partidos de local de un equipo posteriores a (fecha, horaInicio, id)
+     */
+    @Query("SELECT COUNT(p) FROM Partido p WHERE p.equipoLocal.id = :equipoId AND " + ALCANCE_EQUIPO
+            + " AND " + DESPUES_DEL_CURSOR)
+    long countComoLocalDespuesDe(@Param("equipoId") Integer equipoId, @Param("ligaId") Integer ligaId,
+                                 @Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta,
+                                 @Param("fecha") LocalDate fecha, @Param("horaInicio") LocalTime horaInicio,
+                                 @Param("id") Integer id);
+
+    /**
+     * Cuenta los partidos de visita de un equipo posteriores a (fecha, horaInicio, id)
+     */
+    @Query("SELECT COUNT(p) FROM Partido p WHERE p.equipoVisita.id = :equipoId AND " + ALCANCE_EQUIPO
+            + " AND " + DESPUES_DEL_CURSOR)
+    long countComoVisitaDespuesDe(@Param("equipoId") Integer equipoId, @Param("ligaId") Integer ligaId,
+                                  @Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta,
+                                  @Param("fecha") LocalDate fecha, @Param("horaInicio") LocalTime horaInicio,
+                                  @Param("id") Integer id);
+
+    /**
+     * Obtiene los últimos resultados entre dos equipos
+     * @param equipoA ID de uno de los equipos
+     * @param equipoB ID del otro equipo
+     * @param limite cantidad de resultados
+     * @return resultados del más reciente al más antiguo
+     */
+    @Query("SELECT new com.liga.futbol.model.dto.ResultadoEnfrentamiento(p.id, p.liga.id, p.fecha, "
+            + "p.equipoLocal.id, p.equipoVisita.id, p.golesLocal, p.golesVisita) "
+            + "FROM Partido p WHERE " + ENTRE_EQUIPOS + " AND " + FINALIZADO
+            + " ORDER BY p.fecha DESC, p.horaInicio DESC, p.id DESC")
+    List<ResultadoEnfrentamiento> findUltimosEnfrentamientos(@Param("equipoA") Integer equipoA,
+                                                             @Param("equipoB") Integer equipoB, Limit limite);
+
+    /**
+     * Obtiene la página de resúmenes de partidos posterior al cursor
+     * @param fecha fecha del cursor
+     * @param horaInicio hora del cursor
+     * @param id ID del cursor
+     * @param limite cantidad máxima de partidos
+     * @return resúmenes ordenados por fecha, hora e ID
+     */
+    @Query(SELECT_RESUMEN + "WHERE " + DESPUES_DEL_CURSOR + ORDEN_CURSOR)
+    List<PartidoResumen> findPagina(@Param("fecha") LocalDate fecha, @Param("horaInicio") LocalTime horaInicio,
+                                    @Param("id") Integer id, Limit limite);
+
+    /**
+     * Obtiene la página de resúmenes de partidos de un rango de fechas posterior al cursor
+     * @param fechaInicio fecha inicial
+     * @param fechaFin fecha final
+     * @param fecha fecha del cursor
+     * @param horaInicio hora del cursor
+     * @param id ID del cursor
+     * @param limite cantidad máxima de partidos
+     * @return resúmenes ordenados por fecha, hora e ID
+     */
+    @Query(SELECT_RESUMEN + "WHERE p.fecha BETWEEN :fechaInicio AND :fechaFin AND " + DESPUES_DEL_CURSOR + ORDEN_CURSOR)
+    List<PartidoResumen> findPaginaEntreFechas(@Param("fechaInicio") LocalDate fechaInicio, @Param("fechaFin") LocalDate fechaFin,
+                                               @Param("fecha") LocalDate fecha, @Param("horaInicio") LocalTime horaInicio,
+                                               @Param("id") Integer id, Limit limite);
+
+    /**
+     * Obtiene la página de resúmenes de partidos de un equipo posterior al cursor
+     * @param equipoId ID del equipo
+     * @param fecha fecha del cursor
+     * @param horaInicio hora del cursor
+     * @param id ID del cursor
+     * @param limite cantidad máxima de partidos
+     * @return resúmenes ordenados por fecha, hora e ID
+     */
+    @Query(SELECT_RESUMEN + "WHERE (el.id = :equipoId OR ev.id = :equipoId) AND "
+            + DESPUES_DEL_CURSOR + ORDEN_CURSOR)
+    List<PartidoResumen> findPaginaPorEquipo(@Param("equipoId") Integer equipoId,
+                                             @Param("fecha") LocalDate fecha, @Param("horaInicio") LocalTime horaInicio,
+                                             @Param("id") Integer id, Limit limite);
+
+    /**
+     * Recorre con un cursor de sólo avance los partidos de un rango de fechas.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     * @param desde fecha inicial
+     * @param hasta fecha final
+     * @return flujo de filas planas ordenadas por fecha, hora e ID
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE_EXPORTACION),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_EXPORTACION + "WHERE p.fecha BETWEEN :desde AND :hasta" + ORDEN_CURSOR)
+    Stream<PartidoExportacion> streamExportacion(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+
+    /**
+     * Recorre con un cursor de sólo avance los partidos de una liga en un rango de fechas.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     * @param ligaId ID de la liga
+     * @param desde fecha inicial
+     * @param hasta fecha final
+     * @return flujo de filas planas ordenadas por fecha, hora e ID
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE_EXPORTACION),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_EXPORTACION + "WHERE p.liga.id = :ligaId AND p.fecha BETWEEN :desde AND :hasta" + ORDEN_CURSOR)
+    Stream<PartidoExportacion> streamExportacionPorLiga(@Param("ligaId") Integer ligaId,
+                                                       @Param("desde") LocalDate desde,
+                                                       @Param("hasta") LocalDate hasta);
+
+    /**
+     * Indica si una liga ya tiene partidos registrados
+     * @param ligaId ID de la liga
+     * @return true si existe al menos un partido
+     */
+    boolean existsByLigaId(Integer ligaId);
+
+    /**
+     * Obtiene los datos de eventos y la versión de un partido sin cargar la entidad
+     * @param id ID del partido
+     * @return el partido proyectado, o empty si no existe
+     */
+    @Query("SELECT new com.liga.futbol.model.dto.ResultadoVersionado(p.id, p.liga.id, p.jornada, p.fecha, "
+            + "p.equipoLocal.id, p.equipoVisita.id, p.golesLocal, p.golesVisita, p.estado, p.version) "
+            + "FROM Partido p WHERE p.id = :id")
+    Optional<ResultadoVersionado> findResultadoVersionado(@Param("id") Integer id);
+
+    /**
+     * Actualiza goles y estado de un partido sólo si sigue en la versión indicada,
+     * incrementándola (compare-and-set en una única sentencia UPDATE)
+     * @param estado nuevo estado, o null para conservar el actual
+     * @return filas actualizadas: 0 si la versión ya cambió o el partido no existe
+     */
+    @Modifying
+    @Query("UPDATE Partido p SET p.golesLocal = :golesLocal, p.golesVisita = :golesVisita, "
+            + "p.estado = COALESCE(:estado, p.estado), p.version = p.version + 1 "
+            + "WHERE p.id = :id AND p.version = :version")
+    int actualizarResultado(@Param("id") Integer id,
+                            @Param("version") Long version,
+                            @Param("golesLocal") Short golesLocal,
+                            @Param("golesVisita") Short golesVisita,
+                            @Param("estado") String estado);
+
+    /**
+     * Obtiene los primeros partidos de una liga por ID, como copias para los eventos de eliminación
+     * @param ligaId ID de la liga
+     * @param limite tamaño del lote
+     * @return partidos ordenados por ID
+     */
+    @Query("SELECT new com.liga.futbol.event.ResultadoPartido(p.id, p.liga.id, p.jornada, p.fecha, "
+            + "p.equipoLocal.id, p.equipoVisita.id, p.golesLocal, p.golesVisita, p.estado) "
+            + "FROM Partido p WHERE p.liga.id = :ligaId ORDER BY p.id")
+    List<ResultadoPartido> findResultadosPorLiga(@Param("ligaId") Integer ligaId, Limit limite);
+
+    /**
+     * Elimina los partidos indicados con una única sentencia DELETE, sin cargarlos
+     * @param ids IDs de los partidos
+     * @return filas eliminadas
+     */
+    @Modifying
+    @Query("DELETE FROM Partido p WHERE p.id IN :ids")
+    int eliminarPorIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Indica si una liga tiene partidos en el estado indicado
+     * @param ligaId ID de la liga
+     * @param estado estado del partido
+     * @return true si existe al menos uno
+     */
+    boolean existsByLigaIdAndEstado(Integer ligaId, String estado);
+
+    /**
+     * Cuenta los partidos de una liga
+     * @param ligaId ID de la liga
+     * @return cantidad de partidos
+     */
+    long countByLigaId(Integer ligaId);
+
+    /**
+     * Obtiene el resumen de todos los partidos de una liga, usado para archivar la temporada
+     * @param ligaId ID de la liga
+     * @return resúmenes ordenados por jornada, fecha, hora e ID
+     */
+    @Query(SELECT_RESUMEN + "WHERE p.liga.id = :ligaId ORDER BY p.jornada, p.fecha, p.horaInicio, p.id")
+    List<PartidoResumen> findResumenesByLiga(@Param("ligaId") Integer ligaId);
+
 }
@@ -0,0 +1,230 @@
+package com.liga.futbol.service;
+
+import com.liga.futbol.event.EquipoCambiadoEvent;
+import com.liga.futbol.event.LigaCambiadaEvent;
+import com.liga.futbol.event.PartidoCambiadoEvent;
+import com.liga.futbol.event.ResultadoPartido;
+import com.liga.futbol.model.dto.ArchivoTemporada;
+import com.liga.futbol.model.dto.EquipoResumen;
+import com.liga.futbol.model.dto.HuellaPartidos;
+import com.liga.futbol.model.dto.PartidoResumen;
+import com.liga.futbol.model.entity.Liga;
+import com.liga.futbol.model.repository.EquipoRepository;
+import com.liga.futbol.model.repository.LigaRepository;
+import com.liga.futbol.model.repository.PartidoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servicio que archiva temporadas cerradas en snapshots binarios mapeados en memoria
+ * ({@link TemporadaArchivada}) y responde desde ellos las lecturas de esas ligas sin pasar por JPA.
+ * Los snapshots se vuelven a mapear al iniciar la aplicación, descartando los que ya no
+ * coinciden con la base de datos. Cualquier cambio confirmado que afecte a una temporada
+ * archivada (partidos, la liga o el nombre de uno de sus equipos) elimina su snapshot y las
+ * lecturas vuelven a la base de datos hasta que se archive de nuevo.
+ */
+@Service
+public class ArchivoTemporadasService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchivoTemporadasService.class);
+
+    private static final String PREFIJO = "liga-";
+    private static final String EXTENSION = ".snap";
+
+    private final LigaRepository ligaRepository;
+    private final PartidoRepository partidoRepository;
+    private final EquipoRepository equipoRepository;
+    private final Path directorio;
+
+    private final Map<Integer, TemporadaArchivada> temporadas = new ConcurrentHashMap<>();
+    // Cambios confirmados por liga, para descartar un archivado que se cruzó con una escritura
+    private final Map<Integer, AtomicLong> cambios = new ConcurrentHashMap<>();
+
+    public ArchivoTemporadasService(LigaRepository ligaRepository,
+                                    PartidoRepository partidoRepository,
+                                    EquipoRepository equipoRepository,
+                                    @Value("${liga.archivo.directorio:datos/temporadas}") Path directorio) {
+        this.ligaRepository = ligaRepository;
+        this.partidoRepository = partidoRepository;
+        this.equipoRepository = equipoRepository;
+        this.directorio = directorio;
+    }
+
+    /**
+     * Mapea los snapshots existentes al iniciar la aplicación
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarArchivos() {
+        if (!Files.isDirectory(directorio)) {
+            return;
+        }
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio, PREFIJO + "*" + EXTENSION)) {
+            for (Path archivo : archivos) {
+                cargar(archivo);
+            }
+        } catch (IOException e) {
+            log.warn("No se pudo leer el directorio de temporadas archivadas {}", directorio, e);
+        }
+        log.info("Temporadas archivadas cargadas: {}", temporadas.size());
+    }
+
+    private void cargar(Path archivo) {
+        TemporadaArchivada temporada;
+        try {
+            temporada = TemporadaArchivada.abrir(archivo);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Snapshot inválido descartado: {}", archivo, e);
+            borrar(archivo);
+            return;
+        }
+        // La base de datos pudo recrearse, o los partidos corregirse desde otra instancia o con
+        // la aplicación detenida, desde que se escribió el snapshot
+        boolean vigente = ligaRepository.findById(temporada.ligaId())
+                .filter(liga -> liga.getNombre().equals(temporada.nombreLiga()))
+                .isPresent()
+                && partidoRepository.huellaLiga(temporada.ligaId()).equals(temporada.huella());
+        if (vigente) {
+            temporadas.put(temporada.ligaId(), temporada);
+        } else {
+            log.info("Snapshot de la liga {} no coincide con la base de datos y fue descartado", temporada.ligaId());
+            borrar(archivo);
+        }
+    }
+
+    /**
+     * Escribe y mapea el snapshot de una temporada cerrada: su fecha de término ya pasó
+     * y no le quedan partidos programados
+     * @return empty si la liga no existe
+     * @throws IllegalStateException si la temporada no está cerrada o cambió durante el archivado
+     */
+    @Transactional(readOnly = true)
+    public Optional<ArchivoTemporada> archivar(Integer ligaId) {
+        Optional<Liga> encontrada = ligaRepository.findById(ligaId);
+        if (encontrada.isEmpty()) {
+            return Optional.empty();
+        }
+        Liga liga = encontrada.get();
+        if (!liga.getFechaFin().isBefore(LocalDate.now())
+                || partidoRepository.existsByLigaIdAndEstado(ligaId, "PROGRAMADO")) {
+            throw new IllegalStateException("La temporada de la liga " + ligaId + " no ha terminado");
+        }
+        long version = cambios(ligaId).get();
+
+        // La huella se lee antes que los partidos: si otra instancia los cambia entre ambas
+        // lecturas el snapshot queda con una huella anterior y se descarta al cargarlo
+        HuellaPartidos huella = partidoRepository.huellaLiga(ligaId);
+        List<PartidoResumen> partidos = partidoRepository.findResumenesByLiga(ligaId);
+        Set<Integer> equipoIds = new HashSet<>(ligaRepository.findEquipoIds(ligaId));
+        for (PartidoResumen partido : partidos) {
+            equipoIds.add(partido.equipoLocal().id());
+            equipoIds.add(partido.equipoVisita().id());
+        }
+        List<EquipoResumen> equipos = equipoIds.isEmpty() ? List.of() : equipoRepository.findResumenes(equipoIds);
+
+        Path archivo = directorio.resolve(PREFIJO + ligaId + EXTENSION);
+        TemporadaArchivada temporada;
+        try {
+            TemporadaArchivada.escribir(archivo, ligaId, liga.getNombre(), equipos, partidos, huella);
+            temporada = TemporadaArchivada.abrir(archivo);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo archivar la liga " + ligaId, e);
+        }
+        temporadas.put(ligaId, temporada);
+        if (cambios(ligaId).get() != version) {
+            descartar(ligaId);
+            throw new IllegalStateException("La liga " + ligaId + " cambió durante el archivado");
+        }
+        log.info("Liga {} archivada: {} partidos, {} bytes", ligaId, temporada.cantidadPartidos(), temporada.bytes());
+        return Optional.of(new ArchivoTemporada(ligaId, liga.getNombre(), equipos.size(),
+                temporada.cantidadPartidos(), temporada.bytes()));
+    }
+
+    /**
+     * Indica si la liga tiene un snapshot cargado
+     */
+    public boolean archivada(Integer ligaId) {
+        return temporadas.containsKey(ligaId);
+    }
+
+    /**
+     * Partidos de una jornada leídos del snapshot
+     * @return empty si la liga no está archivada
+     */
+    public Optional<List<PartidoResumen>> jornada(Integer ligaId, Short jornada) {
+        TemporadaArchivada temporada = temporadas.get(ligaId);
+        return temporada != null ? Optional.of(temporada.jornada(jornada)) : Optional.empty();
+    }
+
+    /**
+     * Snapshot cargado de una liga, usado para construir su tabla de posiciones
+     */
+    Optional<TemporadaArchivada> temporada(Integer ligaId) {
+        return Optional.ofNullable(temporadas.get(ligaId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarPartido(PartidoCambiadoEvent evento) {
+        for (ResultadoPartido estado : new ResultadoPartido[] {evento.anterior(), evento.actual()}) {
+            if (estado != null && estado.ligaId() != null) {
+                cambios(estado.ligaId()).incrementAndGet();
+                descartar(estado.ligaId());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarLiga(LigaCambiadaEvent evento) {
+        cambios(evento.ligaId()).incrementAndGet();
+        descartar(evento.ligaId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarEquipo(EquipoCambiadoEvent evento) {
+        for (TemporadaArchivada temporada : temporadas.values()) {
+            if (temporada.incluyeEquipo(evento.equipoId())) {
+                cambios(temporada.ligaId()).incrementAndGet();
+                descartar(temporada.ligaId());
+            }
+        }
+    }
+
+    private AtomicLong cambios(Integer ligaId) {
+        return cambios.computeIfAbsent(ligaId, id -> new AtomicLong());
+    }
+
+    private void descartar(Integer ligaId) {
+        TemporadaArchivada temporada = temporadas.remove(ligaId);
+        if (temporada != null) {
+            log.info("Snapshot de la liga {} descartado por un cambio en sus datos", ligaId);
+            borrar(temporada.archivo());
+        }
+    }
+
+    private static void borrar(Path archivo) {
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            log.warn("No se pudo eliminar el snapshot {}", archivo, e);
+        }
+    }
+
+}
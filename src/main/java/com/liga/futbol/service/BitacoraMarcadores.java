@@ -0,0 +1,218 @@
+package com.liga.futbol.service;
+
+import com.liga.futbol.model.dto.MarcadorDiferido;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Bitácora local de sólo agregado con los cambios de marcador aceptados y aún no escritos en
+ * la base de datos. Cada registro es {@code [largo][datos][CRC32 de los datos]}; al leerla se
+ * descarta desde el primer registro incompleto o dañado (una escritura cortada por una caída),
+ * que nunca llegó a confirmarse al cliente.
+ * Además de los cambios se registran puntos de control: "el partido ya tiene en la base de datos
+ * sus cambios hasta la secuencia N". Al abrirla se omiten los cambios cubiertos por un punto
+ * de control, para que volver a aplicarlos no pise correcciones posteriores hechas por otra vía.
+ * La usa un único hilo, por lo que no está sincronizada.
+ */
+final class BitacoraMarcadores implements AutoCloseable {
+
+    private static final int LARGO_MAXIMO = 1024;
+    private static final byte CAMBIO = 0;
+    private static final byte APLICADO = 1;
+
+    private final Path archivo;
+    private final long ultimaSecuencia;
+    private FileChannel canal;
+
+    private BitacoraMarcadores(Path archivo, long ultimaSecuencia, FileChannel canal) {
+        this.archivo = archivo;
+        this.ultimaSecuencia = ultimaSecuencia;
+        this.canal = canal;
+    }
+
+    /**
+     * Abre la bitácora para agregar registros, creándola si no existe y recortando el
+     * resto dañado que pudiera haber al final
+     * @param registros recibe los cambios válidos que aún no se aplicaron en la base de datos,
+     *                  en el orden en que se agregaron
+     */
+    static BitacoraMarcadores abrir(Path archivo, List<MarcadorDiferido> registros) throws IOException {
+        Files.createDirectories(archivo.toAbsolutePath().getParent());
+        Lectura lectura = new Lectura();
+        if (Files.exists(archivo)) {
+            try (InputStream entrada = new BufferedInputStream(Files.newInputStream(archivo))) {
+                leer(new DataInputStream(entrada), lectura);
+            }
+        }
+        for (MarcadorDiferido cambio : lectura.cambios) {
+            if (cambio.secuencia() > lectura.aplicados.getOrDefault(cambio.partidoId(), 0L)) {
+                registros.add(cambio);
+            }
+        }
+        FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        canal.truncate(lectura.largoValido);
+        canal.position(lectura.largoValido);
+        return new BitacoraMarcadores(archivo, lectura.ultimaSecuencia, canal);
+    }
+
+    /**
+     * Mayor secuencia presente en la bitácora al abrirla, incluidos los puntos de control;
+     * las nuevas secuencias deben superarla
+     */
+    long ultimaSecuencia() {
+        return ultimaSecuencia;
+    }
+
+    /**
+     * Agrega los registros y fuerza su escritura al disco antes de volver
+     */
+    void agregar(Collection<MarcadorDiferido> registros) throws IOException {
+        escribir(codificar(registros, CAMBIO));
+    }
+
+    /**
+     * Registra que los cambios ya están en la base de datos, junto con todos los anteriores
+     * de sus partidos
+     */
+    void marcarAplicados(Collection<MarcadorDiferido> aplicados) throws IOException {
+        escribir(codificar(aplicados, APLICADO));
+    }
+
+    /**
+     * Reemplaza el contenido por los registros indicados (los que siguen pendientes),
+     * escribiéndolos en un archivo temporal que luego se renombra de forma atómica
+     */
+    void compactar(Collection<MarcadorDiferido> registros) throws IOException {
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        try (FileChannel nuevo = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(codificar(registros, CAMBIO));
+            while (buffer.hasRemaining()) {
+                nuevo.write(buffer);
+            }
+            nuevo.force(false);
+        }
+        canal.close();
+        Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        canal = FileChannel.open(archivo, StandardOpenOption.WRITE);
+        canal.position(canal.size());
+    }
+
+    /**
+     * Descarta todos los registros
+     */
+    void vaciar() throws IOException {
+        canal.truncate(0);
+        canal.force(false);
+    }
+
+    long tamano() throws IOException {
+        return canal.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    private void escribir(byte[] registros) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(registros);
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        canal.force(false);
+    }
+
+    private static byte[] codificar(Collection<MarcadorDiferido> registros, byte tipo) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(registros.size() * 48);
+        DataOutputStream salida = new DataOutputStream(bytes);
+        ByteArrayOutputStream datos = new ByteArrayOutputStream(64);
+        DataOutputStream registro = new DataOutputStream(datos);
+        CRC32 crc = new CRC32();
+        for (MarcadorDiferido cambio : registros) {
+            datos.reset();
+            registro.writeByte(tipo);
+            registro.writeLong(cambio.secuencia());
+            registro.writeInt(cambio.partidoId());
+            if (tipo == CAMBIO) {
+                registro.writeShort(cambio.golesLocal());
+                registro.writeShort(cambio.golesVisita());
+                registro.writeBoolean(cambio.estado() != null);
+                if (cambio.estado() != null) {
+                    registro.writeUTF(cambio.estado());
+                }
+            }
+            crc.reset();
+            crc.update(datos.toByteArray());
+            salida.writeInt(datos.size());
+            datos.writeTo(salida);
+            salida.writeInt((int) crc.getValue());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void leer(DataInputStream entrada, Lectura lectura) throws IOException {
+        CRC32 crc = new CRC32();
+        try {
+            while (true) {
+                int largo = entrada.readInt();
+                if (largo <= 0 || largo > LARGO_MAXIMO) {
+                    return;
+                }
+                byte[] datos = new byte[largo];
+                entrada.readFully(datos);
+                crc.reset();
+                crc.update(datos);
+                if (entrada.readInt() != (int) crc.getValue()) {
+                    return;
+                }
+                DataInputStream registro = new DataInputStream(new ByteArrayInputStream(datos));
+                byte tipo = registro.readByte();
+                long secuencia = registro.readLong();
+                int partidoId = registro.readInt();
+                if (tipo == APLICADO) {
+                    lectura.aplicados.merge(partidoId, secuencia, Math::max);
+                } else {
+                    short golesLocal = registro.readShort();
+                    short golesVisita = registro.readShort();
+                    String estado = registro.readBoolean() ? registro.readUTF() : null;
+                    lectura.cambios.add(new MarcadorDiferido(partidoId, golesLocal, golesVisita, estado, secuencia));
+                }
+                lectura.ultimaSecuencia = Math.max(lectura.ultimaSecuencia, secuencia);
+                lectura.largoValido += Integer.BYTES + largo + Integer.BYTES;
+            }
+        } catch (EOFException e) {
+            // Registro cortado al final
+        }
+    }
+
+    /**
+     * Registros válidos leídos de la bitácora
+     */
+    private static final class Lectura {
+        final List<MarcadorDiferido> cambios = new ArrayList<>();
+        // Mayor secuencia ya aplicada de cada partido
+        final Map<Integer, Long> aplicados = new HashMap<>();
+        long ultimaSecuencia;
+        long largoValido;
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.liga.futbol.service;
+
+import com.liga.futbol.event.EquipoCambiadoEvent;
+import com.liga.futbol.event.LigaCambiadaEvent;
+import com.liga.futbol.model.dto.EquipoResumen;
+import com.liga.futbol.model.dto.HuellaRevisiones;
+import com.liga.futbol.model.dto.LigaResumen;
+import com.liga.futbol.model.repository.EquipoRepository;
+import com.liga.futbol.model.repository.LigaRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servicio de búsqueda por nombre de equipos y ligas sobre índices de trigramas en memoria.
+ * Los índices se cargan al iniciar la aplicación y se mantienen sincronizados con los
+ * eventos de creación, actualización y eliminación una vez confirmada cada transacción.
+ * Esos eventos son locales, así que cada {@code liga.busqueda.validacion} se compara la huella
+ * de equipos y ligas en la base de datos (cantidad, IDs y revisiones) con la de cada índice y se
+ * reconstruye el que no coincide: así se recogen los cambios hechos por otras instancias.
+ */
+@Service
+public class BusquedaService {
+
+    private static final Logger log = LoggerFactory.getLogger(BusquedaService.class);
+
+    private final EquipoRepository equipoRepository;
+    private final LigaRepository ligaRepository;
+
+    private final long validacion;
+    private final ScheduledExecutorService programador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "indices-busqueda");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    // Cada índice se reemplaza completo al reconstruirse, junto con la huella leída antes de cargarlo
+    private volatile IndiceTrigramas indiceEquipos = new IndiceTrigramas();
+    private volatile IndiceTrigramas indiceLigas = new IndiceTrigramas();
+    private volatile HuellaRevisiones huellaEquipos;
+    private volatile HuellaRevisiones huellaLigas;
+
+    public BusquedaService(EquipoRepository equipoRepository, LigaRepository ligaRepository,
+                           @Value("${liga.busqueda.validacion:10s}") Duration validacion) {
+        this.equipoRepository = equipoRepository;
+        this.ligaRepository = ligaRepository;
+        this.validacion = validacion.toMillis();
+    }
+
+    /**
+     * Carga los índices con los nombres registrados al iniciar la aplicación y programa su validación
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarIndices() {
+        cargarEquipos(equipoRepository.huella());
+        cargarLigas(ligaRepository.huella());
+        log.info("Índices de búsqueda cargados: {} equipos, {} ligas", indiceEquipos.tamano(), indiceLigas.tamano());
+        programador.scheduleWithFixedDelay(this::validarIndices, validacion, validacion, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reconstruye los índices cuya huella ya no coincide con la de la base de datos
+     */
+    void validarIndices() {
+        try {
+            HuellaRevisiones equipos = equipoRepository.huella();
+            if (!equipos.equals(huellaEquipos)) {
+                cargarEquipos(equipos);
+                log.debug("Índice de equipos reconstruido: {} equipos", indiceEquipos.tamano());
+            }
+            HuellaRevisiones ligas = ligaRepository.huella();
+            if (!ligas.equals(huellaLigas)) {
+                cargarLigas(ligas);
+                log.debug("Índice de ligas reconstruido: {} ligas", indiceLigas.tamano());
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron validar los índices de búsqueda: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Carga un índice nuevo de equipos. La huella se lee antes que los nombres: si cambian entre
+     * ambas lecturas, o un evento llega al índice anterior durante la carga, el índice queda con
+     * una huella anterior y se reconstruye en la próxima validación.
+     */
+    private void cargarEquipos(HuellaRevisiones huella) {
+        IndiceTrigramas indice = new IndiceTrigramas();
+        for (EquipoResumen equipo : equipoRepository.findAllResumenes()) {
+            indice.indexar(equipo.id(), equipo.nombre());
+        }
+        indiceEquipos = indice;
+        huellaEquipos = huella;
+    }
+
+    private void cargarLigas(HuellaRevisiones huella) {
+        IndiceTrigramas indice = new IndiceTrigramas();
+        for (LigaResumen liga : ligaRepository.findAllResumenes()) {
+            indice.indexar(liga.id(), liga.nombre());
+        }
+        indiceLigas = indice;
+        huellaLigas = huella;
+    }
+
+    /**
+     * IDs de los equipos que coinciden con el texto, ordenados por relevancia
+     */
+    public List<Integer> buscarEquipos(String texto, int limite) {
+        return indiceEquipos.buscar(texto, limite);
+    }
+
+    /**
+     * IDs de las ligas que coinciden con el texto, ordenados por relevancia
+     */
+    public List<Integer> buscarLigas(String texto, int limite) {
+        return indiceLigas.buscar(texto, limite);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarEquipo(EquipoCambiadoEvent evento) {
+        if (evento.eliminado()) {
+            indiceEquipos.quitar(evento.equipoId());
+        } else {
+            indiceEquipos.indexar(evento.equipoId(), evento.nombre());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarLiga(LigaCambiadaEvent evento) {
+        if (evento.eliminada()) {
+            indiceLigas.quitar(evento.ligaId());
+        } else {
+            indiceLigas.indexar(evento.ligaId(), evento.nombre());
+        }
+    }
+
+    @PreDestroy
+    void cerrar() {
+        programador.shutdownNow();
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.liga.futbol.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.liga.futbol.model.dto.EstadisticaCache;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Servicio que expone los contadores de las cachés de la aplicación
+ */
+@Service
+public class CacheService {
+
+    private final CacheManager cacheManager;
+
+    public CacheService(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Obtiene aciertos, fallos, desalojos y tamaño de cada caché
+     */
+    public List<EstadisticaCache> obtenerEstadisticas() {
+        List<EstadisticaCache> estadisticas = new ArrayList<>();
+        for (String nombre : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(nombre);
+            if (cache instanceof TransactionAwareCacheDecorator decorador) {
+                cache = decorador.getTargetCache();
+            }
+            if (cache instanceof CaffeineCache caffeineCache) {
+                CacheStats stats = caffeineCache.getNativeCache().stats();
+                estadisticas.add(new EstadisticaCache(nombre, stats.hitCount(), stats.missCount(),
+                        stats.evictionCount(), caffeineCache.getNativeCache().estimatedSize(), stats.hitRate()));
+            }
+        }
+        return estadisticas;
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.liga.futbol.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Calendario en memoria de un conjunto de equipos: por cada equipo, sus partidos ordenados
+ * por fecha y hora de inicio. Verificar un partido nuevo cuesta O(log n) porque sólo se
+ * revisan los vecinos dentro de la ventana de descanso, así que validar un lote completo
+ * es O(n log n) con una sola consulta para cargarlo.
+ * Dos partidos de un mismo equipo chocan si son el mismo día o si entre sus inicios hay
+ * menos que el descanso mínimo.
+ */
+class CalendarioEquipos {
+
+    private static final Comparator<Compromiso> ORDEN = Comparator
+            .comparing(Compromiso::inicio)
+            .thenComparing(Compromiso::partidoId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final Duration descansoMinimo;
+    private final Map<Integer, Set<Integer>> inscritosPorLiga;
+    private final Map<Integer, TreeSet<Compromiso>> porEquipo = new HashMap<>();
+
+    /**
+     * Partido de un equipo; {@code partidoId} es null para los que aún no se guardan
+     */
+    private record Compromiso(Integer partidoId, LocalDateTime inicio) {
+    }
+
+    CalendarioEquipos(Duration descansoMinimo, Map<Integer, Set<Integer>> inscritosPorLiga) {
+        this.descansoMinimo = descansoMinimo;
+        this.inscritosPorLiga = inscritosPorLiga;
+    }
+
+    /**
+     * Agrega un partido al calendario de ambos equipos
+     */
+    void registrar(Integer partidoId, Integer equipoLocalId, Integer equipoVisitaId, LocalDate fecha, LocalTime horaInicio) {
+        Compromiso compromiso = new Compromiso(partidoId, fecha.atTime(horaInicio));
+        porEquipo.computeIfAbsent(equipoLocalId, id -> new TreeSet<>(ORDEN)).add(compromiso);
+        porEquipo.computeIfAbsent(equipoVisitaId, id -> new TreeSet<>(ORDEN)).add(compromiso);
+    }
+
+    /**
+     * Verifica que ambos equipos estén inscritos en la liga
+     * @return el motivo del rechazo, o null si ambos están inscritos
+     */
+    String verificarInscripcion(Integer ligaId, Integer equipoLocalId, Integer equipoVisitaId) {
+        Set<Integer> inscritos = inscritosPorLiga.getOrDefault(ligaId, Set.of());
+        for (Integer equipoId : new Integer[] {equipoLocalId, equipoVisitaId}) {
+            if (!inscritos.contains(equipoId)) {
+                return "El equipo " + equipoId + " no está inscrito en la liga " + ligaId;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Verifica que ningún equipo tenga otro partido el mismo día o dentro del descanso mínimo.
+     * El partido {@code partidoId} (el que se está modificando) no se considera.
+     * @return el motivo del rechazo, o null si no hay choques
+     */
+    String verificarDescanso(Integer partidoId, Integer equipoLocalId, Integer equipoVisitaId,
+                             LocalDate fecha, LocalTime horaInicio) {
+        LocalDateTime inicio = fecha.atTime(horaInicio);
+        for (Integer equipoId : new Integer[] {equipoLocalId, equipoVisitaId}) {
+            Compromiso choque = buscarChoque(equipoId, partidoId, fecha, inicio);
+            if (choque != null) {
+                return "El equipo " + equipoId + " ya juega el " + choque.inicio().toLocalDate()
+                        + " a las " + choque.inicio().toLocalTime()
+                        + (choque.partidoId() != null ? " (partido " + choque.partidoId() + ")" : " en este mismo lote");
+            }
+        }
+        return null;
+    }
+
+    private Compromiso buscarChoque(Integer equipoId, Integer partidoId, LocalDate fecha, LocalDateTime inicio) {
+        TreeSet<Compromiso> calendario = porEquipo.get(equipoId);
+        if (calendario == null) {
+            return null;
+        }
+        // Ventana que cubre tanto el día completo como el descanso a cada lado
+        LocalDateTime desde = min(inicio.minus(descansoMinimo), fecha.atStartOfDay());
+        LocalDateTime hasta = max(inicio.plus(descansoMinimo), fecha.plusDays(1).atStartOfDay());
+        for (Compromiso otro : calendario.subSet(new Compromiso(null, desde), true, new Compromiso(null, hasta), false)) {
+            if (partidoId != null && Objects.equals(partidoId, otro.partidoId())) {
+                continue;
+            }
+            if (otro.inicio().toLocalDate().equals(fecha)
+                    || Duration.between(otro.inicio(), inicio).abs().compareTo(descansoMinimo) < 0) {
+                return otro;
+            }
+        }
+        return null;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.liga.futbol.service;
+
+import com.liga.futbol.model.dto.InscripcionEquipo;
+import com.liga.futbol.model.dto.PartidoResumen;
+import com.liga.futbol.model.entity.Partido;
+import com.liga.futbol.model.repository.LigaRepository;
+import com.liga.futbol.model.repository.PartidoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Servicio que detecta choques de calendario: equipos que juegan dos partidos el mismo día
+ * o sin el descanso mínimo ({@code liga.calendario.descanso-minimo}) entre ellos, y partidos
+ * de equipos no inscritos en la liga. Para cada validación se carga con una consulta el
+ * calendario de los equipos involucrados en el rango de fechas necesario.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CalendarioService {
+
+    private final PartidoRepository partidoRepository;
+    private final LigaRepository ligaRepository;
+    private final Duration descansoMinimo;
+
+    public CalendarioService(PartidoRepository partidoRepository,
+                             LigaRepository ligaRepository,
+                             @Value("${liga.calendario.descanso-minimo:24h}") Duration descansoMinimo) {
+        this.partidoRepository = partidoRepository;
+        this.ligaRepository = ligaRepository;
+        this.descansoMinimo = descansoMinimo;
+    }
+
+    /**
+     * Valida la programación de un partido contra el calendario de sus equipos
+     * @param partidoId ID del partido si ya existe (se excluye de la comparación), o null
+     * @throws IllegalArgumentException si algún equipo no está inscrito en la liga
+     * @throws IllegalStateException si algún equipo ya juega ese día o sin el descanso mínimo
+     */
+    public void validar(Integer partidoId, Integer ligaId, Integer equipoLocalId, Integer equipoVisitaId,
+                        LocalDate fecha, LocalTime horaInicio) {
+        CalendarioEquipos calendario = cargar(Set.of(ligaId), Set.of(equipoLocalId, equipoVisitaId), fecha, fecha);
+        String error = calendario.verificarInscripcion(ligaId, equipoLocalId, equipoVisitaId);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        error = calendario.verificarDescanso(partidoId, equipoLocalId, equipoVisitaId, fecha, horaInicio);
+        if (error != null) {
+            throw new IllegalStateException(error);
+        }
+    }
+
+    /**
+     * Carga el calendario necesario para validar un lote de partidos nuevos. Se ignoran las
+     * filas incompletas, que se rechazan por otros motivos.
+     */
+    CalendarioEquipos cargar(Collection<Partido> partidos) {
+        Set<Integer> ligaIds = new HashSet<>();
+        Set<Integer> equipoIds = new HashSet<>();
+        LocalDate desde = null;
+        LocalDate hasta = null;
+        for (Partido partido : partidos) {
+            if (!completo(partido)) {
+                continue;
+            }
+            ligaIds.add(partido.getLiga().getId());
+            equipoIds.add(partido.getEquipoLocal().getId());
+            equipoIds.add(partido.getEquipoVisita().getId());
+            desde = desde == null || partido.getFecha().isBefore(desde) ? partido.getFecha() : desde;
+            hasta = hasta == null || partido.getFecha().isAfter(hasta) ? partido.getFecha() : hasta;
+        }
+        if (equipoIds.isEmpty()) {
+            return new CalendarioEquipos(descansoMinimo, Map.of());
+        }
+        return cargar(ligaIds, equipoIds, desde, hasta);
+    }
+
+    /**
+     * Indica si el partido tiene todos los datos que se validan contra el calendario
+     */
+    static boolean completo(Partido partido) {
+        return partido != null
+                && partido.getLiga() != null && partido.getLiga().getId() != null
+                && partido.getEquipoLocal() != null && partido.getEquipoLocal().getId() != null
+                && partido.getEquipoVisita() != null && partido.getEquipoVisita().getId() != null
+                && partido.getFecha() != null && partido.getHoraInicio() != null;
+    }
+
+    private CalendarioEquipos cargar(Set<Integer> ligaIds, Set<Integer> equipoIds, LocalDate desde, LocalDate hasta) {
+        Map<Integer, Set<Integer>> inscritos = new HashMap<>();
+        for (InscripcionEquipo inscripcion : ligaRepository.findInscripciones(ligaIds)) {
+            inscritos.computeIfAbsent(inscripcion.ligaId(), id -> new HashSet<>()).add(inscripcion.equipoId());
+        }
+        CalendarioEquipos calendario = new CalendarioEquipos(descansoMinimo, inscritos);
+        // Un día extra a cada lado cubre los descansos que cruzan la medianoche
+        long margen = descansoMinimo.toDays() + 1;
+        List<PartidoResumen> existentes = partidoRepository.findResumenesDeEquiposEntreFechas(
+                equipoIds, desde.minusDays(margen), hasta.plusDays(margen));
+        for (PartidoResumen partido : existentes) {
+            calendario.registrar(partido.id(), partido.equipoLocal().id(), partido.equipoVisita().id(),
+                    partido.fecha(), partido.horaInicio());
+        }
+        return calendario;
+    }
+
+}
@@ -0,0 +1,243 @@
+package com.liga.futbol.service;
+
+import com.liga.futbol.event.PartidoCambiadoEvent;
+import com.liga.futbol.event.ResultadoPartido;
+import com.liga.futbol.model.dto.EstadoEliminacion;
+import com.liga.futbol.model.dto.EstadoEliminacion.Etapa;
+import com.liga.futbol.model.repository.LigaRepository;
+import com.liga.futbol.model.repository.PartidoRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Servicio que elimina una liga con todos sus partidos e inscripciones.
+ * Los partidos se eliminan en lotes de {@code liga.eliminacion.tamano-lote}, cada uno con
+ * una sentencia DELETE en su propia transacción, para no retener bloqueos durante toda la
+ * eliminación ni frenar a las lecturas concurrentes. Por cada lote se publican los eventos
+ * de partidos eliminados, de modo que tablas, suscriptores en vivo y versiones se actualizan
+ * igual que con una eliminación individual.
+ * Las eliminaciones en segundo plano corren de a una y su avance se consulta por ID.
+ */
+@Service
+public class EliminacionLigaService {
+
+    private static final Logger log = LoggerFactory.getLogger(EliminacionLigaService.class);
+
+    private static final DateTimeFormatter FORMATO_ARCHIVO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    // Tiempo que se conserva el estado de una eliminación terminada
+    private static final Duration RETENCION = Duration.ofHours(1);
+
+    private final LigaRepository ligaRepository;
+    private final PartidoRepository partidoRepository;
+    private final LigaService ligaService;
+    private final ExportacionService exportacionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaccion;
+    private final int tamanoLote;
+    private final Path directorioExportacion;
+
+    private final Map<String, Trabajo> trabajos = new ConcurrentHashMap<>();
+    // Liga → trabajo pendiente o en curso, para no eliminar la misma liga dos veces a la vez
+    private final Map<Integer, Trabajo> enCurso = new ConcurrentHashMap<>();
+    private final ExecutorService ejecutor = Executors.newSingleThreadExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "eliminacion-ligas");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    public EliminacionLigaService(LigaRepository ligaRepository,
+                                  PartidoRepository partidoRepository,
+                                  LigaService ligaService,
+                                  ExportacionService exportacionService,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${liga.eliminacion.tamano-lote:500}") int tamanoLote,
+                                  @Value("${liga.eliminacion.directorio-exportacion:datos/exportaciones}") Path directorioExportacion) {
+        this.ligaRepository = ligaRepository;
+        this.partidoRepository = partidoRepository;
+        this.ligaService = ligaService;
+        this.exportacionService = exportacionService;
+        this.eventPublisher = eventPublisher;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.tamanoLote = tamanoLote;
+        this.directorioExportacion = directorioExportacion;
+    }
+
+    /**
+     * Elimina la liga con sus partidos e inscripciones en el hilo actual
+     * @return false si la liga no existe
+     */
+    public boolean eliminar(Integer ligaId) {
+        if (!ligaRepository.existsById(ligaId)) {
+            return false;
+        }
+        Trabajo trabajo = new Trabajo(ligaId, null);
+        if (enCurso.putIfAbsent(ligaId, trabajo) != null) {
+            throw new IllegalStateException("La liga " + ligaId + " ya se está eliminando");
+        }
+        try {
+            return ejecutar(trabajo);
+        } finally {
+            enCurso.remove(ligaId, trabajo);
+        }
+    }
+
+    /**
+     * Programa la eliminación de la liga en segundo plano, exportando antes sus partidos
+     * si se indica un formato
+     * @return el estado inicial, o empty si la liga no existe
+     * @throws IllegalStateException si la liga ya se está eliminando
+     */
+    public Optional<EstadoEliminacion> programar(Integer ligaId, ExportacionService.Formato exportacion) {
+        if (!ligaRepository.existsById(ligaId)) {
+            return Optional.empty();
+        }
+        purgarTerminados();
+        Trabajo trabajo = new Trabajo(ligaId, exportacion);
+        if (enCurso.putIfAbsent(ligaId, trabajo) != null) {
+            throw new IllegalStateException("La liga " + ligaId + " ya se está eliminando");
+        }
+        trabajos.put(trabajo.id, trabajo);
+        ejecutor.execute(() -> {
+            try {
+                ejecutar(trabajo);
+            } catch (RuntimeException e) {
+                log.error("Falló la eliminación de la liga {}", ligaId, e);
+            } finally {
+                enCurso.remove(ligaId, trabajo);
+            }
+        });
+        return Optional.of(trabajo.estado());
+    }
+
+    /**
+     * Estado de una eliminación programada
+     */
+    public Optional<EstadoEliminacion> obtenerEstado(String id) {
+        return Optional.ofNullable(trabajos.get(id)).map(Trabajo::estado);
+    }
+
+    private boolean ejecutar(Trabajo trabajo) {
+        Integer ligaId = trabajo.ligaId;
+        try {
+            trabajo.partidosTotales = partidoRepository.countByLigaId(ligaId);
+            if (trabajo.formato != null) {
+                trabajo.etapa = Etapa.EXPORTANDO;
+                exportar(trabajo);
+            }
+            trabajo.etapa = Etapa.ELIMINANDO;
+            int eliminados;
+            do {
+                eliminados = transaccion.execute(estado -> eliminarLote(ligaId));
+                trabajo.partidosEliminados += eliminados;
+                log.debug("Liga {}: {} de {} partidos eliminados", ligaId, trabajo.partidosEliminados, trabajo.partidosTotales);
+            } while (eliminados == tamanoLote);
+            boolean eliminada = ligaService.eliminar(ligaId);
+            trabajo.terminar(Etapa.COMPLETADA, null);
+            log.info("Liga {} eliminada con {} partidos", ligaId, trabajo.partidosEliminados);
+            return eliminada;
+        } catch (RuntimeException e) {
+            trabajo.terminar(Etapa.FALLIDA, e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Elimina el siguiente lote de partidos de la liga y publica sus eventos,
+     * que los listeners procesan al confirmarse la transacción del lote
+     */
+    private int eliminarLote(Integer ligaId) {
+        List<ResultadoPartido> lote = partidoRepository.findResultadosPorLiga(ligaId, Limit.of(tamanoLote));
+        if (lote.isEmpty()) {
+            return 0;
+        }
+        partidoRepository.eliminarPorIds(lote.stream().map(ResultadoPartido::id).toList());
+        for (ResultadoPartido partido : lote) {
+            eventPublisher.publishEvent(new PartidoCambiadoEvent(partido, null));
+        }
+        return lote.size();
+    }
+
+    private void exportar(Trabajo trabajo) {
+        Path archivo = directorioExportacion.resolve("liga-" + trabajo.ligaId + "-"
+                + LocalDateTime.now().format(FORMATO_ARCHIVO) + "." + trabajo.formato.name().toLowerCase());
+        try {
+            Files.createDirectories(directorioExportacion);
+            try (OutputStream salida = Files.newOutputStream(archivo)) {
+                trabajo.partidosExportados = exportacionService.exportar(trabajo.ligaId, null, null, trabajo.formato, salida);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo exportar la liga " + trabajo.ligaId, e);
+        }
+        trabajo.exportacion = archivo.toAbsolutePath().toString();
+    }
+
+    private void purgarTerminados() {
+        Instant limite = Instant.now().minus(RETENCION);
+        trabajos.values().removeIf(trabajo -> trabajo.fin != null && trabajo.fin.isBefore(limite));
+    }
+
+    @PreDestroy
+    void cerrar() {
+        ejecutor.shutdownNow();
+    }
+
+    /**
+     * Eliminación en curso; sus campos los escribe sólo el hilo que la ejecuta
+     */
+    private static final class Trabajo {
+
+        private final String id = UUID.randomUUID().toString();
+        private final Integer ligaId;
+        private final ExportacionService.Formato formato;
+        private final Instant inicio = Instant.now();
+        private volatile Etapa etapa = Etapa.EN_COLA;
+        private volatile long partidosTotales;
+        private volatile long partidosExportados;
+        private volatile long partidosEliminados;
+        private volatile String exportacion;
+        private volatile String error;
+        private volatile Instant fin;
+
+        private Trabajo(Integer ligaId, ExportacionService.Formato formato) {
+            this.ligaId = ligaId;
+            this.formato = formato;
+        }
+
+        private void terminar(Etapa etapaFinal, String mensaje) {
+            error = mensaje;
+            fin = Instant.now();
+            etapa = etapaFinal;
+        }
+
+        private EstadoEliminacion estado() {
+            return new EstadoEliminacion(id, ligaId, etapa, partidosTotales, partidosExportados,
+                    partidosEliminados, exportacion, error, inicio, fin);
+        }
+
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.liga.futbol.service;
+
+import com.liga.futbol.model.dto.Enfrentamiento;
+import com.liga.futbol.model.dto.EquipoResumen;
+import com.liga.futbol.model.dto.EstadisticaLocalia;
+import com.liga.futbol.model.dto.ResultadoEnfrentamiento;
+import com.liga.futbol.model.repository.EquipoRepository;
+import com.liga.futbol.model.repository.PartidoRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio que resume el historial entre dos equipos. Victorias, empates y goles se agregan
+ * en la base de datos con una consulta agrupada por equipo local, de modo que el costo no
+ * depende de cuántos partidos hayan jugado; sólo los últimos resultados viajan como filas.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EnfrentamientoService {
+
+    static final int ULTIMOS_MAXIMO = 50;
+
+    private final PartidoRepository partidoRepository;
+    private final EquipoRepository equipoRepository;
+
+    public EnfrentamientoService(PartidoRepository partidoRepository, EquipoRepository equipoRepository) {
+        this.partidoRepository = partidoRepository;
+        this.equipoRepository = equipoRepository;
+    }
+
+    /**
+     * Obtiene el historial de partidos finalizados entre dos equipos
+     * @param ultimos cantidad de resultados recientes a incluir
+     * @return empty si alguno de los equipos no existe
+     */
+    public Optional<Enfrentamiento> obtener(Integer equipoA, Integer equipoB, int ultimos) {
+        if (equipoA.equals(equipoB)) {
+            throw new IllegalArgumentException("Los equipos deben ser distintos");
+        }
+        if (ultimos < 0 || ultimos > ULTIMOS_MAXIMO) {
+            throw new IllegalArgumentException("ultimos debe estar entre 0 y " + ULTIMOS_MAXIMO);
+        }
+        Map<Integer, EquipoResumen> equipos = equipoRepository.findResumenes(List.of(equipoA, equipoB)).stream()
+                .collect(Collectors.toMap(EquipoResumen::id, Function.identity()));
+        if (equipos.size() < 2) {
+            return Optional.empty();
+        }
+
+        Map<Integer, EstadisticaLocalia> porLocal = partidoRepository.findEstadisticasEnfrentamiento(equipoA, equipoB)
+                .stream()
+                .collect(Collectors.toMap(EstadisticaLocalia::equipoId, Function.identity()));
+        EstadisticaLocalia localA = porLocal.getOrDefault(equipoA, EstadisticaLocalia.vacia(equipoA));
+        EstadisticaLocalia localB = porLocal.getOrDefault(equipoB, EstadisticaLocalia.vacia(equipoB));
+        List<ResultadoEnfrentamiento> recientes = ultimos == 0 ? List.of()
+                : partidoRepository.findUltimosEnfrentamientos(equipoA, equipoB, Limit.of(ultimos));
+
+        return Optional.of(new Enfrentamiento(
+                equipos.get(equipoA),
+                equipos.get(equipoB),
+                localA.jugados() + localB.jugados(),
+                localA.ganados() + localB.perdidos(),
+                localA.empatados() + localB.empatados(),
+                localA.perdidos() + localB.ganados(),
+                localA.golesFavor() + localB.golesContra(),
+                localA.golesContra() + localB.golesFavor(),
+                localA,
+                localB,
+                recientes));
+    }
+
+}
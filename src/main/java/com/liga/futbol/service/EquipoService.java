@@ -1,10 +1,25 @@
 package com.liga.futbol.service;
 
+import com.liga.futbol.config.CacheConfig;
+import com.liga.futbol.config.RuteoDataSource;
+import com.liga.futbol.event.EquipoCambiadoEvent;
+import com.liga.futbol.model.dto.HuellaRevisiones;
 import com.liga.futbol.model.entity.Equipo;
 import com.liga.futbol.model.repository.EquipoRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -15,42 +30,93 @@ import java.util.Optional;
 public class EquipoService {
 
     private final EquipoRepository equipoRepository;
+    private final BusquedaService busquedaService;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public EquipoService(EquipoRepository equipoRepository) {
+    public EquipoService(EquipoRepository equipoRepository,
+                         BusquedaService busquedaService,
+                         CacheManager cacheManager,
+                         ApplicationEventPublisher eventPublisher) {
         this.equipoRepository = equipoRepository;
+        this.busquedaService = busquedaService;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Obtiene todos los equipos
      */
+    @Cacheable(cacheNames = CacheConfig.EQUIPOS, key = "'todos'")
     public List<Equipo> obtenerTodos() {
         return equipoRepository.findAll();
     }
 
+    /**
+     * Huella de todos los equipos calculada en la base de datos sin leerlos, leída de la
+     * primaria como {@link #obtenerTodos}
+     */
+    @Transactional(readOnly = true)
+    public HuellaRevisiones obtenerHuella() {
+        return equipoRepository.huella();
+    }
+
     /**
      * Obtiene un equipo por su ID
      */
+    @Cacheable(cacheNames = CacheConfig.EQUIPO, key = "#id", unless = "#result == null")
     public Optional<Equipo> obtenerPorId(Integer id) {
         return equipoRepository.findById(id);
     }
 
     /**
-     * Busca equipos por nombre (búsqueda parcial, case-insensitive)
+     * Busca equipos por nombre (búsqueda parcial, sin distinguir mayúsculas ni acentos),
+     * ordenados por relevancia. Usa el índice de trigramas en memoria y la caché de equipos;
+     * sólo los equipos que no están en caché se leen de la base de datos, en una consulta.
      */
-    public List<Equipo> buscarPorNombre(String nombre) {
-        return equipoRepository.buscarPorNombre(nombre);
+    @Transactional(readOnly = true, label = RuteoDataSource.REPLICA)
+    public List<Equipo> buscarPorNombre(String nombre, int limite) {
+        List<Integer> ids = busquedaService.buscarEquipos(nombre, limite);
+        Cache cache = cacheManager.getCache(CacheConfig.EQUIPO);
+        Map<Integer, Equipo> encontrados = new HashMap<>();
+        List<Integer> faltantes = new ArrayList<>();
+        for (Integer id : ids) {
+            Equipo equipo = cache.get(id, Equipo.class);
+            if (equipo != null) {
+                encontrados.put(id, equipo);
+            } else {
+                faltantes.add(id);
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            for (Equipo equipo : equipoRepository.findAllById(faltantes)) {
+                cache.put(equipo.getId(), equipo);
+                encontrados.put(equipo.getId(), equipo);
+            }
+        }
+        return ids.stream().map(encontrados::get).filter(Objects::nonNull).toList();
     }
 
     /**
      * Crea un nuevo equipo
      */
+    @CacheEvict(cacheNames = CacheConfig.EQUIPOS, allEntries = true)
     public Equipo crear(Equipo equipo) {
-        return equipoRepository.save(equipo);
+        Equipo equipoCreado = equipoRepository.save(equipo);
+        eventPublisher.publishEvent(EquipoCambiadoEvent.guardado(equipoCreado.getId(), equipoCreado.getNombre()));
+        return equipoCreado;
     }
 
     /**
-     * Actualiza un equipo existente
+     * Actualiza un equipo existente.
+     * Las ligas cacheadas incluyen a sus equipos, por lo que también se desalojan.
      */
+    @Caching(
+        put = @CachePut(cacheNames = CacheConfig.EQUIPO, key = "#id", unless = "#result == null"),
+        evict = {
+            @CacheEvict(cacheNames = CacheConfig.EQUIPOS, allEntries = true),
+            @CacheEvict(cacheNames = {CacheConfig.LIGA, CacheConfig.LIGAS, CacheConfig.LIGAS_POR_ANIO}, allEntries = true)
+        })
     public Optional<Equipo> actualizar(Integer id, Equipo equipoActualizado) {
         return equipoRepository.findById(id)
             .map(equipo -> {
@@ -58,16 +124,24 @@ public class EquipoService {
                 equipo.setAnioFundacion(equipoActualizado.getAnioFundacion());
                 equipo.setComunaLocal(equipoActualizado.getComunaLocal());
                 equipo.setHistoria(equipoActualizado.getHistoria());
-                return equipoRepository.save(equipo);
+                Equipo equipoGuardado = equipoRepository.save(equipo);
+                eventPublisher.publishEvent(EquipoCambiadoEvent.guardado(equipoGuardado.getId(), equipoGuardado.getNombre()));
+                return equipoGuardado;
             });
     }
 
     /**
      * Elimina un equipo por su ID
      */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.EQUIPO, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.EQUIPOS, allEntries = true),
+        @CacheEvict(cacheNames = {CacheConfig.LIGA, CacheConfig.LIGAS, CacheConfig.LIGAS_POR_ANIO}, allEntries = true)
+    })
     public boolean eliminar(Integer id) {
         if (equipoRepository.existsById(id)) {
             equipoRepository.deleteById(id);
+            eventPublisher.publishEvent(EquipoCambiadoEvent.eliminado(id));
             return true;
         }
         return false;
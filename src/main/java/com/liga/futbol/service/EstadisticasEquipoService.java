@@ -0,0 +1,148 @@
+package com.liga.futbol.service;
+
+import com.liga.futbol.model.dto.EquipoResumen;
+import com.liga.futbol.model.dto.EstadisticaLocalia;
+import com.liga.futbol.model.dto.EstadisticasEquipo;
+import com.liga.futbol.model.dto.EstadisticasEquipo.Racha;
+import com.liga.futbol.model.dto.EstadisticasEquipo.Resultado;
+import com.liga.futbol.model.dto.PartidoResumen;
+import com.liga.futbol.model.repository.EquipoRepository;
+import com.liga.futbol.model.repository.LigaRepository;
+import com.liga.futbol.model.repository.PartidoRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Servicio que calcula las estadísticas de un equipo en la base de datos: totales de local y
+ * de visita con una consulta agregada por localía, y los últimos resultados y la racha actual
+ * con consultas limitadas que recorren los índices (equipo, fecha) desde el final. Ninguna
+ * consulta trae filas en proporción a la historia del equipo, salvo el conteo de una racha
+ * más larga que la muestra de resultados recientes.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EstadisticasEquipoService {
+
+    static final int ULTIMOS_MAXIMO = 50;
+
+    /**
+     * Resultados recientes que se leen como mínimo; casi todas las rachas se resuelven con ellos
+     */
+    private static final int MUESTRA_RACHA = 10;
+
+    private static final LocalDate FECHA_MINIMA = LocalDate.of(1, 1, 1);
+    private static final LocalDate FECHA_MAXIMA = LocalDate.of(9999, 12, 31);
+
+    private static final Comparator<PartidoResumen> RECIENTES = Comparator
+            .comparing(PartidoResumen::fecha)
+            .thenComparing(PartidoResumen::horaInicio)
+            .thenComparing(PartidoResumen::id)
+            .reversed();
+
+    private final PartidoRepository partidoRepository;
+    private final EquipoRepository equipoRepository;
+    private final LigaRepository ligaRepository;
+
+    public EstadisticasEquipoService(PartidoRepository partidoRepository,
+                                     EquipoRepository equipoRepository,
+                                     LigaRepository ligaRepository) {
+        this.partidoRepository = partidoRepository;
+        this.equipoRepository = equipoRepository;
+        this.ligaRepository = ligaRepository;
+    }
+
+    /**
+     * Obtiene las estadísticas de los partidos finalizados de un equipo
+     * @param ligaId liga a la que se limitan, o null para todas
+     * @param temporada año al que se limitan, o null para todos
+     * @param ultimos cantidad de resultados recientes a incluir
+     * @return empty si el equipo o la liga no existen
+     */
+    public Optional<EstadisticasEquipo> obtener(Integer equipoId, Integer ligaId, Short temporada, int ultimos) {
+        if (ultimos < 0 || ultimos > ULTIMOS_MAXIMO) {
+            throw new IllegalArgumentException("ultimos debe estar entre 0 y " + ULTIMOS_MAXIMO);
+        }
+        List<EquipoResumen> equipo = equipoRepository.findResumenes(List.of(equipoId));
+        if (equipo.isEmpty() || (ligaId != null && !ligaRepository.existsById(ligaId))) {
+            return Optional.empty();
+        }
+        LocalDate desde = temporada != null ? LocalDate.of(temporada, 1, 1) : FECHA_MINIMA;
+        LocalDate hasta = temporada != null ? LocalDate.of(temporada, 12, 31) : FECHA_MAXIMA;
+
+        EstadisticaLocalia local = partidoRepository.findEstadisticaComoLocal(equipoId, ligaId, desde, hasta)
+                .orElse(EstadisticaLocalia.vacia(equipoId));
+        EstadisticaLocalia visita = partidoRepository.findEstadisticaComoVisita(equipoId, ligaId, desde, hasta)
+                .orElse(EstadisticaLocalia.vacia(equipoId));
+        EstadisticaLocalia total = local.sumar(visita);
+
+        // Los últimos de local y de visita se leen por separado, cada uno por su índice, y se mezclan
+        int muestra = Math.max(ultimos, MUESTRA_RACHA);
+        List<PartidoResumen> recientes = Stream.concat(
+                        partidoRepository.findUltimosComoLocal(equipoId, ligaId, desde, hasta, Limit.of(muestra)).stream(),
+                        partidoRepository.findUltimosComoVisita(equipoId, ligaId, desde, hasta, Limit.of(muestra)).stream())
+                .sorted(RECIENTES)
+                .limit(muestra)
+                .toList();
+
+        List<PartidoResumen> ultimosResultados = recientes.subList(0, Math.min(ultimos, recientes.size()));
+        StringBuilder forma = new StringBuilder(ultimosResultados.size());
+        for (PartidoResumen partido : ultimosResultados) {
+            forma.append(resultado(partido, equipoId).name().charAt(0));
+        }
+        return Optional.of(new EstadisticasEquipo(equipo.get(0), ligaId, temporada, total, local, visita,
+                racha(equipoId, ligaId, desde, hasta, recientes, total.jugados()), forma.toString(),
+                new ArrayList<>(ultimosResultados)));
+    }
+
+    private Racha racha(Integer equipoId, Integer ligaId, LocalDate desde, LocalDate hasta,
+                        List<PartidoResumen> recientes, long jugados) {
+        if (recientes.isEmpty()) {
+            return null;
+        }
+        Resultado actual = resultado(recientes.get(0), equipoId);
+        int iguales = 1;
+        while (iguales < recientes.size() && resultado(recientes.get(iguales), equipoId) == actual) {
+            iguales++;
+        }
+        if (iguales < recientes.size() || recientes.size() < MUESTRA_RACHA) {
+            return new Racha(actual, iguales);
+        }
+        // La racha supera la muestra: se busca el último resultado distinto y se cuentan los posteriores
+        int signo = signo(actual);
+        Optional<PartidoResumen> distinto = Stream.concat(
+                        partidoRepository.findUltimosComoLocalConOtroResultado(equipoId, ligaId, desde, hasta, signo, Limit.of(1)).stream(),
+                        partidoRepository.findUltimosComoVisitaConOtroResultado(equipoId, ligaId, desde, hasta, signo, Limit.of(1)).stream())
+                .min(RECIENTES);
+        if (distinto.isEmpty()) {
+            return new Racha(actual, jugados);
+        }
+        PartidoResumen corte = distinto.get();
+        return new Racha(actual,
+                partidoRepository.countComoLocalDespuesDe(equipoId, ligaId, desde, hasta, corte.fecha(), corte.horaInicio(), corte.id())
+                + partidoRepository.countComoVisitaDespuesDe(equipoId, ligaId, desde, hasta, corte.fecha(), corte.horaInicio(), corte.id()));
+    }
+
+    private static Resultado resultado(PartidoResumen partido, Integer equipoId) {
+        int diferencia = partido.golesLocal() - partido.golesVisita();
+        if (!partido.equipoLocal().id().equals(equipoId)) {
+            diferencia = -diferencia;
+        }
+        return diferencia > 0 ? Resultado.VICTORIA : diferencia == 0 ? Resultado.EMPATE : Resultado.DERROTA;
+    }
+
+    private static int signo(Resultado resultado) {
+        return switch (resultado) {
+            case VICTORIA -> 1;
+            case EMPATE -> 0;
+            case DERROTA -> -1;
+        };
+    }
+
+}
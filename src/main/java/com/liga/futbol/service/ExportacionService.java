@@ -0,0 +1,140 @@
+package com.liga.futbol.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.liga.futbol.model.dto.PartidoExportacion;
+import com.liga.futbol.model.repository.PartidoRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Servicio para exportar partidos en forma continua (NDJSON o CSV).
+ * Las filas se leen con un cursor JDBC de sólo avance y se escriben a medida que llegan,
+ * por lo que la memoria usada no depende de la cantidad de partidos exportados.
+ */
+@Service
+public class ExportacionService {
+
+    /**
+     * Formatos de exportación soportados
+     */
+    public enum Formato {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final String contentType;
+
+        Formato(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+    }
+
+    private static final LocalDate FECHA_MINIMA = LocalDate.of(1, 1, 1);
+    private static final LocalDate FECHA_MAXIMA = LocalDate.of(9999, 12, 31);
+    private static final int FILAS_POR_FLUSH = 500;
+    private static final String ENCABEZADO_CSV = "id,ligaId,jornada,fecha,horaInicio,equipoLocalId,equipoLocalNombre,"
+            + "equipoVisitaId,equipoVisitaNombre,golesLocal,golesVisita,estado";
+
+    private final PartidoRepository partidoRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter jsonWriter;
+
+    public ExportacionService(PartidoRepository partidoRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.partidoRepository = partidoRepository;
+        this.entityManager = entityManager;
+        this.jsonWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("");
+    }
+
+    /**
+     * Escribe en {@code salida} los partidos que cumplen los filtros (todos opcionales)
+     * @return cantidad de partidos exportados
+     */
+    @Transactional(readOnly = true)
+    public long exportar(Integer ligaId, LocalDate desde, LocalDate hasta, Formato formato, OutputStream salida) {
+        LocalDate inicio = desde != null ? desde : FECHA_MINIMA;
+        LocalDate fin = hasta != null ? hasta : FECHA_MAXIMA;
+        try (Stream<PartidoExportacion> partidos = ligaId != null
+                ? partidoRepository.streamExportacionPorLiga(ligaId, inicio, fin)
+                : partidoRepository.streamExportacion(inicio, fin)) {
+            return formato == Formato.CSV
+                    ? escribirCsv(partidos.iterator(), salida)
+                    : escribirNdjson(partidos.iterator(), salida);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long escribirNdjson(Iterator<PartidoExportacion> partidos, OutputStream salida) throws IOException {
+        long filas = 0;
+        JsonGenerator generator = jsonWriter.createGenerator(salida);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        while (partidos.hasNext()) {
+            jsonWriter.writeValue(generator, partidos.next());
+            generator.writeRaw('\n');
+            if (++filas % FILAS_POR_FLUSH == 0) {
+                generator.flush();
+                entityManager.clear();
+            }
+        }
+        generator.close();
+        salida.flush();
+        return filas;
+    }
+
+    private long escribirCsv(Iterator<PartidoExportacion> partidos, OutputStream salida) throws IOException {
+        long filas = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+        writer.write(ENCABEZADO_CSV);
+        writer.write('\n');
+        while (partidos.hasNext()) {
+            PartidoExportacion p = partidos.next();
+            writer.write(String.join(",",
+                    valor(p.id()), valor(p.ligaId()), valor(p.jornada()), valor(p.fecha()), valor(p.horaInicio()),
+                    valor(p.equipoLocalId()), texto(p.equipoLocalNombre()),
+                    valor(p.equipoVisitaId()), texto(p.equipoVisitaNombre()),
+                    valor(p.golesLocal()), valor(p.golesVisita()), texto(p.estado())));
+            writer.write('\n');
+            if (++filas % FILAS_POR_FLUSH == 0) {
+                writer.flush();
+                entityManager.clear();
+            }
+        }
+        writer.flush();
+        return filas;
+    }
+
+    private static String valor(Object valor) {
+        return valor != null ? valor.toString() : "";
+    }
+
+    private static String texto(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0
+                && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+
+}
@@ -0,0 +1,184 @@
+package com.liga.futbol.service;
+
+import com.liga.futbol.model.dto.ConfiguracionFixture;
+import com.liga.futbol.model.dto.PartidoProgramado;
+import com.liga.futbol.model.dto.ResultadoImportacion;
+import com.liga.futbol.model.entity.Equipo;
+import com.liga.futbol.model.entity.Liga;
+import com.liga.futbol.model.entity.Partido;
+import com.liga.futbol.model.repository.LigaRepository;
+import com.liga.futbol.model.repository.PartidoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * Servicio que genera el fixture de una liga con el método del círculo (todos contra todos).
+ * Cada jornada se calcula de forma independiente a partir de su número, por lo que en
+ * torneos grandes las jornadas se generan en paralelo en todos los núcleos disponibles.
+ * Las jornadas se separan al menos los días necesarios para respetar el descanso mínimo entre
+ * partidos de un mismo equipo ({@code liga.calendario.descanso-minimo}).
+ */
+@Service
+public class FixtureService {
+
+    /**
+     * Cantidad de equipos a partir de la cual las jornadas se generan en paralelo
+     */
+    private static final int EQUIPOS_GENERACION_PARALELA = 64;
+
+    private final LigaRepository ligaRepository;
+    private final PartidoRepository partidoRepository;
+    private final ImportacionService importacionService;
+    private final Duration descansoMinimo;
+
+    public FixtureService(LigaRepository ligaRepository,
+                          PartidoRepository partidoRepository,
+                          ImportacionService importacionService,
+                          @Value("${liga.calendario.descanso-minimo:24h}") Duration descansoMinimo) {
+        this.ligaRepository = ligaRepository;
+        this.partidoRepository = partidoRepository;
+        this.importacionService = importacionService;
+        this.descansoMinimo = descansoMinimo;
+    }
+
+    /**
+     * Genera el fixture de una liga con sus equipos inscritos. Con {@code simular} sólo devuelve
+     * la propuesta; en caso contrario la persiste en una única transacción con inserciones en lote.
+     * @return empty si la liga no existe
+     * @throws IllegalArgumentException si la liga no tiene equipos suficientes o días para todas las jornadas
+     *         con el descanso mínimo entre ellas, o si algún partido choca con el calendario de sus equipos en otras ligas
+     * @throws IllegalStateException si se intenta persistir sobre una liga que ya tiene partidos
+     */
+    @Transactional
+    public Optional<List<PartidoProgramado>> generar(Integer ligaId, ConfiguracionFixture configuracion, boolean simular) {
+        Optional<Liga> ligaEncontrada = ligaRepository.findById(ligaId);
+        if (ligaEncontrada.isEmpty()) {
+            return Optional.empty();
+        }
+        Liga liga = ligaEncontrada.get();
+        List<Integer> equipos = ligaRepository.findEquipoIds(ligaId).stream().sorted().toList();
+        List<PartidoProgramado> fixture = generarFixture(equipos, liga.getFechaInicio(), liga.getFechaFin(), configuracion,
+                descansoMinimo);
+        if (simular) {
+            return Optional.of(fixture);
+        }
+        if (partidoRepository.existsByLigaId(ligaId)) {
+            throw new IllegalStateException("La liga " + ligaId + " ya tiene partidos registrados");
+        }
+
+        List<Partido> partidos = new ArrayList<>(fixture.size());
+        for (PartidoProgramado programado : fixture) {
+            partidos.add(Partido.builder()
+                    .liga(Liga.builder().id(ligaId).build())
+                    .jornada(programado.jornada())
+                    .fecha(programado.fecha())
+                    .horaInicio(programado.horaInicio())
+                    .equipoLocal(Equipo.builder().id(programado.equipoLocalId()).build())
+                    .equipoVisita(Equipo.builder().id(programado.equipoVisitaId()).build())
+                    .build());
+        }
+        List<ResultadoImportacion> resultados = importacionService.importarPartidos(partidos);
+        for (ResultadoImportacion resultado : resultados) {
+            if (resultado.estado() == ResultadoImportacion.Estado.RECHAZADO) {
+                // Deshace la transacción completa: el fixture se guarda entero o no se guarda
+                throw new IllegalArgumentException("El fixture choca con el calendario: " + resultado.error());
+            }
+        }
+        List<PartidoProgramado> persistidos = new ArrayList<>(fixture.size());
+        for (int i = 0; i < fixture.size(); i++) {
+            persistidos.add(fixture.get(i).conId(resultados.get(i).id()));
+        }
+        return Optional.of(persistidos);
+    }
+
+    /**
+     * Calcula todas las jornadas del fixture. Las jornadas se reparten uniformemente entre
+     * {@code fechaInicio} y {@code fechaFin}, separadas al menos por {@link #diasEntreJornadas}, y
+     * los partidos de cada jornada entre los horarios permitidos.
+     */
+    static List<PartidoProgramado> generarFixture(List<Integer> equipoIds, LocalDate fechaInicio, LocalDate fechaFin,
+                                                  ConfiguracionFixture configuracion, Duration descansoMinimo) {
+        if (equipoIds.size() < 2) {
+            throw new IllegalArgumentException("La liga necesita al menos dos equipos inscritos");
+        }
+        // Con una cantidad impar de equipos se agrega un "descanso" (null)
+        Integer[] equipos = equipoIds.size() % 2 == 0
+                ? equipoIds.toArray(new Integer[0])
+                : Arrays.copyOf(equipoIds.toArray(new Integer[0]), equipoIds.size() + 1);
+        int rondasPorRueda = equipos.length - 1;
+        int totalJornadas = configuracion.dobleRueda() ? rondasPorRueda * 2 : rondasPorRueda;
+        List<LocalTime> horarios = configuracion.horariosPermitidos();
+        long diasDisponibles = ChronoUnit.DAYS.between(fechaInicio, fechaFin);
+        long diasEntreJornadas = diasEntreJornadas(horarios.subList(0, Math.min(horarios.size(), equipos.length / 2)),
+                descansoMinimo);
+        // Con el reparto uniforme, dos jornadas seguidas quedan separadas al menos por el cociente entero
+        if (diasDisponibles < diasEntreJornadas * (totalJornadas - 1)) {
+            throw new IllegalArgumentException("El período de la liga no alcanza para " + totalJornadas
+                    + " jornadas separadas por " + diasEntreJornadas + " días (descanso mínimo " + descansoMinimo + ")");
+        }
+
+        IntStream jornadas = IntStream.range(0, totalJornadas);
+        if (equipos.length >= EQUIPOS_GENERACION_PARALELA) {
+            jornadas = jornadas.parallel();
+        }
+        List<List<PartidoProgramado>> porJornada = jornadas
+                .mapToObj(j -> {
+                    LocalDate fecha = totalJornadas == 1
+                            ? fechaInicio
+                            : fechaInicio.plusDays(diasDisponibles * j / (totalJornadas - 1));
+                    return generarJornada(equipos, j % rondasPorRueda, j >= rondasPorRueda, (short) (j + 1), fecha, horarios);
+                })
+                .toList();
+
+        List<PartidoProgramado> fixture = new ArrayList<>(porJornada.size() * equipos.length / 2);
+        porJornada.forEach(fixture::addAll);
+        return fixture;
+    }
+
+    /**
+     * Días mínimos entre dos jornadas para que ningún equipo juegue antes del descanso mínimo:
+     * en el peor caso juega una jornada en el último horario usado y la siguiente en el primero.
+     * Nunca menos de uno, porque un equipo no juega dos veces el mismo día.
+     * @param horarios horarios usados en cada jornada, ordenados
+     */
+    static long diasEntreJornadas(List<LocalTime> horarios, Duration descansoMinimo) {
+        Duration necesario = descansoMinimo.plus(Duration.between(horarios.get(0), horarios.get(horarios.size() - 1)));
+        return Math.max(1, Math.ceilDiv(necesario.toMinutes(), Duration.ofDays(1).toMinutes()));
+    }
+
+    /**
+     * Genera una ronda del método del círculo: el último equipo queda fijo y el resto rota
+     * una posición por ronda. La localía se alterna según la paridad de la ronda, de modo que
+     * cada equipo alterna local y visita salvo al cambiar de lado del círculo; en la segunda
+     * rueda se invierte.
+     */
+    private static List<PartidoProgramado> generarJornada(Integer[] equipos, int ronda, boolean segundaRueda,
+                                                          short jornada, LocalDate fecha, List<LocalTime> horarios) {
+        int n = equipos.length;
+        int rotantes = n - 1;
+        Integer fijo = equipos[n - 1];
+        List<PartidoProgramado> partidos = new ArrayList<>(n / 2);
+        for (int k = 0; k < n / 2; k++) {
+            Integer a = equipos[(k + ronda) % rotantes];
+            Integer b = k == 0 ? fijo : equipos[(rotantes - k + ronda) % rotantes];
+            if (a == null || b == null) {
+                continue;
+            }
+            boolean aLocal = (ronda % 2 == 0) != segundaRueda;
+            LocalTime hora = horarios.get(partidos.size() % horarios.size());
+            partidos.add(new PartidoProgramado(null, jornada, fecha, hora, aLocal ? a : b, aLocal ? b : a));
+        }
+        return partidos;
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.liga.futbol.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Servicio que hace idempotentes las escrituras que traen la cabecera Idempotency-Key.
+ * La primera solicitud con una clave se ejecuta y su respuesta se guarda; los reintentos con
+ * la misma clave y el mismo contenido reciben esa respuesta sin volver a ejecutarse, aunque
+ * lleguen mientras la primera sigue en curso (esperan su resultado). Reusar una clave con
+ * otro contenido responde 422. Las respuestas 5xx y las excepciones no se guardan, para que
+ * el cliente pueda reintentar.
+ */
+@Service
+public class IdempotenciaService {
+
+    public static final String HEADER_CLAVE = "Idempotency-Key";
+    public static final String HEADER_REPETIDA = "Idempotent-Replayed";
+    public static final int LARGO_MAXIMO_CLAVE = 255;
+
+    private final ConcurrentMap<String, Entrada> entradas;
+
+    public IdempotenciaService(@Value("${liga.idempotencia.expiracion:24h}") Duration expiracion,
+                               @Value("${liga.idempotencia.max-claves:100000}") long maxClaves) {
+        Cache<String, Entrada> cache = Caffeine.newBuilder()
+                .expireAfterWrite(expiracion)
+                .maximumSize(maxClaves)
+                .build();
+        this.entradas = cache.asMap();
+    }
+
+    /**
+     * Ejecuta la acción una sola vez por clave
+     * @param clave valor de la cabecera Idempotency-Key
+     * @param contenido identifica la solicitud (ruta y cuerpo); debe implementar equals
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> ejecutar(String clave, Object contenido, Supplier<ResponseEntity<T>> accion) {
+        while (true) {
+            Entrada nueva = new Entrada(contenido, new CompletableFuture<>());
+            Entrada existente = entradas.putIfAbsent(clave, nueva);
+            if (existente == null) {
+                return ejecutarPrimera(clave, nueva, accion);
+            }
+            if (!existente.contenido().equals(contenido)) {
+                return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+            }
+            try {
+                ResponseEntity<?> guardada = existente.respuesta().join();
+                return (ResponseEntity<T>) ResponseEntity.status(guardada.getStatusCode())
+                        .headers(guardada.getHeaders())
+                        .header(HEADER_REPETIDA, "true")
+                        .body(guardada.getBody());
+            } catch (CompletionException e) {
+                // La primera ejecución falló sin guardar respuesta: se intenta de nuevo
+            }
+        }
+    }
+
+    private <T> ResponseEntity<T> ejecutarPrimera(String clave, Entrada entrada, Supplier<ResponseEntity<T>> accion) {
+        ResponseEntity<T> respuesta;
+        try {
+            respuesta = accion.get();
+        } catch (RuntimeException | Error e) {
+            descartar(clave, entrada, e);
+            throw e;
+        }
+        if (respuesta.getStatusCode().is5xxServerError()) {
+            descartar(clave, entrada, new IllegalStateException("Respuesta no guardada: " + respuesta.getStatusCode()));
+        } else {
+            entrada.respuesta().complete(respuesta);
+        }
+        return respuesta;
+    }
+
+    private void descartar(String clave, Entrada entrada, Throwable causa) {
+        entradas.remove(clave, entrada);
+        entrada.respuesta().completeExceptionally(causa);
+    }
+
+    private record Entrada(Object contenido, CompletableFuture<ResponseEntity<?>> respuesta) {
+    }
+
+}
@@ -0,0 +1,260 @@
+package com.liga.futbol.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.liga.futbol.config.CacheConfig;
+import com.liga.futbol.event.EquipoCambiadoEvent;
+import com.liga.futbol.event.PartidoCambiadoEvent;
+import com.liga.futbol.event.ResultadoPartido;
+import com.liga.futbol.model.dto.ResultadoImportacion;
+import com.liga.futbol.model.entity.Equipo;
+import com.liga.futbol.model.entity.Liga;
+import com.liga.futbol.model.entity.Partido;
+import com.liga.futbol.model.repository.EquipoRepository;
+import com.liga.futbol.model.repository.LigaRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Servicio para importaciones masivas de equipos y partidos.
+ * Las claves foráneas se validan con una sola consulta por entidad referenciada y
+ * las filas válidas se insertan en lotes JDBC de tamaño configurable
+ * ({@code liga.importacion.tamano-lote}) dentro de una única transacción.
+ */
+@Service
+public class ImportacionService {
+
+    private final EntityManager entityManager;
+    private final EquipoRepository equipoRepository;
+    private final LigaRepository ligaRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CalendarioService calendarioService;
+    private final ObjectMapper objectMapper;
+    private final int tamanoLote;
+
+    public ImportacionService(EntityManager entityManager,
+                              EquipoRepository equipoRepository,
+                              LigaRepository ligaRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              CalendarioService calendarioService,
+                              ObjectMapper objectMapper,
+                              @Value("${liga.importacion.tamano-lote:50}") int tamanoLote) {
+        this.entityManager = entityManager;
+        this.equipoRepository = equipoRepository;
+        this.ligaRepository = ligaRepository;
+        this.eventPublisher = eventPublisher;
+        this.calendarioService = calendarioService;
+        this.objectMapper = objectMapper;
+        this.tamanoLote = tamanoLote;
+    }
+
+    /**
+     * Lee un cuerpo NDJSON (un objeto JSON por línea)
+     * @throws IOException si el cuerpo no es NDJSON válido
+     */
+    public <T> List<T> leerNdjson(InputStream entrada, Class<T> tipo) throws IOException {
+        List<T> filas = new ArrayList<>();
+        try (MappingIterator<T> iterador = objectMapper.readerFor(tipo).readValues(entrada)) {
+            // hasNextValue/nextValue propagan los errores de formato como IOException;
+            // hasNext/next los envolverían en una RuntimeException (500 en vez de 400)
+            while (iterador.hasNextValue()) {
+                filas.add(iterador.nextValue());
+            }
+        }
+        return filas;
+    }
+
+    /**
+     * Importa partidos. Las filas inválidas se rechazan individualmente; el resto se inserta.
+     * También se rechazan las filas con equipos no inscritos en la liga o que chocan con el
+     * calendario de sus equipos, incluidas las filas anteriores del mismo lote.
+     * @return un resultado por fila, en el mismo orden recibido
+     */
+    @Transactional
+    public List<ResultadoImportacion> importarPartidos(List<Partido> partidos) {
+        Set<Integer> ligaIds = new HashSet<>();
+        Set<Integer> equipoIds = new HashSet<>();
+        for (Partido partido : partidos) {
+            if (partido == null) {
+                continue;
+            }
+            agregarId(ligaIds, partido.getLiga() != null ? partido.getLiga().getId() : null);
+            agregarId(equipoIds, partido.getEquipoLocal() != null ? partido.getEquipoLocal().getId() : null);
+            agregarId(equipoIds, partido.getEquipoVisita() != null ? partido.getEquipoVisita().getId() : null);
+        }
+        Set<Integer> ligasExistentes = ligaIds.isEmpty() ? Set.of() : new HashSet<>(ligaRepository.findIdsExistentes(ligaIds));
+        Set<Integer> equiposExistentes = equipoIds.isEmpty() ? Set.of() : new HashSet<>(equipoRepository.findIdsExistentes(equipoIds));
+        CalendarioEquipos calendario = calendarioService.cargar(partidos);
+
+        List<ResultadoImportacion> resultados = new ArrayList<>(partidos.size());
+        List<Partido> pendientes = new ArrayList<>(tamanoLote);
+        List<Integer> indicesPendientes = new ArrayList<>(tamanoLote);
+        for (int i = 0; i < partidos.size(); i++) {
+            Partido partido = partidos.get(i);
+            String error = validarPartido(partido, ligasExistentes, equiposExistentes);
+            if (error == null) {
+                error = validarCalendario(partido, calendario);
+            }
+            if (error != null) {
+                resultados.add(ResultadoImportacion.rechazado(i, error));
+                continue;
+            }
+            calendario.registrar(null, partido.getEquipoLocal().getId(), partido.getEquipoVisita().getId(),
+                    partido.getFecha(), partido.getHoraInicio());
+            partido.setId(null);
+            partido.setLiga(entityManager.getReference(Liga.class, partido.getLiga().getId()));
+            partido.setEquipoLocal(entityManager.getReference(Equipo.class, partido.getEquipoLocal().getId()));
+            partido.setEquipoVisita(entityManager.getReference(Equipo.class, partido.getEquipoVisita().getId()));
+            entityManager.persist(partido);
+            resultados.add(null);
+            pendientes.add(partido);
+            indicesPendientes.add(i);
+            if (pendientes.size() == tamanoLote) {
+                vaciarLotePartidos(pendientes, indicesPendientes, resultados);
+            }
+        }
+        vaciarLotePartidos(pendientes, indicesPendientes, resultados);
+        return resultados;
+    }
+
+    /**
+     * Importa equipos. Se rechazan las filas incompletas y los nombres repetidos
+     * (ya registrados o duplicados dentro de la misma importación).
+     * @return un resultado por fila, en el mismo orden recibido
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EQUIPOS, allEntries = true)
+    public List<ResultadoImportacion> importarEquipos(List<Equipo> equipos) {
+        Set<String> nombres = new HashSet<>();
+        for (Equipo equipo : equipos) {
+            if (equipo != null && equipo.getNombre() != null) {
+                nombres.add(equipo.getNombre());
+            }
+        }
+        Set<String> nombresUsados = nombres.isEmpty() ? new HashSet<>() : new HashSet<>(equipoRepository.findNombresExistentes(nombres));
+
+        List<ResultadoImportacion> resultados = new ArrayList<>(equipos.size());
+        List<Equipo> pendientes = new ArrayList<>(tamanoLote);
+        List<Integer> indicesPendientes = new ArrayList<>(tamanoLote);
+        for (int i = 0; i < equipos.size(); i++) {
+            Equipo equipo = equipos.get(i);
+            String error = validarEquipo(equipo);
+            if (error == null && !nombresUsados.add(equipo.getNombre())) {
+                error = "Ya existe un equipo con el nombre " + equipo.getNombre();
+            }
+            if (error != null) {
+                resultados.add(ResultadoImportacion.rechazado(i, error));
+                continue;
+            }
+            equipo.setId(null);
+            entityManager.persist(equipo);
+            resultados.add(null);
+            pendientes.add(equipo);
+            indicesPendientes.add(i);
+            if (pendientes.size() == tamanoLote) {
+                vaciarLoteEquipos(pendientes, indicesPendientes, resultados);
+            }
+        }
+        vaciarLoteEquipos(pendientes, indicesPendientes, resultados);
+        return resultados;
+    }
+
+    /**
+     * Envía el lote a la base de datos, registra los IDs asignados y libera el contexto de persistencia
+     */
+    private void vaciarLotePartidos(List<Partido> pendientes, List<Integer> indices, List<ResultadoImportacion> resultados) {
+        if (pendientes.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        for (int j = 0; j < pendientes.size(); j++) {
+            Partido partido = pendientes.get(j);
+            resultados.set(indices.get(j), ResultadoImportacion.creado(indices.get(j), partido.getId()));
+            eventPublisher.publishEvent(new PartidoCambiadoEvent(null, ResultadoPartido.de(partido)));
+        }
+        entityManager.clear();
+        pendientes.clear();
+        indices.clear();
+    }
+
+    private void vaciarLoteEquipos(List<Equipo> pendientes, List<Integer> indices, List<ResultadoImportacion> resultados) {
+        if (pendientes.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        for (int j = 0; j < pendientes.size(); j++) {
+            Equipo equipo = pendientes.get(j);
+            resultados.set(indices.get(j), ResultadoImportacion.creado(indices.get(j), equipo.getId()));
+            eventPublisher.publishEvent(EquipoCambiadoEvent.guardado(equipo.getId(), equipo.getNombre()));
+        }
+        entityManager.clear();
+        pendientes.clear();
+        indices.clear();
+    }
+
+    private static String validarPartido(Partido partido, Set<Integer> ligasExistentes, Set<Integer> equiposExistentes) {
+        if (partido == null) {
+            return "Fila vacía";
+        }
+        if (partido.getLiga() == null || partido.getLiga().getId() == null) {
+            return "La liga es obligatoria";
+        }
+        if (partido.getEquipoLocal() == null || partido.getEquipoLocal().getId() == null
+                || partido.getEquipoVisita() == null || partido.getEquipoVisita().getId() == null) {
+            return "Los equipos local y visita son obligatorios";
+        }
+        if (partido.getJornada() == null || partido.getFecha() == null || partido.getHoraInicio() == null) {
+            return "Jornada, fecha y hora de inicio son obligatorias";
+        }
+        if (Objects.equals(partido.getEquipoLocal().getId(), partido.getEquipoVisita().getId())) {
+            return "Un equipo no puede jugar contra sí mismo";
+        }
+        if (!ligasExistentes.contains(partido.getLiga().getId())) {
+            return "No existe la liga " + partido.getLiga().getId();
+        }
+        if (!equiposExistentes.contains(partido.getEquipoLocal().getId())) {
+            return "No existe el equipo " + partido.getEquipoLocal().getId();
+        }
+        if (!equiposExistentes.contains(partido.getEquipoVisita().getId())) {
+            return "No existe el equipo " + partido.getEquipoVisita().getId();
+        }
+        return null;
+    }
+
+    private static String validarCalendario(Partido partido, CalendarioEquipos calendario) {
+        Integer localId = partido.getEquipoLocal().getId();
+        Integer visitaId = partido.getEquipoVisita().getId();
+        String error = calendario.verificarInscripcion(partido.getLiga().getId(), localId, visitaId);
+        return error != null ? error
+                : calendario.verificarDescanso(null, localId, visitaId, partido.getFecha(), partido.getHoraInicio());
+    }
+
+    private static String validarEquipo(Equipo equipo) {
+        if (equipo == null) {
+            return "Fila vacía";
+        }
+        if (equipo.getNombre() == null || equipo.getNombre().isBlank() || equipo.getAnioFundacion() == null
+                || equipo.getComunaLocal() == null || equipo.getHistoria() == null) {
+            return "Nombre, año de fundación, comuna local e historia son obligatorios";
+        }
+        return null;
+    }
+
+    private static void agregarId(Set<Integer> ids, Integer id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.liga.futbol.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido de trigramas sobre nombres, para búsquedas parciales sin distinguir
+ * mayúsculas ni acentos ("Unión" encuentra "union").
+ * Como en pg_trgm, cada palabra se rellena con dos espacios al inicio y uno al final,
+ * de modo que incluso búsquedas de uno o dos caracteres generan trigramas de prefijo.
+ */
+class IndiceTrigramas {
+
+    /**
+     * Similitud mínima para aceptar un nombre que no contiene literalmente el texto buscado
+     */
+    private static final double SIMILITUD_MINIMA = 0.3;
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern NO_ALFANUMERICO = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<String, Set<Integer>> publicaciones = new HashMap<>();
+    private final Map<Integer, Entrada> entradas = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private record Entrada(String nombre, Set<String> trigramas) {
+    }
+
+    private record Candidato(Integer id, boolean contiene, boolean prefijo, double similitud, String nombre) {
+    }
+
+    /**
+     * Agrega o reemplaza el nombre asociado a un ID
+     */
+    void indexar(Integer id, String nombre) {
+        String normalizado = normalizar(nombre);
+        Entrada nueva = new Entrada(normalizado, trigramas(normalizado));
+        lock.writeLock().lock();
+        try {
+            quitarSinBloqueo(id);
+            entradas.put(id, nueva);
+            for (String trigrama : nueva.trigramas()) {
+                publicaciones.computeIfAbsent(trigrama, t -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita un ID del índice
+     */
+    void quitar(Integer id) {
+        lock.writeLock().lock();
+        try {
+            quitarSinBloqueo(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca los IDs cuyo nombre coincide con el texto, ordenados por relevancia:
+     * primero los que contienen el texto (los que empiezan con él antes), luego por similitud
+     * @param texto texto buscado
+     * @param limite cantidad máxima de resultados
+     * @return IDs ordenados por relevancia
+     */
+    List<Integer> buscar(String texto, int limite) {
+        String consulta = normalizar(texto);
+        Set<String> trigramasConsulta = trigramas(consulta);
+        if (trigramasConsulta.isEmpty()) {
+            return List.of();
+        }
+        List<Candidato> candidatos = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Map<Integer, Integer> coincidencias = new HashMap<>();
+            for (String trigrama : trigramasConsulta) {
+                Set<Integer> ids = publicaciones.get(trigrama);
+                if (ids != null) {
+                    for (Integer id : ids) {
+                        coincidencias.merge(id, 1, Integer::sum);
+                    }
+                }
+            }
+            for (Map.Entry<Integer, Integer> coincidencia : coincidencias.entrySet()) {
+                Entrada entrada = entradas.get(coincidencia.getKey());
+                int comunes = coincidencia.getValue();
+                double similitud = (double) comunes / (trigramasConsulta.size() + entrada.trigramas().size() - comunes);
+                boolean contiene = entrada.nombre().contains(consulta);
+                if (contiene || similitud >= SIMILITUD_MINIMA) {
+                    candidatos.add(new Candidato(coincidencia.getKey(), contiene,
+                            entrada.nombre().startsWith(consulta), similitud, entrada.nombre()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        candidatos.sort(Comparator.comparing(Candidato::contiene).reversed()
+                .thenComparing(Comparator.comparing(Candidato::prefijo).reversed())
+                .thenComparing(Comparator.comparingDouble(Candidato::similitud).reversed())
+                .thenComparing(Candidato::nombre));
+        return candidatos.stream().limit(limite).map(Candidato::id).toList();
+    }
+
+    /**
+     * Cantidad de nombres indexados
+     */
+    int tamano() {
+        lock.readLock().lock();
+        try {
+            return entradas.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void quitarSinBloqueo(Integer id) {
+        Entrada anterior = entradas.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        for (String trigrama : anterior.trigramas()) {
+            Set<Integer> ids = publicaciones.get(trigrama);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    publicaciones.remove(trigrama);
+                }
+            }
+        }
+    }
+
+    /**
+     * Pasa a minúsculas, elimina acentos y reduce los separadores a un espacio
+     */
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinAcentos = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return NO_ALFANUMERICO.matcher(sinAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static Set<String> trigramas(String normalizado) {
+        Set<String> trigramas = new HashSet<>();
+        if (normalizado.isEmpty()) {
+            return trigramas;
+        }
+        for (String palabra : normalizado.split(" ")) {
+            String relleno = "  " + palabra + " ";
+            for (int i = 0; i + 3 <= relleno.length(); i++) {
+                trigramas.add(relleno.substring(i, i + 3));
+            }
+        }
+        return trigramas;
+    }
+
+}
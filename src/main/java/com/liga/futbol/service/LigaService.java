@@ -1,49 +1,97 @@
 package com.liga.futbol.service;
 
+import com.liga.futbol.config.CacheConfig;
+import com.liga.futbol.config.RuteoDataSource;
+import com.liga.futbol.event.LigaCambiadaEvent;
 import com.liga.futbol.model.entity.Liga;
 import com.liga.futbol.model.repository.LigaRepository;
+import org.hibernate.Hibernate;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
- * Servicio para gestionar operaciones de Ligas
+ * Servicio para gestionar operaciones de Ligas.
+ * Las ligas se cachean con sus equipos ya cargados, para poder serializarlas fuera de la sesión.
  */
 @Service
 @Transactional
 public class LigaService {
 
     private final LigaRepository ligaRepository;
+    private final BusquedaService busquedaService;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public LigaService(LigaRepository ligaRepository) {
+    public LigaService(LigaRepository ligaRepository,
+                       BusquedaService busquedaService,
+                       CacheManager cacheManager,
+                       ApplicationEventPublisher eventPublisher) {
         this.ligaRepository = ligaRepository;
+        this.busquedaService = busquedaService;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Obtiene todas las ligas
      */
+    @Cacheable(cacheNames = CacheConfig.LIGAS, key = "'todas'")
     public List<Liga> obtenerTodas() {
-        return ligaRepository.findAll();
+        return ligaRepository.findAllConEquipos();
     }
 
     /**
      * Obtiene una liga por su ID
      */
+    @Cacheable(cacheNames = CacheConfig.LIGA, key = "#id", unless = "#result == null")
     public Optional<Liga> obtenerPorId(Integer id) {
-        return ligaRepository.findById(id);
+        return ligaRepository.findConEquiposById(id);
     }
 
     /**
-     * Busca ligas por nombre
+     * Busca ligas por nombre (búsqueda parcial, sin distinguir mayúsculas ni acentos),
+     * ordenadas por relevancia. Usa el índice de trigramas en memoria y la caché de ligas.
      */
-    public List<Liga> buscarPorNombre(String nombre) {
-        return ligaRepository.buscarPorNombre(nombre);
+    @Transactional(readOnly = true, label = RuteoDataSource.REPLICA)
+    public List<Liga> buscarPorNombre(String nombre, int limite) {
+        List<Integer> ids = busquedaService.buscarLigas(nombre, limite);
+        Cache cache = cacheManager.getCache(CacheConfig.LIGA);
+        Map<Integer, Liga> encontradas = new HashMap<>();
+        List<Integer> faltantes = new ArrayList<>();
+        for (Integer id : ids) {
+            Liga liga = cache.get(id, Liga.class);
+            if (liga != null) {
+                encontradas.put(id, liga);
+            } else {
+                faltantes.add(id);
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            for (Liga liga : ligaRepository.findConEquiposByIdIn(faltantes)) {
+                cache.put(liga.getId(), liga);
+                encontradas.put(liga.getId(), liga);
+            }
+        }
+        return ids.stream().map(encontradas::get).filter(Objects::nonNull).toList();
     }
 
     /**
      * Busca ligas por año
      */
+    @Cacheable(cacheNames = CacheConfig.LIGAS_POR_ANIO, key = "#anio")
     public List<Liga> buscarPorAnio(Short anio) {
         return ligaRepository.findByAnio(anio);
     }
@@ -51,13 +99,23 @@ public class LigaService {
     /**
      * Crea una nueva liga
      */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.LIGAS, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.LIGAS_POR_ANIO, key = "#liga.anio")
+    })
     public Liga crear(Liga liga) {
-        return ligaRepository.save(liga);
+        Liga ligaCreada = ligaRepository.save(liga);
+        eventPublisher.publishEvent(LigaCambiadaEvent.guardada(ligaCreada.getId(), ligaCreada.getNombre()));
+        return ligaCreada;
     }
 
     /**
-     * Actualiza una liga existente
+     * Actualiza una liga existente.
+     * El año puede cambiar, por lo que se desalojan todas las búsquedas por año.
      */
+    @Caching(
+        put = @CachePut(cacheNames = CacheConfig.LIGA, key = "#id", unless = "#result == null"),
+        evict = @CacheEvict(cacheNames = {CacheConfig.LIGAS, CacheConfig.LIGAS_POR_ANIO}, allEntries = true))
     public Optional<Liga> actualizar(Integer id, Liga ligaActualizada) {
         return ligaRepository.findById(id)
             .map(liga -> {
@@ -66,19 +124,28 @@ public class LigaService {
                 liga.setFechaInicio(ligaActualizada.getFechaInicio());
                 liga.setFechaFin(ligaActualizada.getFechaFin());
                 liga.setDescripcion(ligaActualizada.getDescripcion());
-                return ligaRepository.save(liga);
+                Liga ligaGuardada = ligaRepository.save(liga);
+                Hibernate.initialize(ligaGuardada.getEquipos());
+                eventPublisher.publishEvent(LigaCambiadaEvent.guardada(ligaGuardada.getId(), ligaGuardada.getNombre()));
+                return ligaGuardada;
             });
     }
 
     /**
-     * Elimina una liga por su ID
+     * Elimina una liga y sus inscripciones con sentencias DELETE, sin cargarla.
+     * La liga no debe tener partidos; {@link EliminacionLigaService} los elimina antes por lotes.
      */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.LIGA, key = "#id"),
+        @CacheEvict(cacheNames = {CacheConfig.LIGAS, CacheConfig.LIGAS_POR_ANIO}, allEntries = true)
+    })
     public boolean eliminar(Integer id) {
-        if (ligaRepository.existsById(id)) {
-            ligaRepository.deleteById(id);
-            return true;
+        ligaRepository.eliminarInscripciones(id);
+        if (ligaRepository.eliminarPorId(id) == 0) {
+            return false;
         }
-        return false;
+        eventPublisher.publishEvent(LigaCambiadaEvent.eliminada(id));
+        return true;
     }
 
 }
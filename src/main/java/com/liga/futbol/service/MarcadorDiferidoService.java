@@ -0,0 +1,416 @@
+package com.liga.futbol.service;
+
+import com.liga.futbol.event.PartidoCambiadoEvent;
+import com.liga.futbol.event.ResultadoPartido;
+import com.liga.futbol.model.dto.CambioMarcador;
+import com.liga.futbol.model.dto.MarcadorDiferido;
+import com.liga.futbol.model.entity.Partido;
+import com.liga.futbol.model.repository.PartidoRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio de escritura diferida de los marcadores que envían los estadios durante los partidos.
+ * Cada cambio entra a una cola acotada; un único hilo los toma en lotes, los agrega a la
+ * {@link BitacoraMarcadores bitácora local} con una sola escritura forzada al disco y recién
+ * entonces los confirma al cliente. Los cambios confirmados se combinan por partido (sólo
+ * importa el último) y se escriben en la base de datos cada {@code liga.escritura-diferida.intervalo}
+ * o al juntar {@code tamano-lote} partidos, en transacciones con UPDATEs por lotes que publican
+ * los mismos eventos que una actualización individual.
+ * Tras cada lote escrito se registra en la bitácora un punto de control, de modo que al iniciar
+ * sólo se recuperan los cambios que no llegaron a la base de datos.
+ * Los cambios no llevan versión (gana el último recibido), así que mientras un partido tenga
+ * cambios sin escribir {@link PartidoService} rechaza corregirlo por otra vía: el volcado
+ * pisaría la corrección.
+ */
+@Service
+public class MarcadorDiferidoService {
+
+    private static final Logger log = LoggerFactory.getLogger(MarcadorDiferidoService.class);
+
+    private final PartidoRepository partidoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaccion;
+    private final int tamanoLote;
+    private final Duration intervalo;
+    private final Duration esperaMaxima;
+    private final int maxPendientes;
+    private final long tamanoCompactacion;
+
+    private final BitacoraMarcadores bitacora;
+    private final BlockingQueue<Solicitud> cola;
+    // Último cambio registrado en la bitácora de cada partido que aún no está en la base de datos
+    private final Map<Integer, MarcadorDiferido> pendientes = new ConcurrentHashMap<>();
+    // Cambios ya escritos en la base de datos cuyo punto de control falta registrar
+    private final Queue<MarcadorDiferido> aplicados = new ConcurrentLinkedQueue<>();
+    // Sólo la usa el hilo de la bitácora
+    private long secuencia;
+    private volatile boolean activo = true;
+    // Verdadero hasta el primer volcado, para no escribir antes de que la aplicación esté lista
+    private final AtomicBoolean volcadoSolicitado = new AtomicBoolean(true);
+
+    private final Thread escritor;
+    private final ScheduledExecutorService programador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "escritura-diferida");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    public MarcadorDiferidoService(PartidoRepository partidoRepository,
+                                   ApplicationEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${liga.escritura-diferida.bitacora:datos/bitacora/marcadores.log}") Path archivo,
+                                   @Value("${liga.escritura-diferida.capacidad:10000}") int capacidad,
+                                   @Value("${liga.escritura-diferida.tamano-lote:200}") int tamanoLote,
+                                   @Value("${liga.escritura-diferida.intervalo:500ms}") Duration intervalo,
+                                   @Value("${liga.escritura-diferida.espera-maxima:200ms}") Duration esperaMaxima,
+                                   @Value("${liga.escritura-diferida.max-pendientes:50000}") int maxPendientes,
+                                   @Value("${liga.escritura-diferida.tamano-compactacion:16MB}") DataSize tamanoCompactacion)
+            throws IOException {
+        this.partidoRepository = partidoRepository;
+        this.eventPublisher = eventPublisher;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.tamanoLote = tamanoLote;
+        this.intervalo = intervalo;
+        this.esperaMaxima = esperaMaxima;
+        this.maxPendientes = maxPendientes;
+        this.tamanoCompactacion = tamanoCompactacion.toBytes();
+        this.cola = new ArrayBlockingQueue<>(capacidad);
+
+        List<MarcadorDiferido> recuperados = new ArrayList<>();
+        this.bitacora = BitacoraMarcadores.abrir(archivo, recuperados);
+        this.secuencia = bitacora.ultimaSecuencia();
+        for (MarcadorDiferido cambio : recuperados) {
+            pendientes.merge(cambio.partidoId(), cambio, MarcadorDiferido::seguidoDe);
+        }
+        if (!recuperados.isEmpty()) {
+            log.info("Recuperados {} cambios de marcador de {} partidos desde {}",
+                    recuperados.size(), pendientes.size(), archivo.toAbsolutePath());
+        }
+        this.escritor = Thread.ofPlatform().name("bitacora-marcadores").daemon().start(this::escribir);
+    }
+
+    /**
+     * Empieza a escribir en la base de datos una vez que la aplicación está lista, comenzando
+     * por los cambios recuperados de la bitácora
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void iniciarVolcado() {
+        programador.scheduleWithFixedDelay(this::volcar, 0, intervalo.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Acepta un cambio de marcador y espera a que quede registrado en la bitácora local.
+     * El partido no se valida aquí: si no existe al escribirse, el cambio se descarta.
+     * @return el cambio registrado con su secuencia, o empty si la cola está llena, hay
+     *         demasiados partidos pendientes de escribir o el servicio se está cerrando
+     *         (el cliente debe reintentar)
+     * @throws UncheckedIOException si no se pudo escribir la bitácora
+     */
+    public Optional<MarcadorDiferido> registrar(Integer partidoId, CambioMarcador cambio) {
+        if (!activo || pendientes.size() >= maxPendientes) {
+            return Optional.empty();
+        }
+        Solicitud solicitud = new Solicitud(partidoId, cambio, new CompletableFuture<>());
+        try {
+            if (!cola.offer(solicitud, esperaMaxima.toMillis(), TimeUnit.MILLISECONDS)) {
+                return Optional.empty();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+        // Si se empezó a cerrar mientras tanto, puede que ya nadie tome la cola: se retira la
+        // solicitud; si ya no está, la tomó el hilo de la bitácora o cerrar() y la completará
+        if (!activo && cola.remove(solicitud)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(solicitud.confirmacion.join());
+        } catch (CancellationException e) {
+            return Optional.empty();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException causa ? causa : e;
+        }
+    }
+
+    /**
+     * Indica si el partido tiene cambios registrados que aún no están en la base de datos
+     */
+    public boolean tienePendientes(Integer partidoId) {
+        return pendientes.containsKey(partidoId);
+    }
+
+    /**
+     * Cantidad de partidos con cambios registrados que aún no están en la base de datos
+     */
+    public int pendientes() {
+        return pendientes.size();
+    }
+
+    /**
+     * Hilo de la bitácora: registra los cambios de a lotes con una escritura forzada por lote
+     */
+    private void escribir() {
+        List<Solicitud> lote = new ArrayList<>(tamanoLote);
+        while (activo || !cola.isEmpty()) {
+            try {
+                Solicitud primera = cola.poll(intervalo.toMillis(), TimeUnit.MILLISECONDS);
+                if (primera != null) {
+                    lote.add(primera);
+                    cola.drainTo(lote, tamanoLote - 1);
+                    registrarLote(lote);
+                    lote.clear();
+                }
+                registrarAplicados();
+                mantenerBitacora();
+            } catch (InterruptedException e) {
+                // No se interrumpe al cerrar: interrumpir una escritura cerraría el canal de la bitácora
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void registrarLote(List<Solicitud> lote) {
+        List<MarcadorDiferido> registros = new ArrayList<>(lote.size());
+        for (Solicitud solicitud : lote) {
+            registros.add(new MarcadorDiferido(solicitud.partidoId, solicitud.cambio.golesLocal(),
+                    solicitud.cambio.golesVisita(), solicitud.cambio.estado(), ++secuencia));
+        }
+        try {
+            bitacora.agregar(registros);
+        } catch (IOException e) {
+            log.error("No se pudo escribir la bitácora de marcadores", e);
+            UncheckedIOException error = new UncheckedIOException("No se pudo registrar el cambio de marcador", e);
+            lote.forEach(solicitud -> solicitud.confirmacion.completeExceptionally(error));
+            return;
+        }
+        for (int i = 0; i < lote.size(); i++) {
+            MarcadorDiferido registro = registros.get(i);
+            pendientes.merge(registro.partidoId(), registro, MarcadorDiferido::seguidoDe);
+            lote.get(i).confirmacion.complete(registro);
+        }
+        if (pendientes.size() >= tamanoLote && volcadoSolicitado.compareAndSet(false, true)) {
+            programador.execute(this::volcar);
+        }
+    }
+
+    /**
+     * Registra los puntos de control de los cambios ya escritos en la base de datos. Si falla
+     * se reintenta en la siguiente vuelta
+     */
+    private void registrarAplicados() {
+        List<MarcadorDiferido> lote = new ArrayList<>();
+        for (MarcadorDiferido aplicado; (aplicado = aplicados.poll()) != null; ) {
+            lote.add(aplicado);
+        }
+        if (lote.isEmpty()) {
+            return;
+        }
+        try {
+            bitacora.marcarAplicados(lote);
+        } catch (IOException e) {
+            aplicados.addAll(lote);
+            log.warn("No se pudieron registrar los marcadores ya escritos en la bitácora", e);
+        }
+    }
+
+    /**
+     * Vacía la bitácora cuando todo lo registrado ya está en la base de datos, o la reescribe
+     * con sólo los pendientes si creció demasiado (por ejemplo, con la base de datos caída)
+     */
+    private void mantenerBitacora() {
+        try {
+            long tamano = bitacora.tamano();
+            if (tamano == 0) {
+                return;
+            }
+            // Sólo este hilo agrega pendientes: si no quedan, todo lo registrado está escrito
+            if (pendientes.isEmpty() && cola.isEmpty()) {
+                bitacora.vaciar();
+                aplicados.clear();
+            } else if (tamano > tamanoCompactacion) {
+                List<MarcadorDiferido> vigentes = new ArrayList<>(pendientes.values());
+                vigentes.sort(Comparator.comparing(MarcadorDiferido::secuencia));
+                bitacora.compactar(vigentes);
+                log.info("Bitácora de marcadores compactada de {} bytes a {} cambios", tamano, vigentes.size());
+            }
+        } catch (IOException e) {
+            log.warn("No se pudo vaciar ni compactar la bitácora de marcadores", e);
+        }
+    }
+
+    /**
+     * Escribe los cambios pendientes en la base de datos por lotes. Corre sólo en el hilo del
+     * programador. Si la base de datos no está disponible se deja de escribir hasta el siguiente
+     * volcado; si falla un lote por otro motivo se escribe de a un partido para aislar el cambio
+     * que lo impide, que se descarta, y se sigue con los demás lotes
+     */
+    private void volcar() {
+        volcadoSolicitado.set(false);
+        List<MarcadorDiferido> todos = new ArrayList<>(pendientes.values());
+        for (int desde = 0; desde < todos.size(); desde += tamanoLote) {
+            List<MarcadorDiferido> lote = todos.subList(desde, Math.min(desde + tamanoLote, todos.size()));
+            try {
+                transaccion.executeWithoutResult(estado -> escribirLote(lote));
+            } catch (RuntimeException e) {
+                if (sinBaseDeDatos(e)) {
+                    log.warn("No se pudieron escribir {} marcadores; se reintentarán", lote.size(), e);
+                    return;
+                }
+                log.warn("Falló un lote de {} marcadores; se escriben de a uno", lote.size(), e);
+                if (!volcarDeAUno(lote)) {
+                    return;
+                }
+                continue;
+            }
+            confirmarEscritos(lote);
+        }
+    }
+
+    /**
+     * Escribe cada cambio en su propia transacción. Un cambio que choca con una escritura
+     * concurrente sigue pendiente; uno que falla por cualquier otro motivo no se podrá escribir
+     * nunca y se descarta, registrando su punto de control para no recuperarlo al reiniciar
+     * @return false si la base de datos dejó de estar disponible
+     */
+    private boolean volcarDeAUno(List<MarcadorDiferido> lote) {
+        for (MarcadorDiferido cambio : lote) {
+            try {
+                transaccion.executeWithoutResult(estado -> escribirLote(List.of(cambio)));
+            } catch (RuntimeException e) {
+                if (sinBaseDeDatos(e)) {
+                    log.warn("No se pudieron escribir los marcadores; se reintentarán", e);
+                    return false;
+                }
+                if (e instanceof ConcurrencyFailureException) {
+                    log.debug("El partido {} cambió mientras se escribía su marcador; se reintentará", cambio.partidoId());
+                    continue;
+                }
+                log.error("Se descarta el marcador {} del partido {}: no se puede escribir",
+                        cambio, cambio.partidoId(), e);
+            }
+            confirmarEscritos(List.of(cambio));
+        }
+        return true;
+    }
+
+    /**
+     * Quita de los pendientes los cambios ya escritos (o descartados). Si llegó un cambio
+     * posterior mientras tanto, sigue pendiente. El punto de control se encola después de
+     * quitarlo, para que una compactación que aún lo incluya se escriba antes que su punto de control
+     */
+    private void confirmarEscritos(List<MarcadorDiferido> lote) {
+        lote.forEach(cambio -> pendientes.remove(cambio.partidoId(), cambio));
+        aplicados.addAll(lote);
+    }
+
+    /**
+     * Indica si la falla es de la conexión con la base de datos y no de los cambios escritos
+     */
+    private static boolean sinBaseDeDatos(RuntimeException e) {
+        return e instanceof CannotCreateTransactionException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof TransientDataAccessResourceException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof QueryTimeoutException;
+    }
+
+    /**
+     * Aplica el lote sobre las entidades para que Hibernate agrupe los UPDATE
+     * (hibernate.jdbc.batch_size) e incremente sus versiones
+     */
+    private void escribirLote(List<MarcadorDiferido> lote) {
+        Map<Integer, Partido> partidos = partidoRepository.findAllById(
+                        lote.stream().map(MarcadorDiferido::partidoId).toList()).stream()
+                .collect(Collectors.toMap(Partido::getId, Function.identity()));
+        for (MarcadorDiferido cambio : lote) {
+            Partido partido = partidos.get(cambio.partidoId());
+            if (partido == null) {
+                log.warn("Se descarta el marcador del partido {}: ya no existe", cambio.partidoId());
+                continue;
+            }
+            ResultadoPartido anterior = ResultadoPartido.de(partido);
+            partido.setGolesLocal(cambio.golesLocal());
+            partido.setGolesVisita(cambio.golesVisita());
+            if (cambio.estado() != null) {
+                partido.setEstado(cambio.estado());
+            }
+            ResultadoPartido actual = ResultadoPartido.de(partido);
+            if (!actual.equals(anterior)) {
+                eventPublisher.publishEvent(new PartidoCambiadoEvent(anterior, actual));
+            }
+        }
+    }
+
+    /**
+     * Deja de aceptar cambios, registra los que quedaban en la cola e intenta escribir todo
+     * en la base de datos; lo que no se alcance a escribir queda en la bitácora. Las solicitudes
+     * que el hilo de la bitácora no alcanzó a registrar reciben empty (503)
+     */
+    @PreDestroy
+    void cerrar() throws InterruptedException, IOException {
+        activo = false;
+        escritor.join(TimeUnit.SECONDS.toMillis(10));
+        // Lo que quedó en la cola no se registró: se rechaza para que esos clientes no esperen para siempre
+        List<Solicitud> sinRegistrar = new ArrayList<>();
+        cola.drainTo(sinRegistrar);
+        sinRegistrar.forEach(solicitud -> solicitud.confirmacion.cancel(false));
+        if (!sinRegistrar.isEmpty()) {
+            log.warn("Se rechazaron {} cambios de marcador sin registrar al cerrar", sinRegistrar.size());
+        }
+        programador.shutdown();
+        programador.awaitTermination(10, TimeUnit.SECONDS);
+        volcar();
+        if (pendientes.isEmpty()) {
+            bitacora.vaciar();
+        } else {
+            registrarAplicados();
+            log.warn("Quedan {} marcadores pendientes en la bitácora", pendientes.size());
+        }
+        bitacora.close();
+    }
+
+    private record Solicitud(Integer partidoId, CambioMarcador cambio, CompletableFuture<MarcadorDiferido> confirmacion) {
+    }
+
+}
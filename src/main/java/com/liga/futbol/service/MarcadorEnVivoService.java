@@ -0,0 +1,304 @@
+package com.liga.futbol.service;
+
+import com.liga.futbol.event.PartidoCambiadoEvent;
+import com.liga.futbol.event.ResultadoPartido;
+import com.liga.futbol.model.dto.ActualizacionPartido;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servicio que transmite por Server-Sent Events los cambios confirmados de partidos a los
+ * clientes suscritos a una liga, una fecha o un partido.
+ * Los cambios se acumulan por suscriptor conservando sólo el último estado de cada partido
+ * y se envían en un único evento por intervalo. Cada envío corre en un hilo virtual, de modo
+ * que un cliente lento no retrasa al resto; si un envío sigue en curso durante demasiados
+ * intervalos el suscriptor se desconecta.
+ * Los cambios llegan por eventos locales, así que sólo se transmiten los confirmados en esta
+ * instancia; por eso el perfil {@code prod} exige una sola instancia (ver {@code InstanciaUnica}).
+ */
+@Service
+public class MarcadorEnVivoService {
+
+    private static final Logger log = LoggerFactory.getLogger(MarcadorEnVivoService.class);
+
+    static final String EVENTO_PARTIDOS = "partidos";
+
+    private final Map<String, Set<Suscriptor>> suscriptores = new ConcurrentHashMap<>();
+    private final Queue<Suscriptor> pendientes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger cantidad = new AtomicInteger();
+
+    private final ScheduledExecutorService programador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "marcador-en-vivo");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private final ExecutorService envios = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final long timeout;
+    private final int maxSuscriptores;
+    private final int maxIntervalosEnvio;
+
+    public MarcadorEnVivoService(@Value("${liga.en-vivo.intervalo:250ms}") Duration intervalo,
+                                 @Value("${liga.en-vivo.latido:15s}") Duration latido,
+                                 @Value("${liga.en-vivo.timeout:30m}") Duration timeout,
+                                 @Value("${liga.en-vivo.max-suscriptores:20000}") int maxSuscriptores,
+                                 @Value("${liga.en-vivo.max-intervalos-envio:40}") int maxIntervalosEnvio) {
+        this.timeout = timeout.toMillis();
+        this.maxSuscriptores = maxSuscriptores;
+        this.maxIntervalosEnvio = maxIntervalosEnvio;
+        programador.scheduleWithFixedDelay(this::enviarPendientes,
+                intervalo.toMillis(), intervalo.toMillis(), TimeUnit.MILLISECONDS);
+        programador.scheduleWithFixedDelay(this::enviarLatidos,
+                latido.toMillis(), latido.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registra un suscriptor. Los filtros no nulos se combinan (todos deben cumplirse)
+     * y al menos uno debe venir informado.
+     * @return empty si se alcanzó el máximo de suscriptores
+     */
+    public Optional<SseEmitter> suscribir(Integer ligaId, LocalDate fecha, Integer partidoId) {
+        if (ligaId == null && fecha == null && partidoId == null) {
+            throw new IllegalArgumentException("Debe indicar una liga, una fecha o un partido");
+        }
+        if (cantidad.incrementAndGet() > maxSuscriptores) {
+            cantidad.decrementAndGet();
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(timeout);
+        Suscriptor suscriptor = new Suscriptor(emitter, ligaId, fecha, partidoId);
+        emitter.onCompletion(() -> quitar(suscriptor));
+        emitter.onTimeout(() -> quitar(suscriptor));
+        emitter.onError(error -> quitar(suscriptor));
+        suscriptores.computeIfAbsent(suscriptor.clave(), clave -> ConcurrentHashMap.newKeySet()).add(suscriptor);
+        try {
+            // Fuerza el envío de las cabeceras para que el cliente sepa que la suscripción quedó abierta
+            emitter.send(SseEmitter.event().comment("conectado"));
+        } catch (IOException e) {
+            quitar(suscriptor);
+        }
+        return Optional.of(emitter);
+    }
+
+    /**
+     * Cantidad de suscriptores conectados
+     */
+    public int cantidadSuscriptores() {
+        return cantidad.get();
+    }
+
+    /**
+     * Encola el cambio del partido en los suscriptores interesados una vez confirmada la transacción.
+     * Se considera tanto el estado anterior como el actual, para avisar también a quienes
+     * seguían la fecha o liga de la que el partido salió.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarPartido(PartidoCambiadoEvent evento) {
+        if (cantidad.get() == 0) {
+            return;
+        }
+        ActualizacionPartido actualizacion = ActualizacionPartido.de(evento.partidoId(), evento.actual());
+        Set<Suscriptor> destinatarios = new HashSet<>();
+        for (ResultadoPartido estado : new ResultadoPartido[] {evento.anterior(), evento.actual()}) {
+            if (estado == null) {
+                continue;
+            }
+            agregarInteresados(destinatarios, "partido:" + estado.id(), estado);
+            agregarInteresados(destinatarios, "fecha:" + estado.fecha(), estado);
+            agregarInteresados(destinatarios, "liga:" + estado.ligaId(), estado);
+        }
+        for (Suscriptor suscriptor : destinatarios) {
+            suscriptor.encolar(actualizacion);
+        }
+    }
+
+    private void agregarInteresados(Set<Suscriptor> destinatarios, String clave, ResultadoPartido estado) {
+        Set<Suscriptor> candidatos = suscriptores.get(clave);
+        if (candidatos == null) {
+            return;
+        }
+        for (Suscriptor suscriptor : candidatos) {
+            if (suscriptor.interesadoEn(estado)) {
+                destinatarios.add(suscriptor);
+            }
+        }
+    }
+
+    /**
+     * Despacha los suscriptores con cambios acumulados. Si el envío anterior de un suscriptor
+     * aún no termina, sus cambios siguen acumulándose hasta el próximo intervalo.
+     */
+    private void enviarPendientes() {
+        try {
+            for (int i = pendientes.size(); i > 0; i--) {
+                Suscriptor suscriptor = pendientes.poll();
+                if (suscriptor == null) {
+                    break;
+                }
+                if (!suscriptor.activo.get()) {
+                    continue;
+                }
+                if (!suscriptor.enviando.compareAndSet(false, true)) {
+                    if (++suscriptor.intervalosEsperando > maxIntervalosEnvio) {
+                        desconectar(suscriptor);
+                    } else {
+                        pendientes.add(suscriptor);
+                    }
+                    continue;
+                }
+                suscriptor.intervalosEsperando = 0;
+                suscriptor.enCola.set(false);
+                envios.execute(() -> enviar(suscriptor));
+            }
+        } catch (RuntimeException e) {
+            log.error("Error al despachar actualizaciones en vivo", e);
+        }
+    }
+
+    private void enviar(Suscriptor suscriptor) {
+        try {
+            List<ActualizacionPartido> lote = new ArrayList<>(suscriptor.novedades.size());
+            for (Integer partidoId : suscriptor.novedades.keySet()) {
+                ActualizacionPartido actualizacion = suscriptor.novedades.remove(partidoId);
+                if (actualizacion != null) {
+                    lote.add(actualizacion);
+                }
+            }
+            if (!lote.isEmpty()) {
+                suscriptor.emitter.send(SseEmitter.event().name(EVENTO_PARTIDOS).data(lote, MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException e) {
+            quitar(suscriptor);
+        } finally {
+            suscriptor.enviando.set(false);
+        }
+    }
+
+    /**
+     * Envía un comentario a los suscriptores sin envíos en curso, para mantener abiertas
+     * las conexiones a través de proxies y detectar clientes desconectados
+     */
+    private void enviarLatidos() {
+        try {
+            for (Set<Suscriptor> grupo : suscriptores.values()) {
+                for (Suscriptor suscriptor : grupo) {
+                    if (suscriptor.enviando.compareAndSet(false, true)) {
+                        envios.execute(() -> {
+                            try {
+                                suscriptor.emitter.send(SseEmitter.event().comment("latido"));
+                            } catch (IOException | IllegalStateException e) {
+                                quitar(suscriptor);
+                            } finally {
+                                suscriptor.enviando.set(false);
+                            }
+                        });
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Error al enviar latidos en vivo", e);
+        }
+    }
+
+    private void desconectar(Suscriptor suscriptor) {
+        log.debug("Suscriptor en vivo {} desconectado por no recibir a tiempo", suscriptor.clave());
+        quitar(suscriptor);
+        // complete() espera a que termine el envío bloqueado, por eso no se llama desde el programador
+        envios.execute(suscriptor.emitter::complete);
+    }
+
+    private void quitar(Suscriptor suscriptor) {
+        if (!suscriptor.activo.compareAndSet(true, false)) {
+            return;
+        }
+        cantidad.decrementAndGet();
+        suscriptores.computeIfPresent(suscriptor.clave(), (clave, grupo) -> {
+            grupo.remove(suscriptor);
+            return grupo.isEmpty() ? null : grupo;
+        });
+    }
+
+    @PreDestroy
+    void cerrar() {
+        programador.shutdownNow();
+        for (Set<Suscriptor> grupo : suscriptores.values()) {
+            for (Suscriptor suscriptor : grupo) {
+                suscriptor.emitter.complete();
+            }
+        }
+        envios.shutdown();
+    }
+
+    /**
+     * Conexión abierta con sus filtros y los cambios aún no enviados (uno por partido)
+     */
+    private final class Suscriptor {
+
+        private final SseEmitter emitter;
+        private final Integer ligaId;
+        private final LocalDate fecha;
+        private final Integer partidoId;
+        private final Map<Integer, ActualizacionPartido> novedades = new ConcurrentHashMap<>();
+        private final AtomicBoolean activo = new AtomicBoolean(true);
+        private final AtomicBoolean enCola = new AtomicBoolean();
+        private final AtomicBoolean enviando = new AtomicBoolean();
+        // Sólo lo modifica el hilo programador
+        private int intervalosEsperando;
+
+        private Suscriptor(SseEmitter emitter, Integer ligaId, LocalDate fecha, Integer partidoId) {
+            this.emitter = emitter;
+            this.ligaId = ligaId;
+            this.fecha = fecha;
+            this.partidoId = partidoId;
+        }
+
+        /**
+         * Clave de indexación: el filtro más selectivo informado
+         */
+        private String clave() {
+            if (partidoId != null) {
+                return "partido:" + partidoId;
+            }
+            return fecha != null ? "fecha:" + fecha : "liga:" + ligaId;
+        }
+
+        private boolean interesadoEn(ResultadoPartido estado) {
+            return (partidoId == null || partidoId.equals(estado.id()))
+                    && (fecha == null || fecha.equals(estado.fecha()))
+                    && (ligaId == null || ligaId.equals(estado.ligaId()));
+        }
+
+        private void encolar(ActualizacionPartido actualizacion) {
+            novedades.put(actualizacion.id(), actualizacion);
+            if (enCola.compareAndSet(false, true)) {
+                pendientes.add(this);
+            }
+        }
+
+    }
+
+}
@@ -1,8 +1,21 @@
 package com.liga.futbol.service;
 
+import com.liga.futbol.config.RuteoDataSource;
+import com.liga.futbol.event.PartidoCambiadoEvent;
+import com.liga.futbol.event.ResultadoPartido;
+import com.liga.futbol.model.dto.ActualizacionResultado;
+import com.liga.futbol.model.dto.CursorPartidos;
+import com.liga.futbol.model.dto.HuellaPartidos;
+import com.liga.futbol.model.dto.MarcadorPartido;
+import com.liga.futbol.model.dto.Pagina;
+import com.liga.futbol.model.dto.PartidoResumen;
+import com.liga.futbol.model.dto.ResultadoVersionado;
 import com.liga.futbol.model.entity.Partido;
 import com.liga.futbol.model.entity.Liga;
 import com.liga.futbol.model.repository.PartidoRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
@@ -17,21 +30,93 @@ import java.util.Optional;
 public class PartidoService {
 
     private final PartidoRepository partidoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CalendarioService calendarioService;
+    private final MarcadorDiferidoService marcadorDiferidoService;
 
-    public PartidoService(PartidoRepository partidoRepository) {
+    public PartidoService(PartidoRepository partidoRepository,
+                          ApplicationEventPublisher eventPublisher,
+                          CalendarioService calendarioService,
+                          MarcadorDiferidoService marcadorDiferidoService) {
         this.partidoRepository = partidoRepository;
+        this.eventPublisher = eventPublisher;
+        this.calendarioService = calendarioService;
+        this.marcadorDiferidoService = marcadorDiferidoService;
     }
 
     /**
      * Obtiene todos los partidos
      */
+    @Transactional(readOnly = true, label = RuteoDataSource.REPLICA)
     public List<Partido> obtenerTodos() {
         return partidoRepository.findAll();
     }
 
+    /**
+     * Obtiene el resumen de los partidos de una jornada específica en una liga
+     */
+    @Transactional(readOnly = true, label = RuteoDataSource.REPLICA)
+    public List<PartidoResumen> obtenerResumenPorLigaYJornada(Integer ligaId, Short jornada) {
+        return partidoRepository.findResumenesByLigaAndJornada(ligaId, jornada);
+    }
+
+    /**
+     * Huella de los partidos de una jornada, leída de la misma base de datos que
+     * {@link #obtenerResumenPorLigaYJornada}
+     */
+    @Transactional(readOnly = true, label = RuteoDataSource.REPLICA)
+    public HuellaPartidos obtenerHuellaJornada(Integer ligaId, Short jornada) {
+        return partidoRepository.huellaJornada(ligaId, jornada);
+    }
+
+    /**
+     * Obtiene el resumen de los partidos en una fecha específica
+     */
+    @Transactional(readOnly = true, label = RuteoDataSource.REPLICA)
+    public List<PartidoResumen> obtenerResumenPorFecha(LocalDate fecha) {
+        return partidoRepository.findResumenesByFecha(fecha);
+    }
+
+    /**
+     * Obtiene el resumen de los partidos entre dos equipos específicos
+     */
+    @Transactional(readOnly = true, label = RuteoDataSource.REPLICA)
+    public List<PartidoResumen> obtenerResumenEntreDosEquipos(Integer equipoLocalId, Integer equipoVisitaId) {
+        return partidoRepository.findResumenesByEquipos(equipoLocalId, equipoVisitaId);
+    }
+
+    /**
+     * Obtiene una página de resúmenes de partidos ordenados por fecha, hora e ID a partir del cursor
+     */
+    @Transactional(readOnly = true, label = RuteoDataSource.REPLICA)
+    public Pagina<PartidoResumen> obtenerPagina(CursorPartidos cursor, int limite) {
+        return paginar(partidoRepository.findPagina(
+                cursor.fecha(), cursor.horaInicio(), cursor.id(), Limit.of(limite + 1)), limite);
+    }
+
+    /**
+     * Obtiene una página de partidos de un rango de fechas a partir del cursor
+     */
+    @Transactional(readOnly = true, label = RuteoDataSource.REPLICA)
+    public Pagina<PartidoResumen> obtenerPaginaEntreFechas(LocalDate fechaInicio, LocalDate fechaFin,
+                                                           CursorPartidos cursor, int limite) {
+        return paginar(partidoRepository.findPaginaEntreFechas(fechaInicio, fechaFin,
+                cursor.fecha(), cursor.horaInicio(), cursor.id(), Limit.of(limite + 1)), limite);
+    }
+
+    /**
+     * Obtiene una página de partidos de un equipo a partir del cursor
+     */
+    @Transactional(readOnly = true, label = RuteoDataSource.REPLICA)
+    public Pagina<PartidoResumen> obtenerPaginaPorEquipo(Integer equipoId, CursorPartidos cursor, int limite) {
+        return paginar(partidoRepository.findPaginaPorEquipo(equipoId,
+                cursor.fecha(), cursor.horaInicio(), cursor.id(), Limit.of(limite + 1)), limite);
+    }
+
     /**
      * Obtiene un partido por su ID
      */
+    @Transactional(readOnly = true, label = RuteoDataSource.REPLICA)
     public Optional<Partido> obtenerPorId(Integer id) {
         return partidoRepository.findById(id);
     }
@@ -39,6 +124,7 @@ public class PartidoService {
     /**
      * Obtiene todos los partidos de una liga
      */
+    @Transactional(readOnly = true, label = RuteoDataSource.REPLICA)
     public List<Partido> obtenerPorLiga(Liga liga) {
         return partidoRepository.findByLiga(liga);
     }
@@ -46,6 +132,7 @@ public class PartidoService {
     /**
      * Obtiene partidos de una jornada específica en una liga
      */
+    @Transactional(readOnly = true, label = RuteoDataSource.REPLICA)
     public List<Partido> obtenerPorLigaYJornada(Integer ligaId, Short jornada) {
         return partidoRepository.findByLigaAndJornada(ligaId, jornada);
     }
@@ -53,6 +140,7 @@ public class PartidoService {
     /**
      * Obtiene partidos en una fecha específica
      */
+    @Transactional(readOnly = true, label = RuteoDataSource.REPLICA)
     public List<Partido> obtenerPorFecha(LocalDate fecha) {
         return partidoRepository.findByFecha(fecha);
     }
@@ -60,6 +148,7 @@ public class PartidoService {
     /**
      * Obtiene partidos en un rango de fechas
      */
+    @Transactional(readOnly = true, label = RuteoDataSource.REPLICA)
     public List<Partido> obtenerEntreFechas(LocalDate fechaInicio, LocalDate fechaFin) {
         return partidoRepository.findByFechaBetween(fechaInicio, fechaFin);
     }
@@ -67,6 +156,7 @@ public class PartidoService {
     /**
      * Obtiene todos los partidos de un equipo
      */
+    @Transactional(readOnly = true, label = RuteoDataSource.REPLICA)
     public List<Partido> obtenerPorEquipo(Integer equipoId) {
         return partidoRepository.findByEquipo(equipoId);
     }
@@ -74,23 +164,44 @@ public class PartidoService {
     /**
      * Obtiene partidos entre dos equipos específicos
      */
+    @Transactional(readOnly = true, label = RuteoDataSource.REPLICA)
     public List<Partido> obtenerEntreDosEquipos(Integer equipoLocalId, Integer equipoVisitaId) {
         return partidoRepository.findByEquipos(equipoLocalId, equipoVisitaId);
     }
 
     /**
      * Crea un nuevo partido
+     * @throws IllegalArgumentException si algún equipo no está inscrito en la liga
+     * @throws IllegalStateException si algún equipo ya juega ese día o sin el descanso mínimo
      */
     public Partido crear(Partido partido) {
-        return partidoRepository.save(partido);
+        if (CalendarioService.completo(partido)) {
+            calendarioService.validar(null, partido.getLiga().getId(), partido.getEquipoLocal().getId(),
+                    partido.getEquipoVisita().getId(), partido.getFecha(), partido.getHoraInicio());
+        }
+        Partido partidoCreado = partidoRepository.save(partido);
+        eventPublisher.publishEvent(new PartidoCambiadoEvent(null, ResultadoPartido.de(partidoCreado)));
+        return partidoCreado;
     }
 
     /**
-     * Actualiza un partido existente
+     * Actualiza un partido existente. Si el cuerpo trae la versión, debe coincidir con la actual.
+     * Si cambian la fecha, la hora o los equipos se valida de nuevo el calendario.
+     * @throws ObjectOptimisticLockingFailureException si el partido cambió desde esa versión
+     * @throws IllegalArgumentException si algún equipo no está inscrito en la liga
+     * @throws IllegalStateException si algún equipo ya juega ese día o sin el descanso mínimo,
+     *         o si el partido tiene cambios de marcador diferidos sin escribir
      */
     public Optional<Partido> actualizar(Integer id, Partido partidoActualizado) {
+        verificarSinMarcadorDiferido(id);
         return partidoRepository.findById(id)
             .map(partido -> {
+                if (partidoActualizado.getVersion() != null
+                        && !partidoActualizado.getVersion().equals(partido.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Partido.class, id);
+                }
+                validarReprogramacion(partido, partidoActualizado);
+                ResultadoPartido anterior = ResultadoPartido.de(partido);
                 partido.setJornada(partidoActualizado.getJornada());
                 partido.setFecha(partidoActualizado.getFecha());
                 partido.setHoraInicio(partidoActualizado.getHoraInicio());
@@ -98,19 +209,104 @@ public class PartidoService {
                 partido.setEquipoVisita(partidoActualizado.getEquipoVisita());
                 partido.setGolesLocal(partidoActualizado.getGolesLocal());
                 partido.setGolesVisita(partidoActualizado.getGolesVisita());
-                return partidoRepository.save(partido);
+                if (partidoActualizado.getEstado() != null) {
+                    partido.setEstado(partidoActualizado.getEstado());
+                }
+                Partido partidoGuardado = partidoRepository.save(partido);
+                eventPublisher.publishEvent(new PartidoCambiadoEvent(anterior, ResultadoPartido.de(partidoGuardado)));
+                return partidoGuardado;
             });
     }
 
+    /**
+     * Actualiza sólo goles y estado de un partido con un UPDATE condicionado a su versión,
+     * sin cargar la entidad
+     * @return el marcador actualizado, o empty si el partido no existe
+     * @throws ObjectOptimisticLockingFailureException si la versión indicada ya no es la actual
+     * @throws IllegalStateException si el partido tiene cambios de marcador diferidos sin escribir
+     */
+    public Optional<MarcadorPartido> actualizarResultado(Integer id, ActualizacionResultado cambio) {
+        verificarSinMarcadorDiferido(id);
+        Optional<ResultadoVersionado> encontrado = partidoRepository.findResultadoVersionado(id);
+        if (encontrado.isEmpty()) {
+            return Optional.empty();
+        }
+        // Si la versión leída es la esperada y el UPDATE la encuentra igual, 'anterior' es
+        // exactamente el estado que se reemplazó
+        ResultadoPartido anterior = encontrado.get().resultado();
+        if (!encontrado.get().version().equals(cambio.version())
+                || partidoRepository.actualizarResultado(id, cambio.version(),
+                        cambio.golesLocal(), cambio.golesVisita(), cambio.estado()) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Partido.class, id);
+        }
+        String estado = cambio.estado() != null ? cambio.estado() : anterior.estado();
+        eventPublisher.publishEvent(new PartidoCambiadoEvent(anterior, new ResultadoPartido(
+                id, anterior.ligaId(), anterior.jornada(), anterior.fecha(),
+                anterior.equipoLocalId(), anterior.equipoVisitaId(),
+                cambio.golesLocal(), cambio.golesVisita(), estado)));
+        return Optional.of(new MarcadorPartido(id, cambio.golesLocal(), cambio.golesVisita(),
+                estado, cambio.version() + 1));
+    }
+
+    /**
+     * Rechaza corregir un partido mientras tenga cambios de marcador del estadio sin escribir
+     * ({@link MarcadorDiferidoService}): esos cambios no llevan versión y el siguiente volcado
+     * pisaría la corrección
+     */
+    private void verificarSinMarcadorDiferido(Integer id) {
+        if (marcadorDiferidoService.tienePendientes(id)) {
+            throw new IllegalStateException("El partido " + id + " tiene cambios de marcador sin escribir");
+        }
+    }
+
     /**
      * Elimina un partido por su ID
      */
     public boolean eliminar(Integer id) {
-        if (partidoRepository.existsById(id)) {
-            partidoRepository.deleteById(id);
-            return true;
+        return partidoRepository.findById(id)
+            .map(partido -> {
+                ResultadoPartido anterior = ResultadoPartido.de(partido);
+                partidoRepository.delete(partido);
+                eventPublisher.publishEvent(new PartidoCambiadoEvent(anterior, null));
+                return true;
+            })
+            .orElse(false);
+    }
+
+    /**
+     * Valida el calendario sólo si cambia la programación, para no impedir cargar el
+     * resultado de partidos registrados antes de que existiera la validación
+     */
+    private void validarReprogramacion(Partido partido, Partido cambios) {
+        Partido nuevo = Partido.builder()
+                .liga(partido.getLiga())
+                .fecha(cambios.getFecha())
+                .horaInicio(cambios.getHoraInicio())
+                .equipoLocal(cambios.getEquipoLocal())
+                .equipoVisita(cambios.getEquipoVisita())
+                .build();
+        if (!CalendarioService.completo(nuevo)) {
+            return;
+        }
+        boolean reprogramado = !nuevo.getFecha().equals(partido.getFecha())
+                || !nuevo.getHoraInicio().equals(partido.getHoraInicio())
+                || !nuevo.getEquipoLocal().getId().equals(partido.getEquipoLocal().getId())
+                || !nuevo.getEquipoVisita().getId().equals(partido.getEquipoVisita().getId());
+        if (reprogramado) {
+            calendarioService.validar(partido.getId(), partido.getLiga().getId(), nuevo.getEquipoLocal().getId(),
+                    nuevo.getEquipoVisita().getId(), nuevo.getFecha(), nuevo.getHoraInicio());
+        }
+    }
+
+    /**
+     * Recorta la consulta (que pide un elemento extra) y calcula el cursor siguiente
+     */
+    private Pagina<PartidoResumen> paginar(List<PartidoResumen> partidos, int limite) {
+        if (partidos.size() <= limite) {
+            return new Pagina<>(partidos, null);
         }
-        return false;
+        List<PartidoResumen> items = partidos.subList(0, limite);
+        return new Pagina<>(items, CursorPartidos.despuesDe(items.get(limite - 1)).codificar());
     }
 
 }
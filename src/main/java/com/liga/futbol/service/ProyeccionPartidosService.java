@@ -0,0 +1,201 @@
+package com.liga.futbol.service;
+
+import com.liga.futbol.model.dto.CursorPartidos;
+import com.liga.futbol.model.dto.FiltroPartidos;
+import com.liga.futbol.model.dto.Pagina;
+import com.liga.futbol.model.repository.PartidoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Servicio de listados de partidos con campos a elección ({@code ?fields=id,fecha,equipoLocal.nombre}).
+ * La consulta JPQL se arma seleccionando sólo las columnas pedidas y sólo hace JOIN con
+ * equipos cuando se piden datos del equipo distintos de su ID.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ProyeccionPartidosService {
+
+    /**
+     * Campos disponibles y su expresión JPQL. "el" y "ev" son los equipos local y visita.
+     */
+    private static final Map<String, String> CAMPOS = new LinkedHashMap<>();
+    private static final Map<String, List<String>> GRUPOS = new HashMap<>();
+
+    static {
+        CAMPOS.put("id", "p.id");
+        CAMPOS.put("ligaId", "p.liga.id");
+        CAMPOS.put("jornada", "p.jornada");
+        CAMPOS.put("fecha", "p.fecha");
+        CAMPOS.put("horaInicio", "p.horaInicio");
+        for (String[] equipo : new String[][] {{"equipoLocal", "el"}, {"equipoVisita", "ev"}}) {
+            CAMPOS.put(equipo[0] + ".id", "p." + equipo[0] + ".id");
+            CAMPOS.put(equipo[0] + ".nombre", equipo[1] + ".nombre");
+            CAMPOS.put(equipo[0] + ".anioFundacion", equipo[1] + ".anioFundacion");
+            CAMPOS.put(equipo[0] + ".comunaLocal", equipo[1] + ".comunaLocal");
+            CAMPOS.put(equipo[0] + ".historia", equipo[1] + ".historia");
+            GRUPOS.put(equipo[0], List.of(equipo[0] + ".id", equipo[0] + ".nombre"));
+        }
+        CAMPOS.put("golesLocal", "p.golesLocal");
+        CAMPOS.put("golesVisita", "p.golesVisita");
+        CAMPOS.put("estado", "p.estado");
+    }
+
+    private final EntityManager entityManager;
+
+    public ProyeccionPartidosService(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Interpreta el parámetro {@code fields}. Un equipo sin subcampo ("equipoLocal")
+     * equivale a su ID y nombre.
+     * @throws IllegalArgumentException si algún campo no existe
+     */
+    public static List<String> parsearCampos(String fields) {
+        Set<String> campos = new LinkedHashSet<>();
+        for (String campo : fields.split(",")) {
+            String nombre = campo.trim();
+            if (nombre.isEmpty()) {
+                continue;
+            }
+            if (GRUPOS.containsKey(nombre)) {
+                campos.addAll(GRUPOS.get(nombre));
+            } else if (CAMPOS.containsKey(nombre)) {
+                campos.add(nombre);
+            } else {
+                throw new IllegalArgumentException("Campo desconocido: " + nombre);
+            }
+        }
+        if (campos.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos un campo");
+        }
+        return List.copyOf(campos);
+    }
+
+    /**
+     * Identificador corto de una lista de campos ya interpretada: el índice de cada campo en
+     * base 36, en el orden pedido. Listas distintas dan identificadores distintos.
+     */
+    public static String clave(List<String> campos) {
+        List<String> disponibles = List.copyOf(CAMPOS.keySet());
+        StringBuilder clave = new StringBuilder(campos.size());
+        for (String campo : campos) {
+            clave.append(Character.forDigit(disponibles.indexOf(campo), 36));
+        }
+        return clave.toString();
+    }
+
+    /**
+     * Lista los partidos que cumplen el filtro con sólo los campos pedidos.
+     * Con {@code cursor} null se devuelven todos los resultados sin paginar.
+     */
+    public Pagina<Map<String, Object>> consultar(FiltroPartidos filtro, List<String> campos,
+                                                 CursorPartidos cursor, int limite) {
+        StringBuilder jpql = new StringBuilder("SELECT ");
+        for (int i = 0; i < campos.size(); i++) {
+            jpql.append(CAMPOS.get(campos.get(i))).append(" AS c").append(i).append(", ");
+        }
+        jpql.append("p.fecha AS kFecha, p.horaInicio AS kHora, p.id AS kId FROM Partido p");
+        if (campos.stream().anyMatch(c -> CAMPOS.get(c).startsWith("el."))) {
+            jpql.append(" JOIN p.equipoLocal el");
+        }
+        if (campos.stream().anyMatch(c -> CAMPOS.get(c).startsWith("ev."))) {
+            jpql.append(" JOIN p.equipoVisita ev");
+        }
+
+        List<String> condiciones = new ArrayList<>();
+        Map<String, Object> parametros = new HashMap<>();
+        if (filtro.ligaId() != null) {
+            condiciones.add("p.liga.id = :ligaId");
+            parametros.put("ligaId", filtro.ligaId());
+        }
+        if (filtro.jornada() != null) {
+            condiciones.add("p.jornada = :jornada");
+            parametros.put("jornada", filtro.jornada());
+        }
+        if (filtro.fechaInicio() != null) {
+            condiciones.add("p.fecha >= :fechaInicio");
+            parametros.put("fechaInicio", filtro.fechaInicio());
+        }
+        if (filtro.fechaFin() != null) {
+            condiciones.add("p.fecha <= :fechaFin");
+            parametros.put("fechaFin", filtro.fechaFin());
+        }
+        if (filtro.equipoId() != null) {
+            condiciones.add("(p.equipoLocal.id = :equipoId OR p.equipoVisita.id = :equipoId)");
+            parametros.put("equipoId", filtro.equipoId());
+        }
+        if (filtro.equipoA() != null && filtro.equipoB() != null) {
+            condiciones.add(PartidoRepository.ENTRE_EQUIPOS);
+            parametros.put("equipoA", filtro.equipoA());
+            parametros.put("equipoB", filtro.equipoB());
+        }
+        if (cursor != null) {
+            condiciones.add("p.fecha >= :fecha AND (p.fecha > :fecha OR p.horaInicio > :horaInicio "
+                    + "OR (p.horaInicio = :horaInicio AND p.id > :id))");
+            parametros.put("fecha", cursor.fecha());
+            parametros.put("horaInicio", cursor.horaInicio());
+            parametros.put("id", cursor.id());
+        }
+        if (!condiciones.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", condiciones));
+        }
+        jpql.append(" ORDER BY p.fecha, p.horaInicio, p.id");
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class);
+        parametros.forEach(query::setParameter);
+        if (cursor != null) {
+            query.setMaxResults(limite + 1);
+        }
+        List<Tuple> filas = query.getResultList();
+
+        boolean hayMas = cursor != null && filas.size() > limite;
+        List<Tuple> pagina = hayMas ? filas.subList(0, limite) : filas;
+        List<Map<String, Object>> items = new ArrayList<>(pagina.size());
+        for (Tuple fila : pagina) {
+            items.add(aMapa(fila, campos));
+        }
+        String siguienteCursor = null;
+        if (hayMas) {
+            Tuple ultima = pagina.get(pagina.size() - 1);
+            siguienteCursor = new CursorPartidos(ultima.get("kFecha", LocalDate.class),
+                    ultima.get("kHora", LocalTime.class), ultima.get("kId", Integer.class)).codificar();
+        }
+        return new Pagina<>(items, siguienteCursor);
+    }
+
+    /**
+     * Convierte una fila en un mapa anidando los campos con punto ("equipoLocal.nombre")
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> aMapa(Tuple fila, List<String> campos) {
+        Map<String, Object> mapa = new LinkedHashMap<>();
+        for (int i = 0; i < campos.size(); i++) {
+            String campo = campos.get(i);
+            Object valor = fila.get("c" + i);
+            int punto = campo.indexOf('.');
+            if (punto < 0) {
+                mapa.put(campo, valor);
+            } else {
+                Map<String, Object> anidado = (Map<String, Object>) mapa.computeIfAbsent(
+                        campo.substring(0, punto), k -> new LinkedHashMap<String, Object>());
+                anidado.put(campo.substring(punto + 1), valor);
+            }
+        }
+        return mapa;
+    }
+
+}
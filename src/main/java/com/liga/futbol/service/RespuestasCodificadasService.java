@@ -0,0 +1,144 @@
+package com.liga.futbol.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.liga.futbol.event.EquipoCambiadoEvent;
+import com.liga.futbol.event.LigaCambiadaEvent;
+import com.liga.futbol.event.PartidoCambiadoEvent;
+import com.liga.futbol.event.ResultadoPartido;
+import com.liga.futbol.model.dto.PartidoResumen;
+import com.liga.futbol.model.repository.PartidoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caché de las respuestas JSON ya serializadas (y comprimidas con gzip) de las jornadas que no
+ * volverán a cambiar: aquellas con todos sus partidos finalizados y las de temporadas archivadas.
+ * Se sirven tal cual, sin consultar la base de datos ni serializar de nuevo.
+ * Cada respuesta se guarda con el ETag de la jornada con que se calculó y sólo se entrega
+ * mientras siga siendo el actual, de modo que una corrección posterior nunca recibe la
+ * respuesta anterior; los eventos de cambio además liberan la memoria de inmediato.
+ * El tamaño total se acota a {@code liga.respuestas.presupuesto} bytes.
+ */
+@Service
+public class RespuestasCodificadasService {
+
+    // Memoria aproximada de cada entrada aparte de los bytes de las respuestas
+    private static final int SOBRECARGA_ENTRADA = 128;
+
+    private final PartidoRepository partidoRepository;
+    private final ObjectMapper objectMapper;
+    private final Cache<Jornada, RespuestaCodificada> jornadas;
+
+    /**
+     * Respuesta serializada de una jornada junto con su versión comprimida
+     */
+    public record RespuestaCodificada(String etag, byte[] json, byte[] gzip) {
+    }
+
+    private record Jornada(Integer ligaId, Short jornada) {
+    }
+
+    public RespuestasCodificadasService(PartidoRepository partidoRepository,
+                                        ObjectMapper objectMapper,
+                                        @Value("${liga.respuestas.presupuesto:32MB}") DataSize presupuesto) {
+        this.partidoRepository = partidoRepository;
+        this.objectMapper = objectMapper;
+        this.jornadas = Caffeine.newBuilder()
+                .maximumWeight(presupuesto.toBytes())
+                .<Jornada, RespuestaCodificada>weigher((jornada, respuesta) ->
+                        SOBRECARGA_ENTRADA + respuesta.etag().length() + respuesta.json().length + respuesta.gzip().length)
+                .build();
+    }
+
+    /**
+     * Respuesta guardada de la jornada, si se calculó con el ETag indicado
+     */
+    public Optional<RespuestaCodificada> jornada(Integer ligaId, Short jornada, String etag) {
+        RespuestaCodificada respuesta = jornadas.getIfPresent(new Jornada(ligaId, jornada));
+        return respuesta != null && respuesta.etag().equals(etag) ? Optional.of(respuesta) : Optional.empty();
+    }
+
+    /**
+     * Serializa y guarda la jornada si ya no puede cambiar. Los partidos de una liga no
+     * archivada se vuelven a leer de la base de datos primaria, para no guardar lo que
+     * devolvió una réplica atrasada.
+     * @param leidos partidos ya leídos para la respuesta
+     * @param archivada si {@code leidos} proviene del snapshot de una temporada archivada
+     * @return la respuesta guardada, o empty si la jornada aún puede cambiar
+     */
+    @Transactional(readOnly = true)
+    public Optional<RespuestaCodificada> guardarJornada(Integer ligaId, Short jornada, String etag,
+                                                        List<PartidoResumen> leidos, boolean archivada) {
+        if (!archivada && !cerrada(leidos)) {
+            return Optional.empty();
+        }
+        List<PartidoResumen> partidos = archivada ? leidos : partidoRepository.findResumenesByLigaAndJornada(ligaId, jornada);
+        if (!archivada && !cerrada(partidos)) {
+            return Optional.empty();
+        }
+        RespuestaCodificada respuesta = codificar(etag, partidos);
+        jornadas.put(new Jornada(ligaId, jornada), respuesta);
+        return Optional.of(respuesta);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarPartido(PartidoCambiadoEvent evento) {
+        for (ResultadoPartido estado : new ResultadoPartido[] {evento.anterior(), evento.actual()}) {
+            if (estado != null) {
+                jornadas.invalidate(new Jornada(estado.ligaId(), estado.jornada()));
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarLiga(LigaCambiadaEvent evento) {
+        jornadas.asMap().keySet().removeIf(jornada -> jornada.ligaId().equals(evento.ligaId()));
+    }
+
+    /**
+     * Las respuestas incluyen los nombres de los equipos
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarEquipo(EquipoCambiadoEvent evento) {
+        jornadas.invalidateAll();
+    }
+
+    private static boolean cerrada(List<PartidoResumen> partidos) {
+        return !partidos.isEmpty()
+                && partidos.stream().allMatch(partido -> ResultadoPartido.FINALIZADO.equals(partido.estado()));
+    }
+
+    private RespuestaCodificada codificar(String etag, List<PartidoResumen> partidos) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(partidos);
+            ByteArrayOutputStream comprimido = new ByteArrayOutputStream(json.length / 4 + 64);
+            // Se comprime una sola vez, así que conviene el nivel máximo
+            try (GZIPOutputStream gzip = new GZIPOutputStream(comprimido) {
+                {
+                    def.setLevel(Deflater.BEST_COMPRESSION);
+                }
+            }) {
+                gzip.write(json);
+            }
+            return new RespuestaCodificada(etag, json, comprimido.toByteArray());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la jornada", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,238 @@
+package com.liga.futbol.service;
+
+import com.liga.futbol.event.LigaCambiadaEvent;
+import com.liga.futbol.event.PartidoCambiadoEvent;
+import com.liga.futbol.event.ResultadoPartido;
+import com.liga.futbol.model.dto.EquipoResumen;
+import com.liga.futbol.model.dto.ProbabilidadesEquipo;
+import com.liga.futbol.model.dto.ResultadoFinalizado;
+import com.liga.futbol.model.dto.SimulacionLiga;
+import com.liga.futbol.model.repository.EquipoRepository;
+import com.liga.futbol.model.repository.LigaRepository;
+import com.liga.futbol.model.repository.PartidoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Servicio que estima las probabilidades de cada equipo de terminar en cada posición
+ * simulando el resto de la temporada ({@code liga.simulacion.temporadas} veces) con un modelo
+ * de fuerzas ajustado a los últimos resultados de sus equipos ({@code liga.simulacion.historial}).
+ * La simulación de cada liga se guarda hasta que cambia un resultado de alguno de sus equipos
+ * o un partido de la liga; las solicitudes simultáneas esperan un único cálculo.
+ */
+@Service
+public class SimulacionService {
+
+    private static final Logger log = LoggerFactory.getLogger(SimulacionService.class);
+
+    private static final Comparator<EquipoResumen> ORDEN_NOMBRE = Comparator.comparing(
+            EquipoResumen::nombre, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+
+    private final LigaRepository ligaRepository;
+    private final PartidoRepository partidoRepository;
+    private final EquipoRepository equipoRepository;
+    private final int temporadas;
+    private final int historial;
+    private final int descensos;
+
+    private final Map<Integer, CompletableFuture<SimulacionLiga>> simulaciones = new ConcurrentHashMap<>();
+
+    public SimulacionService(LigaRepository ligaRepository,
+                             PartidoRepository partidoRepository,
+                             EquipoRepository equipoRepository,
+                             @Value("${liga.simulacion.temporadas:200000}") int temporadas,
+                             @Value("${liga.simulacion.historial:2000}") int historial,
+                             @Value("${liga.simulacion.descensos:2}") int descensos) {
+        this.ligaRepository = ligaRepository;
+        this.partidoRepository = partidoRepository;
+        this.equipoRepository = equipoRepository;
+        this.temporadas = temporadas;
+        this.historial = historial;
+        this.descensos = descensos;
+    }
+
+    /**
+     * Obtiene la simulación de una liga, calculándola sólo si no hay una vigente
+     * @return empty si la liga no existe
+     * @throws IllegalArgumentException si la liga es demasiado grande para simularla
+     */
+    public Optional<SimulacionLiga> obtener(Integer ligaId) {
+        CompletableFuture<SimulacionLiga> existente = simulaciones.get(ligaId);
+        if (existente == null) {
+            if (!ligaRepository.existsById(ligaId)) {
+                return Optional.empty();
+            }
+            CompletableFuture<SimulacionLiga> nueva = new CompletableFuture<>();
+            existente = simulaciones.putIfAbsent(ligaId, nueva);
+            if (existente == null) {
+                calcular(ligaId, nueva);
+                existente = nueva;
+            }
+        }
+        try {
+            return Optional.of(existente.join());
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException causa ? causa : e;
+        }
+    }
+
+    /**
+     * Descarta las simulaciones afectadas por el cambio de un partido: las de su liga y las
+     * de las ligas cuyos equipos jugaron, porque el resultado cambia sus fuerzas.
+     * Los cambios que no tocan equipos ni resultados finales no las afectan: la hora, o los
+     * goles de un partido en curso, que la simulación trata como pendiente.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarPartido(PartidoCambiadoEvent evento) {
+        ResultadoPartido anterior = evento.anterior();
+        ResultadoPartido actual = evento.actual();
+        if (anterior != null && actual != null && mismoResultado(anterior, actual)) {
+            return;
+        }
+        Set<Integer> equipos = new HashSet<>();
+        Set<Integer> ligas = new HashSet<>();
+        for (ResultadoPartido estado : new ResultadoPartido[] {anterior, actual}) {
+            if (estado != null) {
+                ligas.add(estado.ligaId());
+                equipos.add(estado.equipoLocalId());
+                equipos.add(estado.equipoVisitaId());
+            }
+        }
+        simulaciones.entrySet().removeIf(entrada -> ligas.contains(entrada.getKey())
+                || incluyeAlguno(entrada.getValue(), equipos));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarLiga(LigaCambiadaEvent evento) {
+        simulaciones.remove(evento.ligaId());
+    }
+
+    private void calcular(Integer ligaId, CompletableFuture<SimulacionLiga> futuro) {
+        try {
+            futuro.complete(simular(ligaId));
+        } catch (RuntimeException | Error e) {
+            simulaciones.remove(ligaId, futuro);
+            futuro.completeExceptionally(e);
+        }
+    }
+
+    private SimulacionLiga simular(Integer ligaId) {
+        long inicio = System.nanoTime();
+        List<ResultadoFinalizado> jugados = partidoRepository.findResultadosFinalizados(ligaId);
+        List<ResultadoPartido> pendientes = partidoRepository.findPendientes(ligaId);
+
+        Set<Integer> equipoIds = new HashSet<>(ligaRepository.findEquipoIds(ligaId));
+        for (ResultadoFinalizado resultado : jugados) {
+            equipoIds.add(resultado.equipoLocalId());
+            equipoIds.add(resultado.equipoVisitaId());
+        }
+        for (ResultadoPartido partido : pendientes) {
+            equipoIds.add(partido.equipoLocalId());
+            equipoIds.add(partido.equipoVisitaId());
+        }
+        if (equipoIds.isEmpty()) {
+            return new SimulacionLiga(ligaId, 0, 0, Instant.now(), List.of());
+        }
+        // El índice de cada equipo sigue el orden por nombre, que desempata como la tabla
+        List<EquipoResumen> equipos = new ArrayList<>(equipoRepository.findResumenes(equipoIds));
+        equipos.sort(ORDEN_NOMBRE);
+        Map<Integer, Integer> indices = new HashMap<>();
+        for (EquipoResumen equipo : equipos) {
+            indices.put(equipo.id(), indices.size());
+        }
+
+        int n = equipos.size();
+        int[] puntos = new int[n];
+        int[] diferencia = new int[n];
+        int[] golesFavor = new int[n];
+        for (ResultadoFinalizado resultado : jugados) {
+            int local = indices.get(resultado.equipoLocalId());
+            int visita = indices.get(resultado.equipoVisitaId());
+            int golesLocal = resultado.golesLocal();
+            int golesVisita = resultado.golesVisita();
+            golesFavor[local] += golesLocal;
+            golesFavor[visita] += golesVisita;
+            diferencia[local] += golesLocal - golesVisita;
+            diferencia[visita] += golesVisita - golesLocal;
+            puntos[local] += golesLocal > golesVisita ? 3 : golesLocal == golesVisita ? 1 : 0;
+            puntos[visita] += golesVisita > golesLocal ? 3 : golesLocal == golesVisita ? 1 : 0;
+        }
+
+        SimuladorTemporada.Modelo modelo = SimuladorTemporada.ajustar(
+                partidoRepository.findUltimosResultadosDeEquipos(equipoIds, Limit.of(historial)));
+        int[] locales = new int[pendientes.size()];
+        int[] visitas = new int[pendientes.size()];
+        double[] mediasLocal = new double[pendientes.size()];
+        double[] mediasVisita = new double[pendientes.size()];
+        for (int k = 0; k < pendientes.size(); k++) {
+            ResultadoPartido partido = pendientes.get(k);
+            locales[k] = indices.get(partido.equipoLocalId());
+            visitas[k] = indices.get(partido.equipoVisitaId());
+            mediasLocal[k] = modelo.golesLocal(partido.equipoLocalId(), partido.equipoVisitaId());
+            mediasVisita[k] = modelo.golesVisita(partido.equipoLocalId(), partido.equipoVisitaId());
+        }
+
+        SimuladorTemporada.Resultado resultado = new SimuladorTemporada(
+                puntos, diferencia, golesFavor, locales, visitas, mediasLocal, mediasVisita)
+                .simular(temporadas, ThreadLocalRandom.current().nextLong());
+
+        List<ProbabilidadesEquipo> probabilidades = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            double[] posiciones = new double[n];
+            for (int posicion = 0; posicion < n; posicion++) {
+                posiciones[posicion] = (double) resultado.posiciones()[i * n + posicion] / temporadas;
+            }
+            double descenso = 0;
+            for (int posicion = Math.max(1, n - descensos); posicion < n; posicion++) {
+                descenso += posiciones[posicion];
+            }
+            EquipoResumen equipo = equipos.get(i);
+            probabilidades.add(new ProbabilidadesEquipo(equipo.id(), equipo.nombre(), puntos[i],
+                    (double) resultado.puntos()[i] / temporadas, posiciones[0], descenso, posiciones));
+        }
+        probabilidades.sort(Comparator.comparingDouble(ProbabilidadesEquipo::puntosEsperados).reversed());
+        log.debug("Liga {} simulada {} veces con {} partidos pendientes en {} ms", ligaId, temporadas,
+                pendientes.size(), (System.nanoTime() - inicio) / 1_000_000);
+        return new SimulacionLiga(ligaId, temporadas, pendientes.size(), Instant.now(), probabilidades);
+    }
+
+    private static boolean mismoResultado(ResultadoPartido anterior, ResultadoPartido actual) {
+        return Objects.equals(anterior.ligaId(), actual.ligaId())
+                && Objects.equals(anterior.equipoLocalId(), actual.equipoLocalId())
+                && Objects.equals(anterior.equipoVisitaId(), actual.equipoVisitaId())
+                && (!anterior.finalizado() && !actual.finalizado()
+                    || anterior.finalizado() && actual.finalizado()
+                        && Objects.equals(anterior.golesLocal(), actual.golesLocal())
+                        && Objects.equals(anterior.golesVisita(), actual.golesVisita()));
+    }
+
+    /**
+     * Indica si la simulación incluye alguno de los equipos; las que siguen en cálculo se
+     * consideran afectadas
+     */
+    private static boolean incluyeAlguno(CompletableFuture<SimulacionLiga> futuro, Set<Integer> equipos) {
+        if (!futuro.isDone() || futuro.isCompletedExceptionally()) {
+            return true;
+        }
+        return futuro.join().equipos().stream().anyMatch(equipo -> equipos.contains(equipo.equipoId()));
+    }
+
+}
@@ -0,0 +1,294 @@
+package com.liga.futbol.service;
+
+import com.liga.futbol.model.dto.ResultadoFinalizado;
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Simulación Monte Carlo del resto de una temporada. Los goles de cada partido pendiente se
+ * sortean de distribuciones de Poisson cuyas medias salen de un modelo de ataque y defensa
+ * por equipo ajustado con resultados anteriores (ver {@link #ajustar}).
+ * Las simulaciones se reparten en tareas fork-join sobre todos los núcleos. Cada tarea reserva
+ * sus arreglos una sola vez, y la tabla de cada simulación se ordena como un arreglo de claves
+ * {@code long} (puntos, diferencia, goles a favor e índice), así que el ciclo interno no crea objetos.
+ * Los índices de los equipos deben seguir el orden por nombre, que desempata igual que la tabla.
+ */
+class SimuladorTemporada {
+
+    /**
+     * Goles máximos por equipo en un partido simulado; la cola de la distribución se acumula aquí
+     */
+    private static final int MAX_GOLES = 10;
+    private static final int SIMULACIONES_POR_TAREA = 5_000;
+    /**
+     * Partidos virtuales de rendimiento promedio que se suman a cada equipo al ajustar el modelo,
+     * para que los equipos con pocos resultados no queden con fuerzas extremas
+     */
+    private static final double PARTIDOS_PREVIOS = 3;
+    private static final int ITERACIONES_AJUSTE = 25;
+    private static final double MEDIA_LOCAL_DEFECTO = 1.4;
+    private static final double MEDIA_VISITA_DEFECTO = 1.1;
+
+    // Bits de cada criterio en la clave de orden; en total 63 para que la clave sea positiva
+    private static final int BITS_INDICE = 10;
+    private static final int BITS_GOLES = 20;
+    private static final int BITS_DIFERENCIA = 20;
+    private static final int BITS_PUNTOS = 63 - BITS_INDICE - BITS_GOLES - BITS_DIFERENCIA;
+    private static final int DESPLAZAMIENTO_DIFERENCIA = 1 << (BITS_DIFERENCIA - 1);
+    static final int MAX_EQUIPOS = 1 << BITS_INDICE;
+
+    private final int equipos;
+    private final int[] puntosBase;
+    private final int[] diferenciaBase;
+    private final int[] golesBase;
+    private final int[] locales;
+    private final int[] visitas;
+    // Distribuciones acumuladas de goles de cada partido pendiente, MAX_GOLES + 1 valores por partido
+    private final double[] acumuladaLocal;
+    private final double[] acumuladaVisita;
+
+    /**
+     * @param puntos puntos actuales por índice de equipo
+     * @param diferencia diferencia de goles actual por índice de equipo
+     * @param golesFavor goles a favor actuales por índice de equipo
+     * @param locales índice del equipo local de cada partido pendiente
+     * @param visitas índice del equipo visitante de cada partido pendiente
+     * @param mediasLocal goles esperados del local en cada partido pendiente
+     * @param mediasVisita goles esperados del visitante en cada partido pendiente
+     * @throws IllegalArgumentException si la liga es demasiado grande para las claves de orden
+     */
+    SimuladorTemporada(int[] puntos, int[] diferencia, int[] golesFavor,
+                       int[] locales, int[] visitas, double[] mediasLocal, double[] mediasVisita) {
+        this.equipos = puntos.length;
+        this.puntosBase = puntos;
+        this.diferenciaBase = diferencia;
+        this.golesBase = golesFavor;
+        this.locales = locales;
+        this.visitas = visitas;
+        long maxPartidos = locales.length;
+        if (equipos > MAX_EQUIPOS
+                || Arrays.stream(puntos).max().orElse(0) + 3 * maxPartidos >= 1L << BITS_PUNTOS
+                || Arrays.stream(golesFavor).max().orElse(0) + MAX_GOLES * maxPartidos >= 1L << BITS_GOLES
+                || Arrays.stream(diferencia).map(Math::abs).max().orElse(0) + MAX_GOLES * maxPartidos >= DESPLAZAMIENTO_DIFERENCIA) {
+            throw new IllegalArgumentException("La liga es demasiado grande para simularla");
+        }
+        this.acumuladaLocal = new double[locales.length * (MAX_GOLES + 1)];
+        this.acumuladaVisita = new double[locales.length * (MAX_GOLES + 1)];
+        for (int k = 0; k < locales.length; k++) {
+            acumularPoisson(mediasLocal[k], acumuladaLocal, k * (MAX_GOLES + 1));
+            acumularPoisson(mediasVisita[k], acumuladaVisita, k * (MAX_GOLES + 1));
+        }
+    }
+
+    /**
+     * Ajusta por máxima verosimilitud un modelo de Poisson con ataque y defensa por equipo y
+     * ventaja de localía: los goles del local son {@code mediaLocal × ataque(local) × defensa(visita)}.
+     * Se resuelve con actualizaciones alternadas de ataques y defensas, que convergen en pocas iteraciones.
+     */
+    static Modelo ajustar(List<ResultadoFinalizado> resultados) {
+        Map<Integer, Integer> indices = new HashMap<>();
+        int partidos = resultados.size();
+        int[] locales = new int[partidos];
+        int[] visitas = new int[partidos];
+        double golesLocal = 0;
+        double golesVisita = 0;
+        for (int k = 0; k < partidos; k++) {
+            ResultadoFinalizado resultado = resultados.get(k);
+            locales[k] = indices.computeIfAbsent(resultado.equipoLocalId(), id -> indices.size());
+            visitas[k] = indices.computeIfAbsent(resultado.equipoVisitaId(), id -> indices.size());
+            golesLocal += resultado.golesLocal();
+            golesVisita += resultado.golesVisita();
+        }
+        double mediaLocal = partidos > 0 && golesLocal > 0 ? golesLocal / partidos : MEDIA_LOCAL_DEFECTO;
+        double mediaVisita = partidos > 0 && golesVisita > 0 ? golesVisita / partidos : MEDIA_VISITA_DEFECTO;
+        double previo = PARTIDOS_PREVIOS * (mediaLocal + mediaVisita) / 2;
+
+        int n = indices.size();
+        double[] favor = new double[n];
+        double[] contra = new double[n];
+        for (int k = 0; k < partidos; k++) {
+            ResultadoFinalizado resultado = resultados.get(k);
+            favor[locales[k]] += resultado.golesLocal();
+            contra[locales[k]] += resultado.golesVisita();
+            favor[visitas[k]] += resultado.golesVisita();
+            contra[visitas[k]] += resultado.golesLocal();
+        }
+        double[] ataque = new double[n];
+        double[] defensa = new double[n];
+        Arrays.fill(ataque, 1);
+        Arrays.fill(defensa, 1);
+        double[] esperados = new double[n];
+        for (int iteracion = 0; iteracion < ITERACIONES_AJUSTE && n > 0; iteracion++) {
+            Arrays.fill(esperados, 0);
+            for (int k = 0; k < partidos; k++) {
+                esperados[locales[k]] += mediaLocal * defensa[visitas[k]];
+                esperados[visitas[k]] += mediaVisita * defensa[locales[k]];
+            }
+            for (int i = 0; i < n; i++) {
+                ataque[i] = (favor[i] + previo) / (esperados[i] + previo);
+            }
+            Arrays.fill(esperados, 0);
+            for (int k = 0; k < partidos; k++) {
+                esperados[locales[k]] += mediaVisita * ataque[visitas[k]];
+                esperados[visitas[k]] += mediaLocal * ataque[locales[k]];
+            }
+            for (int i = 0; i < n; i++) {
+                defensa[i] = (contra[i] + previo) / (esperados[i] + previo);
+            }
+            // Ataque promedio 1; el producto ataque × defensa no cambia
+            double promedio = Arrays.stream(ataque).average().orElse(1);
+            for (int i = 0; i < n; i++) {
+                ataque[i] /= promedio;
+                defensa[i] *= promedio;
+            }
+        }
+        return new Modelo(indices, ataque, defensa, mediaLocal, mediaVisita);
+    }
+
+    /**
+     * Simula la temporada {@code simulaciones} veces
+     */
+    Resultado simular(int simulaciones, long semilla) {
+        return ForkJoinPool.commonPool().invoke(new Tarea(simulaciones, new SplittableRandom(semilla)));
+    }
+
+    private Resultado simularLote(int simulaciones, SplittableRandom azar) {
+        int n = equipos;
+        int pendientes = locales.length;
+        int[] puntos = new int[n];
+        int[] diferencia = new int[n];
+        int[] goles = new int[n];
+        long[] claves = new long[n];
+        Resultado resultado = new Resultado(new long[n * n], new long[n]);
+        for (int s = 0; s < simulaciones; s++) {
+            System.arraycopy(puntosBase, 0, puntos, 0, n);
+            System.arraycopy(diferenciaBase, 0, diferencia, 0, n);
+            System.arraycopy(golesBase, 0, goles, 0, n);
+            for (int k = 0, base = 0; k < pendientes; k++, base += MAX_GOLES + 1) {
+                int golesLocal = sortear(acumuladaLocal, base, azar.nextDouble());
+                int golesVisita = sortear(acumuladaVisita, base, azar.nextDouble());
+                int local = locales[k];
+                int visita = visitas[k];
+                goles[local] += golesLocal;
+                goles[visita] += golesVisita;
+                diferencia[local] += golesLocal - golesVisita;
+                diferencia[visita] += golesVisita - golesLocal;
+                if (golesLocal > golesVisita) {
+                    puntos[local] += 3;
+                } else if (golesLocal < golesVisita) {
+                    puntos[visita] += 3;
+                } else {
+                    puntos[local]++;
+                    puntos[visita]++;
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                claves[i] = (long) puntos[i] << (BITS_DIFERENCIA + BITS_GOLES + BITS_INDICE)
+                        | (long) (diferencia[i] + DESPLAZAMIENTO_DIFERENCIA) << (BITS_GOLES + BITS_INDICE)
+                        | (long) goles[i] << BITS_INDICE
+                        // A igualdad de todo lo demás queda primero el índice menor (nombre anterior)
+                        | (MAX_EQUIPOS - 1 - i);
+            }
+            Arrays.sort(claves);
+            for (int posicion = 0; posicion < n; posicion++) {
+                int i = MAX_EQUIPOS - 1 - (int) (claves[n - 1 - posicion] & (MAX_EQUIPOS - 1));
+                resultado.posiciones()[i * n + posicion]++;
+                resultado.puntos()[i] += puntos[i];
+            }
+        }
+        return resultado;
+    }
+
+    private static int sortear(double[] acumulada, int base, double azar) {
+        int goles = 0;
+        while (goles < MAX_GOLES && azar >= acumulada[base + goles]) {
+            goles++;
+        }
+        return goles;
+    }
+
+    private static void acumularPoisson(double media, double[] acumulada, int base) {
+        double probabilidad = Math.exp(-media);
+        double total = probabilidad;
+        for (int goles = 0; goles < MAX_GOLES; goles++) {
+            acumulada[base + goles] = total;
+            probabilidad *= media / (goles + 1);
+            total += probabilidad;
+        }
+        acumulada[base + MAX_GOLES] = 1;
+    }
+
+    /**
+     * Fuerzas ajustadas; los equipos sin resultados tienen ataque y defensa 1
+     */
+    record Modelo(Map<Integer, Integer> indices, double[] ataque, double[] defensa,
+                  double mediaLocal, double mediaVisita) {
+
+        double golesLocal(Integer localId, Integer visitaId) {
+            return mediaLocal * ataque(localId) * defensa(visitaId);
+        }
+
+        double golesVisita(Integer localId, Integer visitaId) {
+            return mediaVisita * ataque(visitaId) * defensa(localId);
+        }
+
+        private double ataque(Integer equipoId) {
+            Integer indice = indices.get(equipoId);
+            return indice != null ? ataque[indice] : 1;
+        }
+
+        private double defensa(Integer equipoId) {
+            Integer indice = indices.get(equipoId);
+            return indice != null ? defensa[indice] : 1;
+        }
+
+    }
+
+    /**
+     * Conteos acumulados: {@code posiciones[equipo × n + posición]} y la suma de puntos finales de cada equipo
+     */
+    record Resultado(long[] posiciones, long[] puntos) {
+
+        private Resultado sumar(Resultado otro) {
+            Arrays.setAll(posiciones, i -> posiciones[i] + otro.posiciones[i]);
+            Arrays.setAll(puntos, i -> puntos[i] + otro.puntos[i]);
+            return this;
+        }
+
+    }
+
+    private final class Tarea extends RecursiveTask<Resultado> {
+
+        // ForkJoinTask es Serializable, pero las tareas sólo viven dentro del pool y nunca se serializan
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final int simulaciones;
+        private final transient SplittableRandom azar;
+
+        private Tarea(int simulaciones, SplittableRandom azar) {
+            this.simulaciones = simulaciones;
+            this.azar = azar;
+        }
+
+        @Override
+        protected Resultado compute() {
+            if (simulaciones <= SIMULACIONES_POR_TAREA) {
+                return simularLote(simulaciones, azar);
+            }
+            int mitad = simulaciones / 2;
+            Tarea izquierda = new Tarea(mitad, azar.split());
+            izquierda.fork();
+            Resultado derecha = new Tarea(simulaciones - mitad, azar).compute();
+            return derecha.sumar(izquierda.join());
+        }
+
+    }
+
+}
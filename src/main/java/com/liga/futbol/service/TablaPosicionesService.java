@@ -0,0 +1,430 @@
+package com.liga.futbol.service;
+
+import com.liga.futbol.event.EquipoCambiadoEvent;
+import com.liga.futbol.event.LigaCambiadaEvent;
+import com.liga.futbol.event.PartidoCambiadoEvent;
+import com.liga.futbol.event.ResultadoPartido;
+import com.liga.futbol.model.dto.EquipoResumen;
+import com.liga.futbol.model.dto.FilaTabla;
+import com.liga.futbol.model.dto.ResultadoFinalizado;
+import com.liga.futbol.model.repository.EquipoRepository;
+import com.liga.futbol.model.repository.LigaRepository;
+import com.liga.futbol.model.repository.PartidoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servicio que mantiene en memoria la tabla de posiciones de cada liga.
+ * La tabla se construye una vez desde la base de datos y luego se actualiza
+ * incrementalmente con cada cambio confirmado de un partido.
+ * Como otras instancias de la API también modifican partidos y equipos, cada tabla guarda la
+ * huella de la base de datos con la que se construyó (partidos y equipos inscritos) y, a lo sumo
+ * cada {@code liga.tabla.validacion}, la compara con la actual; si difieren se reconstruye.
+ */
+@Service
+public class TablaPosicionesService {
+
+    private static final Logger log = LoggerFactory.getLogger(TablaPosicionesService.class);
+
+    private static final int PUNTOS_VICTORIA = 3;
+    private static final int PUNTOS_EMPATE = 1;
+
+    private static final Comparator<Estadistica> ORDEN_TABLA = Comparator
+            .comparingInt(Estadistica::puntos).reversed()
+            .thenComparing(Comparator.comparingInt(Estadistica::diferencia).reversed())
+            .thenComparing(Comparator.comparingInt((Estadistica e) -> e.golesFavor).reversed())
+            .thenComparing(e -> e.nombre, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+
+    private final PartidoRepository partidoRepository;
+    private final LigaRepository ligaRepository;
+    private final EquipoRepository equipoRepository;
+    private final ArchivoTemporadasService archivoTemporadas;
+    private final long validacionNanos;
+
+    private final Map<Integer, TablaLiga> tablas = new ConcurrentHashMap<>();
+    // Cambios de partidos por liga que empezaron a confirmarse, y los que aún no terminan, para
+    // no guardar una tabla construida mientras se confirmaba uno: según el momento de la lectura
+    // podría incluirlo y además recibirlo después en alCambiarPartido
+    private final Map<Integer, AtomicLong> cambios = new ConcurrentHashMap<>();
+    private final Map<Integer, AtomicInteger> enCurso = new ConcurrentHashMap<>();
+
+    public TablaPosicionesService(PartidoRepository partidoRepository,
+                                  LigaRepository ligaRepository,
+                                  EquipoRepository equipoRepository,
+                                  ArchivoTemporadasService archivoTemporadas,
+                                  @Value("${liga.tabla.validacion:1s}") Duration validacion) {
+        this.partidoRepository = partidoRepository;
+        this.ligaRepository = ligaRepository;
+        this.equipoRepository = equipoRepository;
+        this.archivoTemporadas = archivoTemporadas;
+        this.validacionNanos = validacion.toNanos();
+    }
+
+    /**
+     * Obtiene la tabla de posiciones de una liga, construyéndola desde la base de datos
+     * sólo la primera vez que se solicita o cuando su huella ya no coincide con la de la base de
+     * datos. Si un partido de la liga se confirmó mientras se construía, se responde con ella
+     * pero no se guarda.
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<FilaTabla>> obtenerTabla(Integer ligaId) {
+        TablaLiga tabla = tablas.get(ligaId);
+        if (tabla != null && tabla.debeValidarse() && !tabla.validar(huella(ligaId))) {
+            log.debug("La tabla de la liga {} cambió en la base de datos y se reconstruye", ligaId);
+            tablas.remove(ligaId, tabla);
+            tabla = null;
+        }
+        if (tabla == null) {
+            if (!archivoTemporadas.archivada(ligaId) && !ligaRepository.existsById(ligaId)) {
+                return Optional.empty();
+            }
+            // Se construye fuera de computeIfAbsent para no consultar la base de datos con el
+            // mapa bloqueado (con hilos virtuales eso fija el hilo a su portador)
+            long version = cambios(ligaId).get();
+            boolean estable = enCurso(ligaId).get() == 0;
+            TablaLiga nueva = construir(ligaId);
+            if (!estable || cambios(ligaId).get() != version) {
+                return Optional.of(nueva.filas());
+            }
+            TablaLiga existente = tablas.putIfAbsent(ligaId, nueva);
+            tabla = existente != null ? existente : nueva;
+        }
+        return Optional.of(tabla.filas());
+    }
+
+    /**
+     * Reconstruye la tabla de una liga desde la base de datos y reemplaza la versión en memoria.
+     * Si ambas versiones difieren se registra una advertencia. Si un partido de la liga se
+     * confirmó mientras se construía, la tabla en memoria se descarta en lugar de reemplazarse.
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<FilaTabla>> reconstruir(Integer ligaId) {
+        if (!ligaRepository.existsById(ligaId)) {
+            tablas.remove(ligaId);
+            return Optional.empty();
+        }
+        long version = cambios(ligaId).get();
+        boolean estable = enCurso(ligaId).get() == 0;
+        TablaLiga nueva = construir(ligaId);
+        List<FilaTabla> filas = nueva.filas();
+        if (!estable || cambios(ligaId).get() != version) {
+            tablas.remove(ligaId);
+            return Optional.of(filas);
+        }
+        TablaLiga anterior = tablas.put(ligaId, nueva);
+        if (anterior != null && !anterior.filas().equals(filas)) {
+            log.warn("La tabla en memoria de la liga {} no coincidía con la base de datos y fue reconstruida", ligaId);
+        }
+        return Optional.of(filas);
+    }
+
+    /**
+     * Descarta la tabla en memoria de una liga; se reconstruirá en la próxima lectura
+     */
+    public void invalidar(Integer ligaId) {
+        tablas.remove(ligaId);
+    }
+
+    /**
+     * Actualiza el nombre de un equipo en las tablas en memoria. Si se eliminó, se descartan
+     * las tablas que lo incluían.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarEquipo(EquipoCambiadoEvent evento) {
+        tablas.forEach((ligaId, tabla) -> {
+            if (evento.eliminado()) {
+                if (tabla.incluye(evento.equipoId())) {
+                    tablas.remove(ligaId, tabla);
+                }
+            } else {
+                tabla.renombrar(evento.equipoId(), evento.nombre());
+            }
+        });
+    }
+
+    /**
+     * Registra un cambio de partido que está por confirmarse
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void antesDeConfirmarPartido(PartidoCambiadoEvent evento) {
+        for (Integer ligaId : ligas(evento)) {
+            enCurso(ligaId).incrementAndGet();
+            cambios(ligaId).incrementAndGet();
+        }
+    }
+
+    /**
+     * Registra que terminó la transacción de un cambio de partido, confirmada o no
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void despuesDeConfirmarPartido(PartidoCambiadoEvent evento) {
+        for (Integer ligaId : ligas(evento)) {
+            enCurso(ligaId).decrementAndGet();
+        }
+    }
+
+    /**
+     * Aplica a la tabla en memoria el cambio de un partido una vez confirmada la transacción
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarPartido(PartidoCambiadoEvent evento) {
+        ResultadoPartido anterior = evento.anterior();
+        ResultadoPartido actual = evento.actual();
+        if (anterior != null && anterior.finalizado()) {
+            TablaLiga tabla = tablas.get(anterior.ligaId());
+            if (tabla != null) {
+                tabla.aplicar(anterior, -1);
+            }
+        }
+        if (actual != null && actual.finalizado()) {
+            TablaLiga tabla = tablas.get(actual.ligaId());
+            if (tabla != null) {
+                tabla.aplicar(actual, 1);
+            }
+        }
+    }
+
+    /**
+     * Descarta la tabla de una liga eliminada para que no se siga respondiendo desde memoria
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarLiga(LigaCambiadaEvent evento) {
+        if (evento.eliminada()) {
+            invalidar(evento.ligaId());
+        }
+    }
+
+    private static Set<Integer> ligas(PartidoCambiadoEvent evento) {
+        Set<Integer> ligas = new HashSet<>(2);
+        for (ResultadoPartido estado : new ResultadoPartido[] {evento.anterior(), evento.actual()}) {
+            if (estado != null && estado.ligaId() != null) {
+                ligas.add(estado.ligaId());
+            }
+        }
+        return ligas;
+    }
+
+    private AtomicLong cambios(Integer ligaId) {
+        return cambios.computeIfAbsent(ligaId, id -> new AtomicLong());
+    }
+
+    private AtomicInteger enCurso(Integer ligaId) {
+        return enCurso.computeIfAbsent(ligaId, id -> new AtomicInteger());
+    }
+
+    /**
+     * Huella actual de la liga: la del snapshot si está archivada, o la de sus partidos y
+     * equipos inscritos calculada en la base de datos
+     */
+    private String huella(Integer ligaId) {
+        Optional<TemporadaArchivada> archivada = archivoTemporadas.temporada(ligaId);
+        if (archivada.isPresent()) {
+            return "a" + archivada.get().huella().texto();
+        }
+        return partidoRepository.huellaLiga(ligaId).texto() + '/' + ligaRepository.huellaInscripciones(ligaId).texto();
+    }
+
+    private TablaLiga construir(Integer ligaId) {
+        Optional<TemporadaArchivada> archivada = archivoTemporadas.temporada(ligaId);
+        if (archivada.isPresent()) {
+            return construir(archivada.get().equipos(), archivada.get().resultadosFinalizados(),
+                    "a" + archivada.get().huella().texto());
+        }
+        // La huella se lee antes que los datos: si cambian entre ambas lecturas la tabla queda
+        // con una huella anterior y se reconstruye en la próxima validación
+        String huella = huella(ligaId);
+        List<ResultadoFinalizado> resultados = partidoRepository.findResultadosFinalizados(ligaId);
+        Set<Integer> equipoIds = new HashSet<>(ligaRepository.findEquipoIds(ligaId));
+        for (ResultadoFinalizado resultado : resultados) {
+            equipoIds.add(resultado.equipoLocalId());
+            equipoIds.add(resultado.equipoVisitaId());
+        }
+        List<EquipoResumen> equipos = equipoIds.isEmpty() ? List.of() : equipoRepository.findResumenes(equipoIds);
+        TablaLiga tabla = construir(equipos, resultados, huella);
+        log.debug("Tabla de la liga {} construida con {} partidos finalizados", ligaId, resultados.size());
+        return tabla;
+    }
+
+    private TablaLiga construir(List<EquipoResumen> equipos, List<ResultadoFinalizado> resultados, String huella) {
+        TablaLiga tabla = new TablaLiga(huella);
+        for (EquipoResumen equipo : equipos) {
+            tabla.registrarEquipo(equipo.id(), equipo.nombre());
+        }
+        for (ResultadoFinalizado resultado : resultados) {
+            tabla.sumar(resultado.equipoLocalId(), resultado.equipoVisitaId(),
+                    resultado.golesLocal(), resultado.golesVisita(), 1);
+        }
+        return tabla;
+    }
+
+    private String nombreEquipo(Integer equipoId) {
+        return equipoRepository.findResumenes(List.of(equipoId)).stream()
+                .findFirst()
+                .map(EquipoResumen::nombre)
+                .orElse(null);
+    }
+
+    /**
+     * Estado acumulado de un equipo dentro de una tabla
+     */
+    private static final class Estadistica {
+
+        private final Integer equipoId;
+        private String nombre;
+        private int ganados;
+        private int empatados;
+        private int perdidos;
+        private int golesFavor;
+        private int golesContra;
+
+        private Estadistica(Integer equipoId, String nombre) {
+            this.equipoId = equipoId;
+            this.nombre = nombre;
+        }
+
+        private int puntos() {
+            return ganados * PUNTOS_VICTORIA + empatados * PUNTOS_EMPATE;
+        }
+
+        private int diferencia() {
+            return golesFavor - golesContra;
+        }
+
+        private void sumar(int favor, int contra, int signo) {
+            golesFavor += signo * favor;
+            golesContra += signo * contra;
+            if (favor > contra) {
+                ganados += signo;
+            } else if (favor == contra) {
+                empatados += signo;
+            } else {
+                perdidos += signo;
+            }
+        }
+
+        private FilaTabla aFila(int posicion) {
+            return new FilaTabla(posicion, equipoId, nombre, ganados + empatados + perdidos,
+                    ganados, empatados, perdidos, golesFavor, golesContra, diferencia(), puntos());
+        }
+
+    }
+
+    /**
+     * Tabla en memoria de una liga. Las filas ordenadas se recalculan sólo
+     * cuando la tabla cambia, por lo que las lecturas son O(equipos).
+     */
+    private final class TablaLiga {
+
+        private final Map<Integer, Estadistica> estadisticas = new HashMap<>();
+        private final String huella;
+        private volatile long validadaEn = System.nanoTime();
+        private volatile List<FilaTabla> filas;
+
+        private TablaLiga(String huella) {
+            this.huella = huella;
+        }
+
+        private boolean debeValidarse() {
+            return System.nanoTime() - validadaEn >= validacionNanos;
+        }
+
+        /**
+         * Compara la huella con la que se construyó la tabla con la actual
+         * @return false si difieren y la tabla debe reconstruirse
+         */
+        private boolean validar(String actual) {
+            if (!huella.equals(actual)) {
+                return false;
+            }
+            validadaEn = System.nanoTime();
+            return true;
+        }
+
+        private synchronized boolean incluye(Integer equipoId) {
+            return estadisticas.containsKey(equipoId);
+        }
+
+        private synchronized void renombrar(Integer equipoId, String nombre) {
+            Estadistica estadistica = estadisticas.get(equipoId);
+            if (estadistica != null && !Objects.equals(estadistica.nombre, nombre)) {
+                estadistica.nombre = nombre;
+                filas = null;
+            }
+        }
+
+        private synchronized void registrarEquipo(Integer equipoId, String nombre) {
+            estadisticas.putIfAbsent(equipoId, new Estadistica(equipoId, nombre));
+            filas = null;
+        }
+
+        /**
+         * Aplica un resultado. Los nombres de equipos nuevos se consultan antes de tomar el
+         * bloqueo de la tabla, para no retenerlo durante la consulta.
+         */
+        private void aplicar(ResultadoPartido resultado, int signo) {
+            registrarSiFalta(resultado.equipoLocalId());
+            registrarSiFalta(resultado.equipoVisitaId());
+            sumar(resultado.equipoLocalId(), resultado.equipoVisitaId(),
+                    resultado.golesLocal(), resultado.golesVisita(), signo);
+        }
+
+        private void registrarSiFalta(Integer equipoId) {
+            boolean registrado;
+            synchronized (this) {
+                registrado = estadisticas.containsKey(equipoId);
+            }
+            if (!registrado) {
+                registrarEquipo(equipoId, nombreEquipo(equipoId));
+            }
+        }
+
+        private synchronized void sumar(Integer localId, Integer visitaId, Short golesLocal, Short golesVisita, int signo) {
+            estadistica(localId).sumar(golesLocal, golesVisita, signo);
+            estadistica(visitaId).sumar(golesVisita, golesLocal, signo);
+            filas = null;
+        }
+
+        private Estadistica estadistica(Integer equipoId) {
+            return estadisticas.computeIfAbsent(equipoId, id -> new Estadistica(id, null));
+        }
+
+        private List<FilaTabla> filas() {
+            List<FilaTabla> actuales = filas;
+            if (actuales == null) {
+                synchronized (this) {
+                    if (filas == null) {
+                        List<Estadistica> ordenadas = new ArrayList<>(estadisticas.values());
+                        ordenadas.sort(ORDEN_TABLA);
+                        List<FilaTabla> nuevas = new ArrayList<>(ordenadas.size());
+                        for (int i = 0; i < ordenadas.size(); i++) {
+                            nuevas.add(ordenadas.get(i).aFila(i + 1));
+                        }
+                        filas = List.copyOf(nuevas);
+                    }
+                    actuales = filas;
+                }
+            }
+            return actuales;
+        }
+
+    }
+
+}
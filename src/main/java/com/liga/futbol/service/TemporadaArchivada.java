@@ -0,0 +1,325 @@
+package com.liga.futbol.service;
+
+import com.liga.futbol.model.dto.EquipoResumen;
+import com.liga.futbol.model.dto.HuellaPartidos;
+import com.liga.futbol.model.dto.PartidoResumen;
+import com.liga.futbol.model.dto.ResultadoFinalizado;
+import com.liga.futbol.event.ResultadoPartido;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Snapshot binario de solo lectura de una temporada cerrada, mapeado en memoria.
+ * <p>
+ * Formato (big-endian):
+ * <pre>
+ * cabecera  MAGIA int, VERSION short, reservado short, ligaId int,
+ *           equipos int, partidos int, estados int, crc int,
+ *           huella de los partidos en la base de datos: 4 × long  (60 bytes)
+ * equipos   equipos × id int, ordenados por ID
+ * partidos  partidos × 24 bytes, ordenados por jornada, fecha, hora e ID:
+ *           id int, jornada short, local short, visita short,
+ *           golesLocal short, golesVisita short (-1 = sin goles),
+ *           estado byte, relleno byte, fecha int (día epoch), hora int (segundo del día, -1 = sin hora)
+ * textos    nombre de la liga, nombres de equipos y estados: largo short + UTF-8
+ * </pre>
+ * Las columnas de partidos se leen directamente del buffer mapeado; sólo los textos (unos
+ * pocos por temporada) se decodifican al abrir el archivo.
+ */
+final class TemporadaArchivada {
+
+    private static final int MAGIA = 0x4C494741; // "LIGA"
+    private static final short VERSION = 2;
+    private static final int CABECERA = 60;
+    private static final int POSICION_CRC = 24;
+    private static final int POSICION_HUELLA = 28;
+    private static final int FILA = 24;
+    private static final short SIN_VALOR = -1;
+
+    private final Path archivo;
+    private final ByteBuffer datos;
+    private final int ligaId;
+    private final String nombreLiga;
+    private final HuellaPartidos huella;
+    private final int[] equipoIds;
+    private final EquipoResumen[] equipos;
+    private final String[] estados;
+    private final int inicioPartidos;
+    private final int partidos;
+    // inicioJornada[j] = primera fila de la jornada j; inicioJornada[j + 1] marca su fin
+    private final int[] inicioJornada;
+
+    private TemporadaArchivada(Path archivo, ByteBuffer datos) throws IOException {
+        this.archivo = archivo;
+        this.datos = datos;
+        if (datos.limit() < CABECERA || datos.getInt(0) != MAGIA || datos.getShort(4) != VERSION) {
+            throw new IOException("Formato de snapshot desconocido: " + archivo);
+        }
+        ligaId = datos.getInt(8);
+        int cantidadEquipos = datos.getInt(12);
+        partidos = datos.getInt(16);
+        int cantidadEstados = datos.getInt(20);
+        if (crc(datos, datos.limit()) != datos.getInt(POSICION_CRC)) {
+            throw new IOException("Snapshot corrupto: " + archivo);
+        }
+        huella = new HuellaPartidos(datos.getLong(POSICION_HUELLA), datos.getLong(POSICION_HUELLA + 8),
+                datos.getLong(POSICION_HUELLA + 16), datos.getLong(POSICION_HUELLA + 24));
+
+        equipoIds = new int[cantidadEquipos];
+        for (int i = 0; i < cantidadEquipos; i++) {
+            equipoIds[i] = datos.getInt(CABECERA + i * Integer.BYTES);
+        }
+        inicioPartidos = CABECERA + cantidadEquipos * Integer.BYTES;
+
+        ByteBuffer textos = datos.duplicate().position(inicioPartidos + partidos * FILA);
+        nombreLiga = leerTexto(textos);
+        equipos = new EquipoResumen[cantidadEquipos];
+        for (int i = 0; i < cantidadEquipos; i++) {
+            equipos[i] = new EquipoResumen(equipoIds[i], leerTexto(textos));
+        }
+        estados = new String[cantidadEstados];
+        for (int i = 0; i < cantidadEstados; i++) {
+            estados[i] = leerTexto(textos);
+        }
+
+        int ultimaJornada = 0;
+        for (int fila = 0; fila < partidos; fila++) {
+            ultimaJornada = Math.max(ultimaJornada, jornada(fila));
+        }
+        inicioJornada = new int[ultimaJornada + 2];
+        Arrays.fill(inicioJornada, -1);
+        for (int fila = partidos - 1; fila >= 0; fila--) {
+            int jornada = jornada(fila);
+            if (jornada >= 0) {
+                inicioJornada[jornada] = fila;
+            }
+        }
+        inicioJornada[ultimaJornada + 1] = partidos;
+        // Las jornadas sin partidos toman el inicio de la siguiente, quedando vacías
+        for (int j = ultimaJornada; j >= 0; j--) {
+            if (inicioJornada[j] < 0) {
+                inicioJornada[j] = inicioJornada[j + 1];
+            }
+        }
+    }
+
+    /**
+     * Mapea un snapshot existente verificando su formato y suma de control
+     */
+    static TemporadaArchivada abrir(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            MappedByteBuffer mapeado = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            return new TemporadaArchivada(archivo, mapeado);
+        }
+    }
+
+    /**
+     * Escribe el snapshot de una temporada en un archivo temporal y lo mueve a su destino,
+     * de modo que un lector nunca ve un archivo a medio escribir
+     * @param partidos partidos ordenados por jornada, fecha, hora e ID
+     * @param huella huella de los partidos en la base de datos, leída antes que ellos
+     */
+    static void escribir(Path archivo, Integer ligaId, String nombreLiga, List<EquipoResumen> equipos,
+                         List<PartidoResumen> partidos, HuellaPartidos huella) throws IOException {
+        List<EquipoResumen> ordenados = new ArrayList<>(equipos);
+        ordenados.sort((a, b) -> Integer.compare(a.id(), b.id()));
+        Map<Integer, Integer> indiceEquipo = new HashMap<>();
+        for (int i = 0; i < ordenados.size(); i++) {
+            indiceEquipo.put(ordenados.get(i).id(), i);
+        }
+        if (ordenados.size() > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Demasiados equipos para un snapshot: " + ordenados.size());
+        }
+        Map<String, Integer> indiceEstado = new LinkedHashMap<>();
+        for (PartidoResumen partido : partidos) {
+            indiceEstado.putIfAbsent(partido.estado(), indiceEstado.size());
+        }
+        if (indiceEstado.size() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Demasiados estados distintos para un snapshot");
+        }
+
+        List<byte[]> textos = new ArrayList<>();
+        textos.add(bytes(nombreLiga));
+        for (EquipoResumen equipo : ordenados) {
+            textos.add(bytes(equipo.nombre()));
+        }
+        for (String estado : indiceEstado.keySet()) {
+            textos.add(bytes(estado));
+        }
+        int largoTextos = textos.stream().mapToInt(texto -> Short.BYTES + texto.length).sum();
+
+        ByteBuffer buffer = ByteBuffer.allocate(CABECERA + ordenados.size() * Integer.BYTES
+                + partidos.size() * FILA + largoTextos);
+        buffer.putInt(MAGIA).putShort(VERSION).putShort((short) 0).putInt(ligaId)
+                .putInt(ordenados.size()).putInt(partidos.size()).putInt(indiceEstado.size()).putInt(0)
+                .putLong(huella.cantidad()).putLong(huella.sumaIds())
+                .putLong(huella.sumaVersiones()).putLong(huella.sumaRevisionesEquipos());
+        for (EquipoResumen equipo : ordenados) {
+            buffer.putInt(equipo.id());
+        }
+        for (PartidoResumen partido : partidos) {
+            buffer.putInt(partido.id())
+                    .putShort(partido.jornada() != null ? partido.jornada() : SIN_VALOR)
+                    .putShort(indiceEquipo.get(partido.equipoLocal().id()).shortValue())
+                    .putShort(indiceEquipo.get(partido.equipoVisita().id()).shortValue())
+                    .putShort(partido.golesLocal() != null ? partido.golesLocal() : SIN_VALOR)
+                    .putShort(partido.golesVisita() != null ? partido.golesVisita() : SIN_VALOR)
+                    .put(indiceEstado.get(partido.estado()).byteValue())
+                    .put((byte) 0)
+                    .putInt((int) partido.fecha().toEpochDay())
+                    .putInt(partido.horaInicio() != null ? partido.horaInicio().toSecondOfDay() : SIN_VALOR);
+        }
+        for (byte[] texto : textos) {
+            buffer.putShort((short) texto.length).put(texto);
+        }
+        buffer.putInt(POSICION_CRC, crc(buffer, buffer.position()));
+        buffer.flip();
+
+        Files.createDirectories(archivo.getParent());
+        Path temporal = Files.createTempFile(archivo.getParent(), archivo.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    canal.write(buffer);
+                }
+                canal.force(true);
+            }
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    Path archivo() {
+        return archivo;
+    }
+
+    int ligaId() {
+        return ligaId;
+    }
+
+    String nombreLiga() {
+        return nombreLiga;
+    }
+
+    /**
+     * Huella que tenían los partidos en la base de datos cuando se escribió el snapshot
+     */
+    HuellaPartidos huella() {
+        return huella;
+    }
+
+    int cantidadPartidos() {
+        return partidos;
+    }
+
+    long bytes() {
+        return datos.limit();
+    }
+
+    boolean incluyeEquipo(int equipoId) {
+        return Arrays.binarySearch(equipoIds, equipoId) >= 0;
+    }
+
+    List<EquipoResumen> equipos() {
+        return List.of(equipos);
+    }
+
+    /**
+     * Partidos de una jornada en el mismo orden que la consulta equivalente
+     */
+    List<PartidoResumen> jornada(short jornada) {
+        if (jornada < 0 || jornada >= inicioJornada.length - 1) {
+            return List.of();
+        }
+        int desde = inicioJornada[jornada];
+        int hasta = inicioJornada[jornada + 1];
+        List<PartidoResumen> resultado = new ArrayList<>(hasta - desde);
+        for (int fila = desde; fila < hasta; fila++) {
+            resultado.add(resumen(fila));
+        }
+        return resultado;
+    }
+
+    /**
+     * Resultados finalizados de la temporada, para construir la tabla de posiciones
+     */
+    List<ResultadoFinalizado> resultadosFinalizados() {
+        List<ResultadoFinalizado> resultado = new ArrayList<>(partidos);
+        for (int fila = 0; fila < partidos; fila++) {
+            int base = inicioPartidos + fila * FILA;
+            short golesLocal = datos.getShort(base + 10);
+            short golesVisita = datos.getShort(base + 12);
+            if (golesLocal != SIN_VALOR && golesVisita != SIN_VALOR
+                    && ResultadoPartido.FINALIZADO.equals(estados[datos.get(base + 14)])) {
+                resultado.add(new ResultadoFinalizado(equipos[datos.getShort(base + 6)].id(),
+                        equipos[datos.getShort(base + 8)].id(), golesLocal, golesVisita));
+            }
+        }
+        return resultado;
+    }
+
+    private short jornada(int fila) {
+        return datos.getShort(inicioPartidos + fila * FILA + 4);
+    }
+
+    private PartidoResumen resumen(int fila) {
+        int base = inicioPartidos + fila * FILA;
+        short jornada = datos.getShort(base + 4);
+        short golesLocal = datos.getShort(base + 10);
+        short golesVisita = datos.getShort(base + 12);
+        int hora = datos.getInt(base + 20);
+        return new PartidoResumen(
+                datos.getInt(base),
+                ligaId,
+                jornada != SIN_VALOR ? jornada : null,
+                LocalDate.ofEpochDay(datos.getInt(base + 16)),
+                hora != SIN_VALOR ? LocalTime.ofSecondOfDay(hora) : null,
+                equipos[datos.getShort(base + 6)],
+                equipos[datos.getShort(base + 8)],
+                golesLocal != SIN_VALOR ? golesLocal : null,
+                golesVisita != SIN_VALOR ? golesVisita : null,
+                estados[datos.get(base + 14)]);
+    }
+
+    /**
+     * CRC32 de todo el contenido hasta {@code fin}, salvo el campo que guarda la suma
+     */
+    private static int crc(ByteBuffer buffer, int fin) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit(POSICION_CRC).position(0));
+        crc.update(buffer.duplicate().limit(fin).position(POSICION_CRC + Integer.BYTES));
+        return (int) crc.getValue();
+    }
+
+    private static byte[] bytes(String texto) {
+        byte[] bytes = (texto != null ? texto : "").getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Texto demasiado largo para un snapshot");
+        }
+        return bytes;
+    }
+
+    private static String leerTexto(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
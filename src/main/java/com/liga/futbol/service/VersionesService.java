@@ -0,0 +1,79 @@
+package com.liga.futbol.service;
+
+import com.liga.futbol.model.entity.Equipo;
+import com.liga.futbol.model.entity.Liga;
+import org.springframework.stereotype.Service;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * ETags de ligas, jornadas y equipos para responder GET condicionales (ETag / If-None-Match).
+ * Se derivan sólo del estado guardado en la base de datos (versiones de los partidos y revisiones
+ * de equipos y ligas), así que todas las instancias de la API calculan el mismo ETag para el
+ * mismo contenido y sobreviven a los reinicios.
+ * El ETag de una jornada se consulta en la misma base de datos que sus partidos y antes de
+ * leerlos, de modo que nunca es más nuevo que el contenido; el de una jornada archivada es la
+ * huella guardada en el snapshot del que se leerá, y los de ligas y equipos se calculan a
+ * partir de la entidad que se va a responder.
+ */
+@Service
+public class VersionesService {
+
+    private final PartidoService partidoService;
+    private final EquipoService equipoService;
+    private final ArchivoTemporadasService archivoTemporadas;
+
+    public VersionesService(PartidoService partidoService, EquipoService equipoService,
+                            ArchivoTemporadasService archivoTemporadas) {
+        this.partidoService = partidoService;
+        this.equipoService = equipoService;
+        this.archivoTemporadas = archivoTemporadas;
+    }
+
+    /**
+     * ETag de los partidos de una jornada (incluyen los nombres de los equipos)
+     */
+    public String etagJornada(Integer ligaId, Short jornada) {
+        Optional<TemporadaArchivada> archivada = archivoTemporadas.temporada(ligaId);
+        if (archivada.isPresent()) {
+            return "a" + archivada.get().huella().texto();
+        }
+        return "j" + partidoService.obtenerHuellaJornada(ligaId, jornada).texto();
+    }
+
+    /**
+     * ETag de una liga con sus equipos inscritos
+     */
+    public String etagLiga(Liga liga) {
+        return "l" + liga.getId() + "." + liga.getRevision() + "-" + etagEquipos(liga.getEquipos());
+    }
+
+    public String etagEquipo(Equipo equipo) {
+        return "e" + equipo.getId() + "." + equipo.getRevision();
+    }
+
+    /**
+     * ETag del listado de todos los equipos calculado en la base de datos, sin leerlos.
+     * Coincide con {@link #etagEquipos} del listado completo en el mismo estado.
+     */
+    public String etagTodosLosEquipos() {
+        return "e" + equipoService.obtenerHuella().texto();
+    }
+
+    /**
+     * ETag de un listado de equipos: cambia con cualquier alta, baja o modificación
+     */
+    public String etagEquipos(Collection<Equipo> equipos) {
+        long sumaIds = 0;
+        long sumaRevisiones = 0;
+        if (equipos != null) {
+            for (Equipo equipo : equipos) {
+                sumaIds += equipo.getId();
+                sumaRevisiones += equipo.getRevision();
+            }
+        }
+        int cantidad = equipos != null ? equipos.size() : 0;
+        return "e" + Long.toString(cantidad, 36) + "." + Long.toString(sumaIds, 36) + "." + Long.toString(sumaRevisiones, 36);
+    }
+
+}
@@ -0,0 +1,58 @@
+-- Esquema inicial de la API de Liga de Fútbol (PostgreSQL).
+-- Las secuencias avanzan de a 50 porque Hibernate reserva los IDs en bloques (allocationSize = 50).
+
+CREATE SEQUENCE equipos_id_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE ligas_id_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE partidos_id_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE equipos (
+    id              INTEGER      NOT NULL,
+    nombre          VARCHAR(100) NOT NULL,
+    anio_fundacion  SMALLINT     NOT NULL,
+    comuna_local    VARCHAR(80)  NOT NULL,
+    historia        TEXT         NOT NULL,
+    CONSTRAINT pk_equipos PRIMARY KEY (id),
+    CONSTRAINT uk_equipos_nombre UNIQUE (nombre)
+);
+
+CREATE TABLE ligas (
+    id            INTEGER      NOT NULL,
+    nombre        VARCHAR(100) NOT NULL,
+    anio          SMALLINT     NOT NULL,
+    fecha_inicio  DATE         NOT NULL,
+    fecha_fin     DATE         NOT NULL,
+    descripcion   TEXT,
+    CONSTRAINT pk_ligas PRIMARY KEY (id)
+);
+
+CREATE TABLE equipos_liga (
+    liga_id    INTEGER NOT NULL,
+    equipo_id  INTEGER NOT NULL,
+    CONSTRAINT pk_equipos_liga PRIMARY KEY (equipo_id, liga_id),
+    CONSTRAINT fk_equipos_liga_liga FOREIGN KEY (liga_id) REFERENCES ligas (id),
+    CONSTRAINT fk_equipos_liga_equipo FOREIGN KEY (equipo_id) REFERENCES equipos (id)
+);
+
+CREATE TABLE partidos (
+    id                INTEGER     NOT NULL,
+    liga_id           INTEGER     NOT NULL,
+    jornada           SMALLINT    NOT NULL,
+    fecha             DATE        NOT NULL,
+    hora_inicio       TIME(6)     NOT NULL,
+    equipo_local_id   INTEGER     NOT NULL,
+    equipo_visita_id  INTEGER     NOT NULL,
+    goles_local       SMALLINT,
+    goles_visita      SMALLINT,
+    estado            VARCHAR(20) NOT NULL DEFAULT 'PROGRAMADO',
+    version           BIGINT      NOT NULL,
+    CONSTRAINT pk_partidos PRIMARY KEY (id),
+    CONSTRAINT fk_partidos_liga FOREIGN KEY (liga_id) REFERENCES ligas (id),
+    CONSTRAINT fk_partidos_equipo_local FOREIGN KEY (equipo_local_id) REFERENCES equipos (id),
+    CONSTRAINT fk_partidos_equipo_visita FOREIGN KEY (equipo_visita_id) REFERENCES equipos (id)
+);
+
+CREATE INDEX idx_partidos_fecha_hora_id ON partidos (fecha, hora_inicio, id);
+CREATE INDEX idx_partidos_local_visita ON partidos (equipo_local_id, equipo_visita_id);
+CREATE INDEX idx_partidos_liga_jornada ON partidos (liga_id, jornada);
+CREATE INDEX idx_partidos_local_fecha ON partidos (equipo_local_id, fecha);
+CREATE INDEX idx_partidos_visita_fecha ON partidos (equipo_visita_id, fecha);
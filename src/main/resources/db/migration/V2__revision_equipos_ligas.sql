@@ -0,0 +1,5 @@
+-- Revisión de equipos y ligas: crece con cada modificación y forma parte de los ETags,
+-- de modo que todas las instancias de la API calculan los mismos.
+
+ALTER TABLE equipos ADD COLUMN revision BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE ligas ADD COLUMN revision BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,109 @@
+package com.liga.futbol.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LimiteConcurrenciaFilterTest {
+
+    @Test
+    void unaRafagaMayorQueElPoolNuncaEsperaUnaConexion() throws Exception {
+        int tamanoPool = 20;
+        LimiteConcurrenciaFilter filtro = new LimiteConcurrenciaFilter(tamanoPool, 2, Duration.ofSeconds(10));
+        // Pool simulado: las conexiones reservadas las ocupan tareas en segundo plano
+        Semaphore pool = new Semaphore(tamanoPool);
+        pool.acquire(2);
+        AtomicInteger sinConexion = new AtomicInteger();
+        FilterChain consulta = (request, response) -> {
+            if (!pool.tryAcquire()) {
+                sinConexion.incrementAndGet();
+                return;
+            }
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                pool.release();
+            }
+        };
+
+        List<Future<Integer>> estados = new ArrayList<>();
+        CountDownLatch largada = new CountDownLatch(1);
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10 * tamanoPool; i++) {
+                estados.add(hilos.submit(() -> {
+                    MockHttpServletResponse response = new MockHttpServletResponse();
+                    largada.await();
+                    filtro.doFilter(new MockHttpServletRequest("GET", "/partidos"), response, consulta);
+                    return response.getStatus();
+                }));
+            }
+            largada.countDown();
+        }
+
+        assertThat(sinConexion).hasValue(0);
+        for (Future<Integer> estado : estados) {
+            assertThat(estado.get()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void sinTurnoDentroDeLaEsperaResponde503() throws Exception {
+        LimiteConcurrenciaFilter filtro = new LimiteConcurrenciaFilter(3, 2, Duration.ofMillis(10));
+        MockHttpServletRequest exportacion = asincrona();
+        filtro.doFilter(exportacion, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        // La exportación sigue leyendo y conserva el único permiso
+        MockHttpServletResponse rechazada = new MockHttpServletResponse();
+        filtro.doFilter(new MockHttpServletRequest("GET", "/partidos"), rechazada, (request, response) -> { });
+        assertThat(rechazada.getStatus()).isEqualTo(503);
+        assertThat(rechazada.getHeader("Retry-After")).isEqualTo("1");
+
+        ((MockAsyncContext) exportacion.getAsyncContext()).complete();
+        MockHttpServletResponse aceptada = new MockHttpServletResponse();
+        filtro.doFilter(new MockHttpServletRequest("GET", "/partidos"), aceptada, (request, response) -> { });
+        assertThat(aceptada.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void lasSuscripcionesEnVivoLiberanElPermisoAlIniciar() throws Exception {
+        LimiteConcurrenciaFilter filtro = new LimiteConcurrenciaFilter(3, 2, Duration.ofMillis(10));
+        filtro.doFilter(asincrona(), new MockHttpServletResponse(), (request, response) -> {
+            request.startAsync();
+            response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        });
+
+        MockHttpServletResponse siguiente = new MockHttpServletResponse();
+        filtro.doFilter(new MockHttpServletRequest("GET", "/partidos"), siguiente, (request, response) -> { });
+        assertThat(siguiente.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void rechazaReservarTodoElPool() {
+        assertThatThrownBy(() -> new LimiteConcurrenciaFilter(20, 20, Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static MockHttpServletRequest asincrona() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/partidos/exportar");
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.liga.futbol.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Base de las pruebas de la API completa sobre H2. Todas las subclases comparten el mismo
+ * contexto y la misma base de datos, así que cada prueba crea sus propios equipos y ligas.
+ */
+@SpringBootTest(properties = {
+        "liga.importacion.tamano-lote=3",
+        "liga.eliminacion.tamano-lote=3",
+        "liga.archivo.directorio=target/pruebas/${random.uuid}/temporadas",
+        "liga.eliminacion.directorio-exportacion=target/pruebas/${random.uuid}/exportaciones",
+        "liga.escritura-diferida.bitacora=target/pruebas/${random.uuid}/marcadores.log"
+})
+@AutoConfigureMockMvc
+abstract class ApiTest {
+
+    private static final AtomicInteger SECUENCIA = new AtomicInteger();
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    /**
+     * Nombre que no se repite entre pruebas
+     */
+    protected static String nombreUnico(String prefijo) {
+        return prefijo + " " + SECUENCIA.incrementAndGet();
+    }
+
+    protected ObjectNode equipo(String nombre) {
+        return objectMapper.createObjectNode()
+                .put("nombre", nombre)
+                .put("anioFundacion", 1920)
+                .put("comunaLocal", "Santiago")
+                .put("historia", "Fundado en 1920");
+    }
+
+    protected int crearEquipo() throws Exception {
+        return crear("/api/equipos", equipo(nombreUnico("Equipo")));
+    }
+
+    protected int crearLiga(int... equipoIds) throws Exception {
+        ObjectNode liga = objectMapper.createObjectNode()
+                .put("nombre", nombreUnico("Liga"))
+                .put("anio", 2026)
+                .put("fechaInicio", "2026-01-01")
+                .put("fechaFin", "2026-12-31");
+        ArrayNode equipos = liga.putArray("equipos");
+        for (int equipoId : equipoIds) {
+            equipos.addObject().put("id", equipoId);
+        }
+        return crear("/api/ligas", liga);
+    }
+
+    protected ObjectNode partido(int ligaId, int jornada, LocalDate fecha, int localId, int visitaId) {
+        ObjectNode partido = objectMapper.createObjectNode()
+                .put("jornada", jornada)
+                .put("fecha", fecha.toString())
+                .put("horaInicio", "15:00:00");
+        partido.putObject("liga").put("id", ligaId);
+        partido.putObject("equipoLocal").put("id", localId);
+        partido.putObject("equipoVisita").put("id", visitaId);
+        return partido;
+    }
+
+    protected int crearPartido(ObjectNode partido) throws Exception {
+        return crear("/api/partidos", partido);
+    }
+
+    protected int crear(String url, JsonNode cuerpo) throws Exception {
+        return json(mockMvc.perform(post(url).contentType(MediaType.APPLICATION_JSON).content(cuerpo.toString()))
+                .andExpect(status().isCreated())).get("id").asInt();
+    }
+
+    protected JsonNode json(ResultActions resultado) throws Exception {
+        return objectMapper.readTree(resultado.andReturn().getResponse().getContentAsByteArray());
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.liga.futbol.controller;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.liga.futbol.config.CacheConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CacheEquiposLigasTest extends ApiTest {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void actualizarUnEquipoRefrescaElEquipoLaListaYSusLigas() throws Exception {
+        int equipoId = crearEquipo();
+        int ligaId = crearLiga(equipoId);
+        mockMvc.perform(get("/api/equipos/" + equipoId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/equipos")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/ligas/" + ligaId)).andExpect(status().isOk());
+        assertThat(cacheManager.getCache(CacheConfig.EQUIPO).get(equipoId)).isNotNull();
+        assertThat(cacheManager.getCache(CacheConfig.LIGA).get(ligaId)).isNotNull();
+
+        String nombre = nombreUnico("Renombrado");
+        mockMvc.perform(put("/api/equipos/" + equipoId)
+                        .contentType(MediaType.APPLICATION_JSON).content(equipo(nombre).toString()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/equipos/" + equipoId)).andExpect(jsonPath("$.nombre").value(nombre));
+        mockMvc.perform(get("/api/equipos")).andExpect(jsonPath("$[*].nombre", hasItem(nombre)));
+        mockMvc.perform(get("/api/ligas/" + ligaId)).andExpect(jsonPath("$.equipos[0].nombre").value(nombre));
+    }
+
+    @Test
+    void eliminarUnEquipoLoDesalojaDeLaCache() throws Exception {
+        int equipoId = crearEquipo();
+        mockMvc.perform(get("/api/equipos/" + equipoId)).andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/equipos/" + equipoId)).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/equipos/" + equipoId)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/equipos")).andExpect(jsonPath("$[*].id", not(hasItem(equipoId))));
+    }
+
+    @Test
+    void lasBusquedasPorAnioSiguenLasAltasYLosCambiosDeAnio() throws Exception {
+        mockMvc.perform(get("/api/ligas/anio/2031")).andExpect(status().isOk());
+        ObjectNode liga = objectMapper.createObjectNode()
+                .put("nombre", nombreUnico("Liga"))
+                .put("anio", 2031)
+                .put("fechaInicio", "2031-01-01")
+                .put("fechaFin", "2031-12-31");
+        int ligaId = crear("/api/ligas", liga);
+
+        mockMvc.perform(get("/api/ligas/anio/2031")).andExpect(jsonPath("$[*].id", hasItem(ligaId)));
+
+        liga.put("anio", 2032).put("fechaInicio", "2032-01-01").put("fechaFin", "2032-12-31");
+        mockMvc.perform(put("/api/ligas/" + ligaId).contentType(MediaType.APPLICATION_JSON).content(liga.toString()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/ligas/anio/2031")).andExpect(jsonPath("$[*].id", not(hasItem(ligaId))));
+        mockMvc.perform(get("/api/ligas/anio/2032")).andExpect(jsonPath("$[*].id", hasItem(ligaId)));
+        mockMvc.perform(get("/api/ligas/" + ligaId)).andExpect(jsonPath("$.anio").value(2032));
+    }
+
+}
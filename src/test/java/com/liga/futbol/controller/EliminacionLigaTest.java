@@ -0,0 +1,93 @@
+package com.liga.futbol.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class EliminacionLigaTest extends ApiTest {
+
+    // Más que un lote (liga.eliminacion.tamano-lote=3) y no múltiplo de él
+    private static final int PARTIDOS = 7;
+
+    @Test
+    void eliminaLaLigaConTodosSusPartidosPorLotes() throws Exception {
+        int ligaId = ligaConPartidos();
+
+        mockMvc.perform(delete("/api/ligas/" + ligaId)).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/ligas/" + ligaId)).andExpect(status().isNotFound());
+        for (int jornada = 1; jornada <= PARTIDOS; jornada++) {
+            mockMvc.perform(get("/api/partidos/liga/" + ligaId + "/jornada/" + jornada))
+                    .andExpect(jsonPath("$.length()").value(0));
+        }
+        mockMvc.perform(delete("/api/ligas/" + ligaId)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void laEliminacionProgramadaExportaYReportaSuAvance() throws Exception {
+        int ligaId = ligaConPartidos();
+
+        String ubicacion = mockMvc.perform(post("/api/ligas/" + ligaId + "/eliminacion").param("exportar", "ndjson"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", containsString("/api/ligas/eliminaciones/")))
+                .andReturn().getResponse().getHeader("Location");
+        JsonNode estado = esperarFin(ubicacion.substring(ubicacion.indexOf("/api/")));
+
+        assertThat(estado.get("etapa").asText()).isEqualTo("COMPLETADA");
+        assertThat(estado.get("partidosTotales").asLong()).isEqualTo(PARTIDOS);
+        assertThat(estado.get("partidosExportados").asLong()).isEqualTo(PARTIDOS);
+        assertThat(estado.get("partidosEliminados").asLong()).isEqualTo(PARTIDOS);
+        assertThat(Files.readAllLines(Path.of(estado.get("exportacion").asText()))).hasSize(PARTIDOS);
+        mockMvc.perform(get("/api/ligas/" + ligaId)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void rechazaFormatosDesconocidosYLigasInexistentes() throws Exception {
+        int ligaId = ligaConPartidos();
+
+        mockMvc.perform(post("/api/ligas/" + ligaId + "/eliminacion").param("exportar", "xml"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/ligas/999999/eliminacion")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/ligas/eliminaciones/desconocida")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/ligas/" + ligaId)).andExpect(status().isOk());
+    }
+
+    private int ligaConPartidos() throws Exception {
+        int local = crearEquipo();
+        int visita = crearEquipo();
+        int ligaId = crearLiga(local, visita);
+        for (int jornada = 1; jornada <= PARTIDOS; jornada++) {
+            LocalDate fecha = LocalDate.of(2026, 3, 1).plusWeeks(jornada);
+            crearPartido(jornada % 2 == 0
+                    ? partido(ligaId, jornada, fecha, local, visita)
+                    : partido(ligaId, jornada, fecha, visita, local));
+        }
+        return ligaId;
+    }
+
+    private JsonNode esperarFin(String url) throws Exception {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (true) {
+            JsonNode estado = json(mockMvc.perform(get(url)).andExpect(status().isOk()));
+            String etapa = estado.get("etapa").asText();
+            if (etapa.equals("COMPLETADA") || etapa.equals("FALLIDA")) {
+                return estado;
+            }
+            assertThat(System.nanoTime()).as("tiempo de espera agotado").isLessThan(limite);
+            Thread.sleep(20);
+        }
+    }
+
+}
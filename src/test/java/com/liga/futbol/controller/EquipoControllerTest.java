@@ -0,0 +1,76 @@
+package com.liga.futbol.controller;
+
+import com.liga.futbol.model.dto.HuellaRevisiones;
+import com.liga.futbol.model.entity.Equipo;
+import com.liga.futbol.service.ArchivoTemporadasService;
+import com.liga.futbol.service.EquipoService;
+import com.liga.futbol.service.EstadisticasEquipoService;
+import com.liga.futbol.service.ImportacionService;
+import com.liga.futbol.service.PartidoService;
+import com.liga.futbol.service.VersionesService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class EquipoControllerTest {
+
+    private final EquipoService equipoService = mock(EquipoService.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new EquipoController(equipoService,
+            mock(ImportacionService.class),
+            new VersionesService(mock(PartidoService.class), equipoService, mock(ArchivoTemporadasService.class)),
+            mock(EstadisticasEquipoService.class))).build();
+
+    @BeforeEach
+    void dosEquipos() {
+        when(equipoService.obtenerHuella()).thenReturn(new HuellaRevisiones(2L, 3L, 1L));
+        when(equipoService.obtenerTodos()).thenReturn(List.of(equipo(1, "Norte", 0), equipo(2, "Sur", 1)));
+    }
+
+    @Test
+    void conElEtagVigenteResponde304SinLeerLaLista() throws Exception {
+        mockMvc.perform(get("/api/equipos").header(HttpHeaders.IF_NONE_MATCH, "\"e2.3.1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"e2.3.1\""));
+
+        verify(equipoService, never()).obtenerTodos();
+    }
+
+    @Test
+    void conOtroEtagRespondeLaListaConElEtagDeLaHuella() throws Exception {
+        mockMvc.perform(get("/api/equipos").header(HttpHeaders.IF_NONE_MATCH, "\"e2.3.0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"e2.3.1\""))
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void siLaListaNoCoincideConLaHuellaElEtagDescribeLaLista() throws Exception {
+        // Por ejemplo, una lista en caché aún sin el cambio que ya se ve en la huella
+        when(equipoService.obtenerHuella()).thenReturn(new HuellaRevisiones(2L, 3L, 2L));
+
+        mockMvc.perform(get("/api/equipos"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"e2.3.1\""));
+    }
+
+    private static Equipo equipo(int id, String nombre, long revision) {
+        Equipo equipo = new Equipo();
+        equipo.setId(id);
+        equipo.setNombre(nombre);
+        equipo.setRevision(revision);
+        return equipo;
+    }
+
+}
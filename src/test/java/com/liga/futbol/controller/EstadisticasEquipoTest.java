@@ -0,0 +1,96 @@
+package com.liga.futbol.controller;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class EstadisticasEquipoTest extends ApiTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2026, 2, 1);
+
+    private int equipoId;
+    private int ligaId;
+
+    /**
+     * Una derrota, once victorias seguidas (más que la muestra de resultados recientes) y un
+     * partido sin jugar en una liga; un empate posterior en otra
+     */
+    @BeforeEach
+    void temporadaJugada() throws Exception {
+        equipoId = crearEquipo();
+        int rival = crearEquipo();
+        ligaId = crearLiga(equipoId, rival);
+        crearPartido(finalizado(partido(ligaId, 1, INICIO, equipoId, rival), 0, 1));
+        for (int jornada = 2; jornada <= 12; jornada++) {
+            LocalDate fecha = INICIO.plusWeeks(jornada - 1);
+            crearPartido(jornada % 2 == 0
+                    ? finalizado(partido(ligaId, jornada, fecha, equipoId, rival), 2, 0)
+                    : finalizado(partido(ligaId, jornada, fecha, rival, equipoId), 1, 3));
+        }
+        crearPartido(partido(ligaId, 13, INICIO.plusWeeks(12), equipoId, rival));
+
+        int otroRival = crearEquipo();
+        int otraLiga = crearLiga(equipoId, otroRival);
+        crearPartido(finalizado(partido(otraLiga, 1, INICIO.plusWeeks(14), otroRival, equipoId), 1, 1));
+    }
+
+    @Test
+    void sumaLosPartidosFinalizadosDeLocalYDeVisita() throws Exception {
+        mockMvc.perform(get("/api/equipos/" + equipoId + "/estadisticas").param("ultimos", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total.jugados").value(13))
+                .andExpect(jsonPath("$.total.ganados").value(11))
+                .andExpect(jsonPath("$.total.empatados").value(1))
+                .andExpect(jsonPath("$.total.perdidos").value(1))
+                .andExpect(jsonPath("$.total.golesFavor").value(12 + 15 + 1))
+                .andExpect(jsonPath("$.total.golesContra").value(1 + 5 + 1))
+                .andExpect(jsonPath("$.local.jugados").value(7))
+                .andExpect(jsonPath("$.visita.jugados").value(6))
+                .andExpect(jsonPath("$.racha.resultado").value("EMPATE"))
+                .andExpect(jsonPath("$.racha.partidos").value(1))
+                .andExpect(jsonPath("$.forma").value("EVV"))
+                .andExpect(jsonPath("$.ultimos.length()").value(3));
+    }
+
+    @Test
+    void unaRachaMasLargaQueLaMuestraSeCuentaEntera() throws Exception {
+        mockMvc.perform(get("/api/equipos/" + equipoId + "/estadisticas")
+                        .param("ligaId", String.valueOf(ligaId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ligaId").value(ligaId))
+                .andExpect(jsonPath("$.total.jugados").value(12))
+                .andExpect(jsonPath("$.racha.resultado").value("VICTORIA"))
+                .andExpect(jsonPath("$.racha.partidos").value(11))
+                .andExpect(jsonPath("$.forma").value("VVVVV"));
+    }
+
+    @Test
+    void unaTemporadaSinPartidosNoTieneRacha() throws Exception {
+        mockMvc.perform(get("/api/equipos/" + equipoId + "/estadisticas").param("temporada", "2025"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total.jugados").value(0))
+                .andExpect(jsonPath("$.racha").doesNotExist())
+                .andExpect(jsonPath("$.forma").value(""));
+    }
+
+    @Test
+    void validaLosParametros() throws Exception {
+        mockMvc.perform(get("/api/equipos/" + equipoId + "/estadisticas").param("ultimos", "51"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/equipos/999999/estadisticas")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/equipos/" + equipoId + "/estadisticas").param("ligaId", "999999"))
+                .andExpect(status().isNotFound());
+    }
+
+    private static ObjectNode finalizado(ObjectNode partido, int golesLocal, int golesVisita) {
+        return partido.put("golesLocal", golesLocal)
+                .put("golesVisita", golesVisita)
+                .put("estado", "FINALIZADO");
+    }
+
+}
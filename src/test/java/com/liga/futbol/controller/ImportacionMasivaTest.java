@@ -0,0 +1,96 @@
+package com.liga.futbol.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ImportacionMasivaTest extends ApiTest {
+
+    private static final LocalDate FECHA = LocalDate.of(2026, 4, 4);
+
+    @Test
+    void importaLasFilasValidasYRechazaLasDemasEnSuPosicion() throws Exception {
+        int a = crearEquipo();
+        int b = crearEquipo();
+        int c = crearEquipo();
+        int noInscrito = crearEquipo();
+        int ligaId = crearLiga(a, b, c);
+        ArrayNode filas = objectMapper.createArrayNode()
+                .add(partido(ligaId, 1, FECHA, a, b))
+                .add(partido(ligaId, 1, FECHA, a, a))
+                .add(partido(ligaId, 1, FECHA, c, 999_999))
+                // Choca con la primera fila del mismo lote: el equipo a ya juega ese día
+                .add(partido(ligaId, 1, FECHA, c, a))
+                .add(partido(ligaId, 1, FECHA, c, noInscrito))
+                .add(partido(ligaId, 2, FECHA.plusDays(7), b, c))
+                .add(partido(ligaId, 3, FECHA.plusDays(14), c, a));
+
+        JsonNode resultados = json(mockMvc.perform(post("/api/partidos/bulk")
+                        .contentType(MediaType.APPLICATION_JSON).content(filas.toString()))
+                .andExpect(status().isOk()));
+
+        assertThat(resultados).hasSize(7);
+        for (int i = 0; i < 7; i++) {
+            assertThat(resultados.get(i).get("indice").asInt()).isEqualTo(i);
+        }
+        assertThat(estados(resultados)).containsExactly(
+                "CREADO", "RECHAZADO", "RECHAZADO", "RECHAZADO", "RECHAZADO", "CREADO", "CREADO");
+        assertThat(resultados.get(2).get("error").asText()).contains("999999");
+        int creado = resultados.get(5).get("id").asInt();
+        mockMvc.perform(get("/api/partidos/" + creado))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.jornada").value(2));
+    }
+
+    @Test
+    void importaEquiposNdjsonEnVariosLotes() throws Exception {
+        String repetido = nombreUnico("Repetido");
+        StringBuilder cuerpo = new StringBuilder();
+        for (int i = 0; i < 7; i++) {
+            cuerpo.append(equipo(nombreUnico("Importado"))).append('\n');
+        }
+        cuerpo.append(equipo(repetido)).append('\n');
+        cuerpo.append(equipo(repetido)).append('\n');
+        cuerpo.append(objectMapper.createObjectNode().put("nombre", nombreUnico("Incompleto"))).append('\n');
+
+        JsonNode resultados = json(mockMvc.perform(post("/api/equipos/bulk")
+                        .contentType("application/x-ndjson").content(cuerpo.toString()))
+                .andExpect(status().isOk()));
+
+        assertThat(estados(resultados)).containsExactly("CREADO", "CREADO", "CREADO", "CREADO", "CREADO",
+                "CREADO", "CREADO", "CREADO", "RECHAZADO", "RECHAZADO");
+        Set<Integer> ids = new HashSet<>();
+        for (int i = 0; i < 8; i++) {
+            ids.add(resultados.get(i).get("id").asInt());
+        }
+        assertThat(ids).hasSize(8).doesNotContainNull();
+        mockMvc.perform(get("/api/equipos/" + resultados.get(7).get("id").asInt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nombre").value(repetido));
+    }
+
+    @Test
+    void unCuerpoNdjsonMalFormadoResponde400() throws Exception {
+        mockMvc.perform(post("/api/equipos/bulk").contentType("application/x-ndjson").content("{\"nombre\":"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static String[] estados(JsonNode resultados) {
+        String[] estados = new String[resultados.size()];
+        for (int i = 0; i < estados.length; i++) {
+            estados[i] = resultados.get(i).get("estado").asText();
+        }
+        return estados;
+    }
+
+}
@@ -0,0 +1,143 @@
+package com.liga.futbol.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class JornadaCodificadaTest extends ApiTest {
+
+    private static final LocalDate FECHA = LocalDate.of(2026, 4, 4);
+
+    private String url;
+    private int local;
+    private int finalizado;
+    private int pendiente;
+
+    /**
+     * Jornada con un partido finalizado y otro aún sin jugar
+     */
+    @BeforeEach
+    void jornadaAbierta() throws Exception {
+        local = crearEquipo();
+        int visita = crearEquipo();
+        int otroLocal = crearEquipo();
+        int otraVisita = crearEquipo();
+        int ligaId = crearLiga(local, visita, otroLocal, otraVisita);
+        finalizado = crearPartido(partido(ligaId, 1, FECHA, local, visita)
+                .put("golesLocal", 2).put("golesVisita", 0).put("estado", "FINALIZADO"));
+        pendiente = crearPartido(partido(ligaId, 1, FECHA, otroLocal, otraVisita));
+        url = "/api/partidos/liga/" + ligaId + "/jornada/1";
+    }
+
+    @Test
+    void unaJornadaCerradaSeSirveComprimidaConSuPropioEtag() throws Exception {
+        MockHttpServletResponse abierta = mockMvc.perform(get(url).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse();
+
+        finalizar(pendiente, 1, 1);
+
+        MockHttpServletResponse comprimida = mockMvc.perform(get(url).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn().getResponse();
+        String etag = comprimida.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).endsWith(RespuestaVersionada.SUFIJO_GZIP + "\"").isNotEqualTo(abierta.getHeader(HttpHeaders.ETAG));
+        JsonNode partidos = objectMapper.readTree(new GZIPInputStream(new ByteArrayInputStream(comprimida.getContentAsByteArray())));
+        assertThat(partidos).hasSize(2);
+
+        MockHttpServletResponse plana = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse();
+        assertThat(objectMapper.readTree(plana.getContentAsByteArray())).isEqualTo(partidos);
+
+        // Cada representación responde 304 con su propio ETag
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, plana.getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, plana.getHeader(HttpHeaders.ETAG)));
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, abierta.getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void unaCorreccionNoRecibeLaRespuestaGuardada() throws Exception {
+        finalizar(pendiente, 1, 1);
+        String etag = mockMvc.perform(get(url)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        finalizar(finalizado, 3, 0);
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == " + finalizado + ")].golesLocal").value(3));
+    }
+
+    @Test
+    void unEquipoRenombradoNoRecibeLaRespuestaGuardada() throws Exception {
+        finalizar(pendiente, 1, 1);
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+
+        String nombre = nombreUnico("Renombrado");
+        mockMvc.perform(put("/api/equipos/" + local).contentType(MediaType.APPLICATION_JSON)
+                        .content(equipo(nombre).toString()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == " + finalizado + ")].equipoLocal.nombre").value(nombre));
+    }
+
+    @Test
+    void cadaListaDeCamposTieneSuPropioEtag() throws Exception {
+        finalizar(pendiente, 1, 1);
+        String completo = mockMvc.perform(get(url)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse proyeccion = mockMvc.perform(get(url).param("fields", "id,golesLocal"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].estado").doesNotExist())
+                .andReturn().getResponse();
+        String etag = proyeccion.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).contains("-f").isNotEqualTo(completo);
+
+        mockMvc.perform(get(url).param("fields", "id,golesLocal").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get(url).param("fields", "id,golesLocal").header(HttpHeaders.IF_NONE_MATCH, completo))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(url).param("fields", "id,desconocido")).andExpect(status().isBadRequest());
+    }
+
+    private void finalizar(int partidoId, int golesLocal, int golesVisita) throws Exception {
+        long version = json(mockMvc.perform(get("/api/partidos/" + partidoId))).get("version").asLong();
+        mockMvc.perform(patch("/api/partidos/" + partidoId + "/resultado").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.createObjectNode()
+                                .put("golesLocal", golesLocal)
+                                .put("golesVisita", golesVisita)
+                                .put("estado", "FINALIZADO")
+                                .put("version", version)
+                                .toString()))
+                .andExpect(status().isOk());
+    }
+
+}
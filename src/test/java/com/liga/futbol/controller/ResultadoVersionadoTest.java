@@ -0,0 +1,98 @@
+package com.liga.futbol.controller;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.liga.futbol.service.IdempotenciaService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ResultadoVersionadoTest extends ApiTest {
+
+    private int partidoId;
+    private long version;
+
+    @BeforeEach
+    void partidoProgramado() throws Exception {
+        int local = crearEquipo();
+        int visita = crearEquipo();
+        partidoId = crearPartido(partido(crearLiga(local, visita), 1, LocalDate.of(2026, 5, 9), local, visita));
+        version = json(mockMvc.perform(get("/api/partidos/" + partidoId))).get("version").asLong();
+    }
+
+    @Test
+    void aplicaElResultadoSoloSobreLaVersionIndicada() throws Exception {
+        aplicar(null, 1, 0, "EN_JUEGO", version)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.golesLocal").value(1))
+                .andExpect(jsonPath("$.version").value(version + 1));
+
+        // Otro cliente que leyó la versión anterior no pisa el cambio
+        aplicar(null, 0, 0, "EN_JUEGO", version).andExpect(status().isConflict());
+
+        mockMvc.perform(get("/api/partidos/" + partidoId))
+                .andExpect(jsonPath("$.golesLocal").value(1))
+                .andExpect(jsonPath("$.version").value(version + 1));
+    }
+
+    @Test
+    void losReintentosConLaMismaClaveNoSeAplicanDosVeces() throws Exception {
+        aplicar("clave-" + partidoId, 2, 1, "FINALIZADO", version)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(version + 1));
+
+        // El reintento lleva la versión ya superada, pero recibe la respuesta original
+        aplicar("clave-" + partidoId, 2, 1, "FINALIZADO", version)
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotenciaService.HEADER_REPETIDA, "true"))
+                .andExpect(jsonPath("$.version").value(version + 1));
+        aplicar("clave-" + partidoId, 3, 1, "FINALIZADO", version)
+                .andExpect(status().isUnprocessableEntity());
+
+        mockMvc.perform(get("/api/partidos/" + partidoId)).andExpect(jsonPath("$.version").value(version + 1));
+    }
+
+    @Test
+    void conMarcadoresDiferidosSinEscribirResponde409() throws Exception {
+        mockMvc.perform(put("/api/partidos/" + partidoId + "/marcador").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"golesLocal\":1,\"golesVisita\":0,\"estado\":\"EN_JUEGO\"}"))
+                .andExpect(status().isAccepted());
+
+        // Pendiente o ya escrito (con una versión nueva), la corrección sobre la versión leída no se aplica
+        aplicar(null, 0, 0, "EN_JUEGO", version).andExpect(status().isConflict());
+    }
+
+    @Test
+    void validaElCuerpoYElPartido() throws Exception {
+        aplicar(null, -1, 0, "EN_JUEGO", version).andExpect(status().isBadRequest());
+        aplicar(null, 1, 0, "EN_JUEGO", null).andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/partidos/999999/resultado").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"golesLocal\":1,\"golesVisita\":0,\"version\":0}"))
+                .andExpect(status().isNotFound());
+    }
+
+    private ResultActions aplicar(String clave, int golesLocal, int golesVisita, String estado, Long version)
+            throws Exception {
+        ObjectNode cuerpo = objectMapper.createObjectNode()
+                .put("golesLocal", golesLocal)
+                .put("golesVisita", golesVisita)
+                .put("estado", estado)
+                .put("version", version);
+        var solicitud = patch("/api/partidos/" + partidoId + "/resultado")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(cuerpo.toString());
+        if (clave != null) {
+            solicitud.header(IdempotenciaService.HEADER_CLAVE, clave);
+        }
+        return mockMvc.perform(solicitud);
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.liga.futbol.model.dto;
+
+import org.junit.jupiter.api.Test;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorPartidosTest {
+
+    @Test
+    void codificarYDecodificarDevuelveElMismoCursor() {
+        for (CursorPartidos cursor : new CursorPartidos[] {
+                new CursorPartidos(LocalDate.of(2026, 3, 14), LocalTime.of(15, 0), 42),
+                new CursorPartidos(LocalDate.of(2026, 12, 31), LocalTime.of(23, 59, 59, 500_000_000), Integer.MAX_VALUE),
+                CursorPartidos.INICIO}) {
+            String codificado = cursor.codificar();
+
+            assertThat(codificado).matches("[A-Za-z0-9_-]+");
+            assertThat(CursorPartidos.decodificar(codificado)).isEqualTo(cursor);
+        }
+    }
+
+    @Test
+    void despuesDeApuntaAlPartido() {
+        PartidoResumen partido = new PartidoResumen(7, 1, (short) 3, LocalDate.of(2026, 3, 14), LocalTime.of(18, 30),
+                1, "Club A", 2, "Club B", null, null, "PROGRAMADO");
+
+        assertThat(CursorPartidos.despuesDe(partido))
+                .isEqualTo(new CursorPartidos(LocalDate.of(2026, 3, 14), LocalTime.of(18, 30), 7));
+    }
+
+    @Test
+    void sinCursorSeEmpiezaDesdeElInicio() {
+        assertThat(CursorPartidos.decodificar(null)).isEqualTo(CursorPartidos.INICIO);
+        assertThat(CursorPartidos.decodificar(" ")).isEqualTo(CursorPartidos.INICIO);
+    }
+
+    @Test
+    void rechazaCursoresInvalidos() {
+        for (String cursor : new String[] {"no es base64!", base64("2026-03-14|15:00"),
+                base64("2026-03-14|15:00|7|8"), base64("2026-02-30|15:00|7"), base64("2026-03-14|25:00|7"),
+                base64("2026-03-14|15:00|siete")}) {
+            assertThatThrownBy(() -> CursorPartidos.decodificar(cursor))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Cursor inválido");
+        }
+    }
+
+    private static String base64(String texto) {
+        return Base64.getUrlEncoder().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
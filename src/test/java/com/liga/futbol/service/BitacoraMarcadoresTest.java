@@ -0,0 +1,147 @@
+package com.liga.futbol.service;
+
+import com.liga.futbol.model.dto.MarcadorDiferido;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BitacoraMarcadoresTest {
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    void recuperaLosCambiosEnElOrdenEnQueSeAgregaron() throws IOException {
+        Path archivo = directorio.resolve("marcadores.log");
+        List<MarcadorDiferido> cambios = List.of(
+                cambio(7, 1, 0, "EN_JUEGO", 1),
+                cambio(3, 0, 0, null, 2),
+                cambio(7, 2, 0, null, 3));
+        try (BitacoraMarcadores bitacora = BitacoraMarcadores.abrir(archivo, new ArrayList<>())) {
+            bitacora.agregar(cambios.subList(0, 2));
+            bitacora.agregar(cambios.subList(2, 3));
+        }
+
+        List<MarcadorDiferido> recuperados = new ArrayList<>();
+        try (BitacoraMarcadores bitacora = BitacoraMarcadores.abrir(archivo, recuperados)) {
+            assertThat(bitacora.ultimaSecuencia()).isEqualTo(3);
+        }
+        assertThat(recuperados).containsExactlyElementsOf(cambios);
+    }
+
+    @Test
+    void recortaElRegistroCortadoAlFinal() throws IOException {
+        Path archivo = directorio.resolve("marcadores.log");
+        try (BitacoraMarcadores bitacora = BitacoraMarcadores.abrir(archivo, new ArrayList<>())) {
+            bitacora.agregar(List.of(cambio(1, 1, 0, null, 1), cambio(1, 2, 0, null, 2)));
+        }
+        long completo = Files.size(archivo);
+        // Escritura del segundo registro interrumpida por una caída
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+            canal.truncate(completo - 3);
+        }
+
+        List<MarcadorDiferido> recuperados = new ArrayList<>();
+        try (BitacoraMarcadores bitacora = BitacoraMarcadores.abrir(archivo, recuperados)) {
+            assertThat(recuperados).containsExactly(cambio(1, 1, 0, null, 1));
+            assertThat(bitacora.tamano()).isEqualTo(completo / 2);
+            bitacora.agregar(List.of(cambio(1, 3, 0, null, 2)));
+        }
+
+        recuperados.clear();
+        BitacoraMarcadores.abrir(archivo, recuperados).close();
+        assertThat(recuperados).containsExactly(cambio(1, 1, 0, null, 1), cambio(1, 3, 0, null, 2));
+    }
+
+    @Test
+    void descartaDesdeElPrimerRegistroDanado() throws IOException {
+        Path archivo = directorio.resolve("marcadores.log");
+        try (BitacoraMarcadores bitacora = BitacoraMarcadores.abrir(archivo, new ArrayList<>())) {
+            bitacora.agregar(List.of(cambio(1, 1, 0, null, 1)));
+            bitacora.agregar(List.of(cambio(2, 1, 0, null, 2)));
+        }
+        byte[] bytes = Files.readAllBytes(archivo);
+        bytes[bytes.length - 6]++;
+        Files.write(archivo, bytes);
+
+        List<MarcadorDiferido> recuperados = new ArrayList<>();
+        try (BitacoraMarcadores bitacora = BitacoraMarcadores.abrir(archivo, recuperados)) {
+            assertThat(bitacora.tamano()).isEqualTo(bytes.length / 2);
+        }
+        assertThat(recuperados).containsExactly(cambio(1, 1, 0, null, 1));
+    }
+
+    @Test
+    void omiteLosCambiosCubiertosPorUnPuntoDeControl() throws IOException {
+        Path archivo = directorio.resolve("marcadores.log");
+        try (BitacoraMarcadores bitacora = BitacoraMarcadores.abrir(archivo, new ArrayList<>())) {
+            bitacora.agregar(List.of(cambio(1, 1, 0, "EN_JUEGO", 1), cambio(2, 0, 1, null, 2), cambio(1, 2, 0, null, 3)));
+            // Se escribió el partido 1 combinado hasta la secuencia 3; luego llega otro cambio
+            bitacora.marcarAplicados(List.of(cambio(1, 2, 0, "EN_JUEGO", 3)));
+            bitacora.agregar(List.of(cambio(1, 3, 0, "FINALIZADO", 4)));
+        }
+
+        List<MarcadorDiferido> recuperados = new ArrayList<>();
+        try (BitacoraMarcadores bitacora = BitacoraMarcadores.abrir(archivo, recuperados)) {
+            assertThat(bitacora.ultimaSecuencia()).isEqualTo(4);
+        }
+        assertThat(recuperados).containsExactly(cambio(2, 0, 1, null, 2), cambio(1, 3, 0, "FINALIZADO", 4));
+    }
+
+    @Test
+    void conservaLaSecuenciaDeLosPuntosDeControl() throws IOException {
+        Path archivo = directorio.resolve("marcadores.log");
+        try (BitacoraMarcadores bitacora = BitacoraMarcadores.abrir(archivo, new ArrayList<>())) {
+            bitacora.agregar(List.of(cambio(1, 1, 0, null, 5)));
+            bitacora.marcarAplicados(List.of(cambio(1, 1, 0, null, 5)));
+        }
+
+        List<MarcadorDiferido> recuperados = new ArrayList<>();
+        try (BitacoraMarcadores bitacora = BitacoraMarcadores.abrir(archivo, recuperados)) {
+            assertThat(recuperados).isEmpty();
+            assertThat(bitacora.ultimaSecuencia()).isEqualTo(5);
+        }
+    }
+
+    @Test
+    void compactarDejaSoloLosRegistrosIndicados() throws IOException {
+        Path archivo = directorio.resolve("marcadores.log");
+        try (BitacoraMarcadores bitacora = BitacoraMarcadores.abrir(archivo, new ArrayList<>())) {
+            bitacora.agregar(List.of(cambio(1, 1, 0, null, 1), cambio(2, 1, 0, null, 2), cambio(1, 2, 0, null, 3)));
+            bitacora.compactar(List.of(cambio(1, 2, 0, null, 3)));
+            bitacora.agregar(List.of(cambio(2, 2, 0, null, 4)));
+        }
+        assertThat(directorio.resolve("marcadores.log.tmp")).doesNotExist();
+
+        List<MarcadorDiferido> recuperados = new ArrayList<>();
+        BitacoraMarcadores.abrir(archivo, recuperados).close();
+        assertThat(recuperados).containsExactly(cambio(1, 2, 0, null, 3), cambio(2, 2, 0, null, 4));
+    }
+
+    @Test
+    void vaciarDescartaTodo() throws IOException {
+        Path archivo = directorio.resolve("marcadores.log");
+        try (BitacoraMarcadores bitacora = BitacoraMarcadores.abrir(archivo, new ArrayList<>())) {
+            bitacora.agregar(List.of(cambio(1, 1, 0, null, 1)));
+            bitacora.vaciar();
+            assertThat(bitacora.tamano()).isZero();
+        }
+
+        List<MarcadorDiferido> recuperados = new ArrayList<>();
+        BitacoraMarcadores.abrir(archivo, recuperados).close();
+        assertThat(recuperados).isEmpty();
+    }
+
+    private static MarcadorDiferido cambio(int partidoId, int golesLocal, int golesVisita, String estado, long secuencia) {
+        return new MarcadorDiferido(partidoId, (short) golesLocal, (short) golesVisita, estado, secuencia);
+    }
+
+}
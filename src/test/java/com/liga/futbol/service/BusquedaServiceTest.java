@@ -0,0 +1,87 @@
+package com.liga.futbol.service;
+
+import com.liga.futbol.event.EquipoCambiadoEvent;
+import com.liga.futbol.model.dto.EquipoResumen;
+import com.liga.futbol.model.dto.HuellaRevisiones;
+import com.liga.futbol.model.repository.EquipoRepository;
+import com.liga.futbol.model.repository.LigaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BusquedaServiceTest {
+
+    private final EquipoRepository equipoRepository = mock(EquipoRepository.class);
+    private final LigaRepository ligaRepository = mock(LigaRepository.class);
+    private final BusquedaService servicio = new BusquedaService(equipoRepository, ligaRepository, Duration.ofHours(1));
+
+    @BeforeEach
+    void cargar() {
+        when(equipoRepository.huella()).thenReturn(new HuellaRevisiones(4L, 10L, 0L));
+        when(equipoRepository.findAllResumenes()).thenReturn(List.of(
+                new EquipoResumen(1, "Deportes Unión Española"),
+                new EquipoResumen(2, "Unión La Calera"),
+                new EquipoResumen(3, "Universidad de Chile"),
+                new EquipoResumen(4, "Colo-Colo")));
+        when(ligaRepository.huella()).thenReturn(new HuellaRevisiones(0L, 0L, 0L));
+        servicio.cargarIndices();
+    }
+
+    @AfterEach
+    void cerrar() {
+        servicio.cerrar();
+    }
+
+    @Test
+    void ignoraAcentosYPrefiereLosQueEmpiezanConElTexto() {
+        assertThat(servicio.buscarEquipos("UNION", 10)).containsExactly(2, 1);
+        assertThat(servicio.buscarEquipos("unión la", 10)).startsWith(2);
+    }
+
+    @Test
+    void toleraErroresDeTipeo() {
+        assertThat(servicio.buscarEquipos("colocolo", 10)).containsExactly(4);
+        assertThat(servicio.buscarEquipos("univrsidad", 10)).containsExactly(3);
+    }
+
+    @Test
+    void aplicaLosCambiosConfirmadosEnEstaInstancia() {
+        servicio.alCambiarEquipo(EquipoCambiadoEvent.guardado(4, "Cobreloa"));
+        servicio.alCambiarEquipo(EquipoCambiadoEvent.eliminado(2));
+
+        assertThat(servicio.buscarEquipos("colo", 10)).isEmpty();
+        assertThat(servicio.buscarEquipos("cobre", 10)).containsExactly(4);
+        assertThat(servicio.buscarEquipos("union", 10)).containsExactly(1);
+    }
+
+    @Test
+    void reconstruyeElIndiceCuandoOtraInstanciaCambiaLosNombres() {
+        when(equipoRepository.findAllResumenes()).thenReturn(List.of(
+                new EquipoResumen(1, "Deportes Unión Española"),
+                new EquipoResumen(4, "Colo-Colo"),
+                new EquipoResumen(5, "Everton")));
+        when(equipoRepository.huella()).thenReturn(new HuellaRevisiones(3L, 10L, 0L));
+
+        servicio.validarIndices();
+
+        assertThat(servicio.buscarEquipos("everton", 10)).containsExactly(5);
+        assertThat(servicio.buscarEquipos("union", 10)).containsExactly(1);
+    }
+
+    @Test
+    void conLaMismaHuellaNoRecargaElIndice() {
+        servicio.validarIndices();
+        servicio.validarIndices();
+
+        verify(equipoRepository, times(1)).findAllResumenes();
+    }
+
+}
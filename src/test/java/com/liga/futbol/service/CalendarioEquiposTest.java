@@ -0,0 +1,87 @@
+package com.liga.futbol.service;
+
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CalendarioEquiposTest {
+
+    private static final LocalDate DIA = LocalDate.of(2026, 3, 14);
+
+    @Test
+    void rechazaDosPartidosElMismoDiaAunqueSuperenElDescanso() {
+        CalendarioEquipos calendario = calendario(Duration.ofHours(2));
+        calendario.registrar(1, 10, 20, DIA, LocalTime.of(0, 0));
+
+        assertThat(calendario.verificarDescanso(null, 10, 30, DIA, LocalTime.of(23, 59)))
+                .isEqualTo("El equipo 10 ya juega el 2026-03-14 a las 00:00 (partido 1)");
+    }
+
+    @Test
+    void rechazaUnPartidoDespuesDeMedianocheDentroDelDescanso() {
+        CalendarioEquipos calendario = calendario(Duration.ofHours(2));
+        calendario.registrar(1, 10, 20, DIA, LocalTime.of(23, 30));
+
+        assertThat(calendario.verificarDescanso(null, 30, 20, DIA.plusDays(1), LocalTime.of(0, 15)))
+                .isEqualTo("El equipo 20 ya juega el 2026-03-14 a las 23:30 (partido 1)");
+        assertThat(calendario.verificarDescanso(null, 30, 20, DIA.plusDays(1), LocalTime.of(1, 30))).isNull();
+    }
+
+    @Test
+    void rechazaUnPartidoAntesDeMedianocheDentroDelDescanso() {
+        CalendarioEquipos calendario = calendario(Duration.ofHours(2));
+        calendario.registrar(1, 10, 20, DIA, LocalTime.of(0, 30));
+
+        assertThat(calendario.verificarDescanso(null, 10, 30, DIA.minusDays(1), LocalTime.of(23, 0))).isNotNull();
+        assertThat(calendario.verificarDescanso(null, 10, 30, DIA.minusDays(1), LocalTime.of(22, 30))).isNull();
+    }
+
+    @Test
+    void aceptaExactamenteElDescansoMinimoEntreDias() {
+        CalendarioEquipos calendario = calendario(Duration.ofHours(48));
+        calendario.registrar(1, 10, 20, DIA, LocalTime.of(20, 0));
+
+        assertThat(calendario.verificarDescanso(null, 10, 30, DIA.plusDays(2), LocalTime.of(20, 0))).isNull();
+        assertThat(calendario.verificarDescanso(null, 10, 30, DIA.minusDays(2), LocalTime.of(20, 0))).isNull();
+        assertThat(calendario.verificarDescanso(null, 10, 30, DIA.plusDays(2), LocalTime.of(19, 59))).isNotNull();
+        assertThat(calendario.verificarDescanso(null, 10, 30, DIA.minusDays(2), LocalTime.of(20, 1))).isNotNull();
+    }
+
+    @Test
+    void ignoraElPartidoQueSeEstaModificando() {
+        CalendarioEquipos calendario = calendario(Duration.ofHours(48));
+        calendario.registrar(1, 10, 20, DIA, LocalTime.of(20, 0));
+
+        assertThat(calendario.verificarDescanso(1, 10, 20, DIA.plusDays(1), LocalTime.of(0, 30))).isNull();
+        assertThat(calendario.verificarDescanso(2, 10, 20, DIA.plusDays(1), LocalTime.of(0, 30))).isNotNull();
+    }
+
+    @Test
+    void informaLosChoquesConPartidosDelMismoLote() {
+        CalendarioEquipos calendario = calendario(Duration.ofHours(48));
+        calendario.registrar(null, 10, 20, DIA, LocalTime.of(23, 0));
+
+        assertThat(calendario.verificarDescanso(null, 30, 10, DIA.plusDays(1), LocalTime.of(1, 0)))
+                .isEqualTo("El equipo 10 ya juega el 2026-03-14 a las 23:00 en este mismo lote");
+        assertThat(calendario.verificarDescanso(null, 30, 40, DIA, LocalTime.of(23, 0))).isNull();
+    }
+
+    @Test
+    void verificaQueAmbosEquiposEstenInscritos() {
+        CalendarioEquipos calendario = calendario(Duration.ofHours(48));
+
+        assertThat(calendario.verificarInscripcion(1, 10, 20)).isNull();
+        assertThat(calendario.verificarInscripcion(1, 10, 30)).isEqualTo("El equipo 30 no está inscrito en la liga 1");
+        assertThat(calendario.verificarInscripcion(2, 10, 20)).isEqualTo("El equipo 10 no está inscrito en la liga 2");
+    }
+
+    private static CalendarioEquipos calendario(Duration descansoMinimo) {
+        return new CalendarioEquipos(descansoMinimo, Map.of(1, Set.of(10, 20)));
+    }
+
+}
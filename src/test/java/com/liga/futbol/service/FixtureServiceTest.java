@@ -0,0 +1,81 @@
+package com.liga.futbol.service;
+
+import com.liga.futbol.model.dto.ConfiguracionFixture;
+import com.liga.futbol.model.dto.PartidoProgramado;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FixtureServiceTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2026, 3, 1);
+    private static final Duration DESCANSO = Duration.ofHours(24);
+    private static final List<Integer> EQUIPOS = List.of(1, 2, 3, 4);
+
+    @Test
+    void conUnHorarioBastaUnDiaEntreJornadas() {
+        List<PartidoProgramado> fixture = FixtureService.generarFixture(EQUIPOS, INICIO, INICIO.plusDays(5),
+                new ConfiguracionFixture(true, null), DESCANSO);
+
+        assertThat(fixture).hasSize(12);
+        assertThat(menorDescanso(fixture)).isGreaterThanOrEqualTo(DESCANSO);
+    }
+
+    @Test
+    void conVariosHorariosLasJornadasSeSeparanLoNecesario() {
+        ConfiguracionFixture configuracion = new ConfiguracionFixture(true, List.of(LocalTime.of(20, 0), LocalTime.of(12, 0)));
+
+        // Un equipo puede jugar a las 20:00 y en la jornada siguiente a las 12:00: un día no alcanza
+        assertThatThrownBy(() -> FixtureService.generarFixture(EQUIPOS, INICIO, INICIO.plusDays(5), configuracion, DESCANSO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("descanso mínimo");
+
+        List<PartidoProgramado> fixture = FixtureService.generarFixture(EQUIPOS, INICIO, INICIO.plusDays(10),
+                configuracion, DESCANSO);
+        assertThat(menorDescanso(fixture)).isGreaterThanOrEqualTo(DESCANSO);
+    }
+
+    @Test
+    void soloCuentanLosHorariosQueSeUsan() {
+        // Dos equipos juegan un partido por jornada: sólo se usa el primer horario
+        List<LocalTime> horarios = List.of(LocalTime.of(12, 0), LocalTime.of(20, 0));
+        assertThat(FixtureService.diasEntreJornadas(horarios.subList(0, 1), DESCANSO)).isEqualTo(1);
+        assertThat(FixtureService.diasEntreJornadas(horarios, DESCANSO)).isEqualTo(2);
+        assertThat(FixtureService.diasEntreJornadas(horarios, Duration.ofHours(6))).isEqualTo(1);
+        assertThat(FixtureService.diasEntreJornadas(horarios, Duration.ofHours(72))).isEqualTo(4);
+
+        List<PartidoProgramado> fixture = FixtureService.generarFixture(List.of(1, 2), INICIO, INICIO.plusDays(1),
+                new ConfiguracionFixture(true, horarios), DESCANSO);
+        assertThat(fixture).hasSize(2);
+    }
+
+    private static Duration menorDescanso(List<PartidoProgramado> fixture) {
+        Map<Integer, List<LocalDateTime>> inicios = new HashMap<>();
+        for (PartidoProgramado partido : fixture) {
+            LocalDateTime inicio = partido.fecha().atTime(partido.horaInicio());
+            inicios.computeIfAbsent(partido.equipoLocalId(), id -> new ArrayList<>()).add(inicio);
+            inicios.computeIfAbsent(partido.equipoVisitaId(), id -> new ArrayList<>()).add(inicio);
+        }
+        Duration menor = null;
+        for (List<LocalDateTime> partidos : inicios.values()) {
+            partidos.sort(null);
+            for (int i = 1; i < partidos.size(); i++) {
+                Duration descanso = Duration.between(partidos.get(i - 1), partidos.get(i));
+                if (menor == null || descanso.compareTo(menor) < 0) {
+                    menor = descanso;
+                }
+            }
+        }
+        return menor;
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.liga.futbol.service;
+
+import com.liga.futbol.model.dto.CambioMarcador;
+import com.liga.futbol.model.dto.MarcadorDiferido;
+import com.liga.futbol.model.entity.Partido;
+import com.liga.futbol.model.repository.PartidoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MarcadorDiferidoServiceTest {
+
+    @TempDir
+    Path directorio;
+
+    private final PartidoRepository partidoRepository = mock(PartidoRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @Test
+    void registraElCambioEnLaBitacora() throws Exception {
+        MarcadorDiferidoService servicio = servicio(directorio.resolve("marcadores.log"));
+
+        Optional<MarcadorDiferido> registrado = servicio.registrar(7, new CambioMarcador((short) 1, (short) 0, "EN_JUEGO"));
+
+        assertThat(registrado).contains(new MarcadorDiferido(7, (short) 1, (short) 0, "EN_JUEGO", 1L));
+        assertThat(servicio.pendientes()).isEqualTo(1);
+        assertThat(servicio.tienePendientes(7)).isTrue();
+        assertThat(servicio.tienePendientes(8)).isFalse();
+        servicio.cerrar();
+    }
+
+    @Test
+    void despuesDeCerrarRechazaLosCambios() throws Exception {
+        MarcadorDiferidoService servicio = servicio(directorio.resolve("marcadores.log"));
+        servicio.cerrar();
+
+        assertThat(servicio.registrar(7, new CambioMarcador((short) 1, (short) 0, null))).isEmpty();
+    }
+
+    @Test
+    void cerrarNoDejaSolicitudesEsperandoParaSiempre() throws Exception {
+        for (int vuelta = 0; vuelta < 10; vuelta++) {
+            MarcadorDiferidoService servicio = servicio(directorio.resolve(vuelta + "/marcadores.log"));
+            ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor();
+            List<Future<Integer>> clientes = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                int partidoId = i;
+                // Cada cliente envía cambios hasta que se le rechaza uno
+                clientes.add(hilos.submit(() -> {
+                    int aceptados = 0;
+                    while (servicio.registrar(partidoId, new CambioMarcador((short) aceptados, (short) 0, null)).isPresent()) {
+                        aceptados++;
+                    }
+                    return aceptados;
+                }));
+            }
+            Thread.sleep(20);
+            servicio.cerrar();
+
+            // Todos terminan con un rechazo; ninguno queda esperando una confirmación
+            for (Future<Integer> cliente : clientes) {
+                assertThat(cliente.get(5, TimeUnit.SECONDS)).isNotNegative();
+            }
+            hilos.shutdownNow();
+        }
+    }
+
+    @Test
+    void unCambioQueNoSePuedeEscribirNoDetieneALosDemas() throws Exception {
+        Map<Integer, Partido> partidos = partidos(1, 2, 3, 4, 5);
+        // El partido 3 hace fallar cualquier transacción que lo incluya, por ejemplo por una restricción
+        when(partidoRepository.findAllById(any())).thenAnswer(invocacion -> {
+            List<Partido> encontrados = new ArrayList<>();
+            for (Integer id : invocacion.<Iterable<Integer>>getArgument(0)) {
+                if (id == 3) {
+                    throw new DataIntegrityViolationException("estado inválido");
+                }
+                encontrados.add(partidos.get(id));
+            }
+            return encontrados;
+        });
+        MarcadorDiferidoService servicio = servicio(directorio.resolve("marcadores.log"));
+        for (int id = 1; id <= 5; id++) {
+            servicio.registrar(id, new CambioMarcador((short) 2, (short) 1, null));
+        }
+
+        servicio.iniciarVolcado();
+
+        esperarHasta(() -> servicio.pendientes() == 0);
+        assertThat(partidos.values()).filteredOn(partido -> partido.getId() != 3)
+                .allSatisfy(partido -> assertThat(partido.getGolesLocal()).isEqualTo((short) 2));
+        assertThat(partidos.get(3).getGolesLocal()).isNull();
+        servicio.cerrar();
+        // El descartado tampoco se recupera al reiniciar
+        List<MarcadorDiferido> recuperados = new ArrayList<>();
+        BitacoraMarcadores.abrir(directorio.resolve("marcadores.log"), recuperados).close();
+        assertThat(recuperados).isEmpty();
+    }
+
+    @Test
+    void sinBaseDeDatosLosCambiosSiguenPendientes() throws Exception {
+        Map<Integer, Partido> partidos = partidos(1, 2, 3);
+        AtomicBoolean disponible = new AtomicBoolean(false);
+        when(partidoRepository.findAllById(any())).thenAnswer(invocacion -> {
+            if (!disponible.get()) {
+                throw new CannotCreateTransactionException("sin conexión");
+            }
+            List<Partido> encontrados = new ArrayList<>();
+            invocacion.<Iterable<Integer>>getArgument(0).forEach(id -> encontrados.add(partidos.get(id)));
+            return encontrados;
+        });
+        MarcadorDiferidoService servicio = servicio(directorio.resolve("marcadores.log"));
+        for (int id = 1; id <= 3; id++) {
+            servicio.registrar(id, new CambioMarcador((short) 0, (short) 1, "EN_JUEGO"));
+        }
+
+        servicio.iniciarVolcado();
+        Thread.sleep(100);
+        assertThat(servicio.pendientes()).isEqualTo(3);
+
+        disponible.set(true);
+        esperarHasta(() -> servicio.pendientes() == 0);
+        assertThat(partidos.values()).allSatisfy(partido -> assertThat(partido.getEstado()).isEqualTo("EN_JUEGO"));
+        servicio.cerrar();
+    }
+
+    private static Map<Integer, Partido> partidos(int... ids) {
+        Map<Integer, Partido> partidos = new ConcurrentHashMap<>();
+        for (int id : ids) {
+            partidos.put(id, Partido.builder().id(id).estado("PROGRAMADO").version(0L).build());
+        }
+        return partidos;
+    }
+
+    private static void esperarHasta(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicion.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("tiempo de espera agotado").isLessThan(limite);
+            Thread.sleep(10);
+        }
+    }
+
+    private MarcadorDiferidoService servicio(Path bitacora) throws IOException {
+        return new MarcadorDiferidoService(partidoRepository, evento -> { }, transactionManager, bitacora,
+                1000, 10, Duration.ofMillis(20), Duration.ofMillis(200), 50_000, DataSize.ofMegabytes(16));
+    }
+
+}
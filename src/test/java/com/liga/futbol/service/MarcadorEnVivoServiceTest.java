@@ -0,0 +1,107 @@
+package com.liga.futbol.service;
+
+import com.liga.futbol.controller.PartidoController;
+import com.liga.futbol.event.PartidoCambiadoEvent;
+import com.liga.futbol.event.ResultadoPartido;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MarcadorEnVivoServiceTest {
+
+    private static final LocalDate FECHA = LocalDate.of(2026, 3, 14);
+    private static final Pattern EVENTO_COMPLETO = Pattern.compile("event:partidos\ndata:\\[.*]\n\n");
+
+    private final MarcadorEnVivoService servicio = new MarcadorEnVivoService(Duration.ofMillis(20),
+            Duration.ofHours(1), Duration.ofMinutes(1), 2, 40);
+    private final MockMvc mockMvc = mockMvc(servicio);
+
+    @AfterEach
+    void cerrar() {
+        servicio.cerrar();
+    }
+
+    @Test
+    void transmiteSoloLosCambiosQueCumplenLosFiltros() throws Exception {
+        MockHttpServletResponse liga = suscribir("/api/partidos/en-vivo?ligaId=1");
+        MockHttpServletResponse otraLiga = suscribir("/api/partidos/en-vivo?ligaId=2");
+
+        servicio.alCambiarPartido(new PartidoCambiadoEvent(partido(7, 1, 0), partido(7, 1, 1)));
+
+        esperarEvento(liga);
+        assertThat(liga.getContentAsString()).contains("\"id\":7").contains("\"golesLocal\":1");
+        assertThat(otraLiga.getContentAsString()).doesNotContain("event:partidos");
+    }
+
+    @Test
+    void acumulaLosCambiosDeUnPartidoEnSuUltimoEstado() throws Exception {
+        servicio.cerrar();
+        // Con un intervalo largo los tres cambios llegan antes del primer envío
+        MarcadorEnVivoService lento = new MarcadorEnVivoService(Duration.ofMillis(300),
+                Duration.ofHours(1), Duration.ofMinutes(1), 10, 40);
+        MockMvc mvc = mockMvc(lento);
+        MockHttpServletResponse respuesta = mvc.perform(get("/api/partidos/en-vivo?partidoId=7"))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+
+        for (int goles = 1; goles <= 3; goles++) {
+            lento.alCambiarPartido(new PartidoCambiadoEvent(partido(7, 1, goles - 1), partido(7, 1, goles)));
+        }
+
+        esperarEvento(respuesta);
+        String cuerpo = respuesta.getContentAsString();
+        assertThat(cuerpo.split("event:partidos", -1)).hasSize(2);
+        assertThat(cuerpo).contains("\"golesLocal\":3").doesNotContain("\"golesLocal\":2");
+        lento.cerrar();
+    }
+
+    @Test
+    void rechazaSuscripcionesPorEncimaDelMaximo() throws Exception {
+        suscribir("/api/partidos/en-vivo?fecha=" + FECHA);
+        suscribir("/api/partidos/en-vivo?fecha=" + FECHA);
+
+        mockMvc.perform(get("/api/partidos/en-vivo?fecha=" + FECHA)).andExpect(status().isServiceUnavailable());
+        mockMvc.perform(get("/api/partidos/en-vivo")).andExpect(status().isBadRequest());
+        assertThat(servicio.cantidadSuscriptores()).isEqualTo(2);
+    }
+
+    private static MockMvc mockMvc(MarcadorEnVivoService servicio) {
+        return MockMvcBuilders.standaloneSetup(new PartidoController(mock(PartidoService.class),
+                mock(ExportacionService.class), mock(ImportacionService.class), mock(ProyeccionPartidosService.class),
+                servicio, mock(VersionesService.class), mock(EnfrentamientoService.class),
+                mock(ArchivoTemporadasService.class), mock(IdempotenciaService.class),
+                mock(MarcadorDiferidoService.class), mock(RespuestasCodificadasService.class))).build();
+    }
+
+    private MockHttpServletResponse suscribir(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+    }
+
+    private static ResultadoPartido partido(int id, int ligaId, int golesLocal) {
+        return new ResultadoPartido(id, ligaId, (short) 1, FECHA, 10, 20, (short) golesLocal, (short) 0, "EN_JUEGO");
+    }
+
+    private static void esperarEvento(MockHttpServletResponse respuesta) throws Exception {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        // El evento se escribe en partes: se espera hasta el fin de sus datos
+        while (!EVENTO_COMPLETO.matcher(respuesta.getContentAsString()).find()) {
+            assertThat(System.nanoTime()).as("tiempo de espera agotado").isLessThan(limite);
+            Thread.sleep(10);
+        }
+    }
+
+}
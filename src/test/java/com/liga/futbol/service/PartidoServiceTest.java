@@ -0,0 +1,50 @@
+package com.liga.futbol.service;
+
+import com.liga.futbol.model.dto.ActualizacionResultado;
+import com.liga.futbol.model.dto.MarcadorPartido;
+import com.liga.futbol.model.dto.ResultadoVersionado;
+import com.liga.futbol.model.entity.Partido;
+import com.liga.futbol.model.repository.PartidoRepository;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class PartidoServiceTest {
+
+    private final PartidoRepository partidoRepository = mock(PartidoRepository.class);
+    private final MarcadorDiferidoService marcadorDiferidoService = mock(MarcadorDiferidoService.class);
+    private final PartidoService partidoService = new PartidoService(partidoRepository, evento -> { },
+            mock(CalendarioService.class), marcadorDiferidoService);
+
+    @Test
+    void noCorrigeUnPartidoConMarcadoresDiferidosSinEscribir() {
+        when(marcadorDiferidoService.tienePendientes(7)).thenReturn(true);
+
+        assertThatThrownBy(() -> partidoService.actualizarResultado(7,
+                new ActualizacionResultado((short) 1, (short) 1, "FINALIZADO", 3L)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("marcador");
+        assertThatThrownBy(() -> partidoService.actualizar(7, new Partido()))
+                .isInstanceOf(IllegalStateException.class);
+        verifyNoInteractions(partidoRepository);
+    }
+
+    @Test
+    void sinMarcadoresDiferidosAplicaElResultadoVersionado() {
+        when(partidoRepository.findResultadoVersionado(7)).thenReturn(Optional.of(new ResultadoVersionado(
+                7, 1, (short) 1, LocalDate.of(2026, 3, 14), 10, 20, (short) 0, (short) 0, "EN_JUEGO", 3L)));
+        when(partidoRepository.actualizarResultado(7, 3L, (short) 1, (short) 1, "FINALIZADO")).thenReturn(1);
+
+        Optional<MarcadorPartido> marcador = partidoService.actualizarResultado(7,
+                new ActualizacionResultado((short) 1, (short) 1, "FINALIZADO", 3L));
+
+        assertThat(marcador).contains(new MarcadorPartido(7, (short) 1, (short) 1, "FINALIZADO", 4L));
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.liga.futbol.service;
+
+import com.liga.futbol.model.dto.ResultadoFinalizado;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SimuladorTemporadaTest {
+
+    @Test
+    void sinPartidosPendientesRespetaElOrdenDeLaTabla() {
+        // Empate total entre 0 y 2: queda primero el índice menor
+        SimuladorTemporada simulador = new SimuladorTemporada(
+                new int[] {4, 7, 4, 4}, new int[] {1, 0, 1, -3}, new int[] {5, 2, 5, 9},
+                new int[0], new int[0], new double[0], new double[0]);
+
+        SimuladorTemporada.Resultado resultado = simulador.simular(10, 1);
+
+        assertThat(resultado.posiciones()).containsExactly(
+                0, 10, 0, 0,
+                10, 0, 0, 0,
+                0, 0, 10, 0,
+                0, 0, 0, 10);
+        assertThat(resultado.puntos()).containsExactly(40, 70, 40, 40);
+    }
+
+    @Test
+    void cadaSimulacionAsignaUnaPosicionPorEquipo() {
+        int simulaciones = 20_000;
+        SimuladorTemporada simulador = new SimuladorTemporada(
+                new int[] {0, 3, 1}, new int[] {-2, 2, 0}, new int[] {0, 2, 1},
+                new int[] {0, 1, 2, 1}, new int[] {1, 2, 0, 0},
+                new double[] {1.4, 1.4, 1.4, 3.0}, new double[] {1.1, 1.1, 1.1, 0.2});
+
+        SimuladorTemporada.Resultado resultado = simulador.simular(simulaciones, 42);
+
+        int n = 3;
+        for (int i = 0; i < n; i++) {
+            long porEquipo = 0;
+            long porPosicion = 0;
+            for (int j = 0; j < n; j++) {
+                porEquipo += resultado.posiciones()[i * n + j];
+                porPosicion += resultado.posiciones()[j * n + i];
+            }
+            assertThat(porEquipo).isEqualTo(simulaciones);
+            assertThat(porPosicion).isEqualTo(simulaciones);
+        }
+        // Cada partido reparte 2 o 3 puntos
+        long puntosRepartidos = resultado.puntos()[0] + resultado.puntos()[1] + resultado.puntos()[2]
+                - (long) simulaciones * (0 + 3 + 1);
+        assertThat(puntosRepartidos).isBetween(2L * 4 * simulaciones, 3L * 4 * simulaciones);
+    }
+
+    @Test
+    void laMismaSemillaDaElMismoResultado() {
+        SimuladorTemporada simulador = new SimuladorTemporada(
+                new int[] {0, 0}, new int[] {0, 0}, new int[] {0, 0},
+                new int[] {0, 1}, new int[] {1, 0}, new double[] {1.4, 1.4}, new double[] {1.1, 1.1});
+
+        SimuladorTemporada.Resultado primero = simulador.simular(50_000, 7);
+        SimuladorTemporada.Resultado segundo = simulador.simular(50_000, 7);
+
+        assertThat(segundo.posiciones()).containsExactly(primero.posiciones());
+        assertThat(segundo.puntos()).containsExactly(primero.puntos());
+    }
+
+    @Test
+    void rechazaLigasDemasiadoGrandes() {
+        int equipos = SimuladorTemporada.MAX_EQUIPOS + 1;
+
+        assertThatThrownBy(() -> new SimuladorTemporada(new int[equipos], new int[equipos], new int[equipos],
+                new int[0], new int[0], new double[0], new double[0]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void elModeloDaMasGolesAlEquipoQueMasConvierte() {
+        List<ResultadoFinalizado> resultados = List.of(
+                resultado(1, 2, 4, 0), resultado(2, 1, 0, 3),
+                resultado(1, 3, 3, 1), resultado(3, 1, 1, 2),
+                resultado(2, 3, 1, 1), resultado(3, 2, 0, 0));
+
+        SimuladorTemporada.Modelo modelo = SimuladorTemporada.ajustar(resultados);
+
+        assertThat(modelo.mediaLocal()).isEqualTo(9.0 / 6);
+        assertThat(modelo.mediaVisita()).isEqualTo(7.0 / 6);
+        assertThat(modelo.golesLocal(1, 2)).isGreaterThan(modelo.golesLocal(2, 1));
+        assertThat(modelo.golesVisita(2, 1)).isGreaterThan(modelo.golesVisita(1, 2));
+        // Un equipo sin resultados tiene fuerzas promedio
+        assertThat(modelo.golesLocal(99, 98)).isEqualTo(modelo.mediaLocal());
+    }
+
+    @Test
+    void sinResultadosUsaLasMediasPorDefecto() {
+        SimuladorTemporada.Modelo modelo = SimuladorTemporada.ajustar(List.of());
+
+        assertThat(modelo.golesLocal(1, 2)).isEqualTo(1.4);
+        assertThat(modelo.golesVisita(1, 2)).isEqualTo(1.1);
+    }
+
+    private static ResultadoFinalizado resultado(int local, int visita, int golesLocal, int golesVisita) {
+        return new ResultadoFinalizado(local, visita, (short) golesLocal, (short) golesVisita);
+    }
+
+}
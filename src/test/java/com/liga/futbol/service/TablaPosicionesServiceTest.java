@@ -0,0 +1,109 @@
+package com.liga.futbol.service;
+
+import com.liga.futbol.event.EquipoCambiadoEvent;
+import com.liga.futbol.model.dto.EquipoResumen;
+import com.liga.futbol.model.dto.FilaTabla;
+import com.liga.futbol.model.dto.HuellaRevisiones;
+import com.liga.futbol.model.dto.HuellaPartidos;
+import com.liga.futbol.model.dto.ResultadoFinalizado;
+import com.liga.futbol.model.repository.EquipoRepository;
+import com.liga.futbol.model.repository.LigaRepository;
+import com.liga.futbol.model.repository.PartidoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TablaPosicionesServiceTest {
+
+    private final PartidoRepository partidoRepository = mock(PartidoRepository.class);
+    private final LigaRepository ligaRepository = mock(LigaRepository.class);
+    private final EquipoRepository equipoRepository = mock(EquipoRepository.class);
+    private final ArchivoTemporadasService archivoTemporadas = mock(ArchivoTemporadasService.class);
+
+    @BeforeEach
+    void ligaConDosEquipos() {
+        when(ligaRepository.existsById(1)).thenReturn(true);
+        when(ligaRepository.findEquipoIds(1)).thenReturn(List.of(10, 20));
+        when(ligaRepository.huellaInscripciones(1)).thenReturn(new HuellaRevisiones(2L, 30L, 0L));
+        when(equipoRepository.findResumenes(any())).thenReturn(
+                List.of(new EquipoResumen(10, "Norte"), new EquipoResumen(20, "Sur")));
+        when(partidoRepository.findResultadosFinalizados(1)).thenReturn(
+                List.of(new ResultadoFinalizado(10, 20, (short) 2, (short) 0)));
+        when(partidoRepository.huellaLiga(1)).thenReturn(new HuellaPartidos(1L, 5L, 1L, 0L));
+    }
+
+    @Test
+    void reconstruyeLaTablaCuandoOtraInstanciaCambiaLosPartidos() {
+        TablaPosicionesService servicio = servicio(Duration.ZERO);
+        assertThat(lider(servicio)).isEqualTo("Norte");
+
+        // Otra instancia corrige el resultado: la huella cambia sin que llegue ningún evento aquí
+        when(partidoRepository.findResultadosFinalizados(1)).thenReturn(
+                List.of(new ResultadoFinalizado(10, 20, (short) 0, (short) 1)));
+        when(partidoRepository.huellaLiga(1)).thenReturn(new HuellaPartidos(1L, 5L, 2L, 0L));
+
+        assertThat(lider(servicio)).isEqualTo("Sur");
+    }
+
+    @Test
+    void conLaMismaHuellaNoVuelveALeerLosPartidos() {
+        TablaPosicionesService servicio = servicio(Duration.ZERO);
+        lider(servicio);
+        lider(servicio);
+        lider(servicio);
+
+        verify(partidoRepository, times(1)).findResultadosFinalizados(1);
+        verify(partidoRepository, times(3)).huellaLiga(1);
+    }
+
+    @Test
+    void dentroDelIntervaloNoConsultaLaHuella() {
+        TablaPosicionesService servicio = servicio(Duration.ofHours(1));
+        lider(servicio);
+        lider(servicio);
+
+        verify(partidoRepository, times(1)).huellaLiga(1);
+    }
+
+    @Test
+    void renombrarUnEquipoActualizaLaTablaEnMemoria() {
+        TablaPosicionesService servicio = servicio(Duration.ofHours(1));
+        lider(servicio);
+
+        servicio.alCambiarEquipo(EquipoCambiadoEvent.guardado(10, "Norte FC"));
+
+        assertThat(lider(servicio)).isEqualTo("Norte FC");
+        verify(partidoRepository, times(1)).findResultadosFinalizados(1);
+    }
+
+    @Test
+    void renombrarUnEquipoEnOtraInstanciaCambiaLaHuella() {
+        TablaPosicionesService servicio = servicio(Duration.ZERO);
+        lider(servicio);
+
+        when(equipoRepository.findResumenes(any())).thenReturn(
+                List.of(new EquipoResumen(10, "Norte FC"), new EquipoResumen(20, "Sur")));
+        when(ligaRepository.huellaInscripciones(1)).thenReturn(new HuellaRevisiones(2L, 30L, 1L));
+
+        assertThat(lider(servicio)).isEqualTo("Norte FC");
+    }
+
+    private String lider(TablaPosicionesService servicio) {
+        List<FilaTabla> tabla = servicio.obtenerTabla(1).orElseThrow();
+        return tabla.get(0).equipoNombre();
+    }
+
+    private TablaPosicionesService servicio(Duration validacion) {
+        return new TablaPosicionesService(partidoRepository, ligaRepository, equipoRepository, archivoTemporadas,
+                validacion);
+    }
+
+}